@@ -2,7 +2,12 @@ package com.ospreydcs.dp.gui;
 
 import com.ospreydcs.dp.client.IngestionClient;
 import com.ospreydcs.dp.grpc.v1.ingestionstream.SubscribeDataEventResponse;
+import com.ospreydcs.dp.gui.component.EventTimelineComponent;
 import com.ospreydcs.dp.gui.model.DataEventSubscription;
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.collections.ListChangeListener;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.geometry.Insets;
@@ -10,6 +15,7 @@ import javafx.scene.control.*;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.Priority;
 import javafx.stage.Stage;
+import javafx.util.Duration;
 import javafx.util.StringConverter;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -21,6 +27,9 @@ public class DataEventExploreController implements Initializable {
 
     private static final Logger logger = LogManager.getLogger();
 
+    // constants
+    private static final Duration METRICS_REFRESH_INTERVAL = Duration.seconds(1);
+
     // Data Event Subscriptions section (left panel)
     @FXML private ListView<DataEventSubscription> subscriptionsList;
 
@@ -29,12 +38,23 @@ public class DataEventExploreController implements Initializable {
     @FXML private ComboBox<DpApplication.TriggerCondition> triggerConditionCombo;
     @FXML private TextField triggerValueField;
     @FXML private ComboBox<IngestionClient.IngestionDataType> pvDataTypeCombo;
+    @FXML private CheckBox captureEnabledCheckBox;
+    @FXML private TextField capturePreSecondsField;
+    @FXML private TextField capturePostSecondsField;
     @FXML private Button addButton;
 
     // Data Events section (bottom right)
+    @FXML private EventTimelineComponent eventTimeline;
+    @FXML private Button previousEventButton;
+    @FXML private Button nextEventButton;
+    @FXML private Button openEventButton;
     @FXML private TableView<SubscribeDataEventResponse.Event> eventsTable;
     @FXML private TableColumn<SubscribeDataEventResponse.Event, String> eventTimeColumn;
     @FXML private TableColumn<SubscribeDataEventResponse.Event, String> triggerValueColumn;
+    @FXML private Label subscriptionMetricsLabel;
+
+    private final Timeline metricsTimeline = new Timeline(
+        new KeyFrame(METRICS_REFRESH_INTERVAL, e -> viewModel.refreshSubscriptionMetrics()));
 
     // Dependencies
     private DataEventExploreViewModel viewModel;
@@ -73,6 +93,11 @@ public class DataEventExploreController implements Initializable {
         triggerConditionCombo.valueProperty().bindBidirectional(viewModel.triggerConditionProperty());
         triggerValueField.textProperty().bindBidirectional(viewModel.triggerValueProperty());
         pvDataTypeCombo.valueProperty().bindBidirectional(viewModel.pvDataTypeProperty());
+        captureEnabledCheckBox.selectedProperty().bindBidirectional(viewModel.captureEnabledProperty());
+        capturePreSecondsField.textProperty().bindBidirectional(viewModel.capturePreSecondsProperty());
+        capturePostSecondsField.textProperty().bindBidirectional(viewModel.capturePostSecondsProperty());
+        capturePreSecondsField.disableProperty().bind(viewModel.captureEnabledProperty().not());
+        capturePostSecondsField.disableProperty().bind(viewModel.captureEnabledProperty().not());
         
         // Data Events table binding
         eventsTable.setItems(viewModel.getEvents());
@@ -80,8 +105,37 @@ public class DataEventExploreController implements Initializable {
         // Set up table columns
         setupEventsTableColumns();
         
+        // Event timeline shows the selected subscription's events, redrawn as they arrive
+        viewModel.getEvents().addListener(
+            (ListChangeListener<SubscribeDataEventResponse.Event>) change -> eventTimeline.refresh());
+        eventTimeline.setOnTimeSelected(time -> selectEvent(viewModel.nearestEvent(time)));
+        eventTimeline.setOnTimeActivated(viewModel::navigateToNearestEvent);
+        
+        // Delivery metrics of the selected subscription, refreshed while the view is shown; the
+        // model stops listening for events once the view is closed
+        subscriptionMetricsLabel.textProperty().bind(viewModel.subscriptionMetricsProperty());
+        metricsTimeline.setCycleCount(Animation.INDEFINITE);
+        eventsTable.sceneProperty().addListener((obs, oldScene, newScene) -> {
+            if (newScene == null) {
+                metricsTimeline.stop();
+                viewModel.dispose();
+            } else {
+                metricsTimeline.play();
+            }
+        });
+        
         // Button state bindings
         addButton.disableProperty().bind(viewModel.isAddingProperty().or(viewModel.isFormValidProperty().not()));
+        previousEventButton.disableProperty().bind(eventsTable.getSelectionModel().selectedItemProperty().isNull());
+        nextEventButton.disableProperty().bind(eventsTable.getSelectionModel().selectedItemProperty().isNull());
+        openEventButton.disableProperty().bind(eventsTable.getSelectionModel().selectedItemProperty().isNull());
+    }
+
+    private void selectEvent(SubscribeDataEventResponse.Event event) {
+        if (event != null) {
+            eventsTable.getSelectionModel().select(event);
+            eventsTable.scrollTo(event);
+        }
     }
 
     private void setupEventHandlers() {
@@ -91,6 +145,7 @@ public class DataEventExploreController implements Initializable {
                 if (newSelection != null) {
                     viewModel.loadEventsForSubscription(newSelection);
                 }
+                eventTimeline.setBuffer(newSelection == null ? null : newSelection.eventTailer.getBuffer());
             }
         );
         
@@ -286,4 +341,28 @@ public class DataEventExploreController implements Initializable {
         logger.info("Add button clicked");
         viewModel.addSubscription();
     }
+
+    @FXML
+    private void onPreviousEvent() {
+        final SubscribeDataEventResponse.Event selected = eventsTable.getSelectionModel().getSelectedItem();
+        if (selected != null) {
+            selectEvent(viewModel.previousEvent(selected));
+        }
+    }
+
+    @FXML
+    private void onNextEvent() {
+        final SubscribeDataEventResponse.Event selected = eventsTable.getSelectionModel().getSelectedItem();
+        if (selected != null) {
+            selectEvent(viewModel.nextEvent(selected));
+        }
+    }
+
+    @FXML
+    private void onOpenEvent() {
+        final SubscribeDataEventResponse.Event selected = eventsTable.getSelectionModel().getSelectedItem();
+        if (selected != null) {
+            viewModel.navigateToQueryEditor(selected);
+        }
+    }
 }
\ No newline at end of file
@@ -2,6 +2,13 @@ package com.ospreydcs.dp.gui;
 
 import com.ospreydcs.dp.client.IngestionClient;
 import com.ospreydcs.dp.grpc.v1.ingestionstream.SubscribeDataEventResponse;
+import com.ospreydcs.dp.gui.dataevent.DataEventBatch;
+import com.ospreydcs.dp.gui.dataevent.DataEventCapturePolicy;
+import com.ospreydcs.dp.gui.dataevent.DataEventCaptureService;
+import com.ospreydcs.dp.gui.dataevent.DataEventListener;
+import com.ospreydcs.dp.gui.dataevent.DataEventMetrics;
+import com.ospreydcs.dp.gui.dataevent.DataEventRingBuffer;
+import com.ospreydcs.dp.gui.dataevent.FxBatchPublisher;
 import com.ospreydcs.dp.gui.model.DataEventSubscription;
 import com.ospreydcs.dp.gui.model.SubscribeDataEventDetail;
 import com.ospreydcs.dp.service.common.model.ResultStatus;
@@ -28,15 +35,28 @@ public class DataEventExploreViewModel {
     private final ObjectProperty<DpApplication.TriggerCondition> triggerCondition = new SimpleObjectProperty<>();
     private final StringProperty triggerValue = new SimpleStringProperty("");
     private final ObjectProperty<IngestionClient.IngestionDataType> pvDataType = new SimpleObjectProperty<>();
+    private final BooleanProperty captureEnabled = new SimpleBooleanProperty(false);
+    private final StringProperty capturePreSeconds = new SimpleStringProperty("");
+    private final StringProperty capturePostSeconds = new SimpleStringProperty("");
 
     // Status properties
     private final StringProperty statusMessage = new SimpleStringProperty("");
     private final BooleanProperty isAdding = new SimpleBooleanProperty(false);
+    private final StringProperty subscriptionMetrics = new SimpleStringProperty("");
 
     // Data collections
     private final ObservableList<DataEventSubscription> subscriptions = FXCollections.observableArrayList();
     private final ObservableList<SubscribeDataEventResponse.Event> events = FXCollections.observableArrayList();
 
+    // live events for the selected subscription, appended in batches on the FX thread
+    private final FxBatchPublisher<DataEventBatch> eventPublisher = new FxBatchPublisher<>(this::appendEventBatches);
+    private final DataEventListener dataEventListener = batch -> {
+        if (batch.subscription == this.currentlySelectedSubscription) {
+            eventPublisher.publish(batch);
+        }
+    };
+    private long nextEventSequence = 0;
+
     // Form validation
     private final BooleanBinding isFormValid = pvName.isNotEmpty()
             .and(triggerCondition.isNotNull())
@@ -48,6 +68,7 @@ public class DataEventExploreViewModel {
     private MainController mainController;
 
     public DataEventExploreViewModel() {
+        resetCaptureWindow();
         logger.debug("DataEventExploreViewModel created");
     }
 
@@ -56,8 +77,12 @@ public class DataEventExploreViewModel {
     public ObjectProperty<DpApplication.TriggerCondition> triggerConditionProperty() { return triggerCondition; }
     public StringProperty triggerValueProperty() { return triggerValue; }
     public ObjectProperty<IngestionClient.IngestionDataType> pvDataTypeProperty() { return pvDataType; }
+    public BooleanProperty captureEnabledProperty() { return captureEnabled; }
+    public StringProperty capturePreSecondsProperty() { return capturePreSeconds; }
+    public StringProperty capturePostSecondsProperty() { return capturePostSeconds; }
     public StringProperty statusMessageProperty() { return statusMessage; }
     public BooleanProperty isAddingProperty() { return isAdding; }
+    public StringProperty subscriptionMetricsProperty() { return subscriptionMetrics; }
     public BooleanBinding isFormValidProperty() { return isFormValid; }
 
     // Data collection accessors
@@ -67,6 +92,9 @@ public class DataEventExploreViewModel {
     // Dependency injection methods
     public void setDpApplication(DpApplication dpApplication) {
         this.dpApplication = dpApplication;
+
+        // receive new events as they arrive, only those of the selected subscription are kept
+        dpApplication.addDataEventListener(dataEventListener);
         
         // Sync subscriptions with DpApplication state
         syncSubscriptionsFromApplication();
@@ -79,6 +107,17 @@ public class DataEventExploreViewModel {
         logger.debug("MainController injected into DataEventExploreViewModel");
     }
 
+    /**
+     * Stops receiving new events.  Called when the view is closed, since the view and its model
+     * are created afresh each time the view is shown.
+     */
+    public void dispose() {
+        if (dpApplication != null) {
+            dpApplication.removeDataEventListener(dataEventListener);
+        }
+        logger.debug("DataEventExploreViewModel disposed");
+    }
+
     // Business logic methods
     public void syncSubscriptionsFromApplication() {
         if (dpApplication != null) {
@@ -94,6 +133,18 @@ public class DataEventExploreViewModel {
             return;
         }
 
+        final DataEventCapturePolicy capturePolicy;
+        try {
+            capturePolicy = captureEnabled.get()
+                ? new DataEventCapturePolicy(
+                    Integer.parseInt(capturePreSeconds.get().trim()),
+                    Integer.parseInt(capturePostSeconds.get().trim()))
+                : null;
+        } catch (NumberFormatException e) {
+            updateStatus("Cannot add subscription: capture window seconds must be whole numbers");
+            return;
+        }
+
         isAdding.set(true);
         updateStatus("Adding data event subscription...");
 
@@ -104,7 +155,8 @@ public class DataEventExploreViewModel {
                 SubscribeDataEventDetail subscriptionDetail = new SubscribeDataEventDetail(
                     pvName.get().trim(),
                     triggerCondition.get(),
-                    triggerValue.get().trim()
+                    triggerValue.get().trim(),
+                    capturePolicy
                 );
 
                 return dpApplication.subscribeDataEvent(subscriptionDetail, pvDataType.get());
@@ -185,54 +237,139 @@ public class DataEventExploreViewModel {
         cancelThread.start();
     }
 
+    /**
+     * Shows the events received so far for subscription, after which new events are appended as
+     * they arrive.  The events are already held in memory, so they are loaded on the FX thread.
+     */
     public void loadEventsForSubscription(DataEventSubscription subscription) {
         if (dpApplication == null) {
             updateStatus("Cannot load events: application not initialized");
             return;
         }
 
-        // Track the selected subscription for navigation
+        // Track the selected subscription for navigation and live updates
         setCurrentlySelectedSubscription(subscription);
-        
-        updateStatus("Loading events for subscription...");
+        refreshSubscriptionMetrics();
 
-        // Create background task for loading events
-        Task<List<SubscribeDataEventResponse.Event>> loadTask = new Task<List<SubscribeDataEventResponse.Event>>() {
-            @Override
-            protected List<SubscribeDataEventResponse.Event> call() throws Exception {
-                return dpApplication.dataEventsForSubscription(subscription);
-            }
-        };
+        final DataEventBatch snapshot = dpApplication.dataEventsForSubscription(subscription);
+        events.setAll(snapshot.events);
+        nextEventSequence = snapshot.nextSequence();
 
-        loadTask.setOnSucceeded(e -> {
-            javafx.application.Platform.runLater(() -> {
-                List<SubscribeDataEventResponse.Event> eventList = loadTask.getValue();
-                events.clear();
-                events.addAll(eventList);
-                
-                updateStatus("Loaded " + eventList.size() + " events for subscription: " + subscription.getDisplayString());
-            });
-        });
+        final DataEventRingBuffer buffer = subscription.eventTailer.getBuffer();
+        final long dropped = buffer.getDroppedByCount() + buffer.getDroppedByAge();
+        updateStatus("Loaded " + snapshot.events.size() + " events for subscription: " + subscription.getDisplayString()
+                + (dropped > 0 ? " (" + dropped + " older events dropped)" : ""));
+    }
 
-        loadTask.setOnFailed(e -> {
-            javafx.application.Platform.runLater(() -> {
-                updateStatus("Error loading events: " + loadTask.getException().getMessage());
-                events.clear();
-            });
-        });
+    /**
+     * Appends the events of the selected subscription not already shown, dropping the oldest rows
+     * beyond the ring buffer's capacity.  A batch delivered
+     * before the subscription was selected may overlap the snapshot it was loaded from, and
+     * is skipped up to the snapshot's end.
+     */
+    private void appendEventBatches(List<DataEventBatch> batches) {
+        for (DataEventBatch batch : batches) {
+            if (batch.subscription != currentlySelectedSubscription) {
+                continue;
+            }
+            final long alreadyShown = nextEventSequence - batch.firstSequence;
+            if (alreadyShown >= batch.events.size()) {
+                continue;
+            }
+            events.addAll(alreadyShown > 0
+                    ? batch.events.subList((int) alreadyShown, batch.events.size())
+                    : batch.events);
+            nextEventSequence = batch.nextSequence();
+
+            // keep no more events than the subscription's ring buffer retains
+            final int excess = events.size() - batch.subscription.eventTailer.getBuffer().capacity();
+            if (excess > 0) {
+                events.remove(0, excess);
+            }
+        }
+    }
+
+    /**
+     * Updates the delivery metrics shown for the selected subscription.  Called periodically so
+     * the rates fall back once the subscription stops firing.
+     */
+    public void refreshSubscriptionMetrics() {
+        final DataEventSubscription subscription = currentlySelectedSubscription;
+        if (subscription == null) {
+            subscriptionMetrics.set("");
+            return;
+        }
+        final DataEventMetrics.Summary summary =
+            subscription.eventTailer.getMetrics().summary(System.currentTimeMillis());
+        subscriptionMetrics.set(String.format(
+            "%.1f events/s (peak %d/s) | %s/s | queue %d (max %d) | lag %d ms (max %d ms) | %d events, %s total",
+            summary.eventsPerSecond, summary.peakEventsPerSecond,
+            formatBytes(summary.bytesPerSecond),
+            summary.queueDepth, summary.maxQueueDepth,
+            summary.lagMillis, summary.maxLagMillis,
+            summary.totalEvents, formatBytes(summary.totalBytes)));
+    }
 
-        Thread loadThread = new Thread(loadTask);
-        loadThread.setDaemon(true);
-        loadThread.start();
+    private static String formatBytes(double bytes) {
+        if (bytes >= 1024 * 1024) {
+            return String.format("%.1f MiB", bytes / (1024 * 1024));
+        } else if (bytes >= 1024) {
+            return String.format("%.1f KiB", bytes / 1024);
+        }
+        return String.format("%.0f B", bytes);
     }
 
     // Track the currently selected subscription for navigation
-    private DataEventSubscription currentlySelectedSubscription = null;
+    private volatile DataEventSubscription currentlySelectedSubscription = null;
     
     public void setCurrentlySelectedSubscription(DataEventSubscription subscription) {
         this.currentlySelectedSubscription = subscription;
     }
 
+    public DataEventSubscription getCurrentlySelectedSubscription() {
+        return currentlySelectedSubscription;
+    }
+
+    /**
+     * Returns the selected subscription's event closest to time, or null if there is none.
+     */
+    public SubscribeDataEventResponse.Event nearestEvent(Instant time) {
+        final DataEventSubscription subscription = currentlySelectedSubscription;
+        return subscription == null ? null : subscription.eventTailer.getBuffer().nearestEvent(time);
+    }
+
+    /**
+     * Returns the selected subscription's first event after event, or null if there is none.
+     */
+    public SubscribeDataEventResponse.Event nextEvent(SubscribeDataEventResponse.Event event) {
+        final DataEventSubscription subscription = currentlySelectedSubscription;
+        return subscription == null ? null : subscription.eventTailer.getBuffer().nextEvent(eventInstant(event));
+    }
+
+    /**
+     * Returns the selected subscription's last event before event, or null if there is none.
+     */
+    public SubscribeDataEventResponse.Event previousEvent(SubscribeDataEventResponse.Event event) {
+        final DataEventSubscription subscription = currentlySelectedSubscription;
+        return subscription == null ? null : subscription.eventTailer.getBuffer().previousEvent(eventInstant(event));
+    }
+
+    /**
+     * Opens the Query Editor on the selected subscription's event closest to time.
+     */
+    public void navigateToNearestEvent(Instant time) {
+        final SubscribeDataEventResponse.Event event = nearestEvent(time);
+        if (event == null) {
+            updateStatus("No event to navigate to");
+            return;
+        }
+        navigateToQueryEditor(event);
+    }
+
+    private static Instant eventInstant(SubscribeDataEventResponse.Event event) {
+        return Instant.ofEpochSecond(event.getEventTime().getEpochSeconds(), event.getEventTime().getNanoseconds());
+    }
+
     public void navigateToQueryEditor(SubscribeDataEventResponse.Event event) {
         if (dpApplication == null || mainController == null) {
             updateStatus("Cannot navigate: application or controller not initialized");
@@ -247,15 +384,17 @@ public class DataEventExploreViewModel {
         String pvName = currentlySelectedSubscription.subscriptionDetail.pvName;
 
         // Convert event timestamp to Instant
-        Instant eventTime = Instant.ofEpochSecond(
-            event.getEventTime().getEpochSeconds(),
-            event.getEventTime().getNanoseconds()
-        );
+        Instant eventTime = eventInstant(event);
 
-        // Update DpApplication state for Query Editor
+        // Update DpApplication state for Query Editor, with the subscription's capture window so
+        // that data captured for the event is found without querying
+        DataEventCapturePolicy capturePolicy = currentlySelectedSubscription.subscriptionDetail.capturePolicy;
+        if (capturePolicy == null) {
+            capturePolicy = new DataEventCapturePolicy(30, 30); // 30 seconds before and after event
+        }
         dpApplication.setPvNames(List.of(pvName));
-        dpApplication.setDataBeginTime(eventTime.minusSeconds(30)); // 30 seconds before event
-        dpApplication.setDataEndTime(eventTime.plusSeconds(30)); // 30 seconds after event
+        dpApplication.setDataBeginTime(capturePolicy.captureBegin(eventTime));
+        dpApplication.setDataEndTime(capturePolicy.captureEnd(eventTime));
 
         // Navigate to data-explore Query Editor
         if (mainController != null) {
@@ -269,6 +408,14 @@ public class DataEventExploreViewModel {
         triggerCondition.set(null);
         triggerValue.set("");
         pvDataType.set(null);
+        captureEnabled.set(false);
+        resetCaptureWindow();
+    }
+
+    private void resetCaptureWindow() {
+        final DataEventCapturePolicy defaultPolicy = DataEventCaptureService.defaultPolicy();
+        capturePreSeconds.set(String.valueOf(defaultPolicy.preSeconds));
+        capturePostSeconds.set(String.valueOf(defaultPolicy.postSeconds));
     }
 
     private void updateStatus(String message) {
@@ -38,14 +38,24 @@ import com.ospreydcs.dp.gui.model.DataFrameDetails;
 import com.ospreydcs.dp.grpc.v1.common.DataColumn;
 import com.ospreydcs.dp.grpc.v1.common.DataValue;
 import com.ospreydcs.dp.grpc.v1.common.Timestamp;
-import com.ospreydcs.dp.client.utility.DataImportUtility;
-import com.ospreydcs.dp.client.result.DataImportResult;
+import com.ospreydcs.dp.gui.export.ExportFileCompletion;
+import com.ospreydcs.dp.gui.export.ExportJob;
+import com.ospreydcs.dp.gui.export.ExportJobQueue;
+import com.ospreydcs.dp.gui.export.StreamingExporter;
+import com.ospreydcs.dp.gui.importer.DataFileImporter;
+import com.ospreydcs.dp.gui.importer.DataFileImporters;
+import com.ospreydcs.dp.gui.importer.ImportProgress;
+import com.ospreydcs.dp.service.common.model.ResultStatus;
 
 
 public class DataExploreController implements Initializable {
 
     private static final Logger logger = LogManager.getLogger();
 
+    // constants
+    private static final long EXPORT_FILE_QUIET_MILLIS = 200;
+    private static final long EXPORT_FILE_TIMEOUT_MILLIS = 120_000;
+
     // Query Specification FXML components
     @FXML private VBox querySpecificationSection;
     @FXML private Button toggleSpecificationButton;
@@ -85,6 +95,14 @@ public class DataExploreController implements Initializable {
     @FXML private Label resultsStatusLabel;
     @FXML private ProgressIndicator queryProgressIndicator;
     
+    // Trigger Test FXML components
+    @FXML private ComboBox<String> triggerTestPvCombo;
+    @FXML private ComboBox<DpApplication.TriggerCondition> triggerTestConditionCombo;
+    @FXML private TextField triggerTestValueField;
+    @FXML private Button evaluateTriggerButton;
+    @FXML private Label triggerTestStatusLabel;
+    @FXML private ListView<Integer> triggerTestHitsList;
+    
     // Editor Tab FXML components
     @FXML private TabPane editorTabPane;
     
@@ -100,6 +118,8 @@ public class DataExploreController implements Initializable {
     @FXML private Button addToAnnotationButton;
     @FXML private ComboBox<String> datasetActionsCombo;
     @FXML private Label datasetStatusLabel;
+    @FXML private ListView<ExportJob> exportJobsList;
+    @FXML private Button cancelExportButton;
     
     // Annotation Builder FXML components
     @FXML private TextField annotationIdField;
@@ -133,6 +153,11 @@ public class DataExploreController implements Initializable {
     private Stage primaryStage;
     private MainController mainController;
     
+    // Background export jobs, shown in the export jobs list
+    private ExportJobQueue exportJobQueue;
+    private final ObservableList<ExportJob> exportJobs = FXCollections.observableArrayList();
+    private final java.util.Set<ExportJob> completedExportJobs = new java.util.HashSet<>();
+    
     // Flag to prevent listener interference during initialization
     private boolean isInitializingFromGlobalState = false;
 
@@ -150,6 +175,7 @@ public class DataExploreController implements Initializable {
         initializeChart();
         initializeDatasetBuilder();
         initializeAnnotationBuilder();
+        initializeTriggerTest();
         
         // Bind UI components to view model properties
         bindUIToViewModel();
@@ -157,6 +183,7 @@ public class DataExploreController implements Initializable {
         // Set up event handlers
         setupEventHandlers();
         setupDatasetActionsCombo();
+        setupExportJobsList();
         
         logger.debug("DataExploreController initialized successfully");
     }
@@ -188,12 +215,57 @@ public class DataExploreController implements Initializable {
         logger.debug("Chart initialized with title and axis labels");
     }
     
+    private void initializeTriggerTest() {
+        // Trigger condition ComboBox (same as SubscriptionDetailsComponent)
+        triggerTestConditionCombo.getItems().addAll(DpApplication.TriggerCondition.values());
+        triggerTestConditionCombo.setConverter(new javafx.util.StringConverter<DpApplication.TriggerCondition>() {
+            @Override
+            public String toString(DpApplication.TriggerCondition condition) {
+                if (condition == null) return "";
+                return switch (condition) {
+                    case EQUAL_TO -> "Equal to (=)";
+                    case GREATER -> "Greater than (>)";
+                    case GREATER_OR_EQUAL -> "Greater or equal (>=)";
+                    case LESS -> "Less than (<)";
+                    case LESS_OR_EQUAL -> "Less or equal (<=)";
+                };
+            }
+
+            @Override
+            public DpApplication.TriggerCondition fromString(String string) {
+                return null; // Not used for ComboBox selection
+            }
+        });
+        
+        // Hits are listed by the time of their query results row
+        triggerTestHitsList.setCellFactory(listView -> new ListCell<Integer>() {
+            @Override
+            protected void updateItem(Integer row, boolean empty) {
+                super.updateItem(row, empty);
+                setText(empty || row == null ? null : viewModel.formatRowTime(row) + "  (row " + (row + 1) + ")");
+            }
+        });
+        
+        // Selecting a hit shows its row in the Table tab
+        triggerTestHitsList.setOnMouseClicked(event -> {
+            Integer row = triggerTestHitsList.getSelectionModel().getSelectedItem();
+            if (event.getClickCount() == 2 && row != null && row < resultsTable.getItems().size()) {
+                resultsTabPane.getSelectionModel().select(0);
+                resultsTable.getSelectionModel().clearAndSelect(row);
+                resultsTable.scrollTo(row);
+            }
+        });
+        
+        logger.debug("Trigger Test initialized");
+    }
+    
     private void initializeDatasetBuilder() {
         // Set up the Data Blocks ListView
         dataBlocksList.setItems(datasetBuilderViewModel.getDataBlocks());
         
         // Populate the Dataset Actions ComboBox
-        datasetActionsCombo.getItems().addAll("Export CSV", "Export XLSX", "Export HDF5");
+        datasetActionsCombo.getItems().addAll("Export CSV", "Export XLSX", "Export HDF5",
+                "Export CSV (gzip)", "Export HDF5 (compressed)");
         
         logger.debug("Dataset Builder initialized");
     }
@@ -239,6 +311,16 @@ public class DataExploreController implements Initializable {
         resultsContent.visibleProperty().bind(viewModel.showQueryResultsPanelProperty());
         resultsContent.managedProperty().bind(viewModel.showQueryResultsPanelProperty());
         
+        // Trigger Test bindings
+        triggerTestPvCombo.setItems(viewModel.getPvNameList());
+        triggerTestPvCombo.valueProperty().bindBidirectional(viewModel.triggerTestPvNameProperty());
+        triggerTestConditionCombo.valueProperty().bindBidirectional(viewModel.triggerTestConditionProperty());
+        triggerTestValueField.textProperty().bindBidirectional(viewModel.triggerTestValueProperty());
+        triggerTestStatusLabel.textProperty().bind(viewModel.triggerTestStatusProperty());
+        triggerTestHitsList.setItems(viewModel.getTriggerTestHitRows());
+        evaluateTriggerButton.disableProperty().bind(
+            viewModel.isQueryingProperty().or(viewModel.isEvaluatingTriggerProperty()).or(viewModel.hasQueryResultsProperty().not()));
+        
         // Fix layout issue: when Query Results section is hidden, remove VGrow constraint so upper section can expand
         viewModel.showQueryResultsPanelProperty().addListener((obs, oldVal, newVal) -> {
             if (newVal) {
@@ -923,6 +1005,12 @@ public class DataExploreController implements Initializable {
         viewModel.submitQuery();
     }
     
+    @FXML
+    private void onEvaluateTrigger() {
+        logger.info("Trigger test requested");
+        viewModel.evaluateTrigger();
+    }
+    
     @FXML
     private void onAddToDataset() {
         logger.info("Add to Dataset requested");
@@ -1268,51 +1356,64 @@ public class DataExploreController implements Initializable {
         if (selectedFile != null) {
             logger.info("Excel file selected for import: {}", selectedFile.getAbsolutePath());
             
-            try {
-                // Use the shared DataImportUtility to import Excel data
-                DataImportResult importResult = DataImportUtility.importXlsxData(selectedFile.getAbsolutePath());
-                
-                if (importResult.resultStatus.isError) {
-                    String errorMessage = "Failed to import calculations: " + importResult.resultStatus.msg;
+            // Read the workbook in the background, one frame per sheet
+            annotationBuilderViewModel.statusMessageProperty().set(
+                    "Importing calculations from " + selectedFile.getName() + "...");
+            final java.nio.file.Path path = selectedFile.toPath();
+            final DataFileImporter importer = DataFileImporters.forFile(path, DataFileImporters.WHOLE_SHEET);
+            final List<DataFrameDetails> importedFrames = new ArrayList<>();
+
+            javafx.concurrent.Task<ResultStatus> importTask = new javafx.concurrent.Task<>() {
+                @Override
+                protected ResultStatus call() {
+                    return importer.importFrames(
+                            path,
+                            frameResult -> importedFrames.add(new DataFrameDetails(
+                                    frameResult.sheetName,
+                                    frameResult.timestamps,
+                                    frameResult.columns)),
+                            new ImportProgress());
+                }
+            };
+
+            importTask.setOnSucceeded(e -> {
+                ResultStatus result = importTask.getValue();
+                if (result.isError) {
+                    String errorMessage = "Failed to import calculations: " + result.msg;
                     annotationBuilderViewModel.statusMessageProperty().set(errorMessage);
-                    logger.error("Failed to import calculations from Excel file: {}", importResult.resultStatus.msg);
-                } else {
-                    // Create DataFrameDetails from all imported sheets
-                    List<DataFrameDetails> importedFrames = new ArrayList<>();
-                    
-                    for (DataImportResult.DataFrameResult frameResult : importResult.dataFrames) {
-                        DataFrameDetails frame = new DataFrameDetails(
-                            frameResult.sheetName, 
-                            frameResult.timestamps, 
-                            frameResult.columns
-                        );
-                        importedFrames.add(frame);
-                    }
-                    
-                    // Add all imported frames to the list
-                    annotationBuilderViewModel.getCalculationsDataFrames().addAll(importedFrames);
-                    
-                    String successMessage = String.format("Successfully imported %d calculation frame(s) from %s", 
-                        importedFrames.size(),
-                        selectedFile.getName());
-                    annotationBuilderViewModel.statusMessageProperty().set(successMessage);
-                    logger.info("Successfully imported {} calculation frame(s) from {}", 
-                        importedFrames.size(), selectedFile.getName());
-                        
-                    // Log details for each frame
-                    for (DataFrameDetails frame : importedFrames) {
-                        logger.debug("  Frame '{}': {} timestamps, {} columns", 
-                            frame.getName(),
-                            frame.getTimestamps() != null ? frame.getTimestamps().size() : 0,
-                            frame.getDataColumns() != null ? frame.getDataColumns().size() : 0);
-                    }
+                    logger.error("Failed to import calculations from Excel file: {}", result.msg);
+                    return;
                 }
-                
-            } catch (Exception e) {
-                String errorMessage = "Failed to import calculations: " + e.getMessage();
+
+                // Add all imported frames to the list
+                annotationBuilderViewModel.getCalculationsDataFrames().addAll(importedFrames);
+
+                String successMessage = String.format("Successfully imported %d calculation frame(s) from %s",
+                    importedFrames.size(),
+                    selectedFile.getName());
+                annotationBuilderViewModel.statusMessageProperty().set(successMessage);
+                logger.info("Successfully imported {} calculation frame(s) from {}",
+                    importedFrames.size(), selectedFile.getName());
+
+                // Log details for each frame
+                for (DataFrameDetails frame : importedFrames) {
+                    logger.debug("  Frame '{}': {} timestamps, {} columns",
+                        frame.getName(),
+                        frame.getTimestamps() != null ? frame.getTimestamps().size() : 0,
+                        frame.getDataColumns() != null ? frame.getDataColumns().size() : 0);
+                }
+            });
+
+            importTask.setOnFailed(e -> {
+                String errorMessage = "Failed to import calculations: " + importTask.getException().getMessage();
                 annotationBuilderViewModel.statusMessageProperty().set(errorMessage);
-                logger.error("Failed to import calculations from Excel file: {}", selectedFile.getName(), e);
-            }
+                logger.error("Failed to import calculations from Excel file: {}",
+                        selectedFile.getName(), importTask.getException());
+            });
+
+            Thread importThread = new Thread(importTask, "calculations-import");
+            importThread.setDaemon(true);
+            importThread.start();
         } else {
             logger.info("Excel file import cancelled by user");
         }
@@ -1833,6 +1934,12 @@ public class DataExploreController implements Initializable {
                     case "Export HDF5":
                         handleExportAction(DpApplication.ExportOutputFileFormat.HDF5);
                         break;
+                    case "Export CSV (gzip)":
+                        handleExportAction(DpApplication.ExportOutputFileFormat.CSV_GZIP);
+                        break;
+                    case "Export HDF5 (compressed)":
+                        handleExportAction(DpApplication.ExportOutputFileFormat.HDF5_DEFLATE);
+                        break;
                     default:
                         logger.warn("Unknown dataset action: {}", selectedAction);
                         datasetBuilderViewModel.statusMessageProperty().set("Unknown action: " + selectedAction);
@@ -1849,6 +1956,56 @@ public class DataExploreController implements Initializable {
         logger.debug("Dataset Actions ComboBox event handler configured");
     }
     
+    private void setupExportJobsList() {
+        exportJobQueue = ExportJobQueue.fromConfig(
+                job -> javafx.application.Platform.runLater(() -> onExportJobUpdated(job)));
+        exportJobsList.setItems(exportJobs);
+
+        // each job shows its name, status and a progress bar while it runs
+        exportJobsList.setCellFactory(listView -> new ListCell<ExportJob>() {
+            private final Label jobLabel = new Label();
+            private final ProgressBar jobProgressBar = new ProgressBar();
+            private final HBox cellBox = new HBox(10, jobProgressBar, jobLabel);
+            {
+                cellBox.setAlignment(javafx.geometry.Pos.CENTER_LEFT);
+                jobProgressBar.setPrefWidth(120);
+            }
+
+            @Override
+            protected void updateItem(ExportJob item, boolean empty) {
+                super.updateItem(item, empty);
+                if (empty || item == null) {
+                    setGraphic(null);
+                    return;
+                }
+                StringBuilder displayText = new StringBuilder(item.getName());
+                displayText.append(" - ").append(item.getStatus().name().toLowerCase());
+                if (item.getStatus() == ExportJob.Status.RUNNING) {
+                    displayText.append(String.format(" (%,d rows, %.1f MB)",
+                            item.getProgress().getRowsWritten(), item.getProgress().getBytesWritten() / 1e6));
+                    if (item.getProgress().isCancelled()) {
+                        displayText.append(" cancelling...");
+                    }
+                } else if (item.isFinished() && !item.getMessage().isEmpty()) {
+                    displayText.append(": ").append(item.getMessage());
+                }
+                jobLabel.setText(displayText.toString());
+                jobProgressBar.setVisible(!item.isFinished());
+                jobProgressBar.setProgress(item.getStatus() == ExportJob.Status.QUEUED
+                        ? 0 : item.getProgress().fraction());
+                setGraphic(cellBox);
+            }
+        });
+
+        cancelExportButton.disableProperty().bind(
+                exportJobsList.getSelectionModel().selectedItemProperty().isNull());
+    }
+
+    /**
+     * Submits an export of the saved dataset to the export job queue, so the export runs in the
+     * background and several can run at once.  CSV and HDF5, plain or compressed, are streamed to a
+     * file by the client, with no limit on the dataset size; XLSX is produced by the annotation service.
+     */
     private void handleExportAction(DpApplication.ExportOutputFileFormat format) {
         logger.info("Export requested for format: {}", format);
         
@@ -1860,59 +2017,98 @@ public class DataExploreController implements Initializable {
             logger.error("Export failed: no dataset ID");
             return;
         }
-        
-        // Step 2: Update status to show operation in progress
-        datasetBuilderViewModel.statusMessageProperty().set("Exporting dataset to " + format + "...");
-        logger.info("Starting export: datasetId={}, format={}", datasetId, format);
-        
-        try {
-            // Step 3: Call DpApplication.exportData() method
-            com.ospreydcs.dp.client.result.ExportDataApiResult apiResult = 
-                dpApplication.exportData(datasetId, null, format);
-            
-            if (apiResult == null) {
-                String errorMessage = "Export failed - null response from service";
-                datasetBuilderViewModel.statusMessageProperty().set(errorMessage);
-                logger.error("Export failed: null API result");
-                return;
-            }
-            
-            // Step 4: Handle API result
-            if (apiResult.resultStatus.isError) {
-                // Error case - display error message
-                String errorMessage = "Export failed: " + apiResult.resultStatus.msg;
-                datasetBuilderViewModel.statusMessageProperty().set(errorMessage);
-                logger.error("Export failed: {}", apiResult.resultStatus.msg);
-            } else {
-                // Success case - get file path and display success message
-                if (apiResult.exportDataResult != null && 
-                    apiResult.exportDataResult.getFilePath() != null && 
-                    !apiResult.exportDataResult.getFilePath().trim().isEmpty()) {
-                    
-                    String filePath = apiResult.exportDataResult.getFilePath();
-                    String successMessage = "Export completed successfully: " + filePath;
-                    datasetBuilderViewModel.statusMessageProperty().set(successMessage);
-                    logger.info("Export completed successfully: {}", filePath);
-                    
-                    // Step 5: Try to open the file with native application
-                    openFileWithNativeApplication(filePath);
-                    
-                } else {
-                    // Shouldn't happen for successful exports, but handle gracefully
-                    String successMessage = "Export completed successfully";
+
+        // Step 2: Queue the export; progress is shown in the export jobs list
+        String datasetName = datasetBuilderViewModel.getDatasetName();
+        String jobName = (datasetName == null || datasetName.isBlank() ? datasetId : datasetName) + " " + format;
+        exportJobQueue.submit(new ExportJob(jobName), job -> runExportJob(job, datasetId, format));
+        datasetBuilderViewModel.statusMessageProperty().set("Export queued: " + jobName);
+        logger.info("Queued export: datasetId={}, format={}", datasetId, format);
+    }
+
+    /**
+     * Performs an export job on an export queue worker thread.
+     */
+    private ResultStatus runExportJob(ExportJob job, String datasetId, DpApplication.ExportOutputFileFormat format) {
+        if (format != DpApplication.ExportOutputFileFormat.XLSX) {
+            final String extension = switch (format) {
+                case HDF5, HDF5_DEFLATE -> "h5";
+                case CSV_GZIP -> "csv.gz";
+                default -> "csv";
+            };
+            final java.nio.file.Path file = StreamingExporter.exportFile(datasetId, extension);
+            job.setFile(file);
+            final ResultStatus result = dpApplication.exportDataSetToFile(datasetId, format, file, job.getProgress());
+            // the file has been closed by the time the export returns, so it can be opened at once
+            job.setFileComplete(!result.isError);
+            return result;
+        }
+
+        com.ospreydcs.dp.client.result.ExportDataApiResult apiResult =
+            dpApplication.exportData(datasetId, null, format);
+        if (apiResult == null) {
+            return new ResultStatus(true, "null response from service");
+        }
+        if (apiResult.resultStatus.isError) {
+            return new ResultStatus(true, apiResult.resultStatus.msg);
+        }
+        if (apiResult.exportDataResult != null &&
+            apiResult.exportDataResult.getFilePath() != null &&
+            !apiResult.exportDataResult.getFilePath().trim().isEmpty()) {
+            job.setFile(java.nio.file.Path.of(apiResult.exportDataResult.getFilePath()));
+            return new ResultStatus(false, "exported to " + apiResult.exportDataResult.getFilePath());
+        }
+        // Shouldn't happen for successful exports, but handle gracefully
+        logger.warn("Export completed but no file path returned");
+        return new ResultStatus(false, "");
+    }
+
+    private void onExportJobUpdated(ExportJob job) {
+        final int index = exportJobs.indexOf(job);
+        if (index < 0) {
+            exportJobs.add(job);
+        } else {
+            // replacing the element makes the list view redraw the job
+            exportJobs.set(index, job);
+        }
+
+        if (job.isFinished() && completedExportJobs.add(job)) {
+            switch (job.getStatus()) {
+                case SUCCEEDED -> {
+                    String successMessage = "Export completed successfully" + (job.getFile() != null ? ": " + job.getFile() : "");
                     datasetBuilderViewModel.statusMessageProperty().set(successMessage);
-                    logger.warn("Export completed but no file path returned");
+                    if (job.getFile() != null) {
+                        openFileWithNativeApplication(job.getFile().toString(), job.isFileComplete());
+                    }
                 }
+                case FAILED -> datasetBuilderViewModel.statusMessageProperty().set("Export failed: " + job.getMessage());
+                default -> datasetBuilderViewModel.statusMessageProperty().set("Export cancelled: " + job.getName());
             }
-            
-        } catch (Exception e) {
-            String errorMessage = "Export failed with exception: " + e.getMessage();
-            datasetBuilderViewModel.statusMessageProperty().set(errorMessage);
-            logger.error("Export failed with exception", e);
         }
     }
+
+    @FXML
+    private void onCancelExport() {
+        ExportJob selectedJob = exportJobsList.getSelectionModel().getSelectedItem();
+        if (selectedJob != null) {
+            logger.info("Cancelling export job: {}", selectedJob.getName());
+            exportJobQueue.cancel(selectedJob);
+        }
+    }
+
+    @FXML
+    private void onClearFinishedExports() {
+        final List<ExportJob> finishedJobs = exportJobQueue.removeFinished();
+        exportJobs.removeAll(finishedJobs);
+        completedExportJobs.removeAll(finishedJobs);
+    }
     
-    private void openFileWithNativeApplication(String filePath) {
+    /**
+     * Opens an exported file with the platform's application for it, on a background thread.
+     * fileComplete is true when the export pipeline has already closed the file; otherwise the file
+     * is opened once it has stopped changing (see ExportFileCompletion).
+     */
+    private void openFileWithNativeApplication(String filePath, boolean fileComplete) {
         // Run file opening in background thread to avoid blocking UI
         javafx.concurrent.Task<Void> fileOpenTask = new javafx.concurrent.Task<Void>() {
             @Override
@@ -1924,16 +2120,15 @@ public class DataExploreController implements Initializable {
                         return null;
                     }
                     
-                    // Create File object from the file path
+                    // A file written by another process is opened once it exists and stops changing
                     File file = new File(filePath);
-                    if (!file.exists()) {
-                        logger.warn("Export file does not exist, cannot open: {}", filePath);
+                    if (!fileComplete && !ExportFileCompletion.awaitWritten(
+                            file.toPath(), EXPORT_FILE_QUIET_MILLIS, EXPORT_FILE_TIMEOUT_MILLIS)) {
+                        logger.warn("File may not be fully written yet, skipping auto-open: {}", filePath);
                         return null;
                     }
-                    
-                    // Wait for file to be fully written and stable
-                    if (!waitForFileStable(file)) {
-                        logger.warn("File may not be fully written yet, skipping auto-open: {}", filePath);
+                    if (!file.exists()) {
+                        logger.warn("Export file does not exist, cannot open: {}", filePath);
                         return null;
                     }
                     
@@ -1974,46 +2169,6 @@ public class DataExploreController implements Initializable {
         logger.debug("Started background thread to open file: {}", filePath);
     }
     
-    private boolean waitForFileStable(File file) {
-        try {
-            // Wait for file to be stable (not changing in size) for a short period
-            long lastSize = -1;
-            long stableTime = 0;
-            final long REQUIRED_STABLE_TIME = 500; // 500ms of stability required
-            final long MAX_WAIT_TIME = 5000; // Maximum 5 seconds to wait
-            final long CHECK_INTERVAL = 100; // Check every 100ms
-            
-            long startTime = System.currentTimeMillis();
-            
-            while (System.currentTimeMillis() - startTime < MAX_WAIT_TIME) {
-                long currentSize = file.length();
-                
-                if (currentSize == lastSize && currentSize > 0) {
-                    // File size is stable
-                    stableTime += CHECK_INTERVAL;
-                    if (stableTime >= REQUIRED_STABLE_TIME) {
-                        logger.info("File is stable ({}ms stable period): {} bytes", stableTime, currentSize);
-                        return true;
-                    }
-                } else {
-                    // File size changed, reset stability timer
-                    stableTime = 0;
-                    lastSize = currentSize;
-                    logger.debug("File size changed to: {} bytes", currentSize);
-                }
-                
-                Thread.sleep(CHECK_INTERVAL);
-            }
-            
-            logger.warn("File did not stabilize within {}ms, current size: {} bytes", MAX_WAIT_TIME, file.length());
-            return false;
-            
-        } catch (Exception e) {
-            logger.warn("Error waiting for file stability: {}", e.getMessage());
-            return false;
-        }
-    }
-    
     /**
      * Shows a dialog with details about the selected calculation frame.
      */
@@ -4,6 +4,8 @@ import com.ospreydcs.dp.client.result.QueryPvStatsApiResult;
 import com.ospreydcs.dp.client.result.QueryTableApiResult;
 import com.ospreydcs.dp.grpc.v1.query.QueryPvStatsResponse;
 import com.ospreydcs.dp.grpc.v1.query.QueryTableResponse;
+import com.ospreydcs.dp.gui.query.QueryResultStore;
+import com.ospreydcs.dp.gui.query.TriggerEvaluator;
 import javafx.beans.property.*;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -55,6 +57,20 @@ public class DataExploreViewModel {
     private final BooleanProperty hasQueryResults = new SimpleBooleanProperty(false);
     private final BooleanProperty isQueryValid = new SimpleBooleanProperty(false);
 
+    // Trigger Test properties
+    private final StringProperty triggerTestPvName = new SimpleStringProperty();
+    private final ObjectProperty<DpApplication.TriggerCondition> triggerTestCondition =
+        new SimpleObjectProperty<>(DpApplication.TriggerCondition.GREATER);
+    private final StringProperty triggerTestValue = new SimpleStringProperty("");
+    private final StringProperty triggerTestStatus = new SimpleStringProperty("");
+    private final ObservableList<Integer> triggerTestHitRows = FXCollections.observableArrayList();
+    private final BooleanProperty isEvaluatingTrigger = new SimpleBooleanProperty(false);
+
+    // Columnar copy of the current query results.  Only read and replaced on the FX thread: the
+    // query task fills its own store and hands it over when the task succeeds.
+    private QueryResultStore resultStore = new QueryResultStore();
+    private final TriggerEvaluator triggerEvaluator = new TriggerEvaluator();
+
     // Dependencies
     private DpApplication dpApplication;
     private MainController mainController;
@@ -149,6 +165,14 @@ public class DataExploreViewModel {
     public BooleanProperty hasQueryResultsProperty() { return hasQueryResults; }
     public BooleanProperty isQueryValidProperty() { return isQueryValid; }
 
+    // Trigger Test property getters
+    public StringProperty triggerTestPvNameProperty() { return triggerTestPvName; }
+    public ObjectProperty<DpApplication.TriggerCondition> triggerTestConditionProperty() { return triggerTestCondition; }
+    public StringProperty triggerTestValueProperty() { return triggerTestValue; }
+    public StringProperty triggerTestStatusProperty() { return triggerTestStatus; }
+    public ObservableList<Integer> getTriggerTestHitRows() { return triggerTestHitRows; }
+    public BooleanProperty isEvaluatingTriggerProperty() { return isEvaluatingTrigger; }
+
     // Business logic methods
     public void toggleQuerySpecificationPanel() {
         showQuerySpecificationPanel.set(!showQuerySpecificationPanel.get());
@@ -202,17 +226,22 @@ public class DataExploreViewModel {
         tableColumnNames.clear();
         totalRowsLoaded.set(0);
         statusMessage.set("Querying data...");
+        resultStore = new QueryResultStore();
+        triggerTestHitRows.clear();
+        triggerTestStatus.set("");
 
         // Create background task for query
+        final QueryResultStore queryStore = new QueryResultStore();
         Task<Void> queryTask = new Task<Void>() {
             @Override
             protected Void call() throws Exception {
-                executeIncrementalQuery();
+                executeIncrementalQuery(queryStore);
                 return null;
             }
         };
 
         queryTask.setOnSucceeded(e -> {
+            resultStore = queryStore;
             isQuerying.set(false);
             hasQueryResults.set(true);
             
@@ -245,13 +274,22 @@ public class DataExploreViewModel {
         queryThread.start();
     }
 
-    private void executeIncrementalQuery() throws Exception {
+    private void executeIncrementalQuery(QueryResultStore store) throws Exception {
         Instant beginInstant = getQueryBeginDateTime().atZone(ZoneId.systemDefault()).toInstant();
         Instant endInstant = getQueryEndDateTime().atZone(ZoneId.systemDefault()).toInstant();
         
         logger.debug("Query time range: {} to {}", beginInstant, endInstant);
         logger.debug("Query begin epoch seconds: {}, nanos: {}", beginInstant.getEpochSecond(), beginInstant.getNano());
         logger.debug("Query end epoch seconds: {}, nanos: {}", endInstant.getEpochSecond(), endInstant.getNano());
+
+        // a window captured in the background around a data event needs no query
+        final List<QueryTableResponse> capturedResponses =
+            dpApplication.capturedQueryTable(new ArrayList<>(pvNameList), beginInstant, endInstant);
+        if (capturedResponses != null) {
+            logger.debug("Using captured data event window for query: {} to {}", beginInstant, endInstant);
+            loadQueryTableResponses(capturedResponses, store);
+            return;
+        }
         
         // Break query into 1-minute intervals to avoid message size limits
         java.time.Duration totalDuration = java.time.Duration.between(beginInstant, endInstant);
@@ -301,7 +339,7 @@ public class DataExploreViewModel {
             }
             
             if (response.hasTableResult()) {
-                processQueryTableResponse(response, firstResponse);
+                processQueryTableResponse(response, firstResponse, store);
                 firstResponse = false;
                 
                 if (response.getTableResult().hasRowMapTable()) {
@@ -317,12 +355,35 @@ public class DataExploreViewModel {
         });
     }
 
-    private void processQueryTableResponse(QueryTableResponse response, boolean isFirstResponse) {
+    private void loadQueryTableResponses(List<QueryTableResponse> responses, QueryResultStore store) {
+        boolean firstResponse = true;
+        int totalRows = 0;
+        for (QueryTableResponse response : responses) {
+            if (response.hasTableResult()) {
+                processQueryTableResponse(response, firstResponse, store);
+                firstResponse = false;
+                if (response.getTableResult().hasRowMapTable()) {
+                    totalRows += response.getTableResult().getRowMapTable().getRowsCount();
+                }
+            }
+        }
+        final int finalTotalRows = totalRows;
+        javafx.application.Platform.runLater(() -> {
+            totalRowsLoaded.set(finalTotalRows);
+        });
+    }
+
+    private void processQueryTableResponse(
+            QueryTableResponse response,
+            boolean isFirstResponse,
+            QueryResultStore store
+    ) {
         if (!response.getTableResult().hasRowMapTable()) {
             return;
         }
         
         var rowMapTable = response.getTableResult().getRowMapTable();
+        store.append(response);
         
         // Set up column names from first response
         if (isFirstResponse) {
@@ -381,6 +442,78 @@ public class DataExploreViewModel {
         }
     }
 
+    /**
+     * Evaluates the Trigger Test condition against the query results in the background, showing
+     * the number of rows that would fire the trigger and listing the first of them.
+     */
+    public void evaluateTrigger() {
+        final String pvName = triggerTestPvName.get();
+        final DpApplication.TriggerCondition condition = triggerTestCondition.get();
+        if (pvName == null || pvName.isBlank() || condition == null) {
+            triggerTestStatus.set("Select a PV and trigger condition");
+            return;
+        }
+        final double value;
+        try {
+            value = Double.parseDouble(triggerTestValue.get().trim());
+        } catch (NumberFormatException | NullPointerException e) {
+            triggerTestStatus.set("Trigger value must be numeric");
+            return;
+        }
+        if (isQuerying.get() || !hasQueryResults.get()) {
+            triggerTestStatus.set("Submit a query before testing a trigger");
+            return;
+        }
+
+        final QueryResultStore store = resultStore;
+        isEvaluatingTrigger.set(true);
+        triggerTestHitRows.clear();
+        triggerTestStatus.set("Evaluating trigger...");
+
+        Task<TriggerEvaluator.Result> evaluateTask = new Task<>() {
+            @Override
+            protected TriggerEvaluator.Result call() {
+                return triggerEvaluator.evaluate(store, pvName, condition, value);
+            }
+        };
+
+        evaluateTask.setOnSucceeded(e -> {
+            final TriggerEvaluator.Result result = evaluateTask.getValue();
+            isEvaluatingTrigger.set(false);
+            for (int row : result.hitRows) {
+                triggerTestHitRows.add(row);
+            }
+            String message = result.hitCount + " hit(s) in " + result.rowsEvaluated + " row(s) ("
+                + String.format("%.1f", result.elapsedNanos / 1_000_000.0) + " ms)";
+            if (result.hitRows.length < result.hitCount) {
+                message += ", first " + result.hitRows.length + " listed";
+            }
+            triggerTestStatus.set(message);
+            logger.debug("Trigger test {} {} {}: {}", pvName, condition, value, message);
+        });
+
+        evaluateTask.setOnFailed(e -> {
+            isEvaluatingTrigger.set(false);
+            triggerTestStatus.set("Trigger test failed: " + evaluateTask.getException().getMessage());
+            logger.error("Trigger test failed", evaluateTask.getException());
+        });
+
+        Thread evaluateThread = new Thread(evaluateTask);
+        evaluateThread.setDaemon(true);
+        evaluateThread.start();
+    }
+
+    /**
+     * Returns the time of a query results row formatted for display, for listing trigger hits.
+     */
+    public String formatRowTime(int row) {
+        if (row >= resultStore.size() || resultStore.getTimeNanos(row) == QueryResultStore.NO_TIME) {
+            return "N/A";
+        }
+        LocalDateTime dateTime = LocalDateTime.ofInstant(resultStore.getTime(row), ZoneId.systemDefault());
+        return dateTime.format(TIMESTAMP_FORMATTER);
+    }
+
     private boolean isQueryValid() {
         if (pvNameList.isEmpty()) {
             return false;
@@ -3,6 +3,7 @@ package com.ospreydcs.dp.gui;
 import com.ospreydcs.dp.gui.component.AttributesListComponent;
 import com.ospreydcs.dp.gui.component.ProviderDetailsComponent;
 import com.ospreydcs.dp.gui.component.ColumnMetadataComponent;
+import com.ospreydcs.dp.gui.component.IngestionProgressComponent;
 import com.ospreydcs.dp.gui.component.SubscriptionDetailsComponent;
 import com.ospreydcs.dp.gui.component.TagsListComponent;
 import com.ospreydcs.dp.gui.model.PvDetail;
@@ -26,6 +27,7 @@ public class DataGenerationController implements Initializable {
     // Provider Details and Column Metadata components
     @FXML private ProviderDetailsComponent providerDetailsComponent;
     @FXML private ColumnMetadataComponent columnMetadataComponent;
+    @FXML private IngestionProgressComponent ingestionProgressComponent;
     private SubscriptionDetailsComponent subscriptionDetailsComponent;
     
     // Placeholder for programmatically added subscription component
@@ -40,6 +42,8 @@ public class DataGenerationController implements Initializable {
     @FXML private Spinner<Integer> endHourSpinner;
     @FXML private Spinner<Integer> endMinuteSpinner;
     @FXML private Spinner<Integer> endSecondSpinner;
+    @FXML private ComboBox<Integer> bucketSizeCombo;
+    @FXML private ComboBox<Integer> simulatedProvidersCombo;
 
     // PV Details FXML components
     @FXML private ListView<PvDetail> pvDetailsList;
@@ -125,6 +129,12 @@ public class DataGenerationController implements Initializable {
         
         logger.debug("Time spinner bindings completed");
 
+        // Bucket size binding (Auto is represented by DpApplication.AUTO_BUCKET_SIZE)
+        setupIntegerComboBinding(bucketSizeCombo, viewModel.bucketSizeSecondsProperty());
+
+        // Simulated provider count binding (1 is a normal single-provider run)
+        setupIntegerComboBinding(simulatedProvidersCombo, viewModel.simulatedProviderCountProperty());
+
         // PV Details bindings
         pvDetailsList.setItems(viewModel.getPvDetails());
         
@@ -138,6 +148,9 @@ public class DataGenerationController implements Initializable {
 
         // Button state bindings
         generateButton.disableProperty().bind(viewModel.isGeneratingProperty());
+
+        // Ingestion progress display follows the current job
+        ingestionProgressComponent.metricsProperty().bind(viewModel.jobMetricsProperty());
     }
 
     private void setupEventHandlers() {
@@ -179,6 +192,38 @@ public class DataGenerationController implements Initializable {
         // Set initial value to match ViewModel default
         pvValuesPerSecondCombo.setValue(viewModel.currentPvValuesPerSecondProperty().get());
         
+        // Bucket Size ComboBox, with Auto shown by name rather than as 0 seconds
+        bucketSizeCombo.getItems().addAll(DpApplication.AUTO_BUCKET_SIZE, 1, 10, 60, 600, 3600);
+        bucketSizeCombo.setConverter(new StringConverter<Integer>() {
+            @Override
+            public String toString(Integer seconds) {
+                if (seconds == null) return "";
+                return seconds == DpApplication.AUTO_BUCKET_SIZE ? "Auto" : seconds + " second(s)";
+            }
+
+            @Override
+            public Integer fromString(String string) {
+                return null; // Not used for ComboBox selection
+            }
+        });
+        bucketSizeCombo.setValue(viewModel.bucketSizeSecondsProperty().get());
+
+        // Simulated Providers ComboBox, capped at the PV count when the run starts
+        simulatedProvidersCombo.getItems().addAll(1, 10, 50, 100, 250, 500);
+        simulatedProvidersCombo.setConverter(new StringConverter<Integer>() {
+            @Override
+            public String toString(Integer count) {
+                if (count == null) return "";
+                return count == 1 ? "Off (single provider)" : count + " providers";
+            }
+
+            @Override
+            public Integer fromString(String string) {
+                return null; // Not used for ComboBox selection
+            }
+        });
+        simulatedProvidersCombo.setValue(viewModel.simulatedProviderCountProperty().get());
+        
         logger.debug("ComboBox items populated");
     }
     
@@ -214,7 +259,7 @@ public class DataGenerationController implements Initializable {
     }
     
     private void setupIntegerComboBinding(ComboBox<Integer> combo, javafx.beans.property.IntegerProperty viewModelProperty) {
-        logger.debug("Setting up custom Integer ComboBox binding");
+        logger.debug("Setting up custom Integer ComboBox binding: {}", combo.getId());
         
         // Initialize ViewModel property from ComboBox value
         if (combo.getValue() != null) {
@@ -225,7 +270,7 @@ public class DataGenerationController implements Initializable {
         // Listen for changes in ComboBox and update ViewModel
         combo.valueProperty().addListener((obs, oldVal, newVal) -> {
             if (newVal != null) {
-                logger.debug("pvValuesPerSecondCombo changed from {} to {}", oldVal, newVal);
+                logger.debug("{} changed from {} to {}", combo.getId(), oldVal, newVal);
                 viewModelProperty.set(newVal);
                 logger.debug("Updated ViewModel property to: {}", viewModelProperty.get());
             }
@@ -1,9 +1,13 @@
 package com.ospreydcs.dp.gui;
 
+import com.ospreydcs.dp.gui.ingest.IngestionJobMetrics;
 import com.ospreydcs.dp.gui.model.PvDetail;
+import com.ospreydcs.dp.service.common.model.ResultStatus;
+import javafx.application.Platform;
 import javafx.beans.property.*;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
+import javafx.concurrent.Task;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -33,6 +37,12 @@ public class DataGenerationViewModel {
     private final IntegerProperty endHour = new SimpleIntegerProperty(0);
     private final IntegerProperty endMinute = new SimpleIntegerProperty(0);
     private final IntegerProperty endSecond = new SimpleIntegerProperty(0);
+
+    // Bucket size in seconds, or DpApplication.AUTO_BUCKET_SIZE for per-PV automatic sizing
+    private final IntegerProperty bucketSizeSeconds = new SimpleIntegerProperty(DpApplication.AUTO_BUCKET_SIZE);
+
+    // Number of providers to simulate, 1 for a normal single-provider run
+    private final IntegerProperty simulatedProviderCount = new SimpleIntegerProperty(1);
     
     // PV Details properties
     private final ObservableList<PvDetail> pvDetails = FXCollections.observableArrayList();
@@ -50,6 +60,9 @@ public class DataGenerationViewModel {
     private final StringProperty statusMessage = new SimpleStringProperty("Ready to generate data");
     private final BooleanProperty isGenerating = new SimpleBooleanProperty(false);
 
+    // Instrumentation for the current (or last) generation run
+    private final ObjectProperty<IngestionJobMetrics> jobMetrics = new SimpleObjectProperty<>();
+
     private DpApplication dpApplication;
     private MainController mainController;
     
@@ -104,6 +117,8 @@ public class DataGenerationViewModel {
     public IntegerProperty endHourProperty() { return endHour; }
     public IntegerProperty endMinuteProperty() { return endMinute; }
     public IntegerProperty endSecondProperty() { return endSecond; }
+    public IntegerProperty bucketSizeSecondsProperty() { return bucketSizeSeconds; }
+    public IntegerProperty simulatedProviderCountProperty() { return simulatedProviderCount; }
     
     // PV Details property getters
     public ObservableList<PvDetail> getPvDetails() { return pvDetails; }
@@ -118,6 +133,7 @@ public class DataGenerationViewModel {
     // Status property getters
     public StringProperty statusMessageProperty() { return statusMessage; }
     public BooleanProperty isGeneratingProperty() { return isGenerating; }
+    public ObjectProperty<IngestionJobMetrics> jobMetricsProperty() { return jobMetrics; }
 
     // Attribute options getters
     // Old combo box value methods removed - reusable components handle their own input
@@ -213,7 +229,7 @@ public class DataGenerationViewModel {
     }
     
     public int getBucketSizeSeconds() {
-        return 1; // Always use 1 second bucket size
+        return bucketSizeSeconds.get();
     }
 
     public void generateData() {
@@ -235,88 +251,126 @@ public class DataGenerationViewModel {
 
         isGenerating.set(true);
         statusMessage.set("Registering provider...");
-        
-        try {
-            logger.info("Starting data generation for {} PVs", pvDetails.size());
-            logger.info("Provider: {}", providerDetailsComponent.getProviderName());
-            logger.info("Time range: {} to {}", getBeginDateTime(), getEndDateTime());
-            
-            // Step 1: Register provider (5.2.2) - Get data directly from ProviderDetailsComponent (Critical Integration Pattern)
-            var providerTags = providerDetailsComponent.getProviderTags();
-            var providerAttributes = providerDetailsComponent.getProviderAttributes();
-            Map<String, String> providerAttributesMap =
-                    com.ospreydcs.dp.gui.component.AttributesListComponent.attributesToMap(providerAttributes);
-            
-            com.ospreydcs.dp.service.common.model.ResultStatus registerResult = dpApplication.registerProvider(
-                providerDetailsComponent.getProviderName(),
-                providerDetailsComponent.getProviderDescription(),
-                new java.util.ArrayList<>(providerTags),
-                providerAttributesMap
-            );
-            
-            if (registerResult.isError) {
-                statusMessage.set("Provider registration failed: " + registerResult.msg);
-                logger.error("Provider registration failed: {}", registerResult.msg);
-                return;
-            }
-            
-            logger.info("Provider registered successfully: {}", registerResult.msg);
-            statusMessage.set("Generating and ingesting data...");
-            
-            // Step 2: Generate and ingest data (5.2.3) - Get data directly from ColumnMetadataComponent (Critical Integration Pattern)
-            com.ospreydcs.dp.grpc.v1.common.ColumnMetadata columnMetadata =
+
+        logger.info("Starting data generation for {} PVs", pvDetails.size());
+        logger.info("Provider: {}", providerDetailsComponent.getProviderName());
+        logger.info("Time range: {} to {}", getBeginDateTime(), getEndDateTime());
+
+        // Read all form data on the FX thread before handing off to the background task
+        // (Critical Integration Pattern - get data directly from components)
+        final String providerNameValue = providerDetailsComponent.getProviderName();
+        final String providerDescriptionValue = providerDetailsComponent.getProviderDescription();
+        final java.util.List<String> providerTagsValue = new ArrayList<>(providerDetailsComponent.getProviderTags());
+        final Map<String, String> providerAttributesMap =
+                com.ospreydcs.dp.gui.component.AttributesListComponent.attributesToMap(
+                        providerDetailsComponent.getProviderAttributes());
+        final com.ospreydcs.dp.grpc.v1.common.ColumnMetadata columnMetadata =
                 columnMetadataComponent.getColumnMetadata();
-            java.time.Instant beginInstant = getBeginDateTime().atZone(java.time.ZoneId.systemDefault()).toInstant();
-            java.time.Instant endInstant = getEndDateTime().atZone(java.time.ZoneId.systemDefault()).toInstant();
-            
-            // Get subscription data from component (Critical Integration Pattern)
-            java.util.List<com.ospreydcs.dp.gui.model.SubscribeDataEventDetail> subscriptions = 
-                subscriptionDetailsComponent != null ? 
-                    subscriptionDetailsComponent.getSubscriptions() : 
-                    new ArrayList<>();
-            
-            com.ospreydcs.dp.service.common.model.ResultStatus ingestResult = dpApplication.generateAndIngestData(
-                beginInstant,
-                endInstant,
-                columnMetadata,
-                new java.util.ArrayList<>(pvDetails),
-                getBucketSizeSeconds(),
-                new ArrayList<>(subscriptions)
-            );
-            
-            if (ingestResult.isError) {
-                statusMessage.set("Data generation failed: " + ingestResult.msg);
-                logger.error("Data generation failed: {}", ingestResult.msg);
+        final java.time.Instant beginInstant = getBeginDateTime().atZone(java.time.ZoneId.systemDefault()).toInstant();
+        final java.time.Instant endInstant = getEndDateTime().atZone(java.time.ZoneId.systemDefault()).toInstant();
+        final java.util.List<com.ospreydcs.dp.gui.model.SubscribeDataEventDetail> subscriptions =
+                subscriptionDetailsComponent != null ?
+                        new ArrayList<>(subscriptionDetailsComponent.getSubscriptions()) :
+                        new ArrayList<>();
+        final java.util.List<PvDetail> pvDetailsValue = new ArrayList<>(pvDetails);
+        final int bucketSizeSecondsValue = getBucketSizeSeconds();
+        final int providerCountValue = com.ospreydcs.dp.gui.ingest.ProviderSimulation.effectiveProviderCount(
+                simulatedProviderCount.get(), pvDetailsValue.size());
+
+        // Instrumentation for this run, displayed live by the progress component
+        final IngestionJobMetrics metrics = new IngestionJobMetrics("generation-" + providerNameValue);
+        jobMetrics.set(metrics);
+
+        // Run registration and ingestion in the background so the progress display stays live
+        Task<ResultStatus> generateTask = new Task<ResultStatus>() {
+            @Override
+            protected ResultStatus call() throws Exception {
+                // Step 1: Register provider (5.2.2)
+                ResultStatus registerResult = dpApplication.registerProvider(
+                        providerNameValue,
+                        providerDescriptionValue,
+                        providerTagsValue,
+                        providerAttributesMap
+                );
+                if (registerResult.isError) {
+                    metrics.finish(true);
+                    return new ResultStatus(true, "Provider registration failed: " + registerResult.msg);
+                }
+                logger.info("Provider registered successfully: {}", registerResult.msg);
+
+                // Many-provider simulation: register the simulated providers alongside the main one
+                if (providerCountValue > 1) {
+                    Platform.runLater(() -> statusMessage.set(
+                            "Registering " + providerCountValue + " simulated providers..."));
+                    ResultStatus simulationResult = dpApplication.registerSimulatedProviders(
+                            providerNameValue,
+                            providerDescriptionValue,
+                            providerTagsValue,
+                            providerAttributesMap,
+                            providerCountValue
+                    );
+                    if (simulationResult.isError) {
+                        metrics.finish(true);
+                        return new ResultStatus(true, "Simulated provider registration failed: " + simulationResult.msg);
+                    }
+                }
+                Platform.runLater(() -> statusMessage.set("Generating and ingesting data..."));
+
+                // Step 2: Generate and ingest data (5.2.3)
+                ResultStatus ingestResult = (providerCountValue > 1)
+                        ? dpApplication.generateAndIngestSimulatedData(
+                                beginInstant,
+                                endInstant,
+                                columnMetadata,
+                                pvDetailsValue,
+                                bucketSizeSecondsValue,
+                                subscriptions,
+                                metrics)
+                        : dpApplication.generateAndIngestData(
+                                beginInstant,
+                                endInstant,
+                                columnMetadata,
+                                pvDetailsValue,
+                                bucketSizeSecondsValue,
+                                subscriptions,
+                                metrics);
+                if (ingestResult.isError) {
+                    return new ResultStatus(true, "Data generation failed: " + ingestResult.msg);
+                }
+                return ingestResult;
+            }
+        };
+
+        generateTask.setOnSucceeded(e -> {
+            isGenerating.set(false);
+            ResultStatus result = generateTask.getValue();
+            if (result.isError) {
+                statusMessage.set(result.msg);
+                logger.error(result.msg);
                 return;
             }
-            
+
             // Success!
-            statusMessage.set("Data generation completed successfully: " + ingestResult.msg);
-            logger.info("Data generation completed successfully: {}", ingestResult.msg);
-            
-            // Notify home view of successful data generation
+            statusMessage.set("Data generation completed successfully: " + result.msg);
+            logger.info("Data generation completed successfully: {}", result.msg);
+
+            // Notify home view of successful data generation.  The user stays on this view, so the
+            // final ingestion figures remain available for review and export.
             if (mainController != null) {
-                mainController.onDataGenerationSuccess(ingestResult.msg);
-                
-                // Navigate back to home view after successful operation
-                javafx.application.Platform.runLater(() -> {
-                    try {
-                        Thread.sleep(2000); // Brief delay to show success message
-                        mainController.switchToMainView();
-                    } catch (InterruptedException e) {
-                        Thread.currentThread().interrupt();
-                        logger.warn("Interrupted while waiting to navigate to home view", e);
-                        mainController.switchToMainView();
-                    }
-                });
+                mainController.onDataGenerationSuccess(result.msg);
             }
-            
-        } catch (Exception e) {
-            logger.error("Error during data generation", e);
-            statusMessage.set("Error during data generation: " + e.getMessage());
-        } finally {
+        });
+
+        generateTask.setOnFailed(e -> {
             isGenerating.set(false);
-        }
+            metrics.finish(true);
+            logger.error("Error during data generation", generateTask.getException());
+            statusMessage.set("Error during data generation: " + generateTask.getException().getMessage());
+        });
+
+        Thread generateThread = new Thread(generateTask);
+        generateThread.setDaemon(true);
+        generateThread.start();
     }
 
     private boolean isFormValid() {
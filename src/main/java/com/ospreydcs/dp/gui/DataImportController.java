@@ -2,13 +2,17 @@ package com.ospreydcs.dp.gui;
 
 import com.ospreydcs.dp.client.result.DataImportResult;
 import com.ospreydcs.dp.client.utility.DataImportUtility;
+import com.ospreydcs.dp.grpc.v1.common.DataColumn;
 import com.ospreydcs.dp.gui.component.ProviderDetailsComponent;
 import com.ospreydcs.dp.gui.component.ColumnMetadataComponent;
+import com.ospreydcs.dp.gui.component.IngestionProgressComponent;
 import com.ospreydcs.dp.gui.component.SubscriptionDetailsComponent;
+import com.ospreydcs.dp.gui.importer.BatchImportJob;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.control.*;
 import javafx.scene.layout.VBox;
+import javafx.stage.DirectoryChooser;
 import javafx.stage.FileChooser;
 import javafx.stage.Stage;
 import org.apache.logging.log4j.LogManager;
@@ -25,6 +29,7 @@ public class DataImportController implements Initializable {
     // Provider Details and Column Metadata components
     @FXML private ProviderDetailsComponent providerDetailsComponent;
     @FXML private ColumnMetadataComponent columnMetadataComponent;
+    @FXML private IngestionProgressComponent ingestionProgressComponent;
     private SubscriptionDetailsComponent subscriptionDetailsComponent;
     
     // Placeholder for programmatically added subscription component
@@ -33,11 +38,22 @@ public class DataImportController implements Initializable {
     // Import Details FXML components
     @FXML private TextField filePathField;
     @FXML private Button importButton;
+    @FXML private ProgressBar importProgressBar;
     @FXML private Button resetButton;
     @FXML private ListView<DataImportResult.DataFrameResult> ingestionDataFramesList;
 
+    // Batch Import FXML components
+    @FXML private TextField batchDirectoryField;
+    @FXML private Button batchBrowseButton;
+    @FXML private CheckBox batchWatchCheckBox;
+    @FXML private Button batchStartButton;
+    @FXML private Button batchStopButton;
+    @FXML private ListView<BatchImportJob> batchJobsList;
+    @FXML private Label batchSummaryLabel;
+
     // Action buttons
     @FXML private Button ingestButton;
+    @FXML private Button resumeButton;
     @FXML private Button cancelButton;
 
     // Dependencies
@@ -110,22 +126,74 @@ public class DataImportController implements Initializable {
                         int maxColumns = Math.min(3, item.columns.size());
                         for (int i = 0; i < maxColumns; i++) {
                             if (i > 0) displayText.append(", ");
-                            displayText.append(item.columns.get(i).getName());
+                            final DataColumn column = item.columns.get(i);
+                            displayText.append(column.getName());
+                            // type inferred from the first value, as used for ingestion
+                            if (column.getDataValuesCount() > 0) {
+                                displayText.append(" (").append(column.getDataValues(0).getValueCase()
+                                        .name().replace("VALUE", "").toLowerCase()).append(")");
+                            }
                         }
                         if (item.columns.size() > 3) {
                             displayText.append("...");
                         }
                     }
+                    displayText.append(" [").append(item.timestamps.size()).append(" preview rows]");
                     setText(displayText.toString());
                 }
             }
         });
         
         // Show placeholder message when list is empty
-        ingestionDataFramesList.setPlaceholder(new Label("Use the Import button to import PV time-series data from an Excel file."));
+        ingestionDataFramesList.setPlaceholder(new Label("Use the Import button to import PV time-series data from an Excel, CSV or HDF5 file."));
         
+        // Import progress shown only while a file is being read
+        importProgressBar.progressProperty().bind(viewModel.importProgressProperty());
+        importProgressBar.visibleProperty().bind(viewModel.isImportingProperty());
+        importProgressBar.managedProperty().bind(viewModel.isImportingProperty());
+
         // Button state bindings
-        ingestButton.disableProperty().bind(viewModel.isIngestingProperty());
+        importButton.disableProperty().bind(viewModel.isImportingProperty());
+        // ingesting registers the provider again, which must not happen under a running batch
+        ingestButton.disableProperty().bind(viewModel.isIngestingProperty()
+                .or(viewModel.isImportingProperty())
+                .or(viewModel.isBatchRunningProperty()));
+        // a running batch owns its ingestion queues, so none of them may be resumed alongside it
+        resumeButton.disableProperty().bind(viewModel.isIngestingProperty().or(viewModel.isBatchRunningProperty()));
+
+        // Batch Import bindings
+        batchDirectoryField.textProperty().bindBidirectional(viewModel.batchDirectoryProperty());
+        batchWatchCheckBox.selectedProperty().bindBidirectional(viewModel.batchWatchProperty());
+        batchJobsList.setItems(viewModel.getBatchJobs());
+        batchJobsList.setCellFactory(listView -> new ListCell<BatchImportJob>() {
+            @Override
+            protected void updateItem(BatchImportJob item, boolean empty) {
+                super.updateItem(item, empty);
+                if (empty || item == null) {
+                    setText(null);
+                } else {
+                    StringBuilder displayText = new StringBuilder(item.getFile().getFileName().toString());
+                    displayText.append(" - ").append(item.getStatus().name().toLowerCase().replace('_', ' '));
+                    if (item.getAttempts() > 1) {
+                        displayText.append(" (attempt ").append(item.getAttempts()).append(")");
+                    }
+                    if (item.isFinished() && item.getMessage() != null && !item.getMessage().isEmpty()) {
+                        displayText.append(": ").append(item.getMessage());
+                    }
+                    setText(displayText.toString());
+                }
+            }
+        });
+        batchJobsList.setPlaceholder(new Label("Choose a directory and Start to import all of its data files."));
+        batchSummaryLabel.textProperty().bind(viewModel.batchSummaryProperty());
+        batchBrowseButton.disableProperty().bind(viewModel.isBatchRunningProperty());
+        batchWatchCheckBox.disableProperty().bind(viewModel.isBatchRunningProperty());
+        batchStartButton.disableProperty().bind(
+            viewModel.isBatchRunningProperty().or(viewModel.batchDirectoryProperty().isEmpty()));
+        batchStopButton.disableProperty().bind(viewModel.isBatchRunningProperty().not());
+
+        // Ingestion progress display follows the current job
+        ingestionProgressComponent.metricsProperty().bind(viewModel.jobMetricsProperty());
         // Reset button enabled when there are data frames or a file path to reset
         resetButton.disableProperty().bind(
             javafx.beans.binding.Bindings.and(
@@ -185,11 +253,14 @@ public class DataImportController implements Initializable {
     private void onImport() {
         logger.info("Import button clicked");
         
-        // Create file chooser for Excel files
+        // Create file chooser for Excel and CSV files
         FileChooser fileChooser = new FileChooser();
-        fileChooser.setTitle("Select Excel File to Import");
+        fileChooser.setTitle("Select Data File to Import");
         fileChooser.getExtensionFilters().addAll(
+            new FileChooser.ExtensionFilter("Data Files", "*.xlsx", "*.xls", "*.csv", "*.h5", "*.hdf5"),
             new FileChooser.ExtensionFilter("Excel Files", "*.xlsx", "*.xls"),
+            new FileChooser.ExtensionFilter("CSV Files", "*.csv"),
+            new FileChooser.ExtensionFilter("HDF5 Files", "*.h5", "*.hdf5"),
             new FileChooser.ExtensionFilter("All Files", "*.*")
         );
         
@@ -200,6 +271,37 @@ public class DataImportController implements Initializable {
         }
     }
 
+    @FXML
+    private void onBrowseBatchDirectory() {
+        logger.info("Batch directory browse button clicked");
+        DirectoryChooser directoryChooser = new DirectoryChooser();
+        directoryChooser.setTitle("Select Directory of Data Files to Import");
+        File selectedDirectory = directoryChooser.showDialog(primaryStage);
+        if (selectedDirectory != null) {
+            viewModel.batchDirectoryProperty().set(selectedDirectory.getAbsolutePath());
+        }
+    }
+
+    @FXML
+    private void onStartBatch() {
+        logger.info("Batch import start button clicked");
+        if (viewModel != null) {
+            viewModel.startBatchImport();
+        } else {
+            logger.error("ViewModel is null, cannot start batch import");
+        }
+    }
+
+    @FXML
+    private void onStopBatch() {
+        logger.info("Batch import stop button clicked");
+        if (viewModel != null) {
+            viewModel.stopBatchImport();
+        } else {
+            logger.error("ViewModel is null, cannot stop batch import");
+        }
+    }
+
     @FXML
     private void onIngest() {
         logger.info("Ingest button clicked - starting provider registration and data ingestion");
@@ -214,6 +316,16 @@ public class DataImportController implements Initializable {
         }
     }
 
+    @FXML
+    private void onResume() {
+        logger.info("Resume button clicked - resuming interrupted ingestion jobs");
+        if (viewModel != null) {
+            viewModel.resumeInterruptedIngestion();
+        } else {
+            logger.error("ViewModel is null, cannot resume ingestion");
+        }
+    }
+
     @FXML
     private void onReset() {
         logger.info("Reset button clicked - resetting Import Details section (section 13.3)");
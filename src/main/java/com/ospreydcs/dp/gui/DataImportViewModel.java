@@ -1,16 +1,26 @@
 package com.ospreydcs.dp.gui;
 
 import com.ospreydcs.dp.client.result.DataImportResult;
-import com.ospreydcs.dp.client.utility.DataImportUtility;
+import com.ospreydcs.dp.gui.importer.BatchImportJob;
+import com.ospreydcs.dp.gui.importer.BatchImportQueue;
+import com.ospreydcs.dp.gui.importer.DataFileImporter;
+import com.ospreydcs.dp.gui.importer.DataFileImporters;
+import com.ospreydcs.dp.gui.importer.ImportPipeline;
+import com.ospreydcs.dp.gui.importer.ImportProgress;
+import com.ospreydcs.dp.gui.ingest.IngestionJobMetrics;
+import com.ospreydcs.dp.gui.ingest.IngestionWriteAheadQueue;
 import com.ospreydcs.dp.service.common.model.ResultStatus;
 import javafx.beans.property.*;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.concurrent.Task;
+import javafx.scene.control.ProgressIndicator;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -30,6 +40,19 @@ public class DataImportViewModel {
     // Status properties
     private final StringProperty statusMessage = new SimpleStringProperty("");
     private final BooleanProperty isIngesting = new SimpleBooleanProperty(false);
+    private final BooleanProperty isImporting = new SimpleBooleanProperty(false);
+    private final DoubleProperty importProgress = new SimpleDoubleProperty(0);
+
+    // Instrumentation for the current (or last) ingestion run
+    private final ObjectProperty<IngestionJobMetrics> jobMetrics = new SimpleObjectProperty<>();
+
+    // Batch import properties
+    private final StringProperty batchDirectory = new SimpleStringProperty("");
+    private final BooleanProperty batchWatch = new SimpleBooleanProperty(false);
+    private final BooleanProperty isBatchRunning = new SimpleBooleanProperty(false);
+    private final StringProperty batchSummary = new SimpleStringProperty("");
+    private final ObservableList<BatchImportJob> batchJobs = FXCollections.observableArrayList();
+    private volatile BatchImportQueue batchQueue = null;
 
     // Dependencies
     private DpApplication dpApplication;
@@ -72,6 +95,39 @@ public class DataImportViewModel {
         return isIngesting;
     }
 
+    public BooleanProperty isImportingProperty() {
+        return isImporting;
+    }
+
+    public DoubleProperty importProgressProperty() {
+        return importProgress;
+    }
+
+    public ObjectProperty<IngestionJobMetrics> jobMetricsProperty() {
+        return jobMetrics;
+    }
+
+    // Batch import property methods
+    public StringProperty batchDirectoryProperty() {
+        return batchDirectory;
+    }
+
+    public BooleanProperty batchWatchProperty() {
+        return batchWatch;
+    }
+
+    public BooleanProperty isBatchRunningProperty() {
+        return isBatchRunning;
+    }
+
+    public StringProperty batchSummaryProperty() {
+        return batchSummary;
+    }
+
+    public ObservableList<BatchImportJob> getBatchJobs() {
+        return batchJobs;
+    }
+
     // Dependency injection
     public void setDpApplication(DpApplication dpApplication) {
         this.dpApplication = dpApplication;
@@ -100,39 +156,71 @@ public class DataImportViewModel {
     }
 
     // Business logic methods
+
+    /**
+     * Previews file in the background: only the header and first rows of each sheet are read and
+     * listed, enough to check the PV names and inferred types and to fill in the metadata.  The
+     * whole file is read later, streamed straight into ingestion, so picking the wrong file does
+     * not cost a full parse.
+     */
     public void importFromFile(File file) {
-        logger.info("Importing data from file: {}", file.getAbsolutePath());
-        
-        try {
-            // Reset import details for subsequent imports (section 13.1.9)
-            resetImportDetails();
-            
-            // Call DataImportUtility to import the Excel file
-            DataImportResult importResult = DataImportUtility.importXlsxData(file.getAbsolutePath());
-            
-            if (importResult.resultStatus.isError) {
-                // Import failed
-                logger.error("Import failed: {}", importResult.resultStatus.msg);
-                updateStatus("Import failed: " + importResult.resultStatus.msg);
-            } else {
-                // Import succeeded
-                logger.info("Import succeeded, {} data frames loaded", importResult.dataFrames.size());
-                
-                // Set the file path
-                filePath.set(file.getAbsolutePath());
-                
-                // Add all data frames to the list
-                ingestionDataFrames.addAll(importResult.dataFrames);
-                
-                updateStatus("Successfully imported " + importResult.dataFrames.size() + " data frames from " + file.getName());
-                
-                logger.debug("Import completed successfully");
+        logger.info("Previewing data from file: {}", file.getAbsolutePath());
+
+        // Reset import details for subsequent imports (section 13.1.9)
+        resetImportDetails();
+
+        isImporting.set(true);
+        importProgress.set(ProgressIndicator.INDETERMINATE_PROGRESS);
+        updateStatus("Reading " + file.getName() + "...");
+
+        final Path path = file.toPath();
+        final int previewRows = DataFileImporters.previewRows();
+        final DataFileImporter importer = DataFileImporters.forPreview(path, previewRows);
+        final ImportProgress progress = new ImportProgress();
+
+        Task<ResultStatus> importTask = new Task<ResultStatus>() {
+            @Override
+            protected ResultStatus call() throws Exception {
+                progress.setListener(p -> updateProgress(p.fraction(), 1.0));
+                return importer.importFrames(
+                        path,
+                        frame -> javafx.application.Platform.runLater(() -> ingestionDataFrames.add(frame)),
+                        progress);
             }
-            
-        } catch (Exception e) {
-            logger.error("Exception during file import", e);
-            updateStatus("Error importing file: " + e.getMessage());
-        }
+        };
+        importProgress.bind(importTask.progressProperty());
+
+        importTask.setOnSucceeded(e -> {
+            importProgress.unbind();
+            isImporting.set(false);
+            final ResultStatus result = importTask.getValue();
+            if (result.isError) {
+                logger.error("Import failed: {}", result.msg);
+                ingestionDataFrames.clear();
+                updateStatus("Import failed: " + result.msg);
+                return;
+            }
+            logger.info("Preview succeeded, {} data frames read from {} rows",
+                    progress.getFramesEmitted(), progress.getRowsRead());
+
+            // Set the file path
+            filePath.set(file.getAbsolutePath());
+
+            updateStatus("Previewed " + progress.getFramesEmitted() + " data frames (first " + previewRows
+                    + " rows of each) from " + file.getName() + "; the whole file is read when ingested");
+        });
+
+        importTask.setOnFailed(e -> {
+            importProgress.unbind();
+            isImporting.set(false);
+            ingestionDataFrames.clear();
+            logger.error("Exception during file import", importTask.getException());
+            updateStatus("Error importing file: " + importTask.getException().getMessage());
+        });
+
+        Thread importThread = new Thread(importTask, "data-import");
+        importThread.setDaemon(true);
+        importThread.start();
     }
 
 
@@ -166,6 +254,10 @@ public class DataImportViewModel {
             updateStatus("DpApplication not initialized");
             return;
         }
+        if (isBatchRunning.get()) {
+            updateStatus("Files can be ingested once the running batch import has finished");
+            return;
+        }
 
         // Validation
         if (!isIngestValid()) {
@@ -176,6 +268,11 @@ public class DataImportViewModel {
         isIngesting.set(true);
         updateStatus("Registering provider...");
 
+        // Instrumentation for this run, displayed live by the progress component
+        final IngestionJobMetrics metrics =
+                new IngestionJobMetrics("import-" + providerDetailsComponent.getProviderName());
+        jobMetrics.set(metrics);
+
         // Create background task for ingestion
         Task<Void> ingestTask = new Task<Void>() {
             @Override
@@ -183,6 +280,7 @@ public class DataImportViewModel {
                 // Step 1: Register provider (section 13.2.1)
                 ResultStatus registerResult = registerProvider();
                 if (registerResult.isError) {
+                    metrics.finish(true);
                     javafx.application.Platform.runLater(() -> {
                         updateStatus("Provider registration failed: " + registerResult.msg);
                         isIngesting.set(false);
@@ -195,7 +293,7 @@ public class DataImportViewModel {
                     updateStatus("Ingesting imported data...");
                 });
 
-                ResultStatus ingestResult = performDataIngestion();
+                ResultStatus ingestResult = performDataIngestion(metrics);
                 if (ingestResult.isError) {
                     javafx.application.Platform.runLater(() -> {
                         updateStatus("Data ingestion failed: " + ingestResult.msg);
@@ -204,17 +302,17 @@ public class DataImportViewModel {
                     return null;
                 }
 
-                // Success - update UI and return to home view (section 13.2.5)
+                // Success - update UI (section 13.2.5)
                 javafx.application.Platform.runLater(() -> {
                     updateStatus("Data ingestion completed successfully");
                     isIngesting.set(false);
                     
                     // Note: Application state (hasIngestedData, etc.) is updated in DpApplication.ingestImportedData()
                     
-                    // Notify main controller and return to home view
+                    // Notify main controller.  The user stays on this view, so the final ingestion
+                    // figures remain available for review and export.
                     if (mainController != null) {
                         mainController.onDataGenerationSuccess(ingestResult.msg + ". Navigate to Data Explorer to query the imported data.");
-                        mainController.switchToMainView();
                     }
                     
                     logger.info("Data import and ingestion completed successfully");
@@ -226,6 +324,7 @@ public class DataImportViewModel {
 
         ingestTask.setOnFailed(e -> {
             logger.error("Data ingestion task failed", ingestTask.getException());
+            metrics.finish(true);
             updateStatus("Data ingestion failed: " + ingestTask.getException().getMessage());
             isIngesting.set(false);
         });
@@ -235,6 +334,232 @@ public class DataImportViewModel {
         ingestThread.start();
     }
 
+    /**
+     * Resumes every ingestion job left unfinished by an earlier failure or crash, oldest first,
+     * stopping at the first job that fails again.  Jobs opened by another ingestion in the
+     * meantime are skipped.
+     */
+    public void resumeInterruptedIngestion() {
+        if (dpApplication == null) {
+            updateStatus("DpApplication not initialized");
+            return;
+        }
+        if (isIngesting.get() || isBatchRunning.get()) {
+            updateStatus("Interrupted jobs can be resumed once the running ingestion has finished");
+            return;
+        }
+
+        final List<java.nio.file.Path> jobDirectories = dpApplication.listInterruptedIngestionJobs();
+        if (jobDirectories.isEmpty()) {
+            updateStatus("No interrupted ingestion jobs to resume");
+            return;
+        }
+
+        isIngesting.set(true);
+        updateStatus("Resuming " + jobDirectories.size() + " interrupted ingestion job(s)...");
+
+        Task<ResultStatus> resumeTask = new Task<ResultStatus>() {
+            @Override
+            protected ResultStatus call() throws Exception {
+                int resumedCount = 0;
+                int skippedCount = 0;
+                for (java.nio.file.Path jobDirectory : jobDirectories) {
+                    if (IngestionWriteAheadQueue.isInUse(jobDirectory)) {
+                        skippedCount++;
+                        continue;
+                    }
+                    final IngestionJobMetrics metrics =
+                            new IngestionJobMetrics("resume-" + jobDirectory.getFileName());
+                    javafx.application.Platform.runLater(() -> jobMetrics.set(metrics));
+                    final ResultStatus resumeResult = dpApplication.resumeIngestionJob(jobDirectory, metrics);
+                    if (resumeResult.isError) {
+                        return resumeResult;
+                    }
+                    resumedCount++;
+                }
+                String message = "Resumed " + resumedCount + " interrupted ingestion job(s)";
+                if (skippedCount > 0) {
+                    message += " (" + skippedCount + " job(s) in use by another ingestion were skipped)";
+                }
+                return new ResultStatus(false, message);
+            }
+        };
+
+        resumeTask.setOnSucceeded(e -> {
+            final ResultStatus result = resumeTask.getValue();
+            updateStatus(result.isError ? "Resume failed: " + result.msg : result.msg);
+            isIngesting.set(false);
+        });
+
+        resumeTask.setOnFailed(e -> {
+            logger.error("Resume ingestion task failed", resumeTask.getException());
+            updateStatus("Resume failed: " + resumeTask.getException().getMessage());
+            isIngesting.set(false);
+        });
+
+        Thread resumeThread = new Thread(resumeTask);
+        resumeThread.setDaemon(true);
+        resumeThread.start();
+    }
+
+    /**
+     * Imports every data file in the batch directory, a few at a time, using the provider and
+     * column metadata entered on this page for all of them.  With watching enabled, files that
+     * appear in the directory afterwards are imported too, until stopBatchImport() is called.
+     */
+    public void startBatchImport() {
+        if (dpApplication == null) {
+            updateStatus("DpApplication not initialized");
+            return;
+        }
+        if (batchDirectory.get().isEmpty()) {
+            updateStatus("Select a directory for batch import");
+            return;
+        }
+        if (providerDetailsComponent == null || columnMetadataComponent == null) {
+            updateStatus("Component references not set - cannot access form data");
+            return;
+        }
+        String providerNameValue = providerDetailsComponent.getProviderName();
+        if (providerNameValue == null || providerNameValue.trim().isEmpty()) {
+            updateStatus("Provider name is required for ingestion");
+            return;
+        }
+
+        final Path directory = Path.of(batchDirectory.get());
+        final boolean watch = batchWatch.get();
+        final com.ospreydcs.dp.grpc.v1.common.ColumnMetadata columnMetadata =
+            columnMetadataComponent.getColumnMetadata();
+
+        isBatchRunning.set(true);
+        batchJobs.clear();
+        batchSummary.set("");
+        updateStatus("Registering provider...");
+
+        Task<ResultStatus> batchTask = new Task<ResultStatus>() {
+            @Override
+            protected ResultStatus call() throws Exception {
+                // the provider is registered once and shared by every file of the batch
+                ResultStatus registerResult = registerProvider();
+                if (registerResult.isError) {
+                    return new ResultStatus(true, "Provider registration failed: " + registerResult.msg);
+                }
+                final String batchProviderId = dpApplication.getProviderId();
+
+                final BatchImportQueue queue = BatchImportQueue.fromConfig(
+                        job -> runBatchJob(job, columnMetadata, batchProviderId),
+                        job -> javafx.application.Platform.runLater(() -> onBatchJobUpdated(job)));
+                batchQueue = queue;
+                if (watch) {
+                    queue.watch(directory);
+                }
+                final int fileCount = queue.scan(directory).size();
+                if (watch) {
+                    return new ResultStatus(false,
+                            "Importing " + fileCount + " file(s) and watching " + directory + " for new files");
+                }
+
+                javafx.application.Platform.runLater(() ->
+                        updateStatus("Importing " + fileCount + " file(s) from " + directory + "..."));
+                queue.awaitIdle();
+                queue.stop();
+                return new ResultStatus(false, "Batch import finished: " + queue.summaryText());
+            }
+        };
+
+        batchTask.setOnSucceeded(e -> {
+            final ResultStatus result = batchTask.getValue();
+            updateStatus(result.msg);
+            if (result.isError || !watch) {
+                isBatchRunning.set(false);
+            }
+        });
+
+        batchTask.setOnFailed(e -> {
+            logger.error("Batch import task failed", batchTask.getException());
+            stopBatchImport();
+            updateStatus("Batch import failed: " + batchTask.getException().getMessage());
+        });
+
+        Thread batchThread = new Thread(batchTask);
+        batchThread.setDaemon(true);
+        batchThread.start();
+    }
+
+    /**
+     * Stops the batch: no more files are queued or watched for, running imports finish, and
+     * files still waiting are marked as failed.
+     */
+    public void stopBatchImport() {
+        final BatchImportQueue queue = batchQueue;
+        if (queue != null) {
+            queue.stop();
+            batchSummary.set(queue.summaryText());
+        }
+        isBatchRunning.set(false);
+        updateStatus("Batch import stopped");
+    }
+
+    /**
+     * Runs one attempt at importing a batch file.  A retry after a failure that left a complete
+     * ingestion queue behind resumes that queue, so requests already sent are not sent twice; any
+     * other failure is not retried, since the file would be parsed and partly ingested again.
+     */
+    private ResultStatus runBatchJob(
+            BatchImportJob job,
+            com.ospreydcs.dp.grpc.v1.common.ColumnMetadata columnMetadata,
+            String batchProviderId
+    ) {
+        final IngestionJobMetrics metrics = new IngestionJobMetrics("batch-" + job.getFile().getFileName());
+        javafx.application.Platform.runLater(() -> jobMetrics.set(metrics));
+
+        final ResultStatus result;
+        if (job.getResumeDirectory() != null) {
+            result = dpApplication.resumeIngestionJob(job.getResumeDirectory(), metrics);
+        } else {
+            final ImportProgress progress = new ImportProgress();
+            final ImportPipeline pipeline = new ImportPipeline(
+                    DataFileImporters.forFile(job.getFile(), DataFileImporters.maxRowsPerFrame()),
+                    ImportPipeline.queueFrames());
+            result = dpApplication.ingestImportedFile(
+                batchProviderId,
+                columnMetadata,
+                job.getFile(),
+                pipeline,
+                progress,
+                new ArrayList<>(),
+                metrics
+            );
+            job.setRowsRead(progress.getRowsRead());
+        }
+
+        if (result.isError) {
+            final Path queueDirectory = job.getResumeDirectory() != null
+                    ? job.getResumeDirectory()
+                    : metrics.getQueueDirectory();
+            if (queueDirectory != null && Files.exists(queueDirectory.resolve(IngestionWriteAheadQueue.SEALED_FILE))) {
+                job.setResumeDirectory(queueDirectory);
+            } else {
+                job.setRetryable(false);
+            }
+        }
+        return result;
+    }
+
+    private void onBatchJobUpdated(BatchImportJob job) {
+        final int index = batchJobs.indexOf(job);
+        if (index < 0) {
+            batchJobs.add(job);
+        } else {
+            // replacing the element makes the list view redraw its changed status
+            batchJobs.set(index, job);
+        }
+        final BatchImportQueue queue = batchQueue;
+        if (queue != null) {
+            batchSummary.set(queue.summaryText());
+        }
+    }
+
     private boolean isIngestValid() {
         // Validate components are available
         if (providerDetailsComponent == null || columnMetadataComponent == null) {
@@ -275,7 +600,7 @@ public class DataImportViewModel {
         );
     }
 
-    private ResultStatus performDataIngestion() {
+    private ResultStatus performDataIngestion(IngestionJobMetrics metrics) {
         // Get data directly from ColumnMetadataComponent (Critical Integration Pattern)
         com.ospreydcs.dp.grpc.v1.common.ColumnMetadata columnMetadata =
             columnMetadataComponent.getColumnMetadata();
@@ -286,10 +611,28 @@ public class DataImportViewModel {
                 subscriptionDetailsComponent.getSubscriptions() : 
                 new ArrayList<>();
         
+        // Only a preview of the file has been read; the whole file is parsed as it is ingested, so
+        // its frames never have to be held in memory all at once.
+        if (!filePath.get().isEmpty()) {
+            final Path path = Path.of(filePath.get());
+            final ImportPipeline pipeline = new ImportPipeline(
+                    DataFileImporters.forFile(path, DataFileImporters.maxRowsPerFrame()),
+                    ImportPipeline.queueFrames());
+            return dpApplication.ingestImportedFile(
+                columnMetadata,
+                path,
+                pipeline,
+                new ImportProgress(),
+                new ArrayList<>(subscriptions),
+                metrics
+            );
+        }
+
         return dpApplication.ingestImportedData(
             columnMetadata,
             List.copyOf(ingestionDataFrames),
-            new ArrayList<>(subscriptions)
+            new ArrayList<>(subscriptions),
+            metrics
         );
     }
 
@@ -3,12 +3,36 @@ package com.ospreydcs.dp.gui;
 import com.ospreydcs.dp.client.*;
 import com.ospreydcs.dp.client.result.*;
 import com.ospreydcs.dp.grpc.v1.annotation.Calculations;
+import com.ospreydcs.dp.grpc.v1.annotation.DataSet;
 import com.ospreydcs.dp.grpc.v1.annotation.ExportDataRequest;
 import com.ospreydcs.dp.grpc.v1.common.*;
+import com.ospreydcs.dp.grpc.v1.ingestion.IngestDataRequest;
 import com.ospreydcs.dp.grpc.v1.ingestion.RegisterProviderResponse;
 import com.ospreydcs.dp.grpc.v1.ingestionstream.PvConditionTrigger;
-import com.ospreydcs.dp.grpc.v1.ingestionstream.SubscribeDataEventResponse;
 import com.ospreydcs.dp.grpc.v1.query.QueryTableRequest;
+import com.ospreydcs.dp.grpc.v1.query.QueryTableResponse;
+import com.ospreydcs.dp.gui.dataevent.DataEventBatch;
+import com.ospreydcs.dp.gui.dataevent.DataEventCaptureService;
+import com.ospreydcs.dp.gui.dataevent.DataEventListener;
+import com.ospreydcs.dp.gui.dataevent.DataEventMetrics;
+import com.ospreydcs.dp.gui.dataevent.DataEventStream;
+import com.ospreydcs.dp.gui.dataevent.QueryResultCache;
+import com.ospreydcs.dp.gui.export.CsvExportWriter;
+import com.ospreydcs.dp.gui.export.ExportBlock;
+import com.ospreydcs.dp.gui.export.ExportFileWriter;
+import com.ospreydcs.dp.gui.export.ExportProgress;
+import com.ospreydcs.dp.gui.export.Hdf5ExportWriter;
+import com.ospreydcs.dp.gui.export.StreamingExporter;
+import com.ospreydcs.dp.gui.importer.ImportPipeline;
+import com.ospreydcs.dp.gui.importer.ImportProgress;
+import com.ospreydcs.dp.gui.ingest.BucketSizing;
+import com.ospreydcs.dp.gui.ingest.IngestedDataExtent;
+import com.ospreydcs.dp.gui.ingest.IngestionJobMetrics;
+import com.ospreydcs.dp.gui.ingest.IngestionQueueDrainer;
+import com.ospreydcs.dp.gui.ingest.IngestionRetryPolicy;
+import com.ospreydcs.dp.gui.ingest.IngestionWriteAheadQueue;
+import com.ospreydcs.dp.gui.ingest.ProviderSimulation;
+import com.ospreydcs.dp.gui.ingest.SamplingClockEncoder;
 import com.ospreydcs.dp.gui.model.*;
 import com.ospreydcs.dp.service.common.model.ResultStatus;
 import com.ospreydcs.dp.service.common.protobuf.TimestampUtility;
@@ -16,8 +40,18 @@ import com.ospreydcs.dp.service.inprocess.InprocessServiceEcosystem;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
@@ -27,17 +61,31 @@ public class DpApplication {
     // static variables
     private static final Logger logger = LogManager.getLogger();
 
+    // constants
+
+    /**
+     * Bucket size passed to generateAndIngestData() to request automatic sizing: each PV gets the
+     * bucket duration that brings its requests closest to the configured target request size.
+     */
+    public static final int AUTO_BUCKET_SIZE = 0;
+
     // instance variables
     private InprocessServiceEcosystem inprocessServiceEcosystem = null;
     private ApiClient api = null;
     
     // state variables for cross-view usage
-    private String providerId = null;
+    private volatile String providerId = null;
     private String providerName = null;
+    private List<String> simulatedProviderIds = new ArrayList<>();
     private Instant dataBeginTime = null;
     private Instant dataEndTime = null;
     private List<String> pvNames = null;
-    private List<DataEventSubscription> dataEventSubscriptions = new ArrayList<>();
+    private List<DataEventSubscription> dataEventSubscriptions = new CopyOnWriteArrayList<>();
+    private final List<DataEventStream> dataEventStreams = new CopyOnWriteArrayList<>();
+    private final List<DataEventListener> dataEventListeners = new CopyOnWriteArrayList<>();
+    private final Object dataEventPollerLock = new Object();
+    private ScheduledExecutorService dataEventPoller = null;
+    private DataEventCaptureService dataEventCapture = null;
     
     // application state tracking for home view
     private boolean hasIngestedData = false;
@@ -49,7 +97,9 @@ public class DpApplication {
     public enum ExportOutputFileFormat {
         CSV,
         XLSX,
-        HDF5
+        HDF5,
+        CSV_GZIP,
+        HDF5_DEFLATE
     }
 
     public enum TriggerCondition {
@@ -156,16 +206,17 @@ public class DpApplication {
     // Getters for state variables (for use by other views)
     public String getProviderId() { return providerId; }
     public String getProviderName() { return providerName; }
-    public Instant getDataBeginTime() { return dataBeginTime; }
-    public Instant getDataEndTime() { return dataEndTime; }
-    public List<String> getPvNames() { return pvNames; }
+    public List<String> getSimulatedProviderIds() { return simulatedProviderIds; }
+    public synchronized Instant getDataBeginTime() { return dataBeginTime; }
+    public synchronized Instant getDataEndTime() { return dataEndTime; }
+    public synchronized List<String> getPvNames() { return pvNames; }
 
     // Getters for application state tracking (for home view)
-    public boolean hasIngestedData() { return hasIngestedData; }
+    public synchronized boolean hasIngestedData() { return hasIngestedData; }
     public boolean hasPerformedQueries() { return hasPerformedQueries; }
     public String getLastOperationResult() { return lastOperationResult; }
-    public int getTotalPvsIngested() { return totalPvsIngested; }
-    public int getTotalBucketsCreated() { return totalBucketsCreated; }
+    public synchronized int getTotalPvsIngested() { return totalPvsIngested; }
+    public synchronized int getTotalBucketsCreated() { return totalBucketsCreated; }
 
     // Methods for updating application state (for use by other operations)
     public void setHasPerformedQueries(boolean hasPerformed) {
@@ -188,7 +239,7 @@ public class DpApplication {
     }
     
     // General method for setting PV names (for use by data import and other workflows)
-    public void setPvNames(List<String> pvNames) {
+    public synchronized void setPvNames(List<String> pvNames) {
         if (pvNames != null && !pvNames.isEmpty()) {
             this.pvNames = new java.util.ArrayList<>(pvNames);
             Collections.sort(this.pvNames);
@@ -198,11 +249,11 @@ public class DpApplication {
     }
 
     // Time range management methods (for data-event-explore navigation)
-    public void setDataBeginTime(Instant beginTime) {
+    public synchronized void setDataBeginTime(Instant beginTime) {
         this.dataBeginTime = beginTime;
     }
 
-    public void setDataEndTime(Instant endTime) {
+    public synchronized void setDataEndTime(Instant endTime) {
         this.dataEndTime = endTime;
     }
 
@@ -261,10 +312,23 @@ public class DpApplication {
             return false;
         }
 
+        // capture the data around events of subscriptions with a capture policy
+        dataEventCapture = DataEventCaptureService.fromConfig(this::queryTableResponse);
+        addDataEventListener(dataEventCapture);
+
         return true;
     }
 
     public boolean fini() {
+        synchronized (dataEventPollerLock) {
+            if (dataEventPoller != null) {
+                dataEventPoller.shutdownNow();
+            }
+        }
+        dataEventSubscriptions.forEach(subscription -> subscription.eventTailer.close());
+        if (dataEventCapture != null) {
+            dataEventCapture.shutdown();
+        }
         api.fini();
         inprocessServiceEcosystem.fini();
         return true;
@@ -312,160 +376,677 @@ public class DpApplication {
         }
     }
 
+    /**
+     * Registers providerCount providers for a many-provider simulation, named after
+     * baseProviderName by ProviderSimulation.simulatedProviderName() and sharing its description,
+     * tags and attributes.  The registered ids replace any from a previous simulation; the
+     * provider registered by registerProvider() is unaffected.
+     */
+    public ResultStatus registerSimulatedProviders(
+            String baseProviderName,
+            String description,
+            List<String> tags,
+            Map<String, String> attributes,
+            int providerCount
+    ) {
+        final List<String> registeredIds = new ArrayList<>(providerCount);
+        for (int providerIndex = 0; providerIndex < providerCount; providerIndex++) {
+            final String name = ProviderSimulation.simulatedProviderName(baseProviderName, providerIndex);
+            final IngestionClient.RegisterProviderRequestParams params =
+                    new IngestionClient.RegisterProviderRequestParams(name, description, tags, attributes);
+            final RegisterProviderApiResult apiResult = api.ingestionClient.registerProvider(params);
+            if (apiResult.resultStatus.isError) {
+                return new ResultStatus(
+                        true, "error registering simulated provider " + name + ": " + apiResult.resultStatus.msg);
+            }
+            if (!apiResult.registerProviderResponse.hasRegistrationResult()) {
+                return new ResultStatus(
+                        true, "Unexpected response structure from registration of simulated provider " + name);
+            }
+            registeredIds.add(apiResult.registerProviderResponse.getRegistrationResult().getProviderId());
+        }
+        this.simulatedProviderIds = registeredIds;
+        return new ResultStatus(false, "Registered " + providerCount + " simulated provider(s)");
+    }
+
     public ResultStatus ingestImportedData(
             ColumnMetadata columnMetadata,
             List<DataImportResult.DataFrameResult> dataFrames,
             List<SubscribeDataEventDetail> subscriptionDetails
     ) {
-        if (providerId == null) {
-            return new ResultStatus(true, "Provider must be registered before ingesting data");
+        return ingestImportedData(
+                columnMetadata, dataFrames, subscriptionDetails, new IngestionJobMetrics("import"));
+    }
+
+    /**
+     * Ingests imported data frames, recording requests, throughput, ack latency, retries and
+     * rejects in the supplied metrics.  The metrics are finished when this method returns, whether
+     * or not the ingestion succeeded, so a UI polling them sees the job end.
+     */
+    public ResultStatus ingestImportedData(
+            ColumnMetadata columnMetadata,
+            List<DataImportResult.DataFrameResult> dataFrames,
+            List<SubscribeDataEventDetail> subscriptionDetails,
+            IngestionJobMetrics metrics
+    ) {
+        final ImportedFrameIngester ingester = new ImportedFrameIngester(providerId, subscriptionDetails);
+
+        // with every frame at hand, all subscriptions are checked and made before anything is sent
+        for (DataImportResult.DataFrameResult frame : dataFrames) {
+            final ResultStatus typeStatus = ingester.recordDataTypes(frame);
+            if (typeStatus.isError) {
+                metrics.finish(true);
+                return typeStatus;
+            }
+        }
+        final ResultStatus subscriptionPvStatus = ingester.checkSubscriptionPvsKnown();
+        if (subscriptionPvStatus.isError) {
+            metrics.finish(true);
+            return subscriptionPvStatus;
         }
 
-        // create map of PV data type by PV name for convenience
-        final Map<String, IngestionClient.IngestionDataType> pvDataTypeMap = new HashMap<>();
-        for (var dataFrame : dataFrames) {
-            for (var dataColumn : dataFrame.columns) {
-                IngestionClient.IngestionDataType pvDataType = null;
-                switch (dataColumn.getDataValues(0).getValueCase()) {
-                    case STRINGVALUE -> {
-                        pvDataType = IngestionClient.IngestionDataType.STRING;
-                    }
-                    case BOOLEANVALUE -> {
-                        pvDataType = IngestionClient.IngestionDataType.BOOLEAN;
-                    }
-                    case UINTVALUE -> {
-                        pvDataType = IngestionClient.IngestionDataType.UINT;
-                    }
-                    case ULONGVALUE -> {
-                        pvDataType = IngestionClient.IngestionDataType.ULONG;
-                    }
-                    case INTVALUE -> {
-                        pvDataType = IngestionClient.IngestionDataType.INT;
-                    }
-                    case LONGVALUE -> {
-                        pvDataType = IngestionClient.IngestionDataType.LONG;
-                    }
-                    case FLOATVALUE -> {
-                        pvDataType = IngestionClient.IngestionDataType.FLOAT;
-                    }
-                    case DOUBLEVALUE -> {
-                        pvDataType = IngestionClient.IngestionDataType.DOUBLE;
-                    }
-                    case BYTEARRAYVALUE -> {
-                        pvDataType = IngestionClient.IngestionDataType.BYTE_ARRAY;
-                    }
-                    case ARRAYVALUE -> {
-                        pvDataType = IngestionClient.IngestionDataType.ARRAY;
-                    }
-                    case STRUCTUREVALUE -> {
-                        pvDataType = IngestionClient.IngestionDataType.STRUCTURE;
-                    }
-                    case IMAGEVALUE -> {
-                        pvDataType = IngestionClient.IngestionDataType.IMAGE;
-                    }
-                    case TIMESTAMPVALUE -> {
-                        pvDataType = IngestionClient.IngestionDataType.TIMESTAMP;
-                    }
-                    case VALUE_NOT_SET -> {
-                        return new ResultStatus(
-                                true,
-                                "DataValue type not set for column: " + dataColumn.getName());
-                    }
+        final ResultStatus result = ingestImportedDataInternal(columnMetadata, ingester, metrics, handler -> {
+            for (DataImportResult.DataFrameResult frame : dataFrames) {
+                final ResultStatus frameStatus = handler.handle(frame);
+                if (frameStatus.isError) {
+                    return frameStatus;
                 }
-                pvDataTypeMap.put(dataColumn.getName(), pvDataType);
             }
+            return new ResultStatus(false, "");
+        });
+        metrics.finish(result.isError);
+        logger.info("ingestion job summary: {}", metrics.summary());
+        return result;
+    }
+
+    /**
+     * Ingests an imported file while it is being parsed: the pipeline's parser thread produces
+     * frames that are encoded and queued for the senders as they arrive, so parsing and ingestion
+     * overlap and neither the file's frames nor its requests accumulate in memory.  Subscriptions
+     * are made for each PV before its first data is sent.  If parsing fails partway, the frames
+     * ingested before the failure remain ingested.  The data is ingested for the provider
+     * registered most recently.
+     */
+    public ResultStatus ingestImportedFile(
+            ColumnMetadata columnMetadata,
+            Path file,
+            ImportPipeline pipeline,
+            ImportProgress progress,
+            List<SubscribeDataEventDetail> subscriptionDetails,
+            IngestionJobMetrics metrics
+    ) {
+        return ingestImportedFile(
+                providerId, columnMetadata, file, pipeline, progress, subscriptionDetails, metrics);
+    }
+
+    /**
+     * Ingests an imported file for the specified provider.  A batch import registers its provider
+     * once and ingests every file for it, whatever is registered while the batch runs.
+     */
+    public ResultStatus ingestImportedFile(
+            String jobProviderId,
+            ColumnMetadata columnMetadata,
+            Path file,
+            ImportPipeline pipeline,
+            ImportProgress progress,
+            List<SubscribeDataEventDetail> subscriptionDetails,
+            IngestionJobMetrics metrics
+    ) {
+        final ImportedFrameIngester ingester = new ImportedFrameIngester(jobProviderId, subscriptionDetails);
+        final ResultStatus result = ingestImportedDataInternal(
+                columnMetadata, ingester, metrics, handler -> pipeline.run(file, progress, handler));
+        metrics.finish(result.isError);
+        logger.info("ingestion job summary: {}", metrics.summary());
+        return result;
+    }
+
+    /**
+     * Supplies imported frames to a handler, returning the first error from either side.
+     */
+    @FunctionalInterface
+    private interface ImportedFrameSource {
+        ResultStatus feed(ImportPipeline.FrameHandler handler) throws Exception;
+    }
+
+    private ResultStatus ingestImportedDataInternal(
+            ColumnMetadata columnMetadata,
+            ImportedFrameIngester ingester,
+            IngestionJobMetrics metrics,
+            ImportedFrameSource frameSource
+    ) {
+        if (ingester.jobProviderId == null) {
+            return new ResultStatus(true, "Provider must be registered before ingesting data");
         }
 
-        // process data event subscriptions
-        for (SubscribeDataEventDetail subscriptionDetail : subscriptionDetails) {
+        // subscribe for the PVs whose data types are already known
+        final ResultStatus subscriptionStatus = ingester.subscribeKnownPvs();
+        if (subscriptionStatus.isError) {
+            return subscriptionStatus;
+        }
 
-            // get PV data type
-            final IngestionClient.IngestionDataType pvDataType = pvDataTypeMap.get(subscriptionDetail.pvName);
-            if (pvDataType == null) {
-                return new ResultStatus(
-                        true,
-                        "unknown PV name in subscription: " + subscriptionDetail.pvName);
+        // Requests are written to a durable queue and drained by a pool of senders, so a failure
+        // partway through leaves the unsent remainder on disk for resumeIngestionJob().
+        final IngestionWriteAheadQueue queue;
+        try {
+            queue = IngestionWriteAheadQueue.create(IngestionWriteAheadQueue.rootDirectory(), columnMetadata);
+        } catch (IOException e) {
+            return new ResultStatus(true, "Error creating ingestion queue: " + e.getMessage());
+        }
+        metrics.setQueueDirectory(queue.getJobDirectory());
+        final IngestionRetryPolicy retryPolicy = IngestionRetryPolicy.fromConfig();
+        final IngestionQueueDrainer drainer = new IngestionQueueDrainer(
+                queue,
+                IngestionQueueDrainer.senderThreads(),
+                request -> sendQueuedRequest(request, queue.getColumnMetadata(), metrics, retryPolicy));
+        drainer.start();
+
+        try {
+            // queue the ingestData() requests for each frame as it is supplied, encoding several
+            // frames at once
+            final ResultStatus suppliedStatus = frameSource.feed(frame -> drainer.hasFailed()
+                    ? new ResultStatus(true, "ingestion failed")
+                    : ingester.ingest(frame, queue, drainer, metrics));
+            final ResultStatus encodeStatus = ingester.awaitEncoded();
+            final ResultStatus feedStatus = encodeStatus.isError ? encodeStatus : suppliedStatus;
+
+            // wait for the senders to drain the queue
+            queue.seal();
+            final ResultStatus drainStatus = drainer.awaitCompletion();
+            if (drainStatus.isError) {
+                queue.close();
+                return new ResultStatus(true, drainStatus.msg
+                        + " (unsent requests saved for resume in: " + queue.getJobDirectory() + ")");
+            }
+            deleteCompletedQueue(queue);
+            final IngestedDataExtent extent = ingester.extent;
+            if (feedStatus.isError) {
+                return new ResultStatus(true, feedStatus.msg
+                        + " (" + extent.getRequestCount() + " requests were ingested before the error)");
+            }
+            // a subscription whose PV never appeared in the file was never made
+            final ResultStatus unmatchedStatus = ingester.checkSubscriptionPvsKnown();
+            if (unmatchedStatus.isError) {
+                return unmatchedStatus;
             }
 
-            // call subscribeDataEvent for each subscription
-            final ResultStatus subscriptionStatus =
-                    subscribeDataEvent(subscriptionDetail, pvDataType);
-            if (subscriptionStatus.isError) {
-                return new ResultStatus(
-                        true,
-                        "error handling subscription: " + subscriptionStatus.msg);
+            // a file with no data rows, such as a header-only CSV, sends nothing and leaves the
+            // application state as it was
+            if (extent.getRequestCount() == 0) {
+                return new ResultStatus(true, "No data rows found: nothing was ingested");
+            }
+
+            final List<String> sortedPvNames = extent.getSortedPvNames();
+
+            // Update application state tracking (enables Explore menu items)
+            mergeIngestedData(extent);
+
+            String successMessage = "Successfully ingested imported data for PVs: " + sortedPvNames
+                    + " in " + extent.getRequestCount() + " ingestData() requests begin time: "
+                    + extent.getBeginInstant() + " and end time: " + extent.getEndInstant();
+            this.lastOperationResult = successMessage;
+
+            return new ResultStatus(false, successMessage);
+
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            ingester.stop(new ResultStatus(true, "ingestion stopped: " + e.getMessage()));
+            // unblock the dispatcher if the producer failed before sealing the queue
+            try {
+                queue.close();
+            } catch (IOException closeException) {
+                logger.warn("error closing ingestion queue: {}", queue.getJobDirectory(), closeException);
             }
+            return new ResultStatus(true, "Error during data ingestion: " + e.getMessage());
         }
+    }
 
-        try {
-            // send an ingestData() request for each frame
-            final Set<String> pvNames = new HashSet<>();
-            Instant minBeginInstant = null;
-            Instant maxEndInstant = null;
-            int requestCount = 0;
-            for (DataImportResult.DataFrameResult frame : dataFrames) {
+    /**
+     * Adds an imported-data ingestion job's PV names, time range and request count to the
+     * application state.  Batch import runs several jobs at once, so each job's extent is merged
+     * with those already ingested rather than replacing them: the PV names are the union of every
+     * job's, the time range spans them all, and the totals are summed.  An extent with no requests
+     * has no time range and leaves the state unchanged.
+     */
+    private synchronized void mergeIngestedData(IngestedDataExtent extent) {
+        if (extent.getRequestCount() == 0 || extent.getBeginInstant() == null || extent.getEndInstant() == null) {
+            return;
+        }
+        final Set<String> mergedPvNames = new HashSet<>(extent.getSortedPvNames());
+        if (hasIngestedData && pvNames != null) {
+            mergedPvNames.addAll(pvNames);
+        }
+        setPvNames(new ArrayList<>(mergedPvNames));
+        if (!hasIngestedData || dataBeginTime == null || extent.getBeginInstant().isBefore(dataBeginTime)) {
+            this.dataBeginTime = extent.getBeginInstant();
+        }
+        if (!hasIngestedData || dataEndTime == null || extent.getEndInstant().isAfter(dataEndTime)) {
+            this.dataEndTime = extent.getEndInstant();
+        }
+        this.totalPvsIngested = mergedPvNames.size();
+        // Each request (frame, or piece of a split frame) becomes a "bucket"
+        this.totalBucketsCreated = (hasIngestedData ? totalBucketsCreated : 0) + extent.getRequestCount();
+        this.hasIngestedData = true;
+    }
 
-                final String requestId = UUID.randomUUID().toString();
+    /**
+     * Returns the ingestion data type of a column from its first value, or null if the value's
+     * type is not set.
+     */
+    private static IngestionClient.IngestionDataType importedDataType(DataColumn dataColumn) {
+        return switch (dataColumn.getDataValues(0).getValueCase()) {
+            case STRINGVALUE -> IngestionClient.IngestionDataType.STRING;
+            case BOOLEANVALUE -> IngestionClient.IngestionDataType.BOOLEAN;
+            case UINTVALUE -> IngestionClient.IngestionDataType.UINT;
+            case ULONGVALUE -> IngestionClient.IngestionDataType.ULONG;
+            case INTVALUE -> IngestionClient.IngestionDataType.INT;
+            case LONGVALUE -> IngestionClient.IngestionDataType.LONG;
+            case FLOATVALUE -> IngestionClient.IngestionDataType.FLOAT;
+            case DOUBLEVALUE -> IngestionClient.IngestionDataType.DOUBLE;
+            case BYTEARRAYVALUE -> IngestionClient.IngestionDataType.BYTE_ARRAY;
+            case ARRAYVALUE -> IngestionClient.IngestionDataType.ARRAY;
+            case STRUCTUREVALUE -> IngestionClient.IngestionDataType.STRUCTURE;
+            case IMAGEVALUE -> IngestionClient.IngestionDataType.IMAGE;
+            case TIMESTAMPVALUE -> IngestionClient.IngestionDataType.TIMESTAMP;
+            default -> null;
+        };
+    }
 
-                // columnMetadata is null when the user entered none.  Only call the setter when it
-                // is non-null: params defaults to no metadata, and IngestionRequestParams documents
-                // that null is ambiguous between the two setColumnMetadata() overloads.
-                final IngestionClient.IngestionRequestParams params = new IngestionClient.IngestionRequestParams(
-                        this.providerId,                   // providerId
-                        requestId
-                );
-                if (columnMetadata != null) {
-                    params.setColumnMetadata(columnMetadata);
+    /**
+     * Encodes and queues the frames of one imported-data ingestion job, making each data event
+     * subscription once its PV's data type is known, and accumulates the PV names and time range
+     * ingested.
+     *
+     * Frames are supplied on one thread, which records their data types and makes subscriptions
+     * so that a PV's subscription always precedes its data, and are then encoded into requests on
+     * a pool with at most framesInFlight frames outstanding.  The first encoding error cancels the
+     * frames not yet encoded.  Cancellation is cooperative rather than by interrupt, since an
+     * interrupted write would close the queue's file channel for every other encoder.
+     */
+    private class ImportedFrameIngester {
+
+        // captured when the job starts, so registering a provider meanwhile does not affect it
+        private final String jobProviderId;
+        private final Map<String, IngestionClient.IngestionDataType> pvDataTypeMap = new HashMap<>();
+        private final List<SubscribeDataEventDetail> pendingSubscriptions;
+        private final IngestedDataExtent extent = new IngestedDataExtent();
+        private final int messageSizeLimitBytes = BucketSizing.messageSizeLimitBytes();
+        private final int minRunLength = SamplingClockEncoder.minRunLength();
+        private final int maxPendingRequests = IngestionQueueDrainer.maxPendingRequests();
+        private final Semaphore framesInFlight;
+        private final ExecutorService encoderPool;
+        private final AtomicReference<ResultStatus> firstError = new AtomicReference<>();
+
+        ImportedFrameIngester(String jobProviderId, List<SubscribeDataEventDetail> subscriptionDetails) {
+            this.jobProviderId = jobProviderId;
+            final int frameWindow = Math.max(1, IngestionQueueDrainer.framesInFlight());
+            final int encoderThreads = Math.min(frameWindow, Runtime.getRuntime().availableProcessors());
+            this.pendingSubscriptions = new ArrayList<>(subscriptionDetails);
+            this.framesInFlight = new Semaphore(frameWindow);
+            this.encoderPool = Executors.newFixedThreadPool(encoderThreads, runnable -> {
+                final Thread thread = new Thread(runnable, "ingestion-encoder");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        /**
+         * Records the data type of each column of frame.
+         */
+        ResultStatus recordDataTypes(DataImportResult.DataFrameResult frame) {
+            for (DataColumn dataColumn : frame.columns) {
+                final IngestionClient.IngestionDataType pvDataType = importedDataType(dataColumn);
+                if (pvDataType == null) {
+                    return new ResultStatus(true, "DataValue type not set for column: " + dataColumn.getName());
                 }
+                pvDataTypeMap.put(dataColumn.getName(), pvDataType);
+            }
+            return new ResultStatus(false, "");
+        }
 
-                // Call ingestData() API method
-                final IngestDataApiResult apiResult = api.ingestionClient.ingestData(
-                        params,
-                        frame.timestamps,
-                        frame.columns);
-                requestCount++;
+        /**
+         * Makes the pending subscriptions whose PV data types are known, together in as few
+         * subscription calls as possible.
+         */
+        ResultStatus subscribeKnownPvs() {
+            final Map<SubscribeDataEventDetail, IngestionClient.IngestionDataType> subscriptionDataTypes =
+                    new LinkedHashMap<>();
+            for (SubscribeDataEventDetail subscriptionDetail : pendingSubscriptions) {
+                final IngestionClient.IngestionDataType pvDataType = pvDataTypeMap.get(subscriptionDetail.pvName);
+                if (pvDataType != null) {
+                    subscriptionDataTypes.put(subscriptionDetail, pvDataType);
+                }
+            }
+            if (subscriptionDataTypes.isEmpty()) {
+                return new ResultStatus(false, "");
+            }
+            final ResultStatus subscriptionStatus = subscribeDataEvents(subscriptionDataTypes);
+            if (subscriptionStatus.isError) {
+                return new ResultStatus(true, "error handling subscription: " + subscriptionStatus.msg);
+            }
+            pendingSubscriptions.removeAll(subscriptionDataTypes.keySet());
+            return new ResultStatus(false, "");
+        }
 
-                if (apiResult.resultStatus.isError) {
-                    return apiResult.resultStatus;
+        /**
+         * Returns an error naming a pending subscription whose PV has not appeared in any frame.
+         */
+        ResultStatus checkSubscriptionPvsKnown() {
+            for (SubscribeDataEventDetail subscriptionDetail : pendingSubscriptions) {
+                if (!pvDataTypeMap.containsKey(subscriptionDetail.pvName)) {
+                    return new ResultStatus(true, "unknown PV name in subscription: " + subscriptionDetail.pvName);
                 }
+            }
+            return new ResultStatus(false, "");
+        }
 
-                // add pv names for frame to list of unique pv names ingested for imported file
-                pvNames.addAll(frame.columns.stream().map(col -> col.getName()).collect(Collectors.toList()));
+        /**
+         * Makes the subscriptions for frame's PVs and hands it to the encoder pool, first waiting
+         * while framesInFlight frames are being encoded or the senders are too far behind.
+         * Returns the first error from an earlier frame, if any.
+         */
+        ResultStatus ingest(
+                DataImportResult.DataFrameResult frame,
+                IngestionWriteAheadQueue queue,
+                IngestionQueueDrainer drainer,
+                IngestionJobMetrics metrics
+        ) throws InterruptedException {
+
+            // subscriptions for PVs first seen in this frame are made before its data is sent
+            final ResultStatus typeStatus = recordDataTypes(frame);
+            if (typeStatus.isError) {
+                return typeStatus;
+            }
+            final ResultStatus subscriptionStatus = subscribeKnownPvs();
+            if (subscriptionStatus.isError) {
+                return subscriptionStatus;
+            }
 
-                // update min begin / max end times ingested for imported file
-                final Instant frameBeginInstant = TimestampUtility.instantFromTimestamp(frame.timestamps.getFirst());
-                if (minBeginInstant == null || frameBeginInstant.isBefore(minBeginInstant)) {
-                    minBeginInstant = frameBeginInstant;
+            drainer.awaitCapacity(maxPendingRequests);
+            framesInFlight.acquire();
+            final ResultStatus earlierError = firstError.get();
+            if (earlierError != null) {
+                framesInFlight.release();
+                return earlierError;
+            }
+            encoderPool.execute(() -> {
+                try {
+                    // frames are skipped once encoding or sending has failed
+                    if (firstError.get() == null && !drainer.hasFailed()) {
+                        encodeAndQueue(frame, queue, metrics);
+                    }
+                } catch (Exception e) {
+                    logger.error("error queueing imported frame: {}", frame.sheetName, e);
+                    cancel(new ResultStatus(true, "error queueing frame " + frame.sheetName + ": " + e.getMessage()));
+                } finally {
+                    framesInFlight.release();
                 }
-                final Instant frameEndInstant = TimestampUtility.instantFromTimestamp(frame.timestamps.getLast());
-                if (maxEndInstant == null || frameEndInstant.isAfter(maxEndInstant)) {
-                    maxEndInstant = frameEndInstant;
+            });
+            return new ResultStatus(false, "");
+        }
+
+        /**
+         * Records error as the job's outcome unless an earlier error already is, so frames not yet
+         * encoded are skipped.
+         */
+        void cancel(ResultStatus error) {
+            firstError.compareAndSet(null, error);
+        }
+
+        /**
+         * Cancels the frames not yet encoded and releases the pool without waiting for it.
+         */
+        void stop(ResultStatus error) {
+            cancel(error);
+            encoderPool.shutdown();
+        }
+
+        /**
+         * Waits for every frame handed to the pool to be encoded and returns the first error.
+         */
+        ResultStatus awaitEncoded() throws InterruptedException {
+            encoderPool.shutdown();
+            while (!encoderPool.awaitTermination(1, TimeUnit.SECONDS)) {
+                logger.debug("waiting for imported frames to be encoded");
+            }
+            final ResultStatus error = firstError.get();
+            return error != null ? error : new ResultStatus(false, "");
+        }
+
+        private void encodeAndQueue(
+                DataImportResult.DataFrameResult frame,
+                IngestionWriteAheadQueue queue,
+                IngestionJobMetrics metrics
+        ) throws IOException {
+
+            // regularly spaced rows are sent with a sampling clock instead of explicit timestamps
+            final List<SamplingClockEncoder.Segment> segments = SamplingClockEncoder.encode(
+                    frame.sheetName, frame.timestamps, frame.columns, minRunLength);
+            logger.debug("frame: {} encoded as {} segment(s), sampling clock: {}", frame.sheetName,
+                    segments.size(), segments.stream().filter(SamplingClockEncoder.Segment::isSamplingClock).count());
+
+            int frameRequestCount = 0;
+            for (SamplingClockEncoder.Segment segment : segments) {
+
+                // a segment too large for one message is sent as several consecutive row ranges
+                final List<DataFrameDetails> segmentPieces = BucketSizing.splitFrame(
+                        segment.frame.getName(),
+                        segment.frame.getTimestamps(),
+                        segment.frame.getDataColumns(),
+                        messageSizeLimitBytes,
+                        !segment.isSamplingClock());
+                metrics.addExpectedRequests(segmentPieces.size());
+
+                for (DataFrameDetails segmentPiece : segmentPieces) {
+                    queue.append(buildIngestDataRequest(
+                            jobProviderId,
+                            UUID.randomUUID().toString(),
+                            segmentPiece.getTimestamps(),
+                            segmentPiece.getDataColumns(),
+                            segment.periodNanos));
+                    frameRequestCount++;
                 }
             }
 
-            final List<String> sortedPvNames = pvNames.stream().sorted().collect(Collectors.toList());
+            // add the frame's pv names and time range to those ingested for the imported file
+            extent.add(
+                    frame.columns.stream().map(col -> col.getName()).collect(Collectors.toList()),
+                    TimestampUtility.instantFromTimestamp(frame.timestamps.getFirst()),
+                    TimestampUtility.instantFromTimestamp(frame.timestamps.getLast()),
+                    frameRequestCount);
+        }
+    }
 
-            setPvNames(sortedPvNames);
-            this.dataBeginTime = minBeginInstant;
-            this.dataEndTime = maxEndInstant;
-            
-            // Update application state tracking (enables Explore menu items)
-            this.hasIngestedData = true;
-            this.totalPvsIngested = sortedPvNames.size();
-            this.totalBucketsCreated = requestCount; // Each imported frame becomes a "bucket"
+    /**
+     * Returns the directories of ingestion jobs that were interrupted before all of their requests
+     * were acknowledged, oldest first.
+     */
+    public List<Path> listInterruptedIngestionJobs() {
+        try {
+            return IngestionWriteAheadQueue.listJobs(IngestionWriteAheadQueue.rootDirectory());
+        } catch (IOException e) {
+            logger.error("error listing interrupted ingestion jobs", e);
+            return List.of();
+        }
+    }
 
-            String successMessage = "Successfully ingested imported data for PVs: " + sortedPvNames
-                    + " in " + requestCount + " ingestData() requests begin time: "
-                    + minBeginInstant + " and end time: " + maxEndInstant;
-            this.lastOperationResult = successMessage;
+    /**
+     * Resumes an interrupted ingestion job, sending every queued request not yet checkpointed as
+     * acknowledged.  Requests carry their own providerId, so the provider need not be registered
+     * again in this session.  A job whose producer never finished (the application exited while
+     * parsing) is sent as far as it was queued.  The job directory is deleted once it completes.
+     */
+    public ResultStatus resumeIngestionJob(Path jobDirectory, IngestionJobMetrics metrics) {
+        final ResultStatus result = resumeIngestionJobInternal(jobDirectory, metrics);
+        metrics.finish(result.isError);
+        logger.info("ingestion job summary: {}", metrics.summary());
+        return result;
+    }
+
+    private ResultStatus resumeIngestionJobInternal(Path jobDirectory, IngestionJobMetrics metrics) {
+        final IngestionWriteAheadQueue queue;
+        try {
+            queue = IngestionWriteAheadQueue.open(jobDirectory);
+        } catch (IOException e) {
+            return new ResultStatus(true, "Error opening ingestion queue: " + e.getMessage());
+        }
 
+        try {
+            final boolean partiallyQueued = !queue.isSealed();
+            if (partiallyQueued) {
+                logger.warn("resuming partially queued ingestion job: {}", jobDirectory);
+                queue.seal();
+            }
+            final long remainingRequests = queue.getAppendedCount() - queue.getCompletedCount();
+            metrics.setExpectedRequests((int) remainingRequests);
+
+            final IngestionRetryPolicy retryPolicy = IngestionRetryPolicy.fromConfig();
+            final IngestionQueueDrainer drainer = new IngestionQueueDrainer(
+                    queue,
+                    IngestionQueueDrainer.senderThreads(),
+                    request -> sendQueuedRequest(request, queue.getColumnMetadata(), metrics, retryPolicy));
+            drainer.start();
+            final ResultStatus drainStatus = drainer.awaitCompletion();
+            if (drainStatus.isError) {
+                queue.close();
+                return new ResultStatus(true, drainStatus.msg
+                        + " (unsent requests remain saved for resume in: " + jobDirectory + ")");
+            }
+            deleteCompletedQueue(queue);
+
+            String successMessage = "Resumed ingestion job: sent " + remainingRequests + " remaining ingestData() requests";
+            if (partiallyQueued) {
+                successMessage += " (the job was interrupted while its file was still being read,"
+                        + " so data after the last queued request was not ingested)";
+            }
+            this.lastOperationResult = successMessage;
             return new ResultStatus(false, successMessage);
 
         } catch (Exception e) {
-            return new ResultStatus(true, "Error during data generation: " + e.getMessage());
+            try {
+                queue.close();
+            } catch (IOException closeException) {
+                logger.warn("error closing ingestion queue: {}", jobDirectory, closeException);
+            }
+            return new ResultStatus(true, "Error resuming ingestion job: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Deletes a completed job's queue.  The data is already ingested, so a failure here is only
+     * logged; the leftover directory resumes as a job with nothing left to send.
+     */
+    private static void deleteCompletedQueue(IngestionWriteAheadQueue queue) {
+        try {
+            queue.delete();
+        } catch (IOException e) {
+            logger.warn("error deleting completed ingestion queue: {}", queue.getJobDirectory(), e);
+        }
+    }
+
+    /**
+     * Builds the IngestDataRequest for a frame, as persisted in the ingestion queue.  When
+     * samplingClockPeriodNanos is positive the rows are known to be evenly spaced at that period
+     * and the timestamps are encoded as a sampling clock starting at the first row; otherwise they
+     * are sent explicitly.  Column metadata is applied when the request is sent rather than
+     * stored in every request.
+     */
+    static IngestDataRequest buildIngestDataRequest(
+            String providerId,
+            String clientRequestId,
+            List<Timestamp> timestamps,
+            List<DataColumn> columns,
+            long samplingClockPeriodNanos
+    ) {
+        final DataTimestamps.Builder dataTimestampsBuilder = DataTimestamps.newBuilder();
+        if (samplingClockPeriodNanos > 0) {
+            dataTimestampsBuilder.setSamplingClock(SamplingClock.newBuilder()
+                    .setStartTime(timestamps.getFirst())
+                    .setPeriodNanos(samplingClockPeriodNanos)
+                    .setCount(timestamps.size()));
+        } else {
+            dataTimestampsBuilder.setTimestampList(TimestampList.newBuilder().addAllTimestamps(timestamps));
+        }
+        final DataTimestamps dataTimestamps = dataTimestampsBuilder.build();
+        return IngestDataRequest.newBuilder()
+                .setProviderId(providerId)
+                .setClientRequestId(clientRequestId)
+                .setIngestionDataFrame(IngestDataRequest.IngestionDataFrame.newBuilder()
+                        .setDataTimestamps(dataTimestamps)
+                        .addAllDataColumns(columns))
+                .build();
+    }
+
+    /**
+     * Sends a request read back from the ingestion queue through the ingestion client.
+     */
+    private ResultStatus sendQueuedRequest(
+            IngestDataRequest request,
+            ColumnMetadata columnMetadata,
+            IngestionJobMetrics metrics,
+            IngestionRetryPolicy retryPolicy
+    ) {
+        final IngestDataRequest.IngestionDataFrame frame = request.getIngestionDataFrame();
+        final List<DataColumn> columns = frame.getDataColumnsList();
+
+        final IngestionClient.IngestionRequestParams params;
+        final List<Timestamp> timestamps;
+        final int rowCount;
+        if (frame.getDataTimestamps().hasSamplingClock()) {
+            // sampling clock in params, prebuilt columns passed alongside with no timestamp list
+            final SamplingClock samplingClock = frame.getDataTimestamps().getSamplingClock();
+            params = new IngestionClient.IngestionRequestParams(
+                    request.getProviderId(),                          // providerId
+                    request.getClientRequestId(),                     // requestId
+                    null,                                             // snapshotStartTimestampSeconds
+                    null,                                             // snapshotStartTimestampNanos
+                    null,                                             // timestampsSecondsList
+                    null,                                             // timestampNanosList
+                    samplingClock.getStartTime().getEpochSeconds(),   // samplingClockStartSeconds
+                    samplingClock.getStartTime().getNanoseconds(),    // samplingClockStartNanos
+                    samplingClock.getPeriodNanos(),                   // samplingClockPeriodNanos
+                    samplingClock.getCount(),                         // samplingClockCount
+                    null,                                             // columnNames
+                    null,                                             // dataType
+                    null                                              // values
+            );
+            timestamps = null;
+            rowCount = samplingClock.getCount();
+        } else {
+            params = new IngestionClient.IngestionRequestParams(
+                    request.getProviderId(),
+                    request.getClientRequestId()
+            );
+            timestamps = frame.getDataTimestamps().getTimestampList().getTimestampsList();
+            rowCount = timestamps.size();
         }
+
+        // columnMetadata is null when the user entered none.  Only call the setter when it
+        // is non-null: params defaults to no metadata, and IngestionRequestParams documents
+        // that null is ambiguous between the two setColumnMetadata() overloads.
+        if (columnMetadata != null) {
+            params.setColumnMetadata(columnMetadata);
+        }
+
+        return sendIngestData(
+                params,
+                timestamps,
+                columns,
+                rowCount * columns.size(),
+                BucketSizing.encodedFrameBytes(timestamps == null ? List.of() : timestamps, columns),
+                metrics,
+                retryPolicy);
     }
 
+    /**
+     * Generates random-walk data for each PV over the specified time range and ingests it.
+     *
+     * bucketSizeSeconds is either a fixed bucket duration applied to every PV, or
+     * AUTO_BUCKET_SIZE to size each PV's buckets from its data type and sample rate so that its
+     * requests come as close as possible to the configured target request size.  In either mode a
+     * bucket whose data would exceed the gRPC message size limit is split across several requests.
+     */
     public ResultStatus generateAndIngestData(
             Instant beginTime,
             Instant endTime,
@@ -474,7 +1055,67 @@ public class DpApplication {
             int bucketSizeSeconds,
             List<SubscribeDataEventDetail> subscriptionDetails
     ) {
-        if (providerId == null) {
+        return generateAndIngestData(
+                beginTime, endTime, columnMetadata, pvDetails, bucketSizeSeconds, subscriptionDetails,
+                new IngestionJobMetrics("generation"));
+    }
+
+    /**
+     * As above, recording requests, throughput, ack latency, retries and rejects in the supplied
+     * metrics.  The metrics are finished when this method returns, whether or not it succeeded.
+     */
+    public ResultStatus generateAndIngestData(
+            Instant beginTime,
+            Instant endTime,
+            ColumnMetadata columnMetadata,
+            List<PvDetail> pvDetails,
+            int bucketSizeSeconds,
+            List<SubscribeDataEventDetail> subscriptionDetails,
+            IngestionJobMetrics metrics
+    ) {
+        final List<String> providerIds = (providerId == null) ? List.of() : List.of(providerId);
+        final ResultStatus result = generateAndIngestDataInternal(
+                providerIds, beginTime, endTime, columnMetadata, pvDetails, bucketSizeSeconds,
+                subscriptionDetails, metrics);
+        metrics.finish(result.isError);
+        logger.info("ingestion job summary: {}", metrics.summary());
+        return result;
+    }
+
+    /**
+     * As generateAndIngestData(), but sent by the providers registered with
+     * registerSimulatedProviders() instead of the single registered provider.  The PVs are spread
+     * round-robin across the simulated providers and each provider sends its PVs from its own
+     * virtual thread, so the ingestion service handles all providers concurrently.
+     */
+    public ResultStatus generateAndIngestSimulatedData(
+            Instant beginTime,
+            Instant endTime,
+            ColumnMetadata columnMetadata,
+            List<PvDetail> pvDetails,
+            int bucketSizeSeconds,
+            List<SubscribeDataEventDetail> subscriptionDetails,
+            IngestionJobMetrics metrics
+    ) {
+        final ResultStatus result = generateAndIngestDataInternal(
+                simulatedProviderIds, beginTime, endTime, columnMetadata, pvDetails, bucketSizeSeconds,
+                subscriptionDetails, metrics);
+        metrics.finish(result.isError);
+        logger.info("ingestion job summary: {}", metrics.summary());
+        return result;
+    }
+
+    private ResultStatus generateAndIngestDataInternal(
+            List<String> providerIds,
+            Instant beginTime,
+            Instant endTime,
+            ColumnMetadata columnMetadata,
+            List<PvDetail> pvDetails,
+            int bucketSizeSeconds,
+            List<SubscribeDataEventDetail> subscriptionDetails,
+            IngestionJobMetrics metrics
+    ) {
+        if (providerIds.isEmpty()) {
             return new ResultStatus(true, "Provider must be registered before ingesting data");
         }
         
@@ -492,6 +1133,7 @@ public class DpApplication {
                 .collect(Collectors.toMap(PvDetail::getPvName, pvDetail -> pvDetail));
 
         // process data event subscriptions
+        final Map<SubscribeDataEventDetail, IngestionClient.IngestionDataType> subscriptionDataTypes = new LinkedHashMap<>();
         for (SubscribeDataEventDetail subscriptionDetail : subscriptionDetails) {
 
             // determine PV data type for subscription
@@ -501,21 +1143,12 @@ public class DpApplication {
                         true,
                         "unknown subscription PV name: " + subscriptionDetail.pvName);
             }
+            subscriptionDataTypes.put(subscriptionDetail, generatedDataType(pvDetail));
+        }
 
-            // get PV data type
-            final String pvDataTypeName = pvDetail.getDataType();
-
-            // get data type enum value for PV
-            IngestionClient.IngestionDataType pvDataType;
-            if (pvDataTypeName.equals("integer")) {
-                pvDataType = IngestionClient.IngestionDataType.INT;
-            } else {
-                pvDataType = IngestionClient.IngestionDataType.DOUBLE;
-            }
-
-            // call subscribeDataEvent for each subscription
-            final ResultStatus subscriptionStatus =
-                    subscribeDataEvent(subscriptionDetail, pvDataType);
+        // subscribe to all triggers together, sharing subscription calls
+        if (!subscriptionDataTypes.isEmpty()) {
+            final ResultStatus subscriptionStatus = subscribeDataEvents(subscriptionDataTypes);
             if (subscriptionStatus.isError) {
                 return new ResultStatus(
                         true,
@@ -524,21 +1157,58 @@ public class DpApplication {
         }
 
         try {
-            int totalBuckets = 0;
-            
+            final int messageSizeLimitBytes = BucketSizing.messageSizeLimitBytes();
+            final int targetRequestSizeBytes = BucketSizing.targetRequestSizeBytes();
+            final long totalDurationSeconds = java.time.Duration.between(beginTime, endTime).toSeconds();
+            final IngestionRetryPolicy retryPolicy = IngestionRetryPolicy.fromConfig();
+
+            // resolve bucket duration and per-request sample count for each PV up front, so the
+            // expected request total is known before the first request is sent
+            final int[] pvSamplesPerRequest = new int[pvDetails.size()];
+            int expectedRequests = 0;
+            for (int pvIndex = 0; pvIndex < pvDetails.size(); pvIndex++) {
+                final PvDetail pvDetail = pvDetails.get(pvIndex);
+                final IngestionClient.IngestionDataType dataType = generatedDataType(pvDetail);
+                final int pvBucketSeconds = (bucketSizeSeconds == AUTO_BUCKET_SIZE)
+                        ? BucketSizing.autoBucketSeconds(pvDetail.getValuesPerSecond(), dataType, targetRequestSizeBytes)
+                        : bucketSizeSeconds;
+                pvSamplesPerRequest[pvIndex] = BucketSizing.samplesPerRequest(
+                        pvDetail.getValuesPerSecond(), pvBucketSeconds, dataType, messageSizeLimitBytes);
+                logger.debug("generating pv: {} values per second: {} bucket seconds: {} samples per request: {}",
+                        pvDetail.getPvName(), pvDetail.getValuesPerSecond(), pvBucketSeconds, pvSamplesPerRequest[pvIndex]);
+                final long pvSampleCount = totalDurationSeconds * pvDetail.getValuesPerSecond();
+                expectedRequests += BucketSizing.requestCount(pvSampleCount, pvSamplesPerRequest[pvIndex]);
+            }
+            metrics.setExpectedRequests(expectedRequests);
+
             // Generate and ingest data for each PV
-            for (PvDetail pvDetail : pvDetails) {
-                ResultStatus result = generateAndIngestPvData(pvDetail, beginTime, endTime, columnMetadata, bucketSizeSeconds);
-                logger.debug("generating pv: {} values per second: {}", pvDetail.getPvName(), pvDetail.getValuesPerSecond());
+            if (providerIds.size() == 1) {
+                for (int pvIndex = 0; pvIndex < pvDetails.size(); pvIndex++) {
+                    final PvDetail pvDetail = pvDetails.get(pvIndex);
+                    ResultStatus result = generateAndIngestPvData(
+                            providerIds.getFirst(), pvDetail, beginTime, endTime, columnMetadata,
+                            pvSamplesPerRequest[pvIndex], metrics, retryPolicy);
+                    if (result.isError) {
+                        return result; // Return first error encountered
+                    }
+                }
+            } else {
+                // one concurrent ingest loop per simulated provider
+                final Map<String, Integer> pvIndexMap = new HashMap<>();
+                for (int pvIndex = 0; pvIndex < pvDetails.size(); pvIndex++) {
+                    pvIndexMap.put(pvDetails.get(pvIndex).getPvName(), pvIndex);
+                }
+                final ResultStatus result = ProviderSimulation.run(
+                        providerIds,
+                        ProviderSimulation.assignRoundRobin(pvDetails, providerIds.size()),
+                        (simulatedProviderId, pvDetail) -> generateAndIngestPvData(
+                                simulatedProviderId, pvDetail, beginTime, endTime, columnMetadata,
+                                pvSamplesPerRequest[pvIndexMap.get(pvDetail.getPvName())], metrics, retryPolicy));
                 if (result.isError) {
-                    return result; // Return first error encountered
+                    return result;
                 }
-                
-                // Count buckets created for this PV
-                long totalDurationSeconds = java.time.Duration.between(beginTime, endTime).toSeconds();
-                int pvBuckets = (int) Math.ceil((double) totalDurationSeconds / bucketSizeSeconds);
-                totalBuckets += pvBuckets;
             }
+            final int totalBuckets = expectedRequests;
             
             // Update application state tracking
             this.hasIngestedData = true;
@@ -547,6 +1217,9 @@ public class DpApplication {
             
             String successMessage = "Successfully generated and ingested data for " + pvDetails.size() + 
                 " PVs in " + totalBuckets + " bucket(s)";
+            if (providerIds.size() > 1) {
+                successMessage += " from " + providerIds.size() + " simulated providers";
+            }
             this.lastOperationResult = successMessage;
             
             return new ResultStatus(false, successMessage);
@@ -555,15 +1228,24 @@ public class DpApplication {
             return new ResultStatus(true, "Error during data generation: " + e.getMessage());
         }
     }
+
+    /**
+     * Returns the ingestion data type for a generated PV: "integer" PVs are INT, all others DOUBLE.
+     */
+    private static IngestionClient.IngestionDataType generatedDataType(PvDetail pvDetail) {
+        return pvDetail.getDataType().equals("integer")
+                ? IngestionClient.IngestionDataType.INT
+                : IngestionClient.IngestionDataType.DOUBLE;
+    }
     
     private ResultStatus generateAndIngestPvData(
-            PvDetail pvDetail, Instant beginTime, Instant endTime,
-            ColumnMetadata columnMetadata, int bucketSizeSeconds
+            String providerId, PvDetail pvDetail, Instant beginTime, Instant endTime,
+            ColumnMetadata columnMetadata, int samplesPerRequest,
+            IngestionJobMetrics metrics, IngestionRetryPolicy retryPolicy
     ) {
         try {
-            // Calculate total duration and number of buckets
+            // Calculate total duration and sample count
             long totalDurationSeconds = java.time.Duration.between(beginTime, endTime).toSeconds();
-            int numberOfBuckets = (int) Math.ceil((double) totalDurationSeconds / bucketSizeSeconds);
             
             // Generate all data values for the entire time range first
             int valuesPerSecond = pvDetail.getValuesPerSecond();
@@ -571,51 +1253,20 @@ public class DpApplication {
             int totalSampleCount = (int) (totalDurationSeconds * valuesPerSecond);
             List<Object> allDataValues = generateRandomWalkData(pvDetail, totalSampleCount);
             
-            // Calculate how many samples per bucket
-            int samplesPerBucket = valuesPerSecond * bucketSizeSeconds;
-            
             // Prepare common parameters
             List<String> columnNames = java.util.Arrays.asList(pvDetail.getPvName());
-            IngestionClient.IngestionDataType dataType = pvDetail.getDataType().equals("integer") ? 
-                IngestionClient.IngestionDataType.INT : 
-                IngestionClient.IngestionDataType.DOUBLE;
+            IngestionClient.IngestionDataType dataType = generatedDataType(pvDetail);
             
             int requestCount = 0;
             
-            // Create and send multiple requests, one for each bucket
-            for (int bucketIndex = 0; bucketIndex < numberOfBuckets; bucketIndex++) {
-                // Calculate bucket start time
-                Instant bucketStartTime = beginTime.plusSeconds((long) bucketIndex * bucketSizeSeconds);
-                
-                // Calculate bucket end time (don't exceed the original end time)
-                Instant bucketEndTime = beginTime.plusSeconds((long) (bucketIndex + 1) * bucketSizeSeconds);
-                if (bucketEndTime.isAfter(endTime)) {
-                    bucketEndTime = endTime;
-                }
-                
-                // Calculate sample count for this bucket - use exact samplesPerBucket for full buckets
-                int bucketSampleCount = samplesPerBucket;
-                
-                // For the last bucket, adjust if it's shorter than a full second
-                if (bucketIndex == numberOfBuckets - 1) {
-                    long remainingDurationSeconds = totalDurationSeconds - (bucketIndex * bucketSizeSeconds);
-                    if (remainingDurationSeconds < bucketSizeSeconds) {
-                        bucketSampleCount = (int) (remainingDurationSeconds * valuesPerSecond);
-                    }
-                }
-                
-                // Extract the data values for this bucket
-                int startIndex = bucketIndex * samplesPerBucket;
-                int endIndex = Math.min(startIndex + bucketSampleCount, allDataValues.size());
-                
-                if (startIndex >= allDataValues.size()) {
-                    break; // No more data to process
-                }
-                
+            // Create and send one request per run of samplesPerRequest samples.  Each request's
+            // sampling clock starts at its first sample, so buckets split for size stay contiguous.
+            for (int startIndex = 0; startIndex < allDataValues.size(); startIndex += samplesPerRequest) {
+                int endIndex = Math.min(startIndex + samplesPerRequest, allDataValues.size());
                 List<Object> bucketDataValues = allDataValues.subList(startIndex, endIndex);
-                if (bucketDataValues.isEmpty()) {
-                    continue; // Skip empty buckets
-                }
+                
+                // Calculate request start time from the index of its first sample
+                Instant bucketStartTime = beginTime.plusNanos(startIndex * samplePeriodNanos);
                 
                 // Create request parameters for this bucket
                 String requestId = java.util.UUID.randomUUID().toString();
@@ -626,7 +1277,7 @@ public class DpApplication {
                 List<List<Object>> values = java.util.Arrays.asList(bucketDataValues);
                 
                 IngestionClient.IngestionRequestParams params = new IngestionClient.IngestionRequestParams(
-                    this.providerId,                    // providerId
+                    providerId,                         // providerId
                     requestId,                          // requestId
                     null,                              // snapshotStartTimestampSeconds
                     null,                              // snapshotStartTimestampNanos
@@ -640,28 +1291,85 @@ public class DpApplication {
                     dataType,                          // dataType
                     values
                 );
-                // See note in ingestImportedData(): only set metadata when the user supplied some.
+                // See note in sendQueuedRequest(): only set metadata when the user supplied some.
                 if (columnMetadata != null) {
                     params.setColumnMetadata(columnMetadata);
                 }
                 
                 // Call ingestData() API method for this bucket
-                final IngestDataApiResult apiResult = api.ingestionClient.ingestData(params, null, null);
+                final ResultStatus sendStatus = sendIngestData(
+                        params,
+                        null,
+                        null,
+                        bucketDataValues.size(),
+                        (long) bucketDataValues.size() * BucketSizing.encodedValueBytes(dataType),
+                        metrics,
+                        retryPolicy);
                 requestCount++;
 
-                if (apiResult.resultStatus.isError) {
-                    return apiResult.resultStatus;
+                if (sendStatus.isError) {
+                    return sendStatus;
                 }
             }
             
             return new ResultStatus(false, "Successfully ingested data for PV " + pvDetail.getPvName() + 
-                " in " + requestCount + " bucket(s) of " + bucketSizeSeconds + " second(s) each");
+                " in " + requestCount + " bucket(s) of up to " + samplesPerRequest + " sample(s) each");
             
         } catch (Exception e) {
             return new ResultStatus(true, "Error ingesting data for PV " + pvDetail.getPvName() + ": " + e.getMessage());
         }
     }
     
+    /**
+     * Sends one ingestData() request, retrying transient failures per the retry policy, and
+     * records the outcome in metrics.  Ack latency is timed client-side around each attempt.
+     * sampleCount and payloadBytes describe the request for the throughput figures; payloadBytes
+     * is the encoded size of the data values and timestamps, not of the whole message.
+     */
+    private ResultStatus sendIngestData(
+            IngestionClient.IngestionRequestParams params,
+            List<Timestamp> timestamps,
+            List<DataColumn> columns,
+            int sampleCount,
+            long payloadBytes,
+            IngestionJobMetrics metrics,
+            IngestionRetryPolicy retryPolicy
+    ) {
+        for (int attempt = 1; ; attempt++) {
+
+            final long attemptStartNanos = System.nanoTime();
+            final IngestDataApiResult apiResult = api.ingestionClient.ingestData(params, timestamps, columns);
+            final long attemptLatencyNanos = System.nanoTime() - attemptStartNanos;
+
+            if (!apiResult.resultStatus.isError) {
+                metrics.recordRequest(sampleCount, payloadBytes, attemptLatencyNanos);
+                return apiResult.resultStatus;
+            }
+
+            final String errorMsg = apiResult.resultStatus.msg;
+            if (retryPolicy.shouldRetry(attempt, errorMsg)) {
+                metrics.recordRetry(attemptLatencyNanos);
+                logger.warn("ingestData() attempt: {} failed, retrying: {}", attempt, errorMsg);
+                try {
+                    Thread.sleep(retryPolicy.backoffMillis(attempt));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    metrics.recordError();
+                    return new ResultStatus(true, "interrupted while retrying ingestData(): " + errorMsg);
+                }
+                continue;
+            }
+
+            if (IngestionRetryPolicy.isTransient(errorMsg)) {
+                // retries exhausted
+                metrics.recordError();
+            } else {
+                metrics.recordReject(attemptLatencyNanos);
+            }
+            return apiResult.resultStatus;
+        }
+    }
+
     private List<Object> generateRandomWalkData(PvDetail pvDetail, int sampleCount) {
         List<Object> values = new java.util.ArrayList<>();
         java.util.Random random = new java.util.Random();
@@ -721,6 +1429,34 @@ public class DpApplication {
         return api.queryClient.queryTable(params);
     }
 
+    /**
+     * Returns the responses of a queryTable() of pvNames over beginTime to endTime captured in the
+     * background for a data event, or null if that window has not been captured.
+     */
+    public List<QueryTableResponse> capturedQueryTable(List<String> pvNames, Instant beginTime, Instant endTime) {
+        if (dataEventCapture == null) {
+            return null;
+        }
+        return dataEventCapture.getCache().get(new QueryResultCache.Key(pvNames, beginTime, endTime));
+    }
+
+    /**
+     * Queries pvNames over beginTime to endTime as a row map table, throwing if the query fails.
+     */
+    private QueryTableResponse queryTableResponse(List<String> pvNames, Instant beginTime, Instant endTime) {
+        final QueryTableApiResult apiResult = queryTable(new ArrayList<>(pvNames), beginTime, endTime);
+        if (apiResult == null || apiResult.queryTableResponse == null) {
+            throw new IllegalStateException("null response from query service");
+        }
+        if (apiResult.resultStatus.isError) {
+            throw new IllegalStateException(apiResult.resultStatus.msg);
+        }
+        if (apiResult.queryTableResponse.hasExceptionalResult()) {
+            throw new IllegalStateException(apiResult.queryTableResponse.getExceptionalResult().getMessage());
+        }
+        return apiResult.queryTableResponse;
+    }
+
     public QueryProvidersApiResult queryProviders(
             String idCriterion,
             String textCriterion, // search name and description fields
@@ -859,6 +1595,10 @@ public class DpApplication {
             case HDF5:
                 apiOutputFormat = ExportDataRequest.ExportOutputFormat.EXPORT_FORMAT_HDF5;
                 break;
+            case CSV_GZIP:
+            case HDF5_DEFLATE:
+                throw new IllegalArgumentException(
+                        "compressed export format is only supported by exportDataSetToFile(): " + outputFileFormat);
         }
         Objects.requireNonNull(apiOutputFormat);
 
@@ -870,6 +1610,102 @@ public class DpApplication {
         return api.annotationClient.exportData(params);
     }
 
+    /**
+     * Exports the dataset with the specified id to file on the client, streaming its data blocks
+     * interval by interval through StreamingExporter, so unlike exportData() the size of the
+     * export is not limited by Export.tabularExportFileSizeLimitBytes.  Supports CSV and HDF5,
+     * plain or compressed; a file left by a failed export is deleted.
+     */
+    public ResultStatus exportDataSetToFile(
+            String datasetId,
+            ExportOutputFileFormat outputFileFormat,
+            Path file,
+            ExportProgress progress
+    ) {
+        if (outputFileFormat == ExportOutputFileFormat.XLSX) {
+            return new ResultStatus(true, "client-side export does not support " + outputFileFormat);
+        }
+
+        final QueryDataSetsApiResult dataSetsResult = queryDataSets(datasetId, null, null, null);
+        if (dataSetsResult.resultStatus.isError) {
+            return new ResultStatus(true, "error querying dataset: " + dataSetsResult.resultStatus.msg);
+        }
+        if (dataSetsResult.dataSets == null || dataSetsResult.dataSets.isEmpty()) {
+            return new ResultStatus(true, "dataset not found: " + datasetId);
+        }
+        final DataSet dataSet = dataSetsResult.dataSets.get(0);
+        final List<String> columnNames = StreamingExporter.columnNames(dataSet.getDataBlocksList());
+
+        final StreamingExporter exporter =
+                new StreamingExporter(this::queryExportBlock, StreamingExporter.intervalLength());
+        ResultStatus result;
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            try (ExportFileWriter writer = createExportWriter(outputFileFormat, file, dataSet.getName(), columnNames)) {
+                result = exporter.export(dataSet.getDataBlocksList(), writer, progress);
+            }
+        } catch (IOException e) {
+            logger.error("error writing export file: {}", file, e);
+            result = new ResultStatus(true, "error writing export file: " + e.getMessage());
+        }
+
+        if (result.isError) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                logger.warn("error deleting incomplete export file: {}", file, e);
+            }
+            return result;
+        }
+        logger.info("exported dataset: {} rows: {} to: {}", datasetId, progress.getRowsWritten(), file);
+        return new ResultStatus(false, "Exported " + progress.getRowsWritten() + " rows to " + file);
+    }
+
+    private static ExportFileWriter createExportWriter(
+            ExportOutputFileFormat outputFileFormat,
+            Path file,
+            String dataSetName,
+            List<String> columnNames
+    ) throws IOException {
+        return switch (outputFileFormat) {
+            case HDF5, HDF5_DEFLATE -> new Hdf5ExportWriter(
+                    file, dataSetName, columnNames, StreamingExporter.hdf5ChunkRows(),
+                    outputFileFormat == ExportOutputFileFormat.HDF5_DEFLATE);
+            case CSV_GZIP -> new CsvExportWriter(
+                    file, columnNames, StreamingExporter.writeBufferBytes(), StreamingExporter.compressionThreads());
+            default -> new CsvExportWriter(file, columnNames, StreamingExporter.writeBufferBytes());
+        };
+    }
+
+    /**
+     * Queries one interval of an export as a row map table and returns it in columnar form.
+     */
+    private ExportBlock queryExportBlock(List<String> pvNames, Instant beginTime, Instant endTime) {
+        final QueryTableResponse response = queryTableResponse(pvNames, beginTime, endTime);
+        if (!response.hasTableResult() || !response.getTableResult().hasRowMapTable()) {
+            return new ExportBlock(pvNames, List.of(), new DataValue[pvNames.size()][0]);
+        }
+
+        final var rowMapTable = response.getTableResult().getRowMapTable();
+        final List<Timestamp> timestamps = new ArrayList<>(rowMapTable.getRowsCount());
+        final DataValue[][] values = new DataValue[pvNames.size()][rowMapTable.getRowsCount()];
+        for (var dataRow : rowMapTable.getRowsList()) {
+            final Map<String, DataValue> columnValues = dataRow.getColumnValuesMap();
+            final DataValue timestampValue = columnValues.get("timestamp");
+            if (timestampValue == null || !timestampValue.hasTimestampValue()) {
+                continue;
+            }
+            final int row = timestamps.size();
+            timestamps.add(timestampValue.getTimestampValue());
+            for (int column = 0; column < pvNames.size(); column++) {
+                values[column][row] = columnValues.get(pvNames.get(column));
+            }
+        }
+        return new ExportBlock(pvNames, timestamps, values);
+    }
+
     /**
      * Creates or updates the PV metadata record for the specified canonical PV name.
      *
@@ -1012,6 +1848,78 @@ public class DpApplication {
     public ResultStatus subscribeDataEvent(
             SubscribeDataEventDetail subscriptionDetail,
             IngestionClient.IngestionDataType dataType
+    ) {
+        final Map<SubscribeDataEventDetail, IngestionClient.IngestionDataType> subscriptionDataTypes = new LinkedHashMap<>();
+        subscriptionDataTypes.put(subscriptionDetail, dataType);
+        return subscribeDataEvents(subscriptionDataTypes);
+    }
+
+    /**
+     * Subscribes to data events for each subscription detail, on a PV of the mapped data type.
+     *
+     * The triggers are grouped into as few subscribeDataEvent() calls as
+     * DesktopApp.DataEvent.maxTriggersPerStream allows, each call carrying the triggers of several
+     * subscriptions in one request.  Each detail is still managed as its own DataEventSubscription,
+     * with the events of a shared call routed to it by trigger.  Returns the first error; the
+     * groups subscribed before it remain subscribed.
+     */
+    public ResultStatus subscribeDataEvents(
+            Map<SubscribeDataEventDetail, IngestionClient.IngestionDataType> subscriptionDataTypes
+    ) {
+        // create a trigger for each subscription
+        final List<SubscribeDataEventDetail> subscriptionDetails = new ArrayList<>();
+        final List<PvConditionTrigger> triggers = new ArrayList<>();
+        for (Map.Entry<SubscribeDataEventDetail, IngestionClient.IngestionDataType> entry : subscriptionDataTypes.entrySet()) {
+            final PvConditionTrigger trigger = buildPvConditionTrigger(entry.getKey(), entry.getValue());
+            if (trigger == null) {
+                return new ResultStatus(
+                        true,
+                        "unsupported data event subscription type: " + entry.getValue().name());
+            }
+            subscriptionDetails.add(entry.getKey());
+            triggers.add(trigger);
+        }
+
+        // make one subscription call per group of triggers
+        final int groupSize = DataEventStream.maxTriggersPerStream();
+        for (int groupStart = 0; groupStart < triggers.size(); groupStart += groupSize) {
+            final int groupEnd = Math.min(triggers.size(), groupStart + groupSize);
+
+            // create API request params
+            final IngestionStreamClient.SubscribeDataEventRequestParams params =
+                    new IngestionStreamClient.SubscribeDataEventRequestParams(
+                            new ArrayList<>(triggers.subList(groupStart, groupEnd)), null, null, null);
+
+            // call API method
+            SubscribeDataEventApiResult result =
+                    api.ingestionStreamClient.subscribeDataEvent(params, 25);
+            if (result.resultStatus.isError) {
+                return result.resultStatus;
+            }
+
+            // manage a subscription per trigger, sharing the call's stream
+            final DataEventStream stream = new DataEventStream(result.subscribeDataEventCall);
+            for (int i = groupStart; i < groupEnd; i++) {
+                final DataEventSubscription subscription =
+                        new DataEventSubscription(subscriptionDetails.get(i), triggers.get(i), stream);
+                stream.addSubscription(subscription);
+                dataEventSubscriptions.add(subscription);
+            }
+            dataEventStreams.add(stream);
+            logger.debug("subscribed to {} data event triggers in one call", groupEnd - groupStart);
+        }
+        startDataEventPoller();
+
+        return new ResultStatus(false, "");
+    }
+
+    /**
+     * Builds the PvConditionTrigger for subscriptionDetail on a PV of dataType, or returns null if
+     * dataType is not supported for data event subscriptions.
+     */
+    private static PvConditionTrigger buildPvConditionTrigger(
+            SubscribeDataEventDetail subscriptionDetail,
+            IngestionClient.IngestionDataType dataType
     ) {
         // create protobuf DataValue for specified dataType and triggerValue
         DataValue triggerValue = null;
@@ -1047,9 +1955,7 @@ public class DpApplication {
                         .build();
             }
             default -> {
-                return new ResultStatus(
-                        true,
-                        "unsupported data event subscription type: " + dataType.name());
+                return null;
             }
         }
         Objects.requireNonNull(triggerValue);
@@ -1076,36 +1982,34 @@ public class DpApplication {
         Objects.requireNonNull(pvCondition);
 
         // create protobuf PvConditionTrigger
-        final PvConditionTrigger trigger = PvConditionTrigger.newBuilder()
+        return PvConditionTrigger.newBuilder()
                 .setPvName(subscriptionDetail.pvName)
                 .setCondition(pvCondition)
                 .setValue(triggerValue)
                 .build();
-
-        // create API request params
-        final IngestionStreamClient.SubscribeDataEventRequestParams params =
-                new IngestionStreamClient.SubscribeDataEventRequestParams(
-                        List.of(trigger), null, null, null);
-
-        // call API method
-        SubscribeDataEventApiResult result =
-                api.ingestionStreamClient.subscribeDataEvent(params, 25);
-
-        // if successful, manage new subscription
-        if ( ! result.resultStatus.isError) {
-            dataEventSubscriptions.add(new DataEventSubscription(subscriptionDetail, result.subscribeDataEventCall));
-        }
-
-        return result.resultStatus;
     }
 
+    /**
+     * Cancels subscription.  A call shared with other subscriptions is only cancelled with the
+     * last of them; until then the subscription's events are dropped by its stream.
+     */
     public ResultStatus cancelDataEventSubscription(DataEventSubscription subscription) {
 
-        // cancel the subscription
-        api.ingestionStreamClient.cancelSubscribeDataEventCall(subscription.subscribeDataEventCall);
+        // cancel the subscription's call once no other subscription shares it
+        if (subscription.eventStream.removeSubscription(subscription)) {
+            api.ingestionStreamClient.cancelSubscribeDataEventCall(subscription.subscribeDataEventCall);
+            dataEventStreams.remove(subscription.eventStream);
+        }
 
         // un-manage the subscription, whether unsubscribe succeeded or failed
         dataEventSubscriptions.remove(subscription);
+        final DataEventMetrics.Summary metrics =
+                subscription.eventTailer.getMetrics().summary(System.currentTimeMillis());
+        logger.info("data event subscription: {} cancelled after {} events, {} bytes, peak {} events/s, "
+                        + "max queue depth {}, max lag {} ms",
+                subscription.getDisplayString(), metrics.totalEvents, metrics.totalBytes,
+                metrics.peakEventsPerSecond, metrics.maxQueueDepth, metrics.maxLagMillis);
+        subscription.eventTailer.close();
 
         // return error status
         final IngestionStreamClient.SubscribeDataEventResponseObserver responseObserver =
@@ -1118,12 +2022,72 @@ public class DpApplication {
         }
     }
 
-    public List<SubscribeDataEventResponse.Event> dataEventsForSubscription(DataEventSubscription subscription) {
-        // return list of events contained in responseObserver
-        final IngestionStreamClient.SubscribeDataEventResponseObserver responseObserver =
-                subscription.subscribeDataEventCall.responseObserver();
-        Objects.requireNonNull(responseObserver);
-        return(responseObserver.getEventList());
+    /**
+     * Returns the events of subscription delivered to data event listeners so far and still
+     * retained by its ring buffer, which keeps DesktopApp.DataEvent.maxEvents at most.  A listener
+     * registered before this is called receives every later event, in batches that continue
+     * from the snapshot's nextSequence().
+     */
+    public DataEventBatch dataEventsForSubscription(DataEventSubscription subscription) {
+        return subscription.eventTailer.snapshot();
+    }
+
+    /**
+     * Registers listener to receive the events of every data event subscription as they arrive.
+     */
+    public void addDataEventListener(DataEventListener listener) {
+        dataEventListeners.add(listener);
+    }
+
+    public void removeDataEventListener(DataEventListener listener) {
+        dataEventListeners.remove(listener);
+    }
+
+    private void startDataEventPoller() {
+        synchronized (dataEventPollerLock) {
+            if (dataEventPoller != null) {
+                return;
+            }
+            dataEventPoller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                final Thread thread = new Thread(runnable, "data-event-tailer");
+                thread.setDaemon(true);
+                return thread;
+            });
+            final long pollMillis = DataEventStream.pollMillis();
+            dataEventPoller.scheduleWithFixedDelay(
+                    this::pollDataEvents, pollMillis, pollMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Delivers the events each subscription has received since the previous poll.
+     */
+    private void pollDataEvents() {
+        for (DataEventStream stream : dataEventStreams) {
+            final List<DataEventBatch> batches;
+            try {
+                batches = stream.poll();
+            } catch (RuntimeException e) {
+                // an exception escaping the scheduled poll would cancel it for every stream
+                logger.error("error polling data event stream for subscriptions: {}",
+                        stream.getSubscriptions().stream()
+                                .map(DataEventSubscription::getDisplayString)
+                                .collect(Collectors.joining(", ")),
+                        e);
+                continue;
+            }
+            for (DataEventBatch batch : batches) {
+                for (DataEventListener listener : dataEventListeners) {
+                    try {
+                        listener.onDataEvents(batch);
+                    } catch (RuntimeException e) {
+                        // a failing listener must not cancel the scheduled poll
+                        logger.error("error delivering data events for subscription: {}",
+                                batch.subscription.getDisplayString(), e);
+                    }
+                }
+            }
+        }
     }
 
 }
@@ -0,0 +1,228 @@
+package com.ospreydcs.dp.gui.component;
+
+import com.ospreydcs.dp.gui.dataevent.DataEventRingBuffer;
+import javafx.geometry.VPos;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.input.ScrollEvent;
+import javafx.scene.layout.Region;
+import javafx.scene.paint.Color;
+import javafx.scene.text.TextAlignment;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.function.Consumer;
+
+/**
+ * Timeline strip drawing the events of a data event subscription as bars, one per pixel column,
+ * with heights scaled to the number of events in that column's time interval.
+ *
+ * Only the visible time window is drawn, and each column is counted with binary searches of the
+ * ring buffer's time index, so drawing costs the same for a hundred events as for a hundred
+ * thousand.  The window follows the buffer's full extent until the user zooms with the scroll
+ * wheel or pans by dragging; a double click on empty space returns to following.  Clicking a bar
+ * reports the clicked time to the handler set with setOnTimeSelected(), and double-clicking it to
+ * the handler set with setOnTimeActivated().
+ *
+ * The strip is drawn directly on a Canvas, so unlike the other components it has no FXML.
+ */
+public class EventTimelineComponent extends Region {
+
+    // constants
+    private static final DateTimeFormatter TIME_FORMATTER =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss").withZone(ZoneId.systemDefault());
+    private static final double ZOOM_FACTOR = 1.25;
+    private static final double LABEL_HEIGHT = 14;
+    private static final double CLICK_SLOP_PIXELS = 3;
+    private static final Duration MINIMUM_WINDOW = Duration.ofMillis(1);
+    private static final Color BACKGROUND_COLOR = Color.web("#f8f9fa");
+    private static final Color BAR_COLOR = Color.web("#0d6efd");
+    private static final Color LABEL_COLOR = Color.web("#6c757d");
+
+    // instance variables
+    private final Canvas canvas = new Canvas();
+    private DataEventRingBuffer buffer = null;
+    private Instant viewBegin = null;
+    private Instant viewEnd = null;
+    private boolean following = true;
+    private double pressX = 0;
+    private Instant pressViewBegin = null;
+    private boolean dragged = false;
+    private Consumer<Instant> onTimeSelected = null;
+    private Consumer<Instant> onTimeActivated = null;
+
+    public EventTimelineComponent() {
+        getChildren().add(canvas);
+        setMinHeight(40);
+        setPrefHeight(60);
+
+        setOnScroll(this::onScroll);
+        setOnMousePressed(this::onMousePressed);
+        setOnMouseDragged(this::onMouseDragged);
+        setOnMouseReleased(this::onMouseReleased);
+    }
+
+    /**
+     * Shows the events of buffer, or clears the strip if buffer is null.
+     */
+    public void setBuffer(DataEventRingBuffer buffer) {
+        this.buffer = buffer;
+        this.following = true;
+        refresh();
+    }
+
+    public void setOnTimeSelected(Consumer<Instant> onTimeSelected) {
+        this.onTimeSelected = onTimeSelected;
+    }
+
+    public void setOnTimeActivated(Consumer<Instant> onTimeActivated) {
+        this.onTimeActivated = onTimeActivated;
+    }
+
+    @Override
+    protected void layoutChildren() {
+        final double width = snapSizeX(getWidth());
+        final double height = snapSizeY(getHeight());
+        if (canvas.getWidth() != width || canvas.getHeight() != height) {
+            canvas.setWidth(width);
+            canvas.setHeight(height);
+            refresh();
+        }
+    }
+
+    /**
+     * Redraws the strip, following the buffer's extent unless the user has zoomed or panned.
+     */
+    public void refresh() {
+        if (following) {
+            followBuffer();
+        }
+        draw();
+    }
+
+    private void followBuffer() {
+        final Instant first = buffer == null ? null : buffer.firstEventTime();
+        final Instant last = buffer == null ? null : buffer.lastEventTime();
+        if (first == null) {
+            viewBegin = null;
+            viewEnd = null;
+            return;
+        }
+        // pad by a twentieth of the extent, so the first and last events are not on the edges
+        Duration padding = Duration.between(first, last).dividedBy(20);
+        if (padding.compareTo(Duration.ofSeconds(1)) < 0) {
+            padding = Duration.ofSeconds(1);
+        }
+        viewBegin = first.minus(padding);
+        viewEnd = last.plus(padding);
+    }
+
+    private void draw() {
+        final GraphicsContext gc = canvas.getGraphicsContext2D();
+        final double width = canvas.getWidth();
+        final double height = canvas.getHeight();
+        gc.setFill(BACKGROUND_COLOR);
+        gc.fillRect(0, 0, width, height);
+        if (buffer == null || viewBegin == null || width < 1) {
+            return;
+        }
+
+        final int columns = (int) width;
+        final int[] counts = buffer.eventCounts(viewBegin, viewEnd, columns);
+        int maxCount = 0;
+        for (int count : counts) {
+            maxCount = Math.max(maxCount, count);
+        }
+        final double barArea = Math.max(1, height - LABEL_HEIGHT);
+        gc.setFill(BAR_COLOR);
+        for (int column = 0; column < columns; column++) {
+            if (counts[column] > 0) {
+                // a single event is still a third of the strip high, so it stays visible
+                final double fraction = 1.0 / 3 + (2.0 / 3) * counts[column] / maxCount;
+                final double barHeight = barArea * fraction;
+                gc.fillRect(column, barArea - barHeight, 1, barHeight);
+            }
+        }
+
+        gc.setFill(LABEL_COLOR);
+        gc.setTextBaseline(VPos.BOTTOM);
+        gc.setTextAlign(TextAlignment.LEFT);
+        gc.fillText(TIME_FORMATTER.format(viewBegin), 2, height);
+        gc.setTextAlign(TextAlignment.RIGHT);
+        gc.fillText(TIME_FORMATTER.format(viewEnd), width - 2, height);
+    }
+
+    private Instant timeAt(double x) {
+        final long windowNanos = Duration.between(viewBegin, viewEnd).toNanos();
+        return viewBegin.plusNanos((long) (windowNanos * (x / Math.max(1, canvas.getWidth()))));
+    }
+
+    private void onScroll(ScrollEvent event) {
+        if (viewBegin == null || event.getDeltaY() == 0) {
+            return;
+        }
+        // zoom about the time under the pointer
+        final Instant pivot = timeAt(event.getX());
+        final double factor = event.getDeltaY() > 0 ? 1 / ZOOM_FACTOR : ZOOM_FACTOR;
+        final long beforeNanos = (long) (Duration.between(viewBegin, pivot).toNanos() * factor);
+        final long afterNanos = (long) (Duration.between(pivot, viewEnd).toNanos() * factor);
+        if (beforeNanos + afterNanos < MINIMUM_WINDOW.toNanos()) {
+            return;
+        }
+        viewBegin = pivot.minusNanos(beforeNanos);
+        viewEnd = pivot.plusNanos(afterNanos);
+        following = false;
+        draw();
+        event.consume();
+    }
+
+    private void onMousePressed(MouseEvent event) {
+        pressX = event.getX();
+        pressViewBegin = viewBegin;
+        dragged = false;
+    }
+
+    private void onMouseDragged(MouseEvent event) {
+        if (viewBegin == null || pressViewBegin == null) {
+            return;
+        }
+        final double deltaX = event.getX() - pressX;
+        if (!dragged && Math.abs(deltaX) < CLICK_SLOP_PIXELS) {
+            return;
+        }
+        dragged = true;
+        final Duration window = Duration.between(viewBegin, viewEnd);
+        final long shiftNanos = (long) (window.toNanos() * (deltaX / Math.max(1, canvas.getWidth())));
+        viewBegin = pressViewBegin.minusNanos(shiftNanos);
+        viewEnd = viewBegin.plus(window);
+        following = false;
+        draw();
+    }
+
+    private void onMouseReleased(MouseEvent event) {
+        if (dragged || viewBegin == null || event.getButton() != MouseButton.PRIMARY) {
+            return;
+        }
+        final Instant time = timeAt(event.getX());
+        if (event.getClickCount() == 2) {
+            if (onTimeActivated != null && hasEventsNear(event.getX())) {
+                onTimeActivated.accept(time);
+            } else {
+                following = true;
+                refresh();
+            }
+        } else if (onTimeSelected != null) {
+            onTimeSelected.accept(time);
+        }
+    }
+
+    private boolean hasEventsNear(double x) {
+        final Instant begin = timeAt(x - CLICK_SLOP_PIXELS);
+        final Instant end = timeAt(x + CLICK_SLOP_PIXELS);
+        return buffer.eventCounts(begin, end, 1)[0] > 0;
+    }
+}
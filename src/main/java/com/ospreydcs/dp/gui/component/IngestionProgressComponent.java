@@ -0,0 +1,180 @@
+package com.ospreydcs.dp.gui.component;
+
+import com.ospreydcs.dp.gui.ingest.IngestionJobMetrics;
+import com.ospreydcs.dp.gui.ingest.IngestionJobSummary;
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.fxml.FXML;
+import javafx.fxml.FXMLLoader;
+import javafx.fxml.Initializable;
+import javafx.scene.control.Alert;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
+import javafx.scene.layout.VBox;
+import javafx.stage.FileChooser;
+import javafx.util.Duration;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.util.ResourceBundle;
+
+/**
+ * Reusable component showing live progress and instrumentation for an ingestion job: requests
+ * sent against the expected total, samples/s, bytes/s, ack latency percentiles, retries and
+ * rejects.  The metrics are written by the ingestion thread, so the display polls a summary on
+ * the FX thread rather than binding to them, and stops polling once the job finishes.  The final
+ * summary can be exported as a CSV file.
+ *
+ * The component stays hidden until metrics are attached with metricsProperty().
+ */
+public class IngestionProgressComponent extends VBox implements Initializable {
+
+    private static final Logger logger = LogManager.getLogger();
+
+    // constants
+    private static final Duration REFRESH_INTERVAL = Duration.millis(500);
+
+    // FXML components
+    @FXML private ProgressBar requestsProgressBar;
+    @FXML private Label jobStatusLabel;
+    @FXML private Label requestsLabel;
+    @FXML private Label elapsedLabel;
+    @FXML private Label samplesRateLabel;
+    @FXML private Label bytesRateLabel;
+    @FXML private Label latencyLabel;
+    @FXML private Label retriesRejectsLabel;
+    @FXML private Button exportSummaryButton;
+
+    // Properties for external binding
+    private final ObjectProperty<IngestionJobMetrics> metrics = new SimpleObjectProperty<>();
+
+    private final Timeline refreshTimeline = new Timeline(new KeyFrame(REFRESH_INTERVAL, e -> refresh()));
+
+    public IngestionProgressComponent() {
+        // Load FXML and set this as controller
+        FXMLLoader fxmlLoader = new FXMLLoader(getClass().getResource("/fxml/components/ingestion-progress-component.fxml"));
+        fxmlLoader.setController(this);
+
+        try {
+            VBox root = fxmlLoader.load();
+            this.getChildren().setAll(root.getChildren());
+            this.setSpacing(root.getSpacing());
+            this.getStyleClass().setAll(root.getStyleClass());
+        } catch (IOException exception) {
+            logger.error("Failed to load IngestionProgressComponent FXML", exception);
+            throw new RuntimeException(exception);
+        }
+    }
+
+    @Override
+    public void initialize(URL location, ResourceBundle resources) {
+        refreshTimeline.setCycleCount(Animation.INDEFINITE);
+
+        // hidden until a job is attached
+        setVisible(false);
+        setManaged(false);
+
+        metrics.addListener((obs, oldMetrics, newMetrics) -> {
+            refreshTimeline.stop();
+            final boolean hasJob = newMetrics != null;
+            setVisible(hasJob);
+            setManaged(hasJob);
+            exportSummaryButton.setDisable(true);
+            if (hasJob) {
+                refresh();
+                refreshTimeline.play();
+            }
+        });
+
+        logger.debug("IngestionProgressComponent initialized");
+    }
+
+    // Public API methods for external access
+
+    /**
+     * The job whose progress is displayed.  Set to a new job's metrics when it starts; set to
+     * null to hide the component.
+     */
+    public ObjectProperty<IngestionJobMetrics> metricsProperty() {
+        return metrics;
+    }
+
+    /**
+     * Returns the current summary of the attached job, or null if none is attached.
+     */
+    public IngestionJobSummary getSummary() {
+        final IngestionJobMetrics jobMetrics = metrics.get();
+        return jobMetrics == null ? null : jobMetrics.summary();
+    }
+
+    private void refresh() {
+        final IngestionJobSummary summary = getSummary();
+        if (summary == null) {
+            refreshTimeline.stop();
+            return;
+        }
+
+        requestsProgressBar.setProgress(summary.finished ? 1.0 : summary.progress());
+        jobStatusLabel.setText(summary.status());
+        requestsLabel.setText(summary.requestsSent + " / " + summary.expectedRequests
+                + " (" + summary.samplesSent + " samples)");
+        elapsedLabel.setText(String.format("%.1f s", summary.elapsedSeconds()));
+        samplesRateLabel.setText(String.format("%,.0f", summary.samplesPerSecond()));
+        bytesRateLabel.setText(formatBytes(summary.bytesPerSecond()) + "/s");
+        latencyLabel.setText(String.format("%.1f / %.1f / %.1f ms",
+                IngestionJobSummary.nanosToMillis(summary.latencyP50Nanos),
+                IngestionJobSummary.nanosToMillis(summary.latencyP95Nanos),
+                IngestionJobSummary.nanosToMillis(summary.latencyP99Nanos)));
+        retriesRejectsLabel.setText(summary.retries + " / " + summary.rejects);
+
+        if (summary.finished) {
+            refreshTimeline.stop();
+            exportSummaryButton.setDisable(false);
+        }
+    }
+
+    private static String formatBytes(double bytes) {
+        if (bytes >= 1024 * 1024) {
+            return String.format("%.1f MiB", bytes / (1024 * 1024));
+        } else if (bytes >= 1024) {
+            return String.format("%.1f KiB", bytes / 1024);
+        }
+        return String.format("%.0f B", bytes);
+    }
+
+    @FXML
+    private void onExportSummary() {
+        final IngestionJobSummary summary = getSummary();
+        if (summary == null) {
+            return;
+        }
+
+        final FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Export Ingestion Summary");
+        fileChooser.setInitialFileName("ingestion-summary-" + summary.jobName + ".csv");
+        fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("CSV Files", "*.csv"));
+        final File file = fileChooser.showSaveDialog(getScene() == null ? null : getScene().getWindow());
+        if (file == null) {
+            return;
+        }
+
+        try {
+            summary.writeCsv(file.toPath());
+            logger.info("Exported ingestion summary to: {}", file.getAbsolutePath());
+        } catch (IOException e) {
+            logger.error("Failed to export ingestion summary to: {}", file.getAbsolutePath(), e);
+            final Alert alert = new Alert(Alert.AlertType.ERROR);
+            alert.setTitle("Export Failed");
+            alert.setHeaderText("Could not write ingestion summary");
+            alert.setContentText(e.getMessage());
+            alert.showAndWait();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.ospreydcs.dp.gui.dataevent;
+
+import com.ospreydcs.dp.grpc.v1.ingestionstream.SubscribeDataEventResponse;
+import com.ospreydcs.dp.gui.model.DataEventSubscription;
+
+import java.util.List;
+
+/**
+ * Consecutive events received for a subscription.  Events are numbered from 0 in the order the
+ * subscription received them, and firstSequence is the number of the first event in the batch, so
+ * a consumer that has already seen some of the events can tell which ones are new.
+ */
+public class DataEventBatch {
+
+    public final DataEventSubscription subscription;
+    public final long firstSequence;
+    public final List<SubscribeDataEventResponse.Event> events;
+
+    public DataEventBatch(
+            DataEventSubscription subscription,
+            long firstSequence,
+            List<SubscribeDataEventResponse.Event> events
+    ) {
+        this.subscription = subscription;
+        this.firstSequence = firstSequence;
+        this.events = events;
+    }
+
+    /**
+     * Returns the sequence number following the last event in the batch.
+     */
+    public long nextSequence() {
+        return firstSequence + events.size();
+    }
+}
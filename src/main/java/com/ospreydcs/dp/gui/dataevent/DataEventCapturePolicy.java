@@ -0,0 +1,31 @@
+package com.ospreydcs.dp.gui.dataevent;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Window of data captured around each event of a subscription: the triggering PV from
+ * preSeconds before the event to postSeconds after it.
+ *
+ * The window is widened to whole seconds, ending at the last nanosecond of its final second, which
+ * is the window the Query Editor queries when it is opened on an event, so a captured window is
+ * found in the cache by the query it was captured for.
+ */
+public class DataEventCapturePolicy {
+
+    public final int preSeconds;
+    public final int postSeconds;
+
+    public DataEventCapturePolicy(int preSeconds, int postSeconds) {
+        this.preSeconds = Math.max(0, preSeconds);
+        this.postSeconds = Math.max(0, postSeconds);
+    }
+
+    public Instant captureBegin(Instant eventTime) {
+        return eventTime.minusSeconds(preSeconds).truncatedTo(ChronoUnit.SECONDS);
+    }
+
+    public Instant captureEnd(Instant eventTime) {
+        return eventTime.plusSeconds(postSeconds).truncatedTo(ChronoUnit.SECONDS).plusNanos(999_999_999);
+    }
+}
@@ -0,0 +1,184 @@
+package com.ospreydcs.dp.gui.dataevent;
+
+import com.ospreydcs.dp.grpc.v1.ingestionstream.SubscribeDataEventResponse;
+import com.ospreydcs.dp.grpc.v1.query.QueryTableResponse;
+import com.ospreydcs.dp.service.common.config.ConfigurationManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Captures the data around data events in the background, for subscriptions with a capture
+ * policy, into a QueryResultCache that the Query Editor checks before querying the service.
+ *
+ * Each event's window is captured once it has closed, settleMillis after the end of its post-event
+ * period, so that the data arriving after the event is included.  The window is queried in
+ * intervals of CAPTURE_INTERVAL_SECONDS, the interval the Query Editor uses, on a small pool of
+ * capture threads.  A window already cached or being captured, as happens when a trigger fires
+ * several times within a second, is not captured again, and once maxPendingCaptures windows are
+ * waiting further events are skipped rather than queued without limit.
+ */
+public class DataEventCaptureService implements DataEventListener {
+
+    private static final Logger logger = LogManager.getLogger();
+
+    // configuration
+    public static final String CFG_KEY_THREADS = "DesktopApp.DataEvent.Capture.threads";
+    public static final int DEFAULT_THREADS = 2;
+    public static final String CFG_KEY_SETTLE_MILLIS = "DesktopApp.DataEvent.Capture.settleMillis";
+    public static final int DEFAULT_SETTLE_MILLIS = 2000;
+    public static final String CFG_KEY_MAX_PENDING_CAPTURES = "DesktopApp.DataEvent.Capture.maxPendingCaptures";
+    public static final int DEFAULT_MAX_PENDING_CAPTURES = 100;
+    public static final String CFG_KEY_MAX_CACHED_WINDOWS = "DesktopApp.DataEvent.Capture.maxCachedWindows";
+    public static final int DEFAULT_MAX_CACHED_WINDOWS = 200;
+    public static final String CFG_KEY_PRE_SECONDS = "DesktopApp.DataEvent.Capture.preSeconds";
+    public static final int DEFAULT_PRE_SECONDS = 30;
+    public static final String CFG_KEY_POST_SECONDS = "DesktopApp.DataEvent.Capture.postSeconds";
+    public static final int DEFAULT_POST_SECONDS = 30;
+
+    // constants
+    public static final int CAPTURE_INTERVAL_SECONDS = 60;
+
+    /**
+     * Queries one interval of a captured window, throwing if the query fails.
+     */
+    @FunctionalInterface
+    public interface WindowQuery {
+        QueryTableResponse query(List<String> pvNames, Instant beginTime, Instant endTime) throws Exception;
+    }
+
+    // instance variables
+    private final WindowQuery query;
+    private final QueryResultCache cache;
+    private final ScheduledExecutorService capturers;
+    private final long settleMillis;
+    private final int maxPendingCaptures;
+    private final Set<QueryResultCache.Key> pending = ConcurrentHashMap.newKeySet();
+    private final AtomicLong capturedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong skippedCount = new AtomicLong();
+
+    public DataEventCaptureService(
+            WindowQuery query,
+            QueryResultCache cache,
+            int threads,
+            long settleMillis,
+            int maxPendingCaptures
+    ) {
+        this.query = query;
+        this.cache = cache;
+        this.settleMillis = settleMillis;
+        this.maxPendingCaptures = Math.max(1, maxPendingCaptures);
+        this.capturers = Executors.newScheduledThreadPool(Math.max(1, threads), runnable -> {
+            final Thread thread = new Thread(runnable, "data-event-capture");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    protected static ConfigurationManager configMgr() {
+        return ConfigurationManager.getInstance();
+    }
+
+    /**
+     * Creates a capture service with the configured threads, limits and cache size.
+     */
+    public static DataEventCaptureService fromConfig(WindowQuery query) {
+        return new DataEventCaptureService(
+                query,
+                new QueryResultCache(configMgr().getConfigInteger(CFG_KEY_MAX_CACHED_WINDOWS, DEFAULT_MAX_CACHED_WINDOWS)),
+                configMgr().getConfigInteger(CFG_KEY_THREADS, DEFAULT_THREADS),
+                configMgr().getConfigInteger(CFG_KEY_SETTLE_MILLIS, DEFAULT_SETTLE_MILLIS),
+                configMgr().getConfigInteger(CFG_KEY_MAX_PENDING_CAPTURES, DEFAULT_MAX_PENDING_CAPTURES));
+    }
+
+    /**
+     * Returns the configured capture policy offered for new subscriptions.
+     */
+    public static DataEventCapturePolicy defaultPolicy() {
+        return new DataEventCapturePolicy(
+                configMgr().getConfigInteger(CFG_KEY_PRE_SECONDS, DEFAULT_PRE_SECONDS),
+                configMgr().getConfigInteger(CFG_KEY_POST_SECONDS, DEFAULT_POST_SECONDS));
+    }
+
+    public QueryResultCache getCache() {
+        return cache;
+    }
+
+    public long getCapturedCount() {
+        return capturedCount.get();
+    }
+
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    public long getSkippedCount() {
+        return skippedCount.get();
+    }
+
+    @Override
+    public void onDataEvents(DataEventBatch batch) {
+        final DataEventCapturePolicy policy = batch.subscription.subscriptionDetail.capturePolicy;
+        if (policy == null) {
+            return;
+        }
+        final List<String> pvNames = List.of(batch.subscription.subscriptionDetail.pvName);
+        for (SubscribeDataEventResponse.Event event : batch.events) {
+            final Instant eventTime = Instant.ofEpochSecond(
+                    event.getEventTime().getEpochSeconds(), event.getEventTime().getNanoseconds());
+            schedule(new QueryResultCache.Key(pvNames, policy.captureBegin(eventTime), policy.captureEnd(eventTime)));
+        }
+    }
+
+    private void schedule(QueryResultCache.Key key) {
+        if (cache.contains(key)) {
+            return;
+        }
+        if (pending.size() >= maxPendingCaptures) {
+            skippedCount.incrementAndGet();
+            return;
+        }
+        if (!pending.add(key)) {
+            return;
+        }
+        final long delayMillis = Math.max(0, key.endTime.toEpochMilli() + settleMillis - System.currentTimeMillis());
+        capturers.schedule(() -> capture(key), delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void capture(QueryResultCache.Key key) {
+        try {
+            final List<QueryTableResponse> responses = new ArrayList<>();
+            for (Instant intervalBegin = key.beginTime;
+                 intervalBegin.isBefore(key.endTime);
+                 intervalBegin = intervalBegin.plusSeconds(CAPTURE_INTERVAL_SECONDS)) {
+                Instant intervalEnd = intervalBegin.plusSeconds(CAPTURE_INTERVAL_SECONDS);
+                if (intervalEnd.isAfter(key.endTime)) {
+                    intervalEnd = key.endTime;
+                }
+                responses.add(query.query(key.pvNames, intervalBegin, intervalEnd));
+            }
+            cache.put(key, responses);
+            capturedCount.incrementAndGet();
+            logger.debug("captured data event window: {}", key);
+        } catch (Exception e) {
+            failedCount.incrementAndGet();
+            logger.warn("error capturing data event window: {} {}", key, e.getMessage());
+        } finally {
+            pending.remove(key);
+        }
+    }
+
+    public void shutdown() {
+        capturers.shutdownNow();
+    }
+}
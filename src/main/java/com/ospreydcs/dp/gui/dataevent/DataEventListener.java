@@ -0,0 +1,10 @@
+package com.ospreydcs.dp.gui.dataevent;
+
+/**
+ * Receives the events of data event subscriptions as they arrive.  Called on the data event
+ * tailer thread, so implementations must not block.
+ */
+@FunctionalInterface
+public interface DataEventListener {
+    void onDataEvents(DataEventBatch batch);
+}
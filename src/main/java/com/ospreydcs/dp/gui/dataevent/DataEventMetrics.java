@@ -0,0 +1,171 @@
+package com.ospreydcs.dp.gui.dataevent;
+
+import com.ospreydcs.dp.grpc.v1.ingestionstream.SubscribeDataEventResponse;
+import com.ospreydcs.dp.service.common.config.ConfigurationManager;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Live delivery metrics for one data event subscription: how fast its events arrive, how many
+ * bytes they carry, and whether the client keeps up with its response stream.
+ *
+ * Rates are taken over a sliding window of one-second buckets, so they fall back to zero once a
+ * subscription stops firing.  Payload bytes are the serialized size of each event as received,
+ * including the PV value that fired the trigger.  Queue depth is the number of events waiting in
+ * the stream's response observer when it is polled; as each poll drains the observer, a depth
+ * that keeps rising towards a poll interval's worth of events means polling is falling behind.
+ * Lag is the time from an event's trigger to its receipt, measured against the client clock, so
+ * it also includes any clock offset between client and service.
+ *
+ * Recorded by the data event poller and read by the UI, so every method is synchronized.
+ */
+public class DataEventMetrics {
+
+    // configuration
+    public static final String CFG_KEY_WINDOW_SECONDS = "DesktopApp.DataEvent.metricsWindowSeconds";
+    public static final int DEFAULT_WINDOW_SECONDS = 10;
+
+    /**
+     * Immutable snapshot of a subscription's metrics.
+     */
+    public static class Summary {
+
+        public final double eventsPerSecond;
+        public final double bytesPerSecond;
+        public final long peakEventsPerSecond;
+        public final long totalEvents;
+        public final long totalBytes;
+        public final int queueDepth;
+        public final int maxQueueDepth;
+        public final long lagMillis;
+        public final long maxLagMillis;
+
+        public Summary(
+                double eventsPerSecond,
+                double bytesPerSecond,
+                long peakEventsPerSecond,
+                long totalEvents,
+                long totalBytes,
+                int queueDepth,
+                int maxQueueDepth,
+                long lagMillis,
+                long maxLagMillis
+        ) {
+            this.eventsPerSecond = eventsPerSecond;
+            this.bytesPerSecond = bytesPerSecond;
+            this.peakEventsPerSecond = peakEventsPerSecond;
+            this.totalEvents = totalEvents;
+            this.totalBytes = totalBytes;
+            this.queueDepth = queueDepth;
+            this.maxQueueDepth = maxQueueDepth;
+            this.lagMillis = lagMillis;
+            this.maxLagMillis = maxLagMillis;
+        }
+    }
+
+    // instance variables
+    private final long[] bucketSeconds;
+    private final long[] bucketEvents;
+    private final long[] bucketBytes;
+    private long firstSecond = -1;
+    private long peakEventsPerSecond = 0;
+    private long totalEvents = 0;
+    private long totalBytes = 0;
+    private int queueDepth = 0;
+    private int maxQueueDepth = 0;
+    private long lagMillis = 0;
+    private long maxLagMillis = 0;
+
+    public DataEventMetrics(int windowSeconds) {
+        final int buckets = Math.max(1, windowSeconds);
+        this.bucketSeconds = new long[buckets];
+        this.bucketEvents = new long[buckets];
+        this.bucketBytes = new long[buckets];
+        Arrays.fill(bucketSeconds, -1);
+    }
+
+    protected static ConfigurationManager configMgr() {
+        return ConfigurationManager.getInstance();
+    }
+
+    public static DataEventMetrics fromConfig() {
+        return new DataEventMetrics(configMgr().getConfigInteger(CFG_KEY_WINDOW_SECONDS, DEFAULT_WINDOW_SECONDS));
+    }
+
+    /**
+     * Records events received at nowMillis.
+     */
+    public void recordEvents(List<SubscribeDataEventResponse.Event> events, long nowMillis) {
+        long bytes = 0;
+        long latestEventMillis = Long.MIN_VALUE;
+        for (SubscribeDataEventResponse.Event event : events) {
+            bytes += event.getSerializedSize();
+            latestEventMillis = Math.max(latestEventMillis, DataEventRingBuffer.timeNanos(event) / 1_000_000L);
+        }
+        record(events.size(), bytes, events.isEmpty() ? -1 : nowMillis - latestEventMillis, nowMillis);
+    }
+
+    /**
+     * Records eventCount events of the specified total size received at nowMillis, the latest of
+     * them lagMillis after its trigger.  A negative lagMillis leaves the lag unchanged.
+     */
+    public synchronized void record(int eventCount, long bytes, long lagMillis, long nowMillis) {
+        final long second = Math.floorDiv(nowMillis, 1000L);
+        if (firstSecond < 0) {
+            firstSecond = second;
+        }
+        final int slot = (int) Math.floorMod(second, (long) bucketSeconds.length);
+        if (bucketSeconds[slot] != second) {
+            bucketSeconds[slot] = second;
+            bucketEvents[slot] = 0;
+            bucketBytes[slot] = 0;
+        }
+        bucketEvents[slot] += eventCount;
+        bucketBytes[slot] += bytes;
+        peakEventsPerSecond = Math.max(peakEventsPerSecond, bucketEvents[slot]);
+        totalEvents += eventCount;
+        totalBytes += bytes;
+        if (lagMillis >= 0) {
+            this.lagMillis = lagMillis;
+            maxLagMillis = Math.max(maxLagMillis, lagMillis);
+        }
+    }
+
+    /**
+     * Records the number of events waiting in the response observer when it was polled.
+     */
+    public synchronized void recordQueueDepth(int depth) {
+        queueDepth = depth;
+        maxQueueDepth = Math.max(maxQueueDepth, depth);
+    }
+
+    /**
+     * Returns the metrics as of nowMillis.  Rates are averaged over the window, or over the time
+     * since the first event while that is shorter.
+     */
+    public synchronized Summary summary(long nowMillis) {
+        final long second = Math.floorDiv(nowMillis, 1000L);
+        long windowEvents = 0;
+        long windowBytes = 0;
+        for (int slot = 0; slot < bucketSeconds.length; slot++) {
+            if (bucketSeconds[slot] > second - bucketSeconds.length && bucketSeconds[slot] <= second) {
+                windowEvents += bucketEvents[slot];
+                windowBytes += bucketBytes[slot];
+            }
+        }
+        final long windowSeconds = (firstSecond < 0)
+                ? bucketSeconds.length
+                : Math.max(1, Math.min(bucketSeconds.length, second - firstSecond + 1));
+        return new Summary(
+                (double) windowEvents / windowSeconds,
+                (double) windowBytes / windowSeconds,
+                peakEventsPerSecond,
+                totalEvents,
+                totalBytes,
+                queueDepth,
+                maxQueueDepth,
+                lagMillis,
+                maxLagMillis);
+    }
+}
@@ -0,0 +1,345 @@
+package com.ospreydcs.dp.gui.dataevent;
+
+import com.ospreydcs.dp.grpc.v1.ingestionstream.SubscribeDataEventResponse;
+import com.ospreydcs.dp.service.common.config.ConfigurationManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Holds the most recent events of a data event subscription in a fixed-capacity ring.
+ *
+ * Events are numbered in the order they are added.  When the ring is full the oldest event is
+ * evicted to make room, and with a maximum age, events received longer ago than that are evicted
+ * whenever evictExpired() is called.  Evictions are counted by cause.  With a spill file, evicted
+ * events are appended to it as length-delimited protobuf messages, which readSpillFile() reads
+ * back; the file is created on the first eviction.  A spill file that cannot be written is
+ * abandoned and evicted events are then only counted.
+ *
+ * The retained events are also indexed by event time in a DataEventTimeIndex, so range queries,
+ * stepping to the next or previous event and the per-interval counts drawn by the event timeline
+ * are binary searches rather than scans of the buffer.
+ */
+public class DataEventRingBuffer implements Closeable {
+
+    private static final Logger logger = LogManager.getLogger();
+
+    // configuration
+    public static final String CFG_KEY_MAX_EVENTS = "DesktopApp.DataEvent.maxEvents";
+    public static final int DEFAULT_MAX_EVENTS = 10_000;
+    public static final String CFG_KEY_MAX_AGE_SECONDS = "DesktopApp.DataEvent.maxAgeSeconds";
+    public static final int DEFAULT_MAX_AGE_SECONDS = 0;
+    public static final String CFG_KEY_SPILL_DIRECTORY = "DesktopApp.DataEvent.spillDirectory";
+    public static final String DEFAULT_SPILL_DIRECTORY = "";
+
+    // constants
+    private static final DateTimeFormatter FILE_TIMESTAMP_FORMATTER =
+            DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+
+    // instance variables
+    private final SubscribeDataEventResponse.Event[] events;
+    private final long[] receivedMillis;
+    private final long maxAgeMillis;
+    private final DataEventTimeIndex timeIndex;
+    private Path spillFile;
+    private OutputStream spillOutput = null;
+    private int head = 0;
+    private int size = 0;
+    private long firstSequence = 0;
+    private long droppedByCount = 0;
+    private long droppedByAge = 0;
+    private long spilledCount = 0;
+
+    /**
+     * Creates a buffer of capacity events.  maxAgeMillis of 0 keeps events regardless of age, and
+     * a null spillFile discards evicted events.
+     */
+    public DataEventRingBuffer(int capacity, long maxAgeMillis, Path spillFile) {
+        this.events = new SubscribeDataEventResponse.Event[Math.max(1, capacity)];
+        this.receivedMillis = new long[events.length];
+        this.maxAgeMillis = maxAgeMillis;
+        this.spillFile = spillFile;
+        this.timeIndex = new DataEventTimeIndex(Math.min(events.length, 1024));
+    }
+
+    protected static ConfigurationManager configMgr() {
+        return ConfigurationManager.getInstance();
+    }
+
+    /**
+     * Creates a buffer with the configured retention, spilling to a file named after name in the
+     * configured spill directory if one is set.
+     */
+    public static DataEventRingBuffer fromConfig(String name) {
+        final String spillDirectory = configMgr().getConfigString(CFG_KEY_SPILL_DIRECTORY, DEFAULT_SPILL_DIRECTORY);
+        Path spillFile = null;
+        if (spillDirectory != null && !spillDirectory.isBlank()) {
+            final String safeName = name.replaceAll("[^A-Za-z0-9_\\-]", "_");
+            final String stamp = LocalDateTime.now().format(FILE_TIMESTAMP_FORMATTER);
+            spillFile = Path.of(spillDirectory).resolve(safeName + "-" + stamp + ".events");
+        }
+        return new DataEventRingBuffer(
+                configMgr().getConfigInteger(CFG_KEY_MAX_EVENTS, DEFAULT_MAX_EVENTS),
+                1000L * configMgr().getConfigInteger(CFG_KEY_MAX_AGE_SECONDS, DEFAULT_MAX_AGE_SECONDS),
+                spillFile);
+    }
+
+    public int capacity() {
+        return events.length;
+    }
+
+    /**
+     * Adds newEvents, received at nowMillis, evicting the oldest events as needed, and returns the
+     * sequence number of the first one.
+     */
+    public synchronized long add(List<SubscribeDataEventResponse.Event> newEvents, long nowMillis) {
+        final long sequence = firstSequence + size;
+        boolean evicted = false;
+        for (SubscribeDataEventResponse.Event event : newEvents) {
+            if (size == events.length) {
+                evictOldest();
+                droppedByCount++;
+                evicted = true;
+            }
+            final int slot = (head + size) % events.length;
+            events[slot] = event;
+            receivedMillis[slot] = nowMillis;
+            timeIndex.add(timeNanos(event), firstSequence + size);
+            size++;
+        }
+        if (evicted) {
+            timeIndex.removeBefore(firstSequence);
+        }
+        return sequence;
+    }
+
+    /**
+     * Evicts the events older than the maximum age at nowMillis, returning how many were evicted.
+     */
+    public synchronized int evictExpired(long nowMillis) {
+        if (maxAgeMillis <= 0) {
+            return 0;
+        }
+        int evicted = 0;
+        while (size > 0 && nowMillis - receivedMillis[head] > maxAgeMillis) {
+            evictOldest();
+            droppedByAge++;
+            evicted++;
+        }
+        if (evicted > 0) {
+            timeIndex.removeBefore(firstSequence);
+        }
+        return evicted;
+    }
+
+    private void evictOldest() {
+        spill(events[head]);
+        events[head] = null;
+        head = (head + 1) % events.length;
+        size--;
+        firstSequence++;
+    }
+
+    private void spill(SubscribeDataEventResponse.Event event) {
+        if (spillFile == null) {
+            return;
+        }
+        try {
+            if (spillOutput == null) {
+                if (spillFile.getParent() != null) {
+                    Files.createDirectories(spillFile.getParent());
+                }
+                spillOutput = new BufferedOutputStream(Files.newOutputStream(spillFile));
+                logger.info("spilling evicted data events to: {}", spillFile);
+            }
+            event.writeDelimitedTo(spillOutput);
+            spilledCount++;
+        } catch (IOException e) {
+            logger.error("error spilling data events to: {}, further evicted events are discarded", spillFile, e);
+            closeSpillOutput();
+            spillFile = null;
+        }
+    }
+
+    /**
+     * Returns the retained events, oldest first.
+     */
+    public synchronized List<SubscribeDataEventResponse.Event> events() {
+        final List<SubscribeDataEventResponse.Event> retained = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            retained.add(events[(head + i) % events.length]);
+        }
+        return retained;
+    }
+
+    /**
+     * Returns the retained events with event times from begin to end inclusive, in time order.
+     */
+    public synchronized List<SubscribeDataEventResponse.Event> eventsBetween(Instant begin, Instant end) {
+        final int from = timeIndex.lowerBound(timeNanos(begin));
+        final int to = timeIndex.upperBound(timeNanos(end));
+        final List<SubscribeDataEventResponse.Event> found = new ArrayList<>(Math.max(0, to - from));
+        for (int i = from; i < to; i++) {
+            found.add(eventAt(timeIndex.sequenceAt(i)));
+        }
+        return found;
+    }
+
+    /**
+     * Returns the first retained event after time, or null if there is none.
+     */
+    public synchronized SubscribeDataEventResponse.Event nextEvent(Instant time) {
+        final int index = timeIndex.upperBound(timeNanos(time));
+        return index < timeIndex.size() ? eventAt(timeIndex.sequenceAt(index)) : null;
+    }
+
+    /**
+     * Returns the last retained event before time, or null if there is none.
+     */
+    public synchronized SubscribeDataEventResponse.Event previousEvent(Instant time) {
+        final int index = timeIndex.lowerBound(timeNanos(time)) - 1;
+        return index >= 0 ? eventAt(timeIndex.sequenceAt(index)) : null;
+    }
+
+    /**
+     * Returns the retained event closest in time to time, or null if the buffer is empty.
+     */
+    public synchronized SubscribeDataEventResponse.Event nearestEvent(Instant time) {
+        if (timeIndex.size() == 0) {
+            return null;
+        }
+        final long nanos = timeNanos(time);
+        final int after = Math.min(timeIndex.lowerBound(nanos), timeIndex.size() - 1);
+        final int before = Math.max(after - 1, 0);
+        final int nearest = Math.abs(timeIndex.timeAt(before) - nanos) <= Math.abs(timeIndex.timeAt(after) - nanos)
+                ? before : after;
+        return eventAt(timeIndex.sequenceAt(nearest));
+    }
+
+    /**
+     * Divides [begin, end) into buckets equal intervals and returns the number of retained events
+     * in each.
+     */
+    public synchronized int[] eventCounts(Instant begin, Instant end, int buckets) {
+        final int[] counts = new int[Math.max(0, buckets)];
+        final long beginNanos = timeNanos(begin);
+        final double bucketNanos = (double) (timeNanos(end) - beginNanos) / Math.max(1, buckets);
+        if (bucketNanos <= 0) {
+            return counts;
+        }
+        int from = timeIndex.lowerBound(beginNanos);
+        for (int bucket = 0; bucket < counts.length; bucket++) {
+            final int to = timeIndex.lowerBound(beginNanos + (long) ((bucket + 1) * bucketNanos));
+            counts[bucket] = to - from;
+            from = to;
+        }
+        return counts;
+    }
+
+    /**
+     * Returns the earliest retained event time, or null if the buffer is empty.
+     */
+    public synchronized Instant firstEventTime() {
+        return timeIndex.size() == 0 ? null : instant(timeIndex.timeAt(0));
+    }
+
+    /**
+     * Returns the latest retained event time, or null if the buffer is empty.
+     */
+    public synchronized Instant lastEventTime() {
+        return timeIndex.size() == 0 ? null : instant(timeIndex.timeAt(timeIndex.size() - 1));
+    }
+
+    private SubscribeDataEventResponse.Event eventAt(long sequence) {
+        return events[(int) ((head + (sequence - firstSequence)) % events.length)];
+    }
+
+    static long timeNanos(SubscribeDataEventResponse.Event event) {
+        return event.getEventTime().getEpochSeconds() * 1_000_000_000L + event.getEventTime().getNanoseconds();
+    }
+
+    static long timeNanos(Instant time) {
+        return time.getEpochSecond() * 1_000_000_000L + time.getNano();
+    }
+
+    private static Instant instant(long timeNanos) {
+        return Instant.ofEpochSecond(Math.floorDiv(timeNanos, 1_000_000_000L), Math.floorMod(timeNanos, 1_000_000_000L));
+    }
+
+    /**
+     * Returns the sequence number of the oldest retained event.
+     */
+    public synchronized long getFirstSequence() {
+        return firstSequence;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized long getDroppedByCount() {
+        return droppedByCount;
+    }
+
+    public synchronized long getDroppedByAge() {
+        return droppedByAge;
+    }
+
+    public synchronized long getSpilledCount() {
+        return spilledCount;
+    }
+
+    /**
+     * Returns the file evicted events are spilled to, or null if they are discarded.
+     */
+    public synchronized Path getSpillFile() {
+        return spillFile;
+    }
+
+    /**
+     * Reads the events written to a spill file.
+     */
+    public static List<SubscribeDataEventResponse.Event> readSpillFile(Path file) throws IOException {
+        final List<SubscribeDataEventResponse.Event> spilled = new ArrayList<>();
+        try (InputStream input = new BufferedInputStream(Files.newInputStream(file))) {
+            SubscribeDataEventResponse.Event event;
+            while ((event = SubscribeDataEventResponse.Event.parseDelimitedFrom(input)) != null) {
+                spilled.add(event);
+            }
+        }
+        return spilled;
+    }
+
+    private void closeSpillOutput() {
+        if (spillOutput == null) {
+            return;
+        }
+        try {
+            spillOutput.close();
+        } catch (IOException e) {
+            logger.warn("error closing data event spill file: {}", spillFile, e);
+        }
+        spillOutput = null;
+    }
+
+    /**
+     * Closes the spill file; the retained events stay readable.
+     */
+    @Override
+    public synchronized void close() {
+        closeSpillOutput();
+    }
+}
@@ -0,0 +1,151 @@
+package com.ospreydcs.dp.gui.dataevent;
+
+import com.ospreydcs.dp.client.IngestionStreamClient;
+import com.ospreydcs.dp.grpc.v1.ingestionstream.SubscribeDataEventResponse;
+import com.ospreydcs.dp.gui.model.DataEventSubscription;
+import com.ospreydcs.dp.service.common.config.ConfigurationManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * One subscribeDataEvent() response stream, carrying the events of one or more subscriptions.
+ *
+ * Several PvConditionTriggers are sent in a single SubscribeDataEventRequest so that watching
+ * many conditions costs one server subscription and one response stream rather than one per
+ * condition.  Each subscription on the stream is a DataEventSubscription with its own trigger,
+ * and poll() routes every event to the subscriptions whose trigger equals the event's trigger.
+ * An event without a trigger can only be routed on a stream with a single subscription.  An event
+ * matching no subscription, such as one for a subscription already cancelled, is counted and
+ * dropped.
+ *
+ * The call's response observer appends each event it receives to a synchronized list and offers
+ * no callback, so the events are collected by polling that list.  Each poll takes the new events
+ * out of the observer's list, which therefore holds no more than one poll interval's events; its
+ * size at each poll is recorded as the queue depth of every subscription on the stream.
+ * The server subscription is only cancelled once the stream has no subscriptions left.
+ */
+public class DataEventStream {
+
+    private static final Logger logger = LogManager.getLogger();
+
+    // configuration
+    public static final String CFG_KEY_POLL_MILLIS = "DesktopApp.DataEvent.pollMillis";
+    public static final int DEFAULT_POLL_MILLIS = 100;
+    public static final String CFG_KEY_MAX_TRIGGERS_PER_STREAM = "DesktopApp.DataEvent.maxTriggersPerStream";
+    public static final int DEFAULT_MAX_TRIGGERS_PER_STREAM = 100;
+
+    // instance variables
+    private final IngestionStreamClient.SubscribeDataEventCall call;
+    private final List<SubscribeDataEventResponse.Event> source;
+    private final List<DataEventSubscription> subscriptions = new CopyOnWriteArrayList<>();
+    private long unmatchedEvents = 0;
+
+    public DataEventStream(IngestionStreamClient.SubscribeDataEventCall call) {
+        this(call, call.responseObserver().getEventList());
+    }
+
+    DataEventStream(IngestionStreamClient.SubscribeDataEventCall call, List<SubscribeDataEventResponse.Event> source) {
+        this.call = call;
+        this.source = source;
+    }
+
+    protected static ConfigurationManager configMgr() {
+        return ConfigurationManager.getInstance();
+    }
+
+    public static long pollMillis() {
+        return Math.max(1, configMgr().getConfigInteger(CFG_KEY_POLL_MILLIS, DEFAULT_POLL_MILLIS));
+    }
+
+    public static int maxTriggersPerStream() {
+        return Math.max(1, configMgr().getConfigInteger(CFG_KEY_MAX_TRIGGERS_PER_STREAM, DEFAULT_MAX_TRIGGERS_PER_STREAM));
+    }
+
+    public IngestionStreamClient.SubscribeDataEventCall getCall() {
+        return call;
+    }
+
+    public List<DataEventSubscription> getSubscriptions() {
+        return List.copyOf(subscriptions);
+    }
+
+    public void addSubscription(DataEventSubscription subscription) {
+        subscriptions.add(subscription);
+    }
+
+    /**
+     * Stops routing events to subscription, returning true if the stream has no subscriptions
+     * left and its call can be cancelled.
+     */
+    public boolean removeSubscription(DataEventSubscription subscription) {
+        subscriptions.remove(subscription);
+        return subscriptions.isEmpty();
+    }
+
+    public synchronized long getUnmatchedEvents() {
+        return unmatchedEvents;
+    }
+
+    /**
+     * Routes the events received since the previous poll to their subscriptions and returns a
+     * batch for each subscription that received any.
+     */
+    public synchronized List<DataEventBatch> poll() {
+        final long nowMillis = System.currentTimeMillis();
+        final List<SubscribeDataEventResponse.Event> newEvents;
+        // a synchronized list must be locked by hand while it is copied and cleared
+        synchronized (source) {
+            newEvents = new ArrayList<>(source);
+            source.clear();
+        }
+
+        final List<DataEventSubscription> current = List.copyOf(subscriptions);
+        for (DataEventSubscription subscription : current) {
+            subscription.eventTailer.getMetrics().recordQueueDepth(newEvents.size());
+        }
+        final Map<DataEventSubscription, List<SubscribeDataEventResponse.Event>> routed = new HashMap<>();
+        for (SubscribeDataEventResponse.Event event : newEvents) {
+            route(event, current, routed);
+        }
+
+        final List<DataEventBatch> batches = new ArrayList<>();
+        for (DataEventSubscription subscription : current) {
+            final List<SubscribeDataEventResponse.Event> events = routed.get(subscription);
+            if (events == null) {
+                subscription.eventTailer.evictExpired(nowMillis);
+            } else {
+                batches.add(subscription.eventTailer.append(events, nowMillis));
+            }
+        }
+        return batches;
+    }
+
+    private void route(
+            SubscribeDataEventResponse.Event event,
+            List<DataEventSubscription> current,
+            Map<DataEventSubscription, List<SubscribeDataEventResponse.Event>> routed
+    ) {
+        boolean matched = false;
+        if (event.hasTrigger()) {
+            for (DataEventSubscription subscription : current) {
+                if (subscription.trigger.equals(event.getTrigger())) {
+                    routed.computeIfAbsent(subscription, s -> new ArrayList<>()).add(event);
+                    matched = true;
+                }
+            }
+        } else if (current.size() == 1) {
+            routed.computeIfAbsent(current.get(0), s -> new ArrayList<>()).add(event);
+            matched = true;
+        }
+        if (!matched) {
+            unmatchedEvents++;
+            logger.debug("dropped data event matching no subscription, trigger: {}", event.getTrigger());
+        }
+    }
+}
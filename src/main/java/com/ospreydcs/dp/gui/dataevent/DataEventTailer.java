@@ -0,0 +1,65 @@
+package com.ospreydcs.dp.gui.dataevent;
+
+import com.ospreydcs.dp.grpc.v1.ingestionstream.SubscribeDataEventResponse;
+import com.ospreydcs.dp.gui.model.DataEventSubscription;
+
+import java.io.Closeable;
+import java.util.List;
+
+/**
+ * Keeps the events of one data event subscription in its DataEventRingBuffer, numbers the
+ * batches handed out to listeners and records the subscription's DataEventMetrics.
+ *
+ * Events arrive through the DataEventStream carrying the subscription, which may be shared with
+ * other subscriptions and routes each event here by its trigger.  Expired events are evicted
+ * whenever the stream is polled, whether or not new events arrived.
+ */
+public class DataEventTailer implements Closeable {
+
+    // instance variables
+    private final DataEventSubscription subscription;
+    private final DataEventRingBuffer buffer;
+    private final DataEventMetrics metrics;
+
+    public DataEventTailer(DataEventSubscription subscription, DataEventRingBuffer buffer, DataEventMetrics metrics) {
+        this.subscription = subscription;
+        this.buffer = buffer;
+        this.metrics = metrics;
+    }
+
+    public DataEventRingBuffer getBuffer() {
+        return buffer;
+    }
+
+    public DataEventMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Adds newEvents, received at nowMillis, and returns them as the next batch.
+     */
+    public synchronized DataEventBatch append(List<SubscribeDataEventResponse.Event> newEvents, long nowMillis) {
+        buffer.evictExpired(nowMillis);
+        metrics.recordEvents(newEvents, nowMillis);
+        final long firstSequence = buffer.add(newEvents, nowMillis);
+        return new DataEventBatch(subscription, firstSequence, newEvents);
+    }
+
+    public synchronized void evictExpired(long nowMillis) {
+        buffer.evictExpired(nowMillis);
+    }
+
+    /**
+     * Returns the events retained from those delivered by append() so far.  Events received but
+     * not yet appended are left for the next batch, so a consumer that starts from the snapshot
+     * and then applies the later batches sees each event once.
+     */
+    public synchronized DataEventBatch snapshot() {
+        return new DataEventBatch(subscription, buffer.getFirstSequence(), buffer.events());
+    }
+
+    @Override
+    public synchronized void close() {
+        buffer.close();
+    }
+}
@@ -0,0 +1,107 @@
+package com.ospreydcs.dp.gui.dataevent;
+
+import java.util.Arrays;
+
+/**
+ * Index of event sequence numbers sorted by event time, held in two parallel primitive arrays.
+ *
+ * Times are nanoseconds since the epoch.  Events with equal times keep the order they were added
+ * in.  Events normally arrive in time order, so add() appends in constant time; an event older
+ * than the newest indexed one is inserted in place.  Range and navigation lookups are binary
+ * searches.  Evicted events are removed with removeBefore(), in one pass over the arrays.
+ */
+public class DataEventTimeIndex {
+
+    // instance variables
+    private long[] times;
+    private long[] sequences;
+    private int size = 0;
+
+    public DataEventTimeIndex(int initialCapacity) {
+        this.times = new long[Math.max(1, initialCapacity)];
+        this.sequences = new long[times.length];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long timeAt(int index) {
+        return times[index];
+    }
+
+    public long sequenceAt(int index) {
+        return sequences[index];
+    }
+
+    public void add(long timeNanos, long sequence) {
+        if (size == times.length) {
+            times = Arrays.copyOf(times, 2 * size);
+            sequences = Arrays.copyOf(sequences, 2 * size);
+        }
+        final int index = upperBound(timeNanos);
+        if (index < size) {
+            System.arraycopy(times, index, times, index + 1, size - index);
+            System.arraycopy(sequences, index, sequences, index + 1, size - index);
+        }
+        times[index] = timeNanos;
+        sequences[index] = sequence;
+        size++;
+    }
+
+    /**
+     * Removes every entry with a sequence number below firstSequence.
+     */
+    public void removeBefore(long firstSequence) {
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            if (sequences[i] >= firstSequence) {
+                times[kept] = times[i];
+                sequences[kept] = sequences[i];
+                kept++;
+            }
+        }
+        size = kept;
+    }
+
+    /**
+     * Returns the index of the first entry with a time not before timeNanos, or size() if none.
+     */
+    public int lowerBound(long timeNanos) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (times[mid] < timeNanos) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the index of the first entry with a time after timeNanos, or size() if none.
+     */
+    public int upperBound(long timeNanos) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (times[mid] <= timeNanos) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the number of entries with times in [beginNanos, endNanos).
+     */
+    public int count(long beginNanos, long endNanos) {
+        return Math.max(0, lowerBound(endNanos) - lowerBound(beginNanos));
+    }
+}
@@ -0,0 +1,55 @@
+package com.ospreydcs.dp.gui.dataevent;
+
+import javafx.application.Platform;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Hands items published from any thread to a consumer on the JavaFX application thread, in
+ * batches.
+ *
+ * At most one Platform.runLater() is outstanding at a time: items published while it is pending
+ * join the same batch, so a burst of events costs one UI update rather than one per event.
+ */
+public class FxBatchPublisher<T> {
+
+    // instance variables
+    private final Executor fxExecutor;
+    private final Consumer<List<T>> consumer;
+    private final ConcurrentLinkedQueue<T> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean(false);
+
+    public FxBatchPublisher(Consumer<List<T>> consumer) {
+        this(Platform::runLater, consumer);
+    }
+
+    FxBatchPublisher(Executor fxExecutor, Consumer<List<T>> consumer) {
+        this.fxExecutor = fxExecutor;
+        this.consumer = consumer;
+    }
+
+    public void publish(T item) {
+        pending.add(item);
+        if (scheduled.compareAndSet(false, true)) {
+            fxExecutor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        // cleared first, so an item published while draining schedules another drain
+        scheduled.set(false);
+        final List<T> batch = new ArrayList<>();
+        T item;
+        while ((item = pending.poll()) != null) {
+            batch.add(item);
+        }
+        if (!batch.isEmpty()) {
+            consumer.accept(batch);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.ospreydcs.dp.gui.dataevent;
+
+import com.ospreydcs.dp.grpc.v1.query.QueryTableResponse;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Least recently used cache of queryTable() results, keyed by PV names and time window.
+ *
+ * A window's result is the list of responses of the interval queries that made it up.  The PV
+ * names are compared as a set, so a window cached for one PV order is found for any other.
+ */
+public class QueryResultCache {
+
+    /**
+     * PV names and time window of a cached query.
+     */
+    public static class Key {
+
+        public final List<String> pvNames;
+        public final Instant beginTime;
+        public final Instant endTime;
+
+        public Key(Collection<String> pvNames, Instant beginTime, Instant endTime) {
+            final List<String> sorted = new ArrayList<>(pvNames);
+            sorted.sort(null);
+            this.pvNames = List.copyOf(sorted);
+            this.beginTime = beginTime;
+            this.endTime = endTime;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof Key key)) {
+                return false;
+            }
+            return pvNames.equals(key.pvNames) && beginTime.equals(key.beginTime) && endTime.equals(key.endTime);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(pvNames, beginTime, endTime);
+        }
+
+        @Override
+        public String toString() {
+            return pvNames + " " + beginTime + " - " + endTime;
+        }
+    }
+
+    // instance variables
+    private final Map<Key, List<QueryTableResponse>> entries;
+
+    public QueryResultCache(int maxEntries) {
+        final int capacity = Math.max(1, maxEntries);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, List<QueryTableResponse>> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached responses for key, or null if it is not cached.
+     */
+    public synchronized List<QueryTableResponse> get(Key key) {
+        return entries.get(key);
+    }
+
+    public synchronized boolean contains(Key key) {
+        return entries.containsKey(key);
+    }
+
+    public synchronized void put(Key key, List<QueryTableResponse> responses) {
+        entries.put(key, List.copyOf(responses));
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+}
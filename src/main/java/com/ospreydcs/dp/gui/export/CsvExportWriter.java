@@ -0,0 +1,187 @@
+package com.ospreydcs.dp.gui.export;
+
+import com.ospreydcs.dp.grpc.v1.common.DataValue;
+import com.ospreydcs.dp.grpc.v1.common.Timestamp;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Writes an export as CSV through a fixed-size buffer onto a FileChannel.
+ *
+ * The layout is the one CsvImporter reads: a header of seconds, nanos and one column per PV, then
+ * one record per timestamp, so an exported file can be imported again.  A PV with no value at a
+ * timestamp has an empty field, which CsvImporter reads back as a NaN value.  Scalar values are
+ * written as text; array, structure and image values have no CSV representation and are left
+ * empty, so they too are imported as NaN.
+ *
+ * With compression, each full buffer is handed to a ParallelGzipWriter and the file is a gzip
+ * stream of buffer-sized members, compressed on several threads while the next buffer fills.
+ */
+public class CsvExportWriter implements ExportFileWriter {
+
+    // instance variables
+    private final FileChannel channel;
+    private final ParallelGzipWriter gzipWriter;
+    private final ByteBuffer buffer;
+    private final int columnCount;
+    private final String[] rowFields;
+    private final StringBuilder line = new StringBuilder();
+    private long bytesWritten = 0;
+
+    public CsvExportWriter(Path file, List<String> columnNames, int bufferBytes) throws IOException {
+        this(file, columnNames, bufferBytes, 0);
+    }
+
+    /**
+     * Creates a writer that gzip-compresses the file on compressionThreads threads, or writes it
+     * uncompressed if compressionThreads is 0.
+     */
+    public CsvExportWriter(Path file, List<String> columnNames, int bufferBytes, int compressionThreads)
+            throws IOException {
+        this.channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        this.gzipWriter = compressionThreads > 0 ? new ParallelGzipWriter(channel, compressionThreads) : null;
+        this.buffer = ByteBuffer.allocateDirect(Math.max(4096, bufferBytes));
+        this.columnCount = columnNames.size();
+        this.rowFields = new String[columnCount];
+
+        line.append("seconds,nanos");
+        for (String columnName : columnNames) {
+            line.append(',');
+            appendField(line, columnName);
+        }
+        line.append('\n');
+        put(line);
+    }
+
+    @Override
+    public void writeRows(ExportBlock block, int[] columnIndexes, int fromRow) throws IOException {
+        for (int row = fromRow; row < block.rowCount(); row++) {
+            Arrays.fill(rowFields, "");
+            for (int column = 0; column < columnIndexes.length; column++) {
+                final DataValue value = block.values[column][row];
+                if (value != null) {
+                    rowFields[columnIndexes[column]] = formatValue(value);
+                }
+            }
+
+            line.setLength(0);
+            final Timestamp timestamp = block.timestamps.get(row);
+            line.append(timestamp.getEpochSeconds()).append(',').append(timestamp.getNanoseconds());
+            for (String field : rowFields) {
+                line.append(',');
+                appendField(line, field);
+            }
+            line.append('\n');
+            put(line);
+        }
+    }
+
+    @Override
+    public long getBytesWritten() {
+        return gzipWriter != null ? gzipWriter.getBytesWritten() : bytesWritten;
+    }
+
+    /**
+     * Returns the CSV text of a scalar value, or an empty string for values with no CSV form.
+     */
+    static String formatValue(DataValue value) {
+        return switch (value.getValueCase()) {
+            case STRINGVALUE -> value.getStringValue();
+            case BOOLEANVALUE -> Boolean.toString(value.getBooleanValue());
+            case UINTVALUE -> Integer.toUnsignedString(value.getUintValue());
+            case ULONGVALUE -> Long.toUnsignedString(value.getUlongValue());
+            case INTVALUE -> Integer.toString(value.getIntValue());
+            case LONGVALUE -> Long.toString(value.getLongValue());
+            case FLOATVALUE -> Float.toString(value.getFloatValue());
+            case DOUBLEVALUE -> Double.toString(value.getDoubleValue());
+            case TIMESTAMPVALUE -> value.getTimestampValue().getEpochSeconds() + "."
+                    + String.format("%09d", value.getTimestampValue().getNanoseconds());
+            default -> "";
+        };
+    }
+
+    /**
+     * Appends field, quoted if it contains a delimiter, quote or line break.
+     */
+    static void appendField(StringBuilder target, String field) {
+        boolean needsQuotes = false;
+        for (int i = 0; i < field.length() && !needsQuotes; i++) {
+            final char c = field.charAt(i);
+            needsQuotes = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!needsQuotes) {
+            target.append(field);
+            return;
+        }
+        target.append('"');
+        for (int i = 0; i < field.length(); i++) {
+            final char c = field.charAt(i);
+            if (c == '"') {
+                target.append('"');
+            }
+            target.append(c);
+        }
+        target.append('"');
+    }
+
+    private void put(CharSequence text) throws IOException {
+        final byte[] bytes = text.toString().getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > buffer.remaining()) {
+            flush();
+        }
+        if (bytes.length > buffer.capacity()) {
+            write(bytes);
+        } else {
+            buffer.put(bytes);
+        }
+    }
+
+    private void flush() throws IOException {
+        if (buffer.position() == 0) {
+            return;
+        }
+        buffer.flip();
+        if (gzipWriter != null) {
+            // the buffer is reused at once, so the compressor gets a copy
+            final byte[] chunk = new byte[buffer.remaining()];
+            buffer.get(chunk);
+            gzipWriter.write(chunk);
+        } else {
+            while (buffer.hasRemaining()) {
+                bytesWritten += channel.write(buffer);
+            }
+        }
+        buffer.clear();
+    }
+
+    private void write(byte[] bytes) throws IOException {
+        if (gzipWriter != null) {
+            gzipWriter.write(bytes);
+            return;
+        }
+        final ByteBuffer source = ByteBuffer.wrap(bytes);
+        while (source.hasRemaining()) {
+            bytesWritten += channel.write(source);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+            if (gzipWriter != null) {
+                gzipWriter.close();
+            }
+        } finally {
+            channel.close();
+        }
+    }
+}
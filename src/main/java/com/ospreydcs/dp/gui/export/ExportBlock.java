@@ -0,0 +1,29 @@
+package com.ospreydcs.dp.gui.export;
+
+import com.ospreydcs.dp.grpc.v1.common.DataValue;
+import com.ospreydcs.dp.grpc.v1.common.Timestamp;
+
+import java.util.List;
+
+/**
+ * The result of querying one time interval of a data block for export, in columnar form.
+ *
+ * values[column][row] is the value of pvNames[column] at timestamps[row], or null where that PV
+ * has no value at that timestamp.  Rows are in time order.
+ */
+public class ExportBlock {
+
+    public final List<String> pvNames;
+    public final List<Timestamp> timestamps;
+    public final DataValue[][] values;
+
+    public ExportBlock(List<String> pvNames, List<Timestamp> timestamps, DataValue[][] values) {
+        this.pvNames = pvNames;
+        this.timestamps = timestamps;
+        this.values = values;
+    }
+
+    public int rowCount() {
+        return timestamps.size();
+    }
+}
@@ -0,0 +1,77 @@
+package com.ospreydcs.dp.gui.export;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Waits for an export file written by another process, such as the annotation service, to be
+ * complete.
+ *
+ * Files written by the desktop application itself need no waiting: the export pipeline closes
+ * them before it reports success.  For other files, the file's directory is watched with a
+ * WatchService and the file is taken as complete once it exists and no change to it has been
+ * reported for quietMillis.  Each write restarts the quiet period, so a large file still being
+ * written is waited for as long as it keeps growing, up to the timeout.  A directory on a network
+ * mount may report no remote changes at all, in which case the file is taken as complete after
+ * one quiet period.
+ */
+public final class ExportFileCompletion {
+
+    private static final Logger logger = LogManager.getLogger();
+
+    private ExportFileCompletion() {
+    }
+
+    /**
+     * Returns true once file exists and has gone unmodified for quietMillis, or false if that has
+     * not happened within timeoutMillis.
+     */
+    public static boolean awaitWritten(Path file, long quietMillis, long timeoutMillis)
+            throws IOException, InterruptedException {
+        final Path directory = file.toAbsolutePath().getParent();
+        final Path fileName = file.getFileName();
+        final long startMillis = System.currentTimeMillis();
+        final long deadlineMillis = startMillis + timeoutMillis;
+
+        try (WatchService watchService = directory.getFileSystem().newWatchService()) {
+            directory.register(watchService,
+                    StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            // registered after the file may have been written, so the quiet period starts now
+            long lastChangeMillis = startMillis;
+
+            while (true) {
+                final long now = System.currentTimeMillis();
+                final long quietRemaining = lastChangeMillis + quietMillis - now;
+                if (quietRemaining <= 0 && Files.exists(file)) {
+                    logger.debug("export file written: {} after {} ms", file, now - startMillis);
+                    return true;
+                }
+                if (now >= deadlineMillis) {
+                    logger.warn("export file not complete after {} ms: {}", timeoutMillis, file);
+                    return false;
+                }
+
+                final long waitMillis = Math.min(deadlineMillis - now, Math.max(quietRemaining, quietMillis));
+                final WatchKey key = watchService.poll(waitMillis, TimeUnit.MILLISECONDS);
+                if (key == null) {
+                    continue;
+                }
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW || fileName.equals(event.context())) {
+                        lastChangeMillis = System.currentTimeMillis();
+                    }
+                }
+                key.reset();
+            }
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.ospreydcs.dp.gui.export;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Writes the rows of a client-side export to a file as they are queried.
+ *
+ * A writer is created with the export's full list of PV columns; each block written may cover
+ * only some of them, mapped to file columns by columnIndexes.  Only a bounded buffer is held in
+ * memory, however many rows are written.  close() completes the file.
+ */
+public interface ExportFileWriter extends Closeable {
+
+    /**
+     * Writes rows fromRow onwards of block, where block column i is file column columnIndexes[i].
+     */
+    void writeRows(ExportBlock block, int[] columnIndexes, int fromRow) throws IOException;
+
+    /**
+     * Returns the number of bytes written to the file so far.
+     */
+    long getBytesWritten();
+}
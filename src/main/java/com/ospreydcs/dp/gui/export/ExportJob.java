@@ -0,0 +1,101 @@
+package com.ospreydcs.dp.gui.export;
+
+import java.nio.file.Path;
+
+/**
+ * One dataset export submitted to an ExportJobQueue, and its current status.
+ *
+ * Updated by the queue worker running the job and read by the UI, so every mutable field is
+ * volatile.  The job's ExportProgress carries the rows and bytes written and its cancellation.
+ */
+public class ExportJob {
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        SUCCEEDED,
+        FAILED,
+        CANCELLED
+    }
+
+    // instance variables
+    private final String name;
+    private final ExportProgress progress = new ExportProgress();
+    private volatile Status status = Status.QUEUED;
+    private volatile String message = "";
+    private volatile Path file = null;
+    private volatile boolean fileComplete = false;
+    private volatile long startMillis = 0;
+    private volatile long endMillis = 0;
+
+    public ExportJob(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public ExportProgress getProgress() {
+        return progress;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    void setMessage(String message) {
+        this.message = message;
+    }
+
+    /**
+     * Returns the file the export was written to, or null if it is not known yet.
+     */
+    public Path getFile() {
+        return file;
+    }
+
+    public void setFile(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Returns true if the export has closed its file, so it can be opened without waiting for
+     * another process to finish writing it.
+     */
+    public boolean isFileComplete() {
+        return fileComplete;
+    }
+
+    public void setFileComplete(boolean fileComplete) {
+        this.fileComplete = fileComplete;
+    }
+
+    public long getStartMillis() {
+        return startMillis;
+    }
+
+    void setStartMillis(long startMillis) {
+        this.startMillis = startMillis;
+    }
+
+    public long getEndMillis() {
+        return endMillis;
+    }
+
+    void setEndMillis(long endMillis) {
+        this.endMillis = endMillis;
+    }
+
+    public boolean isFinished() {
+        return status == Status.SUCCEEDED || status == Status.FAILED || status == Status.CANCELLED;
+    }
+}
@@ -0,0 +1,150 @@
+package com.ospreydcs.dp.gui.export;
+
+import com.ospreydcs.dp.service.common.config.ConfigurationManager;
+import com.ospreydcs.dp.service.common.model.ResultStatus;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Runs dataset exports in the background, a configurable number at a time, so no export runs on
+ * the thread that requested it.
+ *
+ * Each job is submitted with the runner that performs it.  A queued job that is cancelled is never
+ * started; a running job is asked to stop through its ExportProgress, and is reported as cancelled
+ * once its runner returns.  Every status change, and progress at most every PROGRESS_REPORT_MILLIS,
+ * is reported to a listener called from the worker threads, which must not block.
+ */
+public class ExportJobQueue {
+
+    private static final Logger logger = LogManager.getLogger();
+
+    // configuration
+    public static final String CFG_KEY_CONCURRENT_JOBS = "DesktopApp.Export.concurrentJobs";
+    public static final int DEFAULT_CONCURRENT_JOBS = 2;
+
+    // constants
+    private static final long PROGRESS_REPORT_MILLIS = 200;
+
+    /**
+     * Performs an export, returning an error status if it failed.
+     */
+    @FunctionalInterface
+    public interface JobRunner {
+        ResultStatus run(ExportJob job) throws Exception;
+    }
+
+    // instance variables
+    private final Consumer<ExportJob> listener;
+    private final ExecutorService workers;
+    private final List<ExportJob> jobs = new CopyOnWriteArrayList<>();
+
+    public ExportJobQueue(int concurrentJobs, Consumer<ExportJob> listener) {
+        this.listener = listener;
+        this.workers = Executors.newFixedThreadPool(Math.max(1, concurrentJobs), runnable -> {
+            final Thread thread = new Thread(runnable, "export-job");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    protected static ConfigurationManager configMgr() {
+        return ConfigurationManager.getInstance();
+    }
+
+    /**
+     * Creates a queue running the configured number of exports at a time.
+     */
+    public static ExportJobQueue fromConfig(Consumer<ExportJob> listener) {
+        return new ExportJobQueue(configMgr().getConfigInteger(CFG_KEY_CONCURRENT_JOBS, DEFAULT_CONCURRENT_JOBS), listener);
+    }
+
+    public List<ExportJob> getJobs() {
+        return List.copyOf(jobs);
+    }
+
+    /**
+     * Queues job to be performed by runner, returning job.
+     */
+    public ExportJob submit(ExportJob job, JobRunner runner) {
+        jobs.add(job);
+        listener.accept(job);
+        workers.execute(() -> runJob(job, runner));
+        return job;
+    }
+
+    private void runJob(ExportJob job, JobRunner runner) {
+        if (job.getProgress().isCancelled()) {
+            finish(job, ExportJob.Status.CANCELLED, "export cancelled before it started");
+            return;
+        }
+        job.setStartMillis(System.currentTimeMillis());
+        job.setStatus(ExportJob.Status.RUNNING);
+        listener.accept(job);
+
+        final long[] lastReportMillis = {0};
+        job.getProgress().setListener(progress -> {
+            final long now = System.currentTimeMillis();
+            if (now - lastReportMillis[0] >= PROGRESS_REPORT_MILLIS) {
+                lastReportMillis[0] = now;
+                listener.accept(job);
+            }
+        });
+
+        ResultStatus status;
+        try {
+            status = runner.run(job);
+        } catch (Exception e) {
+            logger.error("error running export job: {}", job.getName(), e);
+            status = new ResultStatus(true, "error exporting: " + e.getMessage());
+        }
+        job.getProgress().setListener(null);
+
+        if (job.getProgress().isCancelled()) {
+            finish(job, ExportJob.Status.CANCELLED, "export cancelled");
+        } else {
+            finish(job, status.isError ? ExportJob.Status.FAILED : ExportJob.Status.SUCCEEDED, status.msg);
+        }
+    }
+
+    private void finish(ExportJob job, ExportJob.Status status, String message) {
+        job.setMessage(message);
+        job.setStatus(status);
+        job.setEndMillis(System.currentTimeMillis());
+        logger.info("export job: {} finished: {} {}", job.getName(), status, message);
+        listener.accept(job);
+    }
+
+    /**
+     * Cancels job: a queued job will not be started, and a running one stops after the interval
+     * it is writing.
+     */
+    public void cancel(ExportJob job) {
+        if (!job.isFinished()) {
+            job.getProgress().cancel();
+            listener.accept(job);
+        }
+    }
+
+    /**
+     * Forgets the jobs that have finished, returning them.
+     */
+    public List<ExportJob> removeFinished() {
+        final List<ExportJob> finished = jobs.stream().filter(ExportJob::isFinished).toList();
+        jobs.removeAll(finished);
+        return finished;
+    }
+
+    /**
+     * Cancels every job and stops the workers once the running jobs have returned.
+     */
+    public void shutdown() {
+        jobs.forEach(this::cancel);
+        workers.shutdown();
+    }
+}
@@ -0,0 +1,86 @@
+package com.ospreydcs.dp.gui.export;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Live progress of one client-side export.
+ *
+ * Written by the export thread and read by the UI.  Progress is measured as the time span of the
+ * dataset's data blocks queried so far against their total span, which is known up front, so the
+ * fraction advances steadily even though rows per interval vary.  cancel() asks the export to
+ * stop after the interval it is writing; the export thread is not interrupted, since an interrupt
+ * would close the file channel under the writer.
+ */
+public class ExportProgress {
+
+    // instance variables
+    private volatile long totalNanos = 0;
+    private final AtomicLong queriedNanos = new AtomicLong(0);
+    private final LongAdder rowsWritten = new LongAdder();
+    private volatile long bytesWritten = 0;
+    private volatile boolean cancelled = false;
+    private volatile Consumer<ExportProgress> listener = null;
+
+    /**
+     * Sets a listener called from the export thread on each report(); it must not block.
+     */
+    public void setListener(Consumer<ExportProgress> listener) {
+        this.listener = listener;
+    }
+
+    public void setTotalNanos(long totalNanos) {
+        this.totalNanos = totalNanos;
+    }
+
+    public void addQueriedNanos(long nanos) {
+        queriedNanos.addAndGet(nanos);
+    }
+
+    public void addRows(long rows) {
+        rowsWritten.add(rows);
+    }
+
+    public void setBytesWritten(long bytesWritten) {
+        this.bytesWritten = bytesWritten;
+    }
+
+    public long getRowsWritten() {
+        return rowsWritten.sum();
+    }
+
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Returns the fraction of the dataset's time span exported, in [0, 1], or -1 if the span is
+     * not known yet.
+     */
+    public double fraction() {
+        final long total = totalNanos;
+        if (total <= 0) {
+            return -1;
+        }
+        return Math.min(1.0, (double) queriedNanos.get() / total);
+    }
+
+    /**
+     * Notifies the listener, if any, of the current progress.
+     */
+    public void report() {
+        final Consumer<ExportProgress> currentListener = listener;
+        if (currentListener != null) {
+            currentListener.accept(this);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.ospreydcs.dp.gui.export;
+
+import ch.systemsx.cisd.hdf5.HDF5Factory;
+import ch.systemsx.cisd.hdf5.HDF5FloatStorageFeatures;
+import ch.systemsx.cisd.hdf5.HDF5IntStorageFeatures;
+import ch.systemsx.cisd.hdf5.IHDF5Writer;
+import com.ospreydcs.dp.grpc.v1.common.DataValue;
+import com.ospreydcs.dp.grpc.v1.common.Timestamp;
+import com.ospreydcs.dp.gui.importer.Hdf5Importer;
+import com.ospreydcs.dp.gui.query.QueryResultStore;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Writes an export as HDF5 with jhdf5, in the column group layout that Hdf5Importer reads.
+ *
+ * One group holds a timestamps dataset of shape [rows][2] (epoch seconds and nanoseconds) and a
+ * 1-D float64 dataset per PV carrying the PV name in its pvName attribute.  All datasets are
+ * extendable and chunked by chunkRows; rows are buffered for one chunk and then written as a
+ * hyperslab block at the end of each dataset, so memory is bounded by one chunk of every column.
+ * A PV with no value at a timestamp, or with a value that is not numeric, is written as NaN.
+ * With deflate, every dataset is written through the HDF5 deflate filter, chunk by chunk, so a
+ * reader decompresses only the chunks it reads.
+ */
+public class Hdf5ExportWriter implements ExportFileWriter {
+
+    // constants
+    private static final int TIMESTAMP_BYTES = 16;
+    private static final int VALUE_BYTES = 8;
+
+    // instance variables
+    private final IHDF5Writer writer;
+    private final String timestampsPath;
+    private final String[] valuePaths;
+    private final int chunkRows;
+    private final long[][] timestampChunk;
+    private final double[][] valueChunks;
+    private int chunkSize = 0;
+    private long rowsFlushed = 0;
+    private long nonNumericValues = 0;
+
+    public Hdf5ExportWriter(Path file, String groupName, List<String> columnNames, int chunkRows) throws IOException {
+        this(file, groupName, columnNames, chunkRows, false);
+    }
+
+    public Hdf5ExportWriter(Path file, String groupName, List<String> columnNames, int chunkRows, boolean deflate)
+            throws IOException {
+        this.chunkRows = Math.max(1, chunkRows);
+        this.timestampChunk = new long[this.chunkRows][2];
+        this.valueChunks = new double[columnNames.size()][this.chunkRows];
+        this.valuePaths = new String[columnNames.size()];
+
+        final String groupPath = "/" + datasetName(groupName);
+        this.timestampsPath = groupPath + "/" + Hdf5Importer.TIMESTAMPS_DATASET;
+        try {
+            writer = HDF5Factory.configure(file.toFile()).overwrite().writer();
+            final HDF5IntStorageFeatures intFeatures =
+                    deflate ? HDF5IntStorageFeatures.INT_DEFLATE : HDF5IntStorageFeatures.INT_CHUNKED;
+            final HDF5FloatStorageFeatures floatFeatures =
+                    deflate ? HDF5FloatStorageFeatures.FLOAT_DEFLATE : HDF5FloatStorageFeatures.FLOAT_CHUNKED;
+            writer.int64().createMatrix(timestampsPath, 0, 2, this.chunkRows, 2, intFeatures);
+            final Set<String> usedNames = new HashSet<>(Set.of(Hdf5Importer.TIMESTAMPS_DATASET));
+            for (int column = 0; column < columnNames.size(); column++) {
+                String name = datasetName(columnNames.get(column));
+                for (int suffix = 2; !usedNames.add(name); suffix++) {
+                    name = datasetName(columnNames.get(column)) + "_" + suffix;
+                }
+                valuePaths[column] = groupPath + "/" + name;
+                writer.float64().createArray(valuePaths[column], 0, this.chunkRows, floatFeatures);
+                writer.string().setAttr(valuePaths[column], Hdf5Importer.ATTR_PV_NAME, columnNames.get(column));
+            }
+        } catch (RuntimeException e) {
+            // jhdf5 reports file errors as unchecked HDF5 exceptions
+            throw new IOException("error creating HDF5 file " + file.getFileName() + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Returns an HDF5 object name for a PV or dataset name: characters other than letters, digits,
+     * '-' and '_' are replaced by '_'.
+     */
+    static String datasetName(String name) {
+        final String replaced = name.replaceAll("[^A-Za-z0-9_\\-]", "_");
+        return replaced.isEmpty() ? "_" : replaced;
+    }
+
+    @Override
+    public void writeRows(ExportBlock block, int[] columnIndexes, int fromRow) throws IOException {
+        for (int row = fromRow; row < block.rowCount(); row++) {
+            final Timestamp timestamp = block.timestamps.get(row);
+            timestampChunk[chunkSize][0] = timestamp.getEpochSeconds();
+            timestampChunk[chunkSize][1] = timestamp.getNanoseconds();
+            for (double[] valueChunk : valueChunks) {
+                valueChunk[chunkSize] = Double.NaN;
+            }
+            for (int column = 0; column < columnIndexes.length; column++) {
+                final DataValue value = block.values[column][row];
+                if (value != null) {
+                    final double numeric = QueryResultStore.numericValue(value);
+                    if (Double.isNaN(numeric) && value.getValueCase() != DataValue.ValueCase.DOUBLEVALUE
+                            && value.getValueCase() != DataValue.ValueCase.FLOATVALUE) {
+                        nonNumericValues++;
+                    }
+                    valueChunks[columnIndexes[column]][chunkSize] = numeric;
+                }
+            }
+            if (++chunkSize == chunkRows) {
+                flushChunk();
+            }
+        }
+    }
+
+    private void flushChunk() throws IOException {
+        if (chunkSize == 0) {
+            return;
+        }
+        try {
+            writer.int64().writeMatrixBlockWithOffset(timestampsPath, timestampChunk, chunkSize, 2, rowsFlushed, 0);
+            for (int column = 0; column < valuePaths.length; column++) {
+                writer.float64().writeArrayBlockWithOffset(valuePaths[column], valueChunks[column], chunkSize, rowsFlushed);
+            }
+        } catch (RuntimeException e) {
+            throw new IOException("error writing HDF5 block at row " + rowsFlushed + ": " + e.getMessage(), e);
+        }
+        rowsFlushed += chunkSize;
+        chunkSize = 0;
+    }
+
+    /**
+     * Returns the size of the data written so far, computed from the rows flushed, since the HDF5
+     * library buffers and lays out the file itself.
+     */
+    @Override
+    public long getBytesWritten() {
+        return rowsFlushed * (TIMESTAMP_BYTES + (long) VALUE_BYTES * valuePaths.length);
+    }
+
+    /**
+     * Returns the number of values written as NaN because they were not numeric.
+     */
+    public long getNonNumericValues() {
+        return nonNumericValues;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flushChunk();
+        } finally {
+            writer.close();
+        }
+    }
+}
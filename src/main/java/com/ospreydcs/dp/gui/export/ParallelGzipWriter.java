@@ -0,0 +1,100 @@
+package com.ospreydcs.dp.gui.export;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes chunks of data to a FileChannel as a sequence of gzip members, compressing the chunks in
+ * parallel on a pool of threads.
+ *
+ * A gzip file may hold any number of members one after another, and gunzip and GZIPInputStream
+ * decompress them as a single stream, so each chunk can be compressed independently of the
+ * others.  Compressed members are written in the order their chunks were given.  At most two
+ * chunks per thread wait for compression, which bounds the memory used and makes the producer
+ * wait when compression falls behind.  The channel is not closed.
+ */
+public class ParallelGzipWriter implements Closeable {
+
+    // instance variables
+    private final FileChannel channel;
+    private final ExecutorService compressors;
+    private final ArrayDeque<Future<byte[]>> pending = new ArrayDeque<>();
+    private final int maxPending;
+    private long bytesWritten = 0;
+
+    public ParallelGzipWriter(FileChannel channel, int threads) {
+        this.channel = channel;
+        final int threadCount = Math.max(1, threads);
+        this.maxPending = 2 * threadCount;
+        this.compressors = Executors.newFixedThreadPool(threadCount, runnable -> {
+            final Thread thread = new Thread(runnable, "export-compressor");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Queues chunk for compression.  The caller must not modify chunk afterwards.
+     */
+    public void write(byte[] chunk) throws IOException {
+        pending.addLast(compressors.submit(() -> gzip(chunk)));
+        while (pending.size() > maxPending) {
+            writeOldest();
+        }
+    }
+
+    /**
+     * Returns the number of compressed bytes written to the channel so far.
+     */
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    static byte[] gzip(byte[] chunk) throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream(chunk.length / 4 + 64);
+        try (GZIPOutputStream gzipOutput = new GZIPOutputStream(output, 64 * 1024)) {
+            gzipOutput.write(chunk);
+        }
+        return output.toByteArray();
+    }
+
+    private void writeOldest() throws IOException {
+        final byte[] compressed;
+        try {
+            compressed = pending.removeFirst().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("interrupted while compressing export");
+        } catch (ExecutionException e) {
+            throw new IOException("error compressing export chunk: " + e.getCause().getMessage(), e.getCause());
+        }
+        final ByteBuffer buffer = ByteBuffer.wrap(compressed);
+        while (buffer.hasRemaining()) {
+            bytesWritten += channel.write(buffer);
+        }
+    }
+
+    /**
+     * Writes every chunk still being compressed and stops the compression threads.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            while (!pending.isEmpty()) {
+                writeOldest();
+            }
+        } finally {
+            compressors.shutdownNow();
+        }
+    }
+}
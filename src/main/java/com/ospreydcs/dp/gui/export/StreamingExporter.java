@@ -0,0 +1,219 @@
+package com.ospreydcs.dp.gui.export;
+
+import com.ospreydcs.dp.grpc.v1.annotation.DataBlock;
+import com.ospreydcs.dp.grpc.v1.common.Timestamp;
+import com.ospreydcs.dp.service.common.config.ConfigurationManager;
+import com.ospreydcs.dp.service.common.model.ResultStatus;
+import com.ospreydcs.dp.service.common.protobuf.TimestampUtility;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Exports the data blocks of a dataset to a file on the client, without the service building the
+ * whole table in memory.
+ *
+ * Each data block is queried one time interval at a time and each interval's rows are handed to
+ * an ExportFileWriter before the next interval is queried, so memory is bounded by one interval
+ * and one write buffer whatever the size of the dataset.  The file has one column per PV of any
+ * block; blocks are written in order of begin time.  A row at the boundary of two intervals,
+ * returned by both queries, is written once.
+ */
+public class StreamingExporter {
+
+    private static final Logger logger = LogManager.getLogger();
+
+    // configuration
+    public static final String CFG_KEY_DIRECTORY = "DesktopApp.Export.directory";
+    public static final String DEFAULT_DIRECTORY =
+            Path.of(System.getProperty("user.home"), ".dp-desktop-app", "export").toString();
+    public static final String CFG_KEY_INTERVAL_SECONDS = "DesktopApp.Export.intervalSeconds";
+    public static final int DEFAULT_INTERVAL_SECONDS = 10;
+    public static final String CFG_KEY_WRITE_BUFFER_BYTES = "DesktopApp.Export.writeBufferBytes";
+    public static final int DEFAULT_WRITE_BUFFER_BYTES = 1024 * 1024;
+    public static final String CFG_KEY_HDF5_CHUNK_ROWS = "DesktopApp.Export.hdf5ChunkRows";
+    public static final int DEFAULT_HDF5_CHUNK_ROWS = 4096;
+    public static final String CFG_KEY_COMPRESSION_THREADS = "DesktopApp.Export.compressionThreads";
+    public static final int DEFAULT_COMPRESSION_THREADS = 0;
+
+    // constants
+    private static final DateTimeFormatter FILE_TIMESTAMP_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+
+    /**
+     * Queries the values of pvNames from begin to end, both inclusive.
+     */
+    @FunctionalInterface
+    public interface IntervalQuery {
+        ExportBlock query(List<String> pvNames, Instant begin, Instant end) throws Exception;
+    }
+
+    // instance variables
+    private final IntervalQuery query;
+    private final Duration interval;
+
+    public StreamingExporter(IntervalQuery query, Duration interval) {
+        this.query = query;
+        this.interval = interval.isZero() || interval.isNegative() ? Duration.ofSeconds(1) : interval;
+    }
+
+    protected static ConfigurationManager configMgr() {
+        return ConfigurationManager.getInstance();
+    }
+
+    /**
+     * The configured directory client-side exports are written to.
+     */
+    public static Path exportDirectory() {
+        return Path.of(configMgr().getConfigString(CFG_KEY_DIRECTORY, DEFAULT_DIRECTORY));
+    }
+
+    /**
+     * Returns a new file in the export directory for baseName, made unique by the current time.
+     */
+    public static Path exportFile(String baseName, String extension) {
+        final String safeName = baseName.replaceAll("[^A-Za-z0-9_\\-]", "_");
+        final String stamp = LocalDateTime.now().format(FILE_TIMESTAMP_FORMATTER);
+        return exportDirectory().resolve(safeName + "-" + stamp + "." + extension);
+    }
+
+    public static Duration intervalLength() {
+        return Duration.ofSeconds(configMgr().getConfigInteger(CFG_KEY_INTERVAL_SECONDS, DEFAULT_INTERVAL_SECONDS));
+    }
+
+    public static int writeBufferBytes() {
+        return configMgr().getConfigInteger(CFG_KEY_WRITE_BUFFER_BYTES, DEFAULT_WRITE_BUFFER_BYTES);
+    }
+
+    public static int hdf5ChunkRows() {
+        return configMgr().getConfigInteger(CFG_KEY_HDF5_CHUNK_ROWS, DEFAULT_HDF5_CHUNK_ROWS);
+    }
+
+    /**
+     * Returns the number of threads compressing a gzip CSV export; 0 configures one per processor.
+     */
+    public static int compressionThreads() {
+        final int threads = configMgr().getConfigInteger(CFG_KEY_COMPRESSION_THREADS, DEFAULT_COMPRESSION_THREADS);
+        return threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Returns the file columns for dataBlocks: every PV name, in order of first appearance.
+     */
+    public static List<String> columnNames(List<DataBlock> dataBlocks) {
+        final Set<String> names = new LinkedHashSet<>();
+        for (DataBlock dataBlock : dataBlocks) {
+            names.addAll(dataBlock.getPvNamesList());
+        }
+        return List.copyOf(names);
+    }
+
+    /**
+     * Queries dataBlocks interval by interval and writes their rows with writer, whose columns
+     * must be columnNames(dataBlocks).  The writer is not closed.
+     */
+    public ResultStatus export(List<DataBlock> dataBlocks, ExportFileWriter writer, ExportProgress progress) {
+        final List<String> columns = columnNames(dataBlocks);
+        final Map<String, Integer> columnIndexByName = new HashMap<>();
+        for (int i = 0; i < columns.size(); i++) {
+            columnIndexByName.put(columns.get(i), i);
+        }
+
+        final List<DataBlock> sortedBlocks = new ArrayList<>(dataBlocks);
+        sortedBlocks.sort(Comparator.comparing(block -> TimestampUtility.instantFromTimestamp(block.getBeginTime())));
+        long totalNanos = 0;
+        for (DataBlock block : sortedBlocks) {
+            totalNanos += spanNanos(block);
+        }
+        progress.setTotalNanos(totalNanos);
+
+        try {
+            for (DataBlock block : sortedBlocks) {
+                exportBlock(block, columnIndexByName, writer, progress);
+            }
+        } catch (InterruptedException e) {
+            if (!progress.isCancelled()) {
+                Thread.currentThread().interrupt();
+            }
+            return new ResultStatus(true, "export cancelled");
+        } catch (IOException e) {
+            logger.error("error writing export file", e);
+            return new ResultStatus(true, "error writing export file: " + e.getMessage());
+        } catch (Exception e) {
+            logger.error("error querying data for export", e);
+            return new ResultStatus(true, "error querying data for export: " + e.getMessage());
+        }
+        return new ResultStatus(false, "");
+    }
+
+    private void exportBlock(
+            DataBlock block,
+            Map<String, Integer> columnIndexByName,
+            ExportFileWriter writer,
+            ExportProgress progress
+    ) throws Exception {
+        final List<String> pvNames = block.getPvNamesList();
+        final Instant blockEnd = TimestampUtility.instantFromTimestamp(block.getEndTime());
+        Instant intervalBegin = TimestampUtility.instantFromTimestamp(block.getBeginTime());
+        Timestamp lastWritten = null;
+
+        do {
+            if (progress.isCancelled() || Thread.currentThread().isInterrupted()) {
+                throw new InterruptedException();
+            }
+            Instant intervalEnd = intervalBegin.plus(interval);
+            if (intervalEnd.isAfter(blockEnd)) {
+                intervalEnd = blockEnd;
+            }
+
+            final ExportBlock result = query.query(pvNames, intervalBegin, intervalEnd);
+            final int[] columnIndexes = new int[result.pvNames.size()];
+            for (int i = 0; i < columnIndexes.length; i++) {
+                final Integer columnIndex = columnIndexByName.get(result.pvNames.get(i));
+                if (columnIndex == null) {
+                    throw new IllegalStateException("query returned PV not in the dataset: " + result.pvNames.get(i));
+                }
+                columnIndexes[i] = columnIndex;
+            }
+
+            int fromRow = 0;
+            while (lastWritten != null && fromRow < result.rowCount()
+                    && compare(result.timestamps.get(fromRow), lastWritten) <= 0) {
+                fromRow++;
+            }
+            writer.writeRows(result, columnIndexes, fromRow);
+            if (result.rowCount() > fromRow) {
+                lastWritten = result.timestamps.get(result.rowCount() - 1);
+            }
+
+            progress.addQueriedNanos(Duration.between(intervalBegin, intervalEnd).toNanos());
+            progress.addRows(result.rowCount() - fromRow);
+            progress.setBytesWritten(writer.getBytesWritten());
+            progress.report();
+            intervalBegin = intervalEnd;
+        } while (intervalBegin.isBefore(blockEnd));
+    }
+
+    private static long spanNanos(DataBlock block) {
+        return Duration.between(
+                TimestampUtility.instantFromTimestamp(block.getBeginTime()),
+                TimestampUtility.instantFromTimestamp(block.getEndTime())).toNanos();
+    }
+
+    private static int compare(Timestamp first, Timestamp second) {
+        final int seconds = Long.compare(first.getEpochSeconds(), second.getEpochSeconds());
+        return seconds != 0 ? seconds : Long.compare(first.getNanoseconds(), second.getNanoseconds());
+    }
+}
@@ -0,0 +1,117 @@
+package com.ospreydcs.dp.gui.importer;
+
+import java.nio.file.Path;
+
+/**
+ * One file of a batch import and its current status.
+ *
+ * Updated by the BatchImportQueue worker running the job and read by the UI, so every field is
+ * volatile.  The job runner may also attach a resume point for its next attempt, such as the
+ * ingestion queue directory a failed attempt left behind.
+ */
+public class BatchImportJob {
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        RETRY_WAIT,
+        SUCCEEDED,
+        FAILED
+    }
+
+    // instance variables
+    private final Path file;
+    private final long fileBytes;
+    private volatile Status status = Status.QUEUED;
+    private volatile int attempts = 0;
+    private volatile String message = "";
+    private volatile long rowsRead = 0;
+    private volatile long startMillis = 0;
+    private volatile long endMillis = 0;
+    private volatile boolean retryable = true;
+    private volatile Path resumeDirectory = null;
+
+    public BatchImportJob(Path file, long fileBytes) {
+        this.file = file;
+        this.fileBytes = fileBytes;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public long getFileBytes() {
+        return fileBytes;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    void incrementAttempts() {
+        attempts++;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    void setMessage(String message) {
+        this.message = message;
+    }
+
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    public void setRowsRead(long rowsRead) {
+        this.rowsRead = rowsRead;
+    }
+
+    public long getStartMillis() {
+        return startMillis;
+    }
+
+    void setStartMillis(long startMillis) {
+        this.startMillis = startMillis;
+    }
+
+    public long getEndMillis() {
+        return endMillis;
+    }
+
+    void setEndMillis(long endMillis) {
+        this.endMillis = endMillis;
+    }
+
+    public boolean isRetryable() {
+        return retryable;
+    }
+
+    /**
+     * Marks a failed attempt as one that would fail the same way again, such as a malformed file.
+     */
+    public void setRetryable(boolean retryable) {
+        this.retryable = retryable;
+    }
+
+    public Path getResumeDirectory() {
+        return resumeDirectory;
+    }
+
+    public void setResumeDirectory(Path resumeDirectory) {
+        this.resumeDirectory = resumeDirectory;
+    }
+
+    public boolean isFinished() {
+        return status == Status.SUCCEEDED || status == Status.FAILED;
+    }
+}
@@ -0,0 +1,334 @@
+package com.ospreydcs.dp.gui.importer;
+
+import com.ospreydcs.dp.service.common.config.ConfigurationManager;
+import com.ospreydcs.dp.service.common.model.ResultStatus;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Imports the data files of a directory as a queue of jobs, a configurable number at a time.
+ *
+ * Files are queued by scanning the directory once, or by watching it for new files, each of which
+ * is queued once it has gone unmodified for the settle time so that a file still being copied in
+ * is not read early.  Each file is queued at most once per batch.  A job runner does the actual
+ * import; a failed attempt is retried after a growing delay, up to maxAttempts, unless the runner
+ * marks the job as not retryable.  Every status change is reported to a listener, which is called
+ * from the worker and watcher threads and must not block.
+ */
+public class BatchImportQueue {
+
+    private static final Logger logger = LogManager.getLogger();
+
+    // configuration
+    public static final String CFG_KEY_CONCURRENT_JOBS = "DesktopApp.Import.batchConcurrentJobs";
+    public static final int DEFAULT_CONCURRENT_JOBS = 2;
+    public static final String CFG_KEY_MAX_ATTEMPTS = "DesktopApp.Import.batchMaxAttempts";
+    public static final int DEFAULT_MAX_ATTEMPTS = 3;
+    public static final String CFG_KEY_RETRY_BACKOFF_MILLIS = "DesktopApp.Import.batchRetryBackoffMillis";
+    public static final int DEFAULT_RETRY_BACKOFF_MILLIS = 5000;
+    public static final String CFG_KEY_SETTLE_MILLIS = "DesktopApp.Import.batchSettleMillis";
+    public static final int DEFAULT_SETTLE_MILLIS = 2000;
+
+    /**
+     * Runs one attempt of a job, returning an error status if it failed.
+     */
+    @FunctionalInterface
+    public interface JobRunner {
+        ResultStatus run(BatchImportJob job) throws Exception;
+    }
+
+    // instance variables
+    private final int maxAttempts;
+    private final long retryBackoffMillis;
+    private final long settleMillis;
+    private final JobRunner runner;
+    private final Consumer<BatchImportJob> listener;
+    private final ExecutorService workers;
+    private final Set<Path> submittedFiles = ConcurrentHashMap.newKeySet();
+    private final List<BatchImportJob> jobs = new CopyOnWriteArrayList<>();
+    private volatile boolean stopped = false;
+    private WatchService watchService = null;
+    private int unfinishedCount = 0;
+    private long batchStartMillis = 0;
+    private long lastFinishMillis = 0;
+
+    public BatchImportQueue(
+            int concurrentJobs,
+            int maxAttempts,
+            long retryBackoffMillis,
+            long settleMillis,
+            JobRunner runner,
+            Consumer<BatchImportJob> listener
+    ) {
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryBackoffMillis = retryBackoffMillis;
+        this.settleMillis = settleMillis;
+        this.runner = runner;
+        this.listener = listener;
+        this.workers = Executors.newFixedThreadPool(Math.max(1, concurrentJobs), runnable -> {
+            final Thread thread = new Thread(runnable, "batch-import");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    protected static ConfigurationManager configMgr() {
+        return ConfigurationManager.getInstance();
+    }
+
+    /**
+     * Creates a queue with the configured concurrency, attempts, retry delay and settle time.
+     */
+    public static BatchImportQueue fromConfig(JobRunner runner, Consumer<BatchImportJob> listener) {
+        return new BatchImportQueue(
+                configMgr().getConfigInteger(CFG_KEY_CONCURRENT_JOBS, DEFAULT_CONCURRENT_JOBS),
+                configMgr().getConfigInteger(CFG_KEY_MAX_ATTEMPTS, DEFAULT_MAX_ATTEMPTS),
+                configMgr().getConfigInteger(CFG_KEY_RETRY_BACKOFF_MILLIS, DEFAULT_RETRY_BACKOFF_MILLIS),
+                configMgr().getConfigInteger(CFG_KEY_SETTLE_MILLIS, DEFAULT_SETTLE_MILLIS),
+                runner,
+                listener);
+    }
+
+    public List<BatchImportJob> getJobs() {
+        return List.copyOf(jobs);
+    }
+
+    /**
+     * Queues every importable file in directory, in name order, and returns the new jobs.
+     */
+    public List<BatchImportJob> scan(Path directory) throws IOException {
+        final List<Path> files;
+        try (Stream<Path> entries = Files.list(directory)) {
+            files = entries
+                    .filter(Files::isRegularFile)
+                    .filter(DataFileImporters::isSupported)
+                    .sorted()
+                    .toList();
+        }
+        return files.stream().map(this::submit).filter(job -> job != null).toList();
+    }
+
+    /**
+     * Queues file, returning its job, or null if it was already queued or the batch is stopped.
+     */
+    public BatchImportJob submit(Path file) {
+        if (stopped || !submittedFiles.add(file.toAbsolutePath().normalize())) {
+            return null;
+        }
+        long fileBytes;
+        try {
+            fileBytes = Files.size(file);
+        } catch (IOException e) {
+            fileBytes = 0; // the importer reports the error when it opens the file
+        }
+        final BatchImportJob job = new BatchImportJob(file, fileBytes);
+        jobs.add(job);
+        synchronized (this) {
+            if (batchStartMillis == 0) {
+                batchStartMillis = System.currentTimeMillis();
+            }
+            unfinishedCount++;
+        }
+        listener.accept(job);
+        workers.execute(() -> runJob(job));
+        return job;
+    }
+
+    private void runJob(BatchImportJob job) {
+        while (true) {
+            if (stopped) {
+                job.setStatus(BatchImportJob.Status.FAILED);
+                job.setMessage("batch stopped before the file was imported");
+                break;
+            }
+            job.incrementAttempts();
+            job.setStatus(BatchImportJob.Status.RUNNING);
+            if (job.getStartMillis() == 0) {
+                job.setStartMillis(System.currentTimeMillis());
+            }
+            listener.accept(job);
+
+            ResultStatus status;
+            try {
+                status = runner.run(job);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                status = new ResultStatus(true, "import interrupted");
+            } catch (Exception e) {
+                logger.error("error importing batch file: {}", job.getFile(), e);
+                status = new ResultStatus(true, "error importing file: " + e.getMessage());
+            }
+
+            job.setMessage(status.msg);
+            if (!status.isError) {
+                job.setStatus(BatchImportJob.Status.SUCCEEDED);
+                break;
+            }
+            if (!job.isRetryable() || job.getAttempts() >= maxAttempts || stopped
+                    || Thread.currentThread().isInterrupted()) {
+                job.setStatus(BatchImportJob.Status.FAILED);
+                break;
+            }
+
+            logger.warn("batch file: {} attempt {} failed, retrying: {}", job.getFile(), job.getAttempts(), status.msg);
+            job.setStatus(BatchImportJob.Status.RETRY_WAIT);
+            listener.accept(job);
+            try {
+                Thread.sleep(retryBackoffMillis * job.getAttempts());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                job.setStatus(BatchImportJob.Status.FAILED);
+                break;
+            }
+        }
+
+        job.setEndMillis(System.currentTimeMillis());
+        listener.accept(job);
+        synchronized (this) {
+            unfinishedCount--;
+            lastFinishMillis = job.getEndMillis();
+            notifyAll();
+        }
+    }
+
+    /**
+     * Waits until every job queued so far has succeeded or failed.
+     */
+    public synchronized void awaitIdle() throws InterruptedException {
+        while (unfinishedCount > 0) {
+            wait();
+        }
+    }
+
+    /**
+     * Watches directory on a background thread, queueing each new or changed importable file
+     * once it has been unmodified for the settle time, until stop() is called.
+     */
+    public void watch(Path directory) throws IOException {
+        final WatchService service = directory.getFileSystem().newWatchService();
+        directory.register(service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        synchronized (this) {
+            watchService = service;
+        }
+
+        final Thread watcherThread = new Thread(() -> watchLoop(directory, service), "batch-import-watcher");
+        watcherThread.setDaemon(true);
+        watcherThread.start();
+    }
+
+    private void watchLoop(Path directory, WatchService service) {
+        final Map<Path, Long> lastChangeMillis = new HashMap<>();
+        final long pollMillis = Math.max(50, settleMillis / 4);
+        try {
+            while (!stopped) {
+                final WatchKey key = service.poll(pollMillis, TimeUnit.MILLISECONDS);
+                final long now = System.currentTimeMillis();
+                if (key != null) {
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                            // events were lost, so pick up whatever is in the directory now
+                            try (Stream<Path> entries = Files.list(directory)) {
+                                entries.filter(DataFileImporters::isSupported)
+                                        .forEach(file -> lastChangeMillis.put(file, now));
+                            }
+                            continue;
+                        }
+                        final Path file = directory.resolve((Path) event.context());
+                        if (DataFileImporters.isSupported(file)) {
+                            lastChangeMillis.put(file, now);
+                        }
+                    }
+                    key.reset();
+                }
+
+                final Iterator<Map.Entry<Path, Long>> iterator = lastChangeMillis.entrySet().iterator();
+                while (iterator.hasNext()) {
+                    final Map.Entry<Path, Long> entry = iterator.next();
+                    if (now - entry.getValue() >= settleMillis) {
+                        iterator.remove();
+                        if (Files.isRegularFile(entry.getKey())) {
+                            submit(entry.getKey());
+                        }
+                    }
+                }
+            }
+        } catch (ClosedWatchServiceException e) {
+            logger.debug("stopped watching batch import directory: {}", directory);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            logger.error("error watching batch import directory: {}", directory, e);
+        }
+    }
+
+    /**
+     * Stops watching and queueing.  Running jobs finish; queued jobs fail without being imported.
+     */
+    public void stop() {
+        stopped = true;
+        synchronized (this) {
+            if (watchService != null) {
+                try {
+                    watchService.close();
+                } catch (IOException e) {
+                    logger.warn("error closing batch import watch service", e);
+                }
+            }
+        }
+        workers.shutdown();
+    }
+
+    /**
+     * Returns a one-line summary of the batch: outcomes, and the size, rows and throughput of the
+     * files imported so far.
+     */
+    public String summaryText() {
+        int succeeded = 0;
+        int failed = 0;
+        long bytes = 0;
+        long rows = 0;
+        for (BatchImportJob job : jobs) {
+            if (job.getStatus() == BatchImportJob.Status.SUCCEEDED) {
+                succeeded++;
+                bytes += job.getFileBytes();
+                rows += job.getRowsRead();
+            } else if (job.getStatus() == BatchImportJob.Status.FAILED) {
+                failed++;
+            }
+        }
+        final long elapsedMillis;
+        synchronized (this) {
+            final long endMillis = unfinishedCount > 0 || lastFinishMillis == 0
+                    ? System.currentTimeMillis()
+                    : lastFinishMillis;
+            elapsedMillis = batchStartMillis == 0 ? 0 : Math.max(1, endMillis - batchStartMillis);
+        }
+        final double elapsedSeconds = elapsedMillis / 1000.0;
+        return String.format(
+                "%d of %d files imported, %d failed: %.1f MB, %d rows in %.1f s (%.2f MB/s, %.0f rows/s)",
+                succeeded, jobs.size(), failed, bytes / 1e6, rows, elapsedSeconds,
+                elapsedSeconds > 0 ? bytes / 1e6 / elapsedSeconds : 0.0,
+                elapsedSeconds > 0 ? rows / elapsedSeconds : 0.0);
+    }
+}
@@ -0,0 +1,201 @@
+package com.ospreydcs.dp.gui.importer;
+
+import com.ospreydcs.dp.client.result.DataImportResult;
+import com.ospreydcs.dp.grpc.v1.common.DataColumn;
+import com.ospreydcs.dp.grpc.v1.common.DataValue;
+import com.ospreydcs.dp.grpc.v1.common.Timestamp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Column-oriented row buffer for delimited-text imports.
+ *
+ * Timestamps are held as two long arrays and each PV column as a double array, so parsing a
+ * numeric row allocates nothing; protobuf Timestamp and DataValue objects are only created when
+ * a frame is built.  A field that does not parse as a number is kept as its text in a per-column
+ * string array that is allocated on first use, and becomes a string DataValue, matching the
+ * workbook importers.  A missing value is held as NaN, as exported files represent it.
+ */
+class ColumnarFrameBuffer {
+
+    // constants
+    private static final int INITIAL_CAPACITY = 1024;
+
+    // instance variables
+    private final int columnCount;
+    private long[] seconds;
+    private long[] nanos;
+    private final double[][] numericValues;
+    private final String[][] textValues;
+    private int size = 0;
+
+    ColumnarFrameBuffer(int columnCount) {
+        this(columnCount, INITIAL_CAPACITY);
+    }
+
+    ColumnarFrameBuffer(int columnCount, int initialCapacity) {
+        final int capacity = Math.max(1, initialCapacity);
+        this.columnCount = columnCount;
+        this.seconds = new long[capacity];
+        this.nanos = new long[capacity];
+        this.numericValues = new double[columnCount][capacity];
+        this.textValues = new String[columnCount][];
+    }
+
+    int size() {
+        return size;
+    }
+
+    int getColumnCount() {
+        return columnCount;
+    }
+
+    long getSeconds(int row) {
+        return seconds[row];
+    }
+
+    long getNanos(int row) {
+        return nanos[row];
+    }
+
+    /**
+     * Starts a new row with the specified timestamp and returns its index.  The row's values are
+     * then set with setValue() for every column.
+     */
+    int addRow(long rowSeconds, long rowNanos) {
+        if (size == seconds.length) {
+            grow();
+        }
+        seconds[size] = rowSeconds;
+        nanos[size] = rowNanos;
+        return size++;
+    }
+
+    /**
+     * Sets a value of the specified row from its field text: a double if it parses as a number,
+     * otherwise the text itself.
+     */
+    void setValue(int row, int column, String field) {
+        try {
+            numericValues[column][row] = Double.parseDouble(field);
+            if (textValues[column] != null) {
+                textValues[column][row] = null;
+            }
+        } catch (NumberFormatException e) {
+            if (textValues[column] == null) {
+                textValues[column] = new String[seconds.length];
+            }
+            textValues[column][row] = field;
+        }
+    }
+
+    /**
+     * Marks a value of the specified row as missing.  It becomes a NaN double value.
+     */
+    void setMissing(int row, int column) {
+        numericValues[column][row] = Double.NaN;
+        if (textValues[column] != null) {
+            textValues[column][row] = null;
+        }
+    }
+
+    /**
+     * Appends row sourceRow of source, which must have the same columns, as a new row.
+     */
+    void copyRow(ColumnarFrameBuffer source, int sourceRow) {
+        final int row = addRow(source.seconds[sourceRow], source.nanos[sourceRow]);
+        for (int column = 0; column < columnCount; column++) {
+            numericValues[column][row] = source.numericValues[column][sourceRow];
+            final String[] sourceText = source.textValues[column];
+            final String text = sourceText != null ? sourceText[sourceRow] : null;
+            if (text != null && textValues[column] == null) {
+                textValues[column] = new String[seconds.length];
+            }
+            if (textValues[column] != null) {
+                textValues[column][row] = text;
+            }
+        }
+    }
+
+    /**
+     * Compares the timestamps of two rows.
+     */
+    int compareRows(int row, ColumnarFrameBuffer other, int otherRow) {
+        final int secondsComparison = Long.compare(seconds[row], other.seconds[otherRow]);
+        return secondsComparison != 0 ? secondsComparison : Long.compare(nanos[row], other.nanos[otherRow]);
+    }
+
+    /**
+     * Returns the row indexes in timestamp order, keeping rows with equal timestamps in file order.
+     */
+    int[] timestampOrder() {
+        boolean sorted = true;
+        for (int row = 1; row < size && sorted; row++) {
+            sorted = compareRows(row - 1, this, row) <= 0;
+        }
+        final int[] order = new int[size];
+        if (sorted) {
+            for (int row = 0; row < size; row++) {
+                order[row] = row;
+            }
+            return order;
+        }
+        final Integer[] boxedOrder = new Integer[size];
+        for (int row = 0; row < size; row++) {
+            boxedOrder[row] = row;
+        }
+        Arrays.sort(boxedOrder, (first, second) -> compareRows(first, this, second));
+        for (int row = 0; row < size; row++) {
+            order[row] = boxedOrder[row];
+        }
+        return order;
+    }
+
+    private void grow() {
+        final int capacity = seconds.length * 2;
+        seconds = Arrays.copyOf(seconds, capacity);
+        nanos = Arrays.copyOf(nanos, capacity);
+        for (int column = 0; column < columnCount; column++) {
+            numericValues[column] = Arrays.copyOf(numericValues[column], capacity);
+            if (textValues[column] != null) {
+                textValues[column] = Arrays.copyOf(textValues[column], capacity);
+            }
+        }
+    }
+
+    /**
+     * Discards all rows, keeping the allocated capacity.
+     */
+    void clear() {
+        size = 0;
+        for (int column = 0; column < columnCount; column++) {
+            if (textValues[column] != null) {
+                Arrays.fill(textValues[column], null);
+            }
+        }
+    }
+
+    /**
+     * Builds a frame from rows [fromRow, toRow).
+     */
+    DataImportResult.DataFrameResult toFrame(String frameName, List<String> columnNames, int fromRow, int toRow) {
+        final List<Timestamp> timestamps = new ArrayList<>(toRow - fromRow);
+        for (int row = fromRow; row < toRow; row++) {
+            timestamps.add(Timestamp.newBuilder().setEpochSeconds(seconds[row]).setNanoseconds(nanos[row]).build());
+        }
+        final List<DataColumn> columns = new ArrayList<>(columnCount);
+        for (int column = 0; column < columnCount; column++) {
+            final DataColumn.Builder columnBuilder = DataColumn.newBuilder().setName(columnNames.get(column));
+            final String[] text = textValues[column];
+            for (int row = fromRow; row < toRow; row++) {
+                columnBuilder.addDataValues(text != null && text[row] != null
+                        ? DataValue.newBuilder().setStringValue(text[row]).build()
+                        : DataValue.newBuilder().setDoubleValue(numericValues[column][row]).build());
+            }
+            columns.add(columnBuilder.build());
+        }
+        return new DataImportResult.DataFrameResult(frameName, timestamps, columns);
+    }
+}
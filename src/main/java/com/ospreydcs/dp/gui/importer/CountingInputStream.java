@@ -0,0 +1,43 @@
+package com.ospreydcs.dp.gui.importer;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Adds the bytes read from the wrapped stream to an ImportProgress.
+ */
+class CountingInputStream extends FilterInputStream {
+
+    private final ImportProgress progress;
+
+    CountingInputStream(InputStream in, ImportProgress progress) {
+        super(in);
+        this.progress = progress;
+    }
+
+    @Override
+    public int read() throws IOException {
+        final int b = super.read();
+        if (b >= 0) {
+            progress.addBytesRead(1);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        final int count = super.read(buffer, offset, length);
+        if (count > 0) {
+            progress.addBytesRead(count);
+        }
+        return count;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        final long skipped = super.skip(n);
+        progress.addBytesRead(skipped);
+        return skipped;
+    }
+}
@@ -0,0 +1,220 @@
+package com.ospreydcs.dp.gui.importer;
+
+import com.ospreydcs.dp.client.IngestionClient;
+import com.ospreydcs.dp.gui.ingest.BucketSizing;
+import com.ospreydcs.dp.service.common.model.ResultStatus;
+import de.siegmar.fastcsv.reader.CsvParseException;
+import de.siegmar.fastcsv.reader.CsvReader;
+import de.siegmar.fastcsv.reader.CsvRecord;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Imports a CSV file with FastCSV, streaming records into a ColumnarFrameBuffer.
+ *
+ * The file uses the same layout as an import worksheet: a header record of seconds, nanos and
+ * one PV name per column, then one record per timestamp.  The whole file becomes a sequence of
+ * frames named after the file, each sized to fit in about one ingestion request (see
+ * rowsPerFrame()), so frames can go to ingestion as they are produced without being split again.
+ * Only the current frame is held in memory, whatever the file size.  With a row limit, reading
+ * stops after that many data records.  An empty field is a missing value, as written by
+ * CsvExportWriter for a PV with no value at a timestamp, and is imported as NaN.
+ */
+public class CsvImporter implements DataFileImporter {
+
+    private static final Logger logger = LogManager.getLogger();
+
+    // constants
+    private static final int REPORT_INTERVAL_ROWS = 10_000;
+
+    /**
+     * Encoded size of one TimestampList entry with full-width seconds and nanoseconds.
+     */
+    static final int ENCODED_TIMESTAMP_BYTES = 14;
+
+    // instance variables
+    private final int maxRowsPerFrame;
+    private final int targetFrameBytes;
+    private final int rowLimit;
+
+    public CsvImporter(int maxRowsPerFrame, int targetFrameBytes) {
+        this(maxRowsPerFrame, targetFrameBytes, DataFileImporters.NO_ROW_LIMIT);
+    }
+
+    public CsvImporter(int maxRowsPerFrame, int targetFrameBytes, int rowLimit) {
+        this.maxRowsPerFrame = maxRowsPerFrame;
+        this.targetFrameBytes = targetFrameBytes;
+        this.rowLimit = rowLimit;
+    }
+
+    /**
+     * Returns the number of rows per frame for a file of columnCount numeric PV columns: as many
+     * as fit in targetFrameBytes after the per-request overhead, capped at maxRowsPerFrame.
+     */
+    static int rowsPerFrame(int columnCount, int maxRowsPerFrame, int targetFrameBytes) {
+        final int rowBytes = ENCODED_TIMESTAMP_BYTES
+                + columnCount * BucketSizing.encodedValueBytes(IngestionClient.IngestionDataType.DOUBLE);
+        final int payloadBytes = Math.max(0, targetFrameBytes - BucketSizing.REQUEST_OVERHEAD_BYTES);
+        return Math.max(1, Math.min(maxRowsPerFrame, payloadBytes / rowBytes));
+    }
+
+    /**
+     * Returns the frame name for a file: its name without the extension.
+     */
+    static String frameName(Path file) {
+        final String fileName = file.getFileName().toString();
+        final int dotIndex = fileName.lastIndexOf('.');
+        return dotIndex > 0 ? fileName.substring(0, dotIndex) : fileName;
+    }
+
+    @Override
+    public ResultStatus importFrames(Path file, FrameSink sink, ImportProgress progress) {
+        final String frameName = frameName(file);
+        try (Reader reader = new InputStreamReader(
+                new CountingInputStream(Files.newInputStream(file), progress), StandardCharsets.UTF_8);
+             CsvReader<CsvRecord> csvReader = CsvReader.builder().ofCsvRecord(reader)) {
+
+            progress.setTotalBytes(Files.size(file));
+
+            List<String> columnNames = null;
+            ColumnarFrameBuffer buffer = null;
+            int frameRows = 0;
+            long rowCount = 0;
+
+            for (CsvRecord record : csvReader) {
+                if (columnNames == null) {
+                    columnNames = headerColumnNames(record);
+                    frameRows = rowsPerFrame(columnNames.size(), maxRowsPerFrame, targetFrameBytes);
+                    buffer = new ColumnarFrameBuffer(columnNames.size(), Math.min(frameRows, 64 * 1024));
+                    logger.debug("importing csv: {} columns: {} rows per frame: {}", file, columnNames.size(), frameRows);
+                    continue;
+                }
+
+                addRecord(record, columnNames, buffer, "");
+
+                if (buffer.size() >= frameRows) {
+                    emit(buffer, frameName, columnNames, sink, progress);
+                }
+                if (++rowCount % REPORT_INTERVAL_ROWS == 0) {
+                    if (Thread.currentThread().isInterrupted()) {
+                        throw new InterruptedException();
+                    }
+                    progress.addRows(REPORT_INTERVAL_ROWS);
+                    progress.report();
+                }
+                if (rowCount >= rowLimit) {
+                    break;
+                }
+            }
+
+            if (columnNames == null) {
+                return new ResultStatus(true, "CSV file is empty: " + file.getFileName());
+            }
+            emit(buffer, frameName, columnNames, sink, progress);
+            progress.addRows(rowCount % REPORT_INTERVAL_ROWS);
+            progress.report();
+            return new ResultStatus(false, "");
+
+        } catch (ImportFormatException e) {
+            return new ResultStatus(true, e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new ResultStatus(true, "import interrupted");
+        } catch (IOException | CsvParseException e) {
+            logger.error("error reading csv file: {}", file, e);
+            return new ResultStatus(true, "error reading CSV file " + file.getFileName() + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the PV names from a header record, which must hold seconds and nanos columns
+     * followed by at least one PV column.
+     */
+    static List<String> headerColumnNames(CsvRecord header) throws ImportFormatException {
+        if (header.getFieldCount() < 3) {
+            throw new ImportFormatException("line " + header.getStartingLineNumber()
+                    + ": header must contain seconds and nanos columns followed by at least one PV column");
+        }
+        final List<String> columnNames = new ArrayList<>(header.getFieldCount() - 2);
+        for (int fieldIndex = 2; fieldIndex < header.getFieldCount(); fieldIndex++) {
+            final String pvName = header.getField(fieldIndex).trim();
+            if (pvName.isEmpty()) {
+                throw new ImportFormatException("blank PV name in header column " + (fieldIndex + 1));
+            }
+            columnNames.add(pvName);
+        }
+        return columnNames;
+    }
+
+    /**
+     * Adds a data record to buffer.  locationPrefix is prepended to the record's line number in
+     * error messages, to identify the part of the file a record was read from.
+     */
+    static void addRecord(
+            CsvRecord record,
+            List<String> columnNames,
+            ColumnarFrameBuffer buffer,
+            String locationPrefix
+    ) throws ImportFormatException {
+        if (record.getFieldCount() != columnNames.size() + 2) {
+            throw new ImportFormatException(location(locationPrefix, record) + ": expected "
+                    + (columnNames.size() + 2) + " fields but found " + record.getFieldCount());
+        }
+        final long seconds = parseTimestampField(record, 0, "seconds", locationPrefix);
+        final long nanos = parseTimestampField(record, 1, "nanos", locationPrefix);
+        final int row = buffer.addRow(seconds, nanos);
+        for (int column = 0; column < columnNames.size(); column++) {
+            final String field = record.getField(column + 2);
+            if (field.isEmpty()) {
+                buffer.setMissing(row, column);
+            } else {
+                buffer.setValue(row, column, field);
+            }
+        }
+    }
+
+    private static String location(String locationPrefix, CsvRecord record) {
+        return locationPrefix + "line " + record.getStartingLineNumber();
+    }
+
+    private static long parseTimestampField(CsvRecord record, int fieldIndex, String fieldName, String locationPrefix)
+            throws ImportFormatException {
+        final String field = record.getField(fieldIndex);
+        // digits only is the common case, parsed without the fallbacks in FrameAccumulator
+        try {
+            return Long.parseLong(field);
+        } catch (NumberFormatException e) {
+            try {
+                return FrameAccumulator.parseTimestampField(field, fieldName, 0);
+            } catch (ImportFormatException formatException) {
+                throw new ImportFormatException(location(locationPrefix, record) + ": invalid timestamp "
+                        + fieldName + ": " + field);
+            }
+        }
+    }
+
+    private static void emit(
+            ColumnarFrameBuffer buffer,
+            String frameName,
+            List<String> columnNames,
+            FrameSink sink,
+            ImportProgress progress
+    ) throws InterruptedException {
+        if (buffer.size() == 0) {
+            return;
+        }
+        sink.accept(buffer.toFrame(frameName, columnNames, 0, buffer.size()));
+        buffer.clear();
+        progress.frameEmitted();
+        progress.report();
+    }
+}
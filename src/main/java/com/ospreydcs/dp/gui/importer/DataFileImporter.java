@@ -0,0 +1,23 @@
+package com.ospreydcs.dp.gui.importer;
+
+import com.ospreydcs.dp.service.common.model.ResultStatus;
+
+import java.nio.file.Path;
+
+/**
+ * Reads a time-series data file and hands its contents to a FrameSink frame by frame, so that no
+ * more than one frame per sheet or file is held by the importer at a time.
+ *
+ * Workbook and CSV files use the layout of DataImportUtility.importXlsxData(): a header row with
+ * two timestamp columns (epoch seconds, nanoseconds) followed by one column per PV name, then one
+ * row per timestamp.  HDF5 files hold the same table as datasets (see Hdf5Importer).
+ */
+public interface DataFileImporter {
+
+    /**
+     * Imports file, returning an error status for unreadable or malformed files.  Frames already
+     * passed to sink before an error are not withdrawn.  An interrupt stops the import with an
+     * error status and the thread's interrupt flag set.
+     */
+    ResultStatus importFrames(Path file, FrameSink sink, ImportProgress progress);
+}
@@ -0,0 +1,146 @@
+package com.ospreydcs.dp.gui.importer;
+
+import com.ospreydcs.dp.gui.ingest.BucketSizing;
+import com.ospreydcs.dp.service.common.config.ConfigurationManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Chooses the importer for a data file by its extension.
+ */
+public final class DataFileImporters {
+
+    // configuration
+    public static final String CFG_KEY_MAX_ROWS_PER_FRAME = "DesktopApp.Import.maxRowsPerFrame";
+    public static final int DEFAULT_MAX_ROWS_PER_FRAME = 50_000;
+    public static final String CFG_KEY_PARALLEL_CSV_THRESHOLD_MB = "DesktopApp.Import.parallelCsvThresholdMb";
+    public static final int DEFAULT_PARALLEL_CSV_THRESHOLD_MB = 256;
+    public static final String CFG_KEY_CSV_CHUNK_BYTES = "DesktopApp.Import.csvChunkBytes";
+    public static final int DEFAULT_CSV_CHUNK_BYTES = 32 * 1024 * 1024;
+    public static final String CFG_KEY_PARSER_THREADS = "DesktopApp.Import.parserThreads";
+    public static final int DEFAULT_PARSER_THREADS = 0; // one per available processor
+    public static final String CFG_KEY_PREVIEW_ROWS = "DesktopApp.Import.previewRows";
+    public static final int DEFAULT_PREVIEW_ROWS = 100;
+
+    /**
+     * Frame size for imports that keep each sheet whole, such as calculations, whose frames are
+     * attached to an annotation as they are.
+     */
+    public static final int WHOLE_SHEET = Integer.MAX_VALUE;
+
+    /**
+     * Row limit for importers that read every row of each sheet.
+     */
+    public static final int NO_ROW_LIMIT = Integer.MAX_VALUE;
+
+    private DataFileImporters() {
+    }
+
+    protected static ConfigurationManager configMgr() {
+        return ConfigurationManager.getInstance();
+    }
+
+    /**
+     * The configured largest number of rows per imported frame.
+     */
+    public static int maxRowsPerFrame() {
+        return configMgr().getConfigInteger(CFG_KEY_MAX_ROWS_PER_FRAME, DEFAULT_MAX_ROWS_PER_FRAME);
+    }
+
+    /**
+     * The configured CSV file size from which chunks are parsed in parallel.  It is configured in
+     * megabytes, since configuration values are read as ints and a threshold in bytes could not
+     * exceed 2 GB.
+     */
+    public static long parallelCsvThresholdBytes() {
+        return configMgr().getConfigInteger(CFG_KEY_PARALLEL_CSV_THRESHOLD_MB, DEFAULT_PARALLEL_CSV_THRESHOLD_MB)
+                * 1024L * 1024L;
+    }
+
+    /**
+     * The configured size of the chunks a large CSV file is split into for parallel parsing.
+     */
+    public static int csvChunkBytes() {
+        return configMgr().getConfigInteger(CFG_KEY_CSV_CHUNK_BYTES, DEFAULT_CSV_CHUNK_BYTES);
+    }
+
+    /**
+     * The configured number of parallel CSV parser threads, defaulting to one per processor.
+     */
+    public static int parserThreads() {
+        final int threads = configMgr().getConfigInteger(CFG_KEY_PARSER_THREADS, DEFAULT_PARSER_THREADS);
+        return threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * The configured number of leading rows of each sheet read for a preview.
+     */
+    public static int previewRows() {
+        return configMgr().getConfigInteger(CFG_KEY_PREVIEW_ROWS, DEFAULT_PREVIEW_ROWS);
+    }
+
+    /**
+     * Returns true if file has the extension of an importable format.  Hidden files and Excel lock
+     * files are excluded.
+     */
+    public static boolean isSupported(Path file) {
+        final String fileName = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (fileName.startsWith(".") || fileName.startsWith("~$")) {
+            return false;
+        }
+        return fileName.endsWith(".xlsx") || fileName.endsWith(".xls") || fileName.endsWith(".csv")
+                || fileName.endsWith(".h5") || fileName.endsWith(".hdf5");
+    }
+
+    /**
+     * Returns the importer for file, producing frames of at most maxRowsPerFrame rows where the
+     * format allows it.
+     */
+    public static DataFileImporter forFile(Path file, int maxRowsPerFrame) {
+        final String fileName = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (fileName.endsWith(".xlsx")) {
+            return new StreamingXlsxImporter(maxRowsPerFrame);
+        }
+        if (fileName.endsWith(".csv")) {
+            if (fileSize(file) >= parallelCsvThresholdBytes()) {
+                return new ParallelCsvImporter(
+                        maxRowsPerFrame, BucketSizing.targetRequestSizeBytes(), parserThreads(), csvChunkBytes());
+            }
+            return new CsvImporter(maxRowsPerFrame, BucketSizing.targetRequestSizeBytes());
+        }
+        if (fileName.endsWith(".h5") || fileName.endsWith(".hdf5")) {
+            return new Hdf5Importer(maxRowsPerFrame, BucketSizing.targetRequestSizeBytes());
+        }
+        return new UserModelWorkbookImporter();
+    }
+
+    /**
+     * Returns an importer that reads only the header and first previewRows rows of each sheet or
+     * group of file, as one frame per sheet where the format allows it.  Streaming formats stop
+     * reading each sheet at the limit; legacy .xls workbooks are still loaded whole.
+     */
+    public static DataFileImporter forPreview(Path file, int previewRows) {
+        final String fileName = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (fileName.endsWith(".xlsx")) {
+            return new StreamingXlsxImporter(previewRows, previewRows);
+        }
+        if (fileName.endsWith(".csv")) {
+            return new CsvImporter(previewRows, BucketSizing.targetRequestSizeBytes(), previewRows);
+        }
+        if (fileName.endsWith(".h5") || fileName.endsWith(".hdf5")) {
+            return new Hdf5Importer(previewRows, BucketSizing.targetRequestSizeBytes(), previewRows);
+        }
+        return new UserModelWorkbookImporter(previewRows);
+    }
+
+    private static long fileSize(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            return 0; // the importer reports the error when it opens the file
+        }
+    }
+}
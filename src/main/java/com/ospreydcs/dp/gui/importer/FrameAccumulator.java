@@ -0,0 +1,122 @@
+package com.ospreydcs.dp.gui.importer;
+
+import com.ospreydcs.dp.client.result.DataImportResult;
+import com.ospreydcs.dp.grpc.v1.common.DataColumn;
+import com.ospreydcs.dp.grpc.v1.common.DataValue;
+import com.ospreydcs.dp.grpc.v1.common.Timestamp;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects the rows of one sheet or file into data frames of at most maxRowsPerFrame rows,
+ * passing each frame to the sink as soon as it is full.  Every frame carries the sheet name and
+ * the full set of PV columns.
+ */
+class FrameAccumulator {
+
+    // instance variables
+    private final String frameName;
+    private final List<String> columnNames;
+    private final int maxRowsPerFrame;
+    private final FrameSink sink;
+    private final ImportProgress progress;
+    private List<Timestamp> timestamps;
+    private List<DataColumn.Builder> columnBuilders;
+
+    FrameAccumulator(
+            String frameName,
+            List<String> columnNames,
+            int maxRowsPerFrame,
+            FrameSink sink,
+            ImportProgress progress
+    ) {
+        this.frameName = frameName;
+        this.columnNames = List.copyOf(columnNames);
+        this.maxRowsPerFrame = Math.max(1, maxRowsPerFrame);
+        this.sink = sink;
+        this.progress = progress;
+        startFrame();
+    }
+
+    private void startFrame() {
+        timestamps = new ArrayList<>();
+        columnBuilders = new ArrayList<>(columnNames.size());
+        for (String columnName : columnNames) {
+            columnBuilders.add(DataColumn.newBuilder().setName(columnName));
+        }
+    }
+
+    int getColumnCount() {
+        return columnNames.size();
+    }
+
+    /**
+     * Adds a row.  values holds one value per PV column, in header order.
+     */
+    void addRow(Timestamp timestamp, List<DataValue> values) throws InterruptedException {
+        timestamps.add(timestamp);
+        for (int columnIndex = 0; columnIndex < columnBuilders.size(); columnIndex++) {
+            columnBuilders.get(columnIndex).addDataValues(values.get(columnIndex));
+        }
+        if (timestamps.size() >= maxRowsPerFrame) {
+            flush();
+        }
+    }
+
+    /**
+     * Emits the rows collected since the last frame, if any.
+     */
+    void flush() throws InterruptedException {
+        if (timestamps.isEmpty()) {
+            return;
+        }
+        final List<DataColumn> columns = new ArrayList<>(columnBuilders.size());
+        for (DataColumn.Builder columnBuilder : columnBuilders) {
+            columns.add(columnBuilder.build());
+        }
+        final DataImportResult.DataFrameResult frame =
+                new DataImportResult.DataFrameResult(frameName, timestamps, columns);
+        startFrame();
+        sink.accept(frame);
+        progress.frameEmitted();
+        progress.report();
+    }
+
+    // ------------------- cell value parsing ---------------------------
+
+    /**
+     * Parses a timestamp seconds or nanoseconds cell.  Spreadsheets store every number as a
+     * double, so whole-valued decimals such as "1700000000.0" are accepted.
+     */
+    static long parseTimestampField(String text, String fieldName, int rowNumber) throws ImportFormatException {
+        if (text == null || text.isBlank()) {
+            throw new ImportFormatException("row " + rowNumber + ": missing timestamp " + fieldName);
+        }
+        try {
+            return Long.parseLong(text.trim());
+        } catch (NumberFormatException e) {
+            try {
+                final double value = Double.parseDouble(text.trim());
+                if (value == Math.rint(value)) {
+                    return (long) value;
+                }
+            } catch (NumberFormatException ignored) {
+                // reported below
+            }
+            throw new ImportFormatException(
+                    "row " + rowNumber + ": invalid timestamp " + fieldName + ": " + text);
+        }
+    }
+
+    /**
+     * Converts a PV cell to a DataValue: a double if it parses as a number, otherwise a string.
+     */
+    static DataValue parseDataValue(String text) {
+        try {
+            return DataValue.newBuilder().setDoubleValue(Double.parseDouble(text.trim())).build();
+        } catch (NumberFormatException e) {
+            return DataValue.newBuilder().setStringValue(text).build();
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.ospreydcs.dp.gui.importer;
+
+import com.ospreydcs.dp.client.result.DataImportResult;
+
+/**
+ * Receives the data frames produced by an importer, in file order, as each one is complete.
+ * A sink may block, for example while a downstream consumer catches up.
+ */
+@FunctionalInterface
+public interface FrameSink {
+
+    void accept(DataImportResult.DataFrameResult frame) throws InterruptedException;
+}
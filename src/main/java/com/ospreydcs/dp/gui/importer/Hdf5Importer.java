@@ -0,0 +1,394 @@
+package com.ospreydcs.dp.gui.importer;
+
+import ch.systemsx.cisd.hdf5.HDF5DataClass;
+import ch.systemsx.cisd.hdf5.HDF5DataSetInformation;
+import ch.systemsx.cisd.hdf5.HDF5Factory;
+import ch.systemsx.cisd.hdf5.IHDF5Reader;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.ospreydcs.dp.client.result.DataImportResult;
+import com.ospreydcs.dp.grpc.v1.common.DataColumn;
+import com.ospreydcs.dp.grpc.v1.common.DataTimestamps;
+import com.ospreydcs.dp.grpc.v1.common.DataValue;
+import com.ospreydcs.dp.grpc.v1.common.SamplingClock;
+import com.ospreydcs.dp.grpc.v1.common.Timestamp;
+import com.ospreydcs.dp.service.common.model.ResultStatus;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Imports time-series data from an HDF5 file with jhdf5.
+ *
+ * The file is walked from the root group and two kinds of group are imported:
+ *
+ * A column group holds one 1-D dataset per PV (numeric or string, named after the PV unless it
+ * has a pvName string attribute) and its timestamps, either as a timestamps dataset of shape
+ * [rows][2] holding epoch seconds and nanoseconds, or as the group attributes startSeconds,
+ * startNanos and periodNanos of a sampling clock.  Its datasets are read in hyperslab blocks of
+ * one request-sized frame (see CsvImporter.rowsPerFrame()), so only one block is in memory at a
+ * time.  Regularly sampled frames are re-encoded as sampling clocks again on ingestion.
+ *
+ * A bucket group holds the serialized DataColumn and DataTimestamps of one data bucket as the
+ * byte datasets dataColumnBytes and dataTimestampsBytes, the per-bucket layout of the Data
+ * Platform's HDF5 export, and becomes one frame, so an exported file can be imported again.
+ *
+ * Frames of a group are named after its path, or after the file for the root group.  Progress is
+ * the data read against the total size of all imported datasets.  With a row limit, only that
+ * many leading rows of each group are read.
+ */
+public class Hdf5Importer implements DataFileImporter {
+
+    private static final Logger logger = LogManager.getLogger();
+
+    // constants
+    public static final String TIMESTAMPS_DATASET = "timestamps";
+    static final String ATTR_START_SECONDS = "startSeconds";
+    static final String ATTR_START_NANOS = "startNanos";
+    static final String ATTR_PERIOD_NANOS = "periodNanos";
+    public static final String ATTR_PV_NAME = "pvName";
+    static final String DATA_COLUMN_BYTES_DATASET = "dataColumnBytes";
+    static final String DATA_TIMESTAMPS_BYTES_DATASET = "dataTimestampsBytes";
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    // instance variables
+    private final int maxRowsPerFrame;
+    private final int targetFrameBytes;
+    private final int rowLimit;
+
+    public Hdf5Importer(int maxRowsPerFrame, int targetFrameBytes) {
+        this(maxRowsPerFrame, targetFrameBytes, DataFileImporters.NO_ROW_LIMIT);
+    }
+
+    public Hdf5Importer(int maxRowsPerFrame, int targetFrameBytes, int rowLimit) {
+        this.maxRowsPerFrame = maxRowsPerFrame;
+        this.targetFrameBytes = targetFrameBytes;
+        this.rowLimit = rowLimit;
+    }
+
+    /**
+     * A group to import and the datasets read from it.
+     */
+    private static class SourceGroup {
+
+        private final String path;
+        private final String frameName;
+        private final boolean bucket;
+        private final List<String> columnPaths = new ArrayList<>();
+        private long dataBytes = 0;
+
+        SourceGroup(String path, String frameName, boolean bucket) {
+            this.path = path;
+            this.frameName = frameName;
+            this.bucket = bucket;
+        }
+    }
+
+    @Override
+    public ResultStatus importFrames(Path file, FrameSink sink, ImportProgress progress) {
+        final IHDF5Reader reader;
+        try {
+            reader = HDF5Factory.openForReading(file.toFile());
+        } catch (RuntimeException e) {
+            logger.error("error opening hdf5 file: {}", file, e);
+            return new ResultStatus(true, "error opening HDF5 file " + file.getFileName() + ": " + e.getMessage());
+        }
+
+        try {
+            final List<SourceGroup> groups = new ArrayList<>();
+            findGroups(reader, "/", CsvImporter.frameName(file), groups);
+            if (groups.isEmpty()) {
+                return new ResultStatus(true, "HDF5 file contains no time-series groups: " + file.getFileName());
+            }
+            progress.setTotalBytes(groups.stream().mapToLong(group -> group.dataBytes).sum());
+
+            for (SourceGroup group : groups) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new InterruptedException();
+                }
+                if (group.bucket) {
+                    importBucketGroup(reader, group, sink, progress);
+                } else {
+                    importColumnGroup(reader, group, sink, progress);
+                }
+                logger.debug("imported hdf5 group: {}", group.path);
+            }
+            return new ResultStatus(false, "");
+
+        } catch (ImportFormatException e) {
+            return new ResultStatus(true, e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new ResultStatus(true, "import interrupted");
+        } catch (RuntimeException e) {
+            // jhdf5 reports read errors as unchecked exceptions
+            logger.error("error reading hdf5 file: {}", file, e);
+            return new ResultStatus(true, "error reading HDF5 file " + file.getFileName() + ": " + e.getMessage());
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * Adds the importable groups at and below groupPath to groups, parents before children.
+     */
+    private static void findGroups(IHDF5Reader reader, String groupPath, String frameName, List<SourceGroup> groups) {
+        final List<String> members = reader.object().getGroupMembers(groupPath);
+
+        if (members.contains(DATA_COLUMN_BYTES_DATASET) && members.contains(DATA_TIMESTAMPS_BYTES_DATASET)) {
+            final SourceGroup group = new SourceGroup(groupPath, frameName, true);
+            group.dataBytes = dataBytes(reader, childPath(groupPath, DATA_COLUMN_BYTES_DATASET))
+                    + dataBytes(reader, childPath(groupPath, DATA_TIMESTAMPS_BYTES_DATASET));
+            groups.add(group);
+            return;
+        }
+
+        final boolean explicitTimestamps = members.contains(TIMESTAMPS_DATASET)
+                && reader.object().isDataSet(childPath(groupPath, TIMESTAMPS_DATASET));
+        final boolean samplingClock = reader.object().hasAttribute(groupPath, ATTR_PERIOD_NANOS);
+        final SourceGroup group = new SourceGroup(groupPath, frameName, false);
+        final List<String> childGroups = new ArrayList<>();
+
+        for (String member : members) {
+            final String memberPath = childPath(groupPath, member);
+            if (reader.object().isGroup(memberPath)) {
+                childGroups.add(memberPath);
+            } else if ((explicitTimestamps || samplingClock)
+                    && !member.equals(TIMESTAMPS_DATASET)
+                    && reader.object().isDataSet(memberPath)
+                    && isColumnDataset(reader.object().getDataSetInformation(memberPath))) {
+                group.columnPaths.add(memberPath);
+                group.dataBytes += dataBytes(reader, memberPath);
+            }
+        }
+        if (!group.columnPaths.isEmpty()) {
+            if (explicitTimestamps) {
+                group.dataBytes += dataBytes(reader, childPath(groupPath, TIMESTAMPS_DATASET));
+            }
+            groups.add(group);
+        }
+
+        for (String childGroup : childGroups) {
+            findGroups(reader, childGroup, childGroup.substring(1), groups);
+        }
+    }
+
+    private static boolean isColumnDataset(HDF5DataSetInformation info) {
+        final HDF5DataClass dataClass = info.getTypeInformation().getDataClass();
+        return info.getRank() == 1
+                && (dataClass == HDF5DataClass.FLOAT
+                    || dataClass == HDF5DataClass.INTEGER
+                    || dataClass == HDF5DataClass.STRING);
+    }
+
+    private static long dataBytes(IHDF5Reader reader, String datasetPath) {
+        final HDF5DataSetInformation info = reader.object().getDataSetInformation(datasetPath);
+        return info.getNumberOfElements() * info.getTypeInformation().getElementSize();
+    }
+
+    private static String childPath(String groupPath, String member) {
+        return groupPath.endsWith("/") ? groupPath + member : groupPath + "/" + member;
+    }
+
+    private static String datasetName(String datasetPath) {
+        return datasetPath.substring(datasetPath.lastIndexOf('/') + 1);
+    }
+
+    /**
+     * Imports a column group in hyperslab blocks of one frame each.
+     */
+    private void importColumnGroup(IHDF5Reader reader, SourceGroup group, FrameSink sink, ImportProgress progress)
+            throws ImportFormatException, InterruptedException {
+
+        final String timestampsPath = childPath(group.path, TIMESTAMPS_DATASET);
+        final boolean samplingClock = !reader.object().exists(timestampsPath);
+        long rowCount = -1;
+        if (!samplingClock) {
+            final long[] dimensions = reader.object().getDataSetInformation(timestampsPath).getDimensions();
+            if (dimensions.length != 2 || dimensions[1] != 2) {
+                throw new ImportFormatException("group " + group.path
+                        + ": timestamps dataset must have shape [rows][2] of epoch seconds and nanoseconds");
+            }
+            rowCount = dimensions[0];
+        }
+
+        final List<String> pvNames = new ArrayList<>(group.columnPaths.size());
+        final List<HDF5DataClass> dataClasses = new ArrayList<>(group.columnPaths.size());
+        for (String columnPath : group.columnPaths) {
+            final HDF5DataSetInformation info = reader.object().getDataSetInformation(columnPath);
+            final long columnRows = info.getDimensions()[0];
+            if (rowCount >= 0 && columnRows != rowCount) {
+                throw new ImportFormatException("group " + group.path + ": dataset " + datasetName(columnPath)
+                        + " has " + columnRows + " rows but the group has " + rowCount);
+            }
+            rowCount = columnRows;
+            pvNames.add(reader.object().hasAttribute(columnPath, ATTR_PV_NAME)
+                    ? reader.string().getAttr(columnPath, ATTR_PV_NAME)
+                    : datasetName(columnPath));
+            dataClasses.add(info.getTypeInformation().getDataClass());
+        }
+
+        long startSeconds = 0;
+        long startNanos = 0;
+        long periodNanos = 0;
+        if (samplingClock) {
+            startSeconds = requiredLongAttribute(reader, group.path, ATTR_START_SECONDS);
+            startNanos = requiredLongAttribute(reader, group.path, ATTR_START_NANOS);
+            periodNanos = requiredLongAttribute(reader, group.path, ATTR_PERIOD_NANOS);
+            if (periodNanos <= 0) {
+                throw new ImportFormatException("group " + group.path + ": periodNanos must be positive");
+            }
+        }
+
+        final int frameRows = CsvImporter.rowsPerFrame(pvNames.size(), maxRowsPerFrame, targetFrameBytes);
+        final long bytesPerRow = rowCount > 0 ? group.dataBytes / rowCount : 0;
+        final long groupRowCount = rowCount;
+        rowCount = Math.min(rowCount, rowLimit);
+        logger.debug("importing hdf5 group: {} columns: {} rows: {} rows per frame: {}",
+                group.path, pvNames.size(), rowCount, frameRows);
+
+        for (long offset = 0; offset < rowCount; offset += frameRows) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new InterruptedException();
+            }
+            final int blockRows = (int) Math.min(frameRows, rowCount - offset);
+
+            final List<Timestamp> timestamps = samplingClock
+                    ? clockTimestamps(startSeconds, startNanos, periodNanos, offset, blockRows)
+                    : readTimestamps(reader, timestampsPath, offset, blockRows);
+            final List<DataColumn> columns = new ArrayList<>(pvNames.size());
+            for (int column = 0; column < pvNames.size(); column++) {
+                columns.add(readColumnBlock(
+                        reader, group.columnPaths.get(column), pvNames.get(column), dataClasses.get(column),
+                        offset, blockRows));
+            }
+
+            sink.accept(new DataImportResult.DataFrameResult(group.frameName, timestamps, columns));
+            progress.addRows(blockRows);
+            progress.addBytesRead(blockRows * bytesPerRow);
+            progress.frameEmitted();
+            progress.report();
+        }
+        // bytes left over by the per-row estimate, so a group read in full is counted in full
+        if (rowCount == groupRowCount) {
+            progress.addBytesRead(group.dataBytes - groupRowCount * bytesPerRow);
+        }
+    }
+
+    private static long requiredLongAttribute(IHDF5Reader reader, String groupPath, String attributeName)
+            throws ImportFormatException {
+        if (!reader.object().hasAttribute(groupPath, attributeName)) {
+            throw new ImportFormatException("group " + groupPath + ": sampling clock attribute "
+                    + attributeName + " is missing");
+        }
+        return reader.int64().getAttr(groupPath, attributeName);
+    }
+
+    /**
+     * Returns the timestamps of rows [offset, offset + rows) of a sampling clock.
+     */
+    static List<Timestamp> clockTimestamps(long startSeconds, long startNanos, long periodNanos, long offset, int rows) {
+        final List<Timestamp> timestamps = new ArrayList<>(rows);
+        for (int row = 0; row < rows; row++) {
+            final long elapsedNanos = startNanos + (offset + row) * periodNanos;
+            timestamps.add(Timestamp.newBuilder()
+                    .setEpochSeconds(startSeconds + Math.floorDiv(elapsedNanos, NANOS_PER_SECOND))
+                    .setNanoseconds(Math.floorMod(elapsedNanos, NANOS_PER_SECOND))
+                    .build());
+        }
+        return timestamps;
+    }
+
+    private static List<Timestamp> readTimestamps(IHDF5Reader reader, String timestampsPath, long offset, int rows) {
+        final long[][] block = reader.int64().readMatrixBlockWithOffset(timestampsPath, rows, 2, offset, 0);
+        final List<Timestamp> timestamps = new ArrayList<>(rows);
+        for (long[] row : block) {
+            timestamps.add(Timestamp.newBuilder().setEpochSeconds(row[0]).setNanoseconds(row[1]).build());
+        }
+        return timestamps;
+    }
+
+    private static DataColumn readColumnBlock(
+            IHDF5Reader reader,
+            String columnPath,
+            String pvName,
+            HDF5DataClass dataClass,
+            long offset,
+            int rows
+    ) {
+        final DataColumn.Builder columnBuilder = DataColumn.newBuilder().setName(pvName);
+        switch (dataClass) {
+            case INTEGER -> {
+                for (long value : reader.int64().readArrayBlockWithOffset(columnPath, rows, offset)) {
+                    columnBuilder.addDataValues(DataValue.newBuilder().setLongValue(value).build());
+                }
+            }
+            case STRING -> {
+                for (String value : reader.string().readArrayBlockWithOffset(columnPath, rows, offset)) {
+                    columnBuilder.addDataValues(DataValue.newBuilder().setStringValue(value).build());
+                }
+            }
+            default -> {
+                for (double value : reader.float64().readArrayBlockWithOffset(columnPath, rows, offset)) {
+                    columnBuilder.addDataValues(DataValue.newBuilder().setDoubleValue(value).build());
+                }
+            }
+        }
+        return columnBuilder.build();
+    }
+
+    /**
+     * Imports a bucket group as one frame, expanding a sampling clock to explicit timestamps.
+     */
+    private void importBucketGroup(IHDF5Reader reader, SourceGroup group, FrameSink sink, ImportProgress progress)
+            throws ImportFormatException, InterruptedException {
+
+        DataColumn column;
+        final DataTimestamps dataTimestamps;
+        try {
+            column = DataColumn.parseFrom(readBytes(reader, childPath(group.path, DATA_COLUMN_BYTES_DATASET)));
+            dataTimestamps = DataTimestamps.parseFrom(
+                    readBytes(reader, childPath(group.path, DATA_TIMESTAMPS_BYTES_DATASET)));
+        } catch (InvalidProtocolBufferException e) {
+            throw new ImportFormatException("group " + group.path + ": invalid serialized bucket: " + e.getMessage());
+        }
+
+        List<Timestamp> timestamps;
+        if (dataTimestamps.hasSamplingClock()) {
+            final SamplingClock clock = dataTimestamps.getSamplingClock();
+            timestamps = clockTimestamps(
+                    clock.getStartTime().getEpochSeconds(), clock.getStartTime().getNanoseconds(),
+                    clock.getPeriodNanos(), 0, clock.getCount());
+        } else {
+            timestamps = dataTimestamps.getTimestampList().getTimestampsList();
+        }
+        if (timestamps.size() != column.getDataValuesCount()) {
+            throw new ImportFormatException("group " + group.path + ": bucket has " + timestamps.size()
+                    + " timestamps but " + column.getDataValuesCount() + " values");
+        }
+        if (timestamps.size() > rowLimit) {
+            timestamps = timestamps.subList(0, rowLimit);
+            column = column.toBuilder()
+                    .clearDataValues()
+                    .addAllDataValues(column.getDataValuesList().subList(0, rowLimit))
+                    .build();
+        }
+
+        sink.accept(new DataImportResult.DataFrameResult(
+                group.frameName, new ArrayList<>(timestamps), List.of(column)));
+        progress.addRows(timestamps.size());
+        progress.addBytesRead(group.dataBytes);
+        progress.frameEmitted();
+        progress.report();
+    }
+
+    private static byte[] readBytes(IHDF5Reader reader, String datasetPath) {
+        final HDF5DataClass dataClass =
+                reader.object().getDataSetInformation(datasetPath).getTypeInformation().getDataClass();
+        return dataClass == HDF5DataClass.OPAQUE
+                ? reader.opaque().readArray(datasetPath)
+                : reader.int8().readArray(datasetPath);
+    }
+}
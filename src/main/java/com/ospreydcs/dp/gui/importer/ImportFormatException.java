@@ -0,0 +1,13 @@
+package com.ospreydcs.dp.gui.importer;
+
+/**
+ * Thrown when a file's contents do not match the expected time-series layout: a header row of
+ * two timestamp columns (epoch seconds and nanoseconds) followed by one column per PV, then one
+ * row per timestamp.
+ */
+public class ImportFormatException extends Exception {
+
+    public ImportFormatException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,121 @@
+package com.ospreydcs.dp.gui.importer;
+
+import com.ospreydcs.dp.client.result.DataImportResult;
+import com.ospreydcs.dp.service.common.config.ConfigurationManager;
+import com.ospreydcs.dp.service.common.model.ResultStatus;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Overlaps parsing a file with handling its frames.
+ *
+ * The importer runs on its own thread and puts each frame into a bounded queue; the caller's
+ * thread takes frames from the queue and hands them to a FrameHandler, typically one that encodes
+ * them and queues them for ingestion.  A full queue blocks the parser, so at most queueCapacity
+ * frames are waiting between the two stages and memory stays flat however large the file is,
+ * while the total time approaches that of the slower stage rather than the sum of both.
+ *
+ * If the handler fails, the parser is interrupted and its remaining frames are discarded.  If the
+ * parser fails, the frames it queued before the failure are still handled.
+ */
+public class ImportPipeline {
+
+    private static final Logger logger = LogManager.getLogger();
+
+    // configuration
+    public static final String CFG_KEY_QUEUE_FRAMES = "DesktopApp.Import.pipelineQueueFrames";
+    public static final int DEFAULT_QUEUE_FRAMES = 4;
+
+    // constants
+    private static final DataImportResult.DataFrameResult END_OF_FILE =
+            new DataImportResult.DataFrameResult("", List.of(), List.of());
+
+    /**
+     * Handles one parsed frame, returning an error status to stop the pipeline.
+     */
+    @FunctionalInterface
+    public interface FrameHandler {
+        ResultStatus handle(DataImportResult.DataFrameResult frame) throws Exception;
+    }
+
+    // instance variables
+    private final DataFileImporter importer;
+    private final int queueCapacity;
+
+    public ImportPipeline(DataFileImporter importer, int queueCapacity) {
+        this.importer = importer;
+        this.queueCapacity = Math.max(1, queueCapacity);
+    }
+
+    protected static ConfigurationManager configMgr() {
+        return ConfigurationManager.getInstance();
+    }
+
+    /**
+     * The configured number of parsed frames that may wait for the handler.
+     */
+    public static int queueFrames() {
+        return configMgr().getConfigInteger(CFG_KEY_QUEUE_FRAMES, DEFAULT_QUEUE_FRAMES);
+    }
+
+    /**
+     * Parses file on a background thread while handling its frames on the calling thread, and
+     * returns the first error from either stage, or success once every frame has been handled.
+     */
+    public ResultStatus run(Path file, ImportProgress progress, FrameHandler handler) throws InterruptedException {
+        final BlockingQueue<DataImportResult.DataFrameResult> frames = new ArrayBlockingQueue<>(queueCapacity);
+        final AtomicReference<ResultStatus> parseStatus = new AtomicReference<>();
+
+        final Thread parserThread = new Thread(() -> {
+            ResultStatus status;
+            try {
+                status = importer.importFrames(file, frames::put, progress);
+            } catch (RuntimeException e) {
+                logger.error("error parsing file: {}", file, e);
+                status = new ResultStatus(true, "error parsing " + file.getFileName() + ": " + e.getMessage());
+            }
+            parseStatus.set(status);
+            try {
+                frames.put(END_OF_FILE);
+            } catch (InterruptedException e) {
+                // the handler has stopped and is no longer taking frames
+                Thread.currentThread().interrupt();
+            }
+        }, "import-parser");
+        parserThread.setDaemon(true);
+        parserThread.start();
+
+        try {
+            DataImportResult.DataFrameResult frame;
+            while ((frame = frames.take()) != END_OF_FILE) {
+                final ResultStatus handlerStatus;
+                try {
+                    handlerStatus = handler.handle(frame);
+                } catch (InterruptedException e) {
+                    throw e;
+                } catch (Exception e) {
+                    logger.error("error handling frame: {} from: {}", frame.sheetName, file, e);
+                    return new ResultStatus(true, "error handling frame " + frame.sheetName + ": " + e.getMessage());
+                }
+                if (handlerStatus.isError) {
+                    return handlerStatus;
+                }
+            }
+            parserThread.join();
+            return parseStatus.get();
+
+        } finally {
+            if (parserThread.isAlive()) {
+                parserThread.interrupt();
+                frames.clear(); // unblock a parser waiting to put
+                parserThread.join();
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.ospreydcs.dp.gui.importer;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Live progress of one file import.
+ *
+ * Written by the importer thread(s) and read by the UI.  Progress is measured in bytes of the
+ * file's data read against the total known up front; when the total is unknown fraction() returns
+ * -1, which JavaFX progress controls display as indeterminate.  Importers call report() every so
+ * many rows so the listener is not invoked per row.
+ */
+public class ImportProgress {
+
+    // instance variables
+    private volatile long totalBytes = 0;
+    private final AtomicLong bytesRead = new AtomicLong(0);
+    private final LongAdder rowsRead = new LongAdder();
+    private final LongAdder framesEmitted = new LongAdder();
+    private volatile Consumer<ImportProgress> listener = null;
+
+    /**
+     * Sets a listener called from the importer thread on each report(); it must not block.
+     */
+    public void setListener(Consumer<ImportProgress> listener) {
+        this.listener = listener;
+    }
+
+    public void setTotalBytes(long totalBytes) {
+        this.totalBytes = totalBytes;
+    }
+
+    public void addBytesRead(long bytes) {
+        bytesRead.addAndGet(bytes);
+    }
+
+    public void addRows(long rows) {
+        rowsRead.add(rows);
+    }
+
+    public void frameEmitted() {
+        framesEmitted.increment();
+    }
+
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public long getBytesRead() {
+        return bytesRead.get();
+    }
+
+    public long getRowsRead() {
+        return rowsRead.sum();
+    }
+
+    public long getFramesEmitted() {
+        return framesEmitted.sum();
+    }
+
+    /**
+     * Returns the fraction of the file read, in [0, 1], or -1 if the total size is unknown.
+     */
+    public double fraction() {
+        final long total = totalBytes;
+        if (total <= 0) {
+            return -1;
+        }
+        return Math.min(1.0, (double) bytesRead.get() / total);
+    }
+
+    /**
+     * Notifies the listener, if any, of the current progress.
+     */
+    public void report() {
+        final Consumer<ImportProgress> currentListener = listener;
+        if (currentListener != null) {
+            currentListener.accept(this);
+        }
+    }
+}
@@ -0,0 +1,332 @@
+package com.ospreydcs.dp.gui.importer;
+
+import com.ospreydcs.dp.service.common.model.ResultStatus;
+import de.siegmar.fastcsv.reader.CsvParseException;
+import de.siegmar.fastcsv.reader.CsvReader;
+import de.siegmar.fastcsv.reader.CsvRecord;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Imports a large CSV file by parsing newline-aligned chunks of it in parallel.
+ *
+ * The file is memory-mapped one chunk at a time and each chunk is parsed with FastCSV into its
+ * own ColumnarFrameBuffer on a ForkJoinPool.  Chunks are processed in windows of one chunk per
+ * parser thread: once a window is parsed, its chunks are merged in timestamp order (a k-way merge
+ * of the chunks, each put in timestamp order first if it is not already) and emitted as
+ * request-sized frames, then the next window starts.  Memory is therefore bounded by one window
+ * of parsed chunks.  For a file written in time order, as instrument dumps are, the frames come
+ * out in global timestamp order; rows out of order by more than a window are still imported, in
+ * the window where they occur.
+ *
+ * Chunk boundaries are placed after a newline that ends a record.  Each boundary is found by
+ * scanning from the start of its chunk with the quoting rules of the parser, so a line break
+ * inside a quoted field never splits a record between chunks.
+ */
+public class ParallelCsvImporter implements DataFileImporter {
+
+    private static final Logger logger = LogManager.getLogger();
+
+    // constants
+    private static final int MAX_HEADER_BYTES = 1024 * 1024;
+    private static final byte NEWLINE = '\n';
+    private static final byte QUOTE = '"';
+    private static final byte SEPARATOR = ',';
+
+    // scanner states
+    private static final int FIELD_START = 0;
+    private static final int UNQUOTED_FIELD = 1;
+    private static final int QUOTED_FIELD = 2;
+    private static final int QUOTE_IN_QUOTED_FIELD = 3;
+
+    // instance variables
+    private final int maxRowsPerFrame;
+    private final int targetFrameBytes;
+    private final int parserThreads;
+    private final long chunkBytes;
+
+    public ParallelCsvImporter(int maxRowsPerFrame, int targetFrameBytes, int parserThreads, long chunkBytes) {
+        this.maxRowsPerFrame = maxRowsPerFrame;
+        this.targetFrameBytes = targetFrameBytes;
+        this.parserThreads = Math.max(1, parserThreads);
+        this.chunkBytes = Math.max(1, chunkBytes);
+    }
+
+    @Override
+    public ResultStatus importFrames(Path file, FrameSink sink, ImportProgress progress) {
+        final String frameName = CsvImporter.frameName(file);
+        final ForkJoinPool parserPool = new ForkJoinPool(parserThreads);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+
+            final long fileSize = channel.size();
+            progress.setTotalBytes(fileSize);
+
+            // header
+            final long dataStart = nextRecordStart(channel, 0, 0, Math.min(fileSize, MAX_HEADER_BYTES));
+            if (dataStart < 0) {
+                return new ResultStatus(true, fileSize == 0
+                        ? "CSV file is empty: " + file.getFileName()
+                        : "CSV header line not found in the first " + MAX_HEADER_BYTES + " bytes");
+            }
+            final List<String> columnNames = parseHeader(channel, dataStart);
+            progress.addBytesRead(dataStart);
+            final int frameRows = CsvImporter.rowsPerFrame(columnNames.size(), maxRowsPerFrame, targetFrameBytes);
+
+            final List<long[]> chunks = chunkBoundaries(channel, dataStart, fileSize, chunkBytes);
+            logger.debug("importing csv: {} in {} chunk(s) on {} thread(s), columns: {}",
+                    file, chunks.size(), parserThreads, columnNames.size());
+
+            final ColumnarFrameBuffer output = new ColumnarFrameBuffer(columnNames.size(), Math.min(frameRows, 64 * 1024));
+            for (int windowStart = 0; windowStart < chunks.size(); windowStart += parserThreads) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new InterruptedException();
+                }
+
+                // parse the window's chunks in parallel
+                final List<ForkJoinTask<ColumnarFrameBuffer>> parseTasks = new ArrayList<>();
+                final int windowEnd = Math.min(chunks.size(), windowStart + parserThreads);
+                for (int chunkIndex = windowStart; chunkIndex < windowEnd; chunkIndex++) {
+                    final long[] chunk = chunks.get(chunkIndex);
+                    parseTasks.add(parserPool.submit(() -> parseChunk(channel, chunk[0], chunk[1], columnNames)));
+                }
+                final List<ColumnarFrameBuffer> parsedChunks = new ArrayList<>(parseTasks.size());
+                for (int taskIndex = 0; taskIndex < parseTasks.size(); taskIndex++) {
+                    final ColumnarFrameBuffer parsedChunk = parseTasks.get(taskIndex).get();
+                    final long[] chunk = chunks.get(windowStart + taskIndex);
+                    progress.addBytesRead(chunk[1] - chunk[0]);
+                    progress.addRows(parsedChunk.size());
+                    parsedChunks.add(parsedChunk);
+                }
+                progress.report();
+
+                mergeInTimestampOrder(parsedChunks, output, frameRows, frameName, columnNames, sink, progress);
+            }
+            emit(output, frameName, columnNames, sink, progress);
+            return new ResultStatus(false, "");
+
+        } catch (ExecutionException e) {
+            // the pool wraps checked exceptions from the parse tasks, so look through the chain
+            Throwable cause = e.getCause();
+            while (cause.getCause() != null && !(cause instanceof ImportFormatException)) {
+                cause = cause.getCause();
+            }
+            if (cause instanceof ImportFormatException) {
+                return new ResultStatus(true, cause.getMessage());
+            }
+            logger.error("error parsing csv file: {}", file, e);
+            return new ResultStatus(true, "error reading CSV file " + file.getFileName() + ": " + cause.getMessage());
+        } catch (ImportFormatException e) {
+            return new ResultStatus(true, e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new ResultStatus(true, "import interrupted");
+        } catch (IOException | CsvParseException e) {
+            logger.error("error reading csv file: {}", file, e);
+            return new ResultStatus(true, "error reading CSV file " + file.getFileName() + ": " + e.getMessage());
+        } finally {
+            parserPool.shutdownNow();
+        }
+    }
+
+    /**
+     * Splits [dataStart, fileSize) into chunks of about chunkBytes, each ending just after the
+     * newline that ends a record (or at the end of the file).  Returns {start, end} byte offsets.
+     */
+    static List<long[]> chunkBoundaries(FileChannel channel, long dataStart, long fileSize, long chunkBytes)
+            throws IOException {
+        final List<long[]> chunks = new ArrayList<>();
+        long chunkStart = dataStart;
+        while (chunkStart < fileSize) {
+            long chunkEnd = Math.min(fileSize, chunkStart + chunkBytes);
+            if (chunkEnd < fileSize) {
+                final long recordStart = nextRecordStart(channel, chunkStart, chunkEnd - 1, fileSize);
+                chunkEnd = recordStart < 0 ? fileSize : recordStart;
+            }
+            chunks.add(new long[]{chunkStart, chunkEnd});
+            chunkStart = chunkEnd;
+        }
+        return chunks;
+    }
+
+    /**
+     * Returns the offset just past the first newline at or after position and before limit that
+     * ends a record, or -1 if there is none.  The scan starts at recordStart, which must be the
+     * start of a record, and follows the parser's quoting rules: a quote opens a quoted field only
+     * at the start of a field, a doubled quote inside one is a literal quote, and newlines inside
+     * one are part of the value.  Quote, separator and newline bytes never occur inside a UTF-8
+     * multi-byte sequence, so the file is scanned as bytes.
+     */
+    static long nextRecordStart(FileChannel channel, long recordStart, long position, long limit) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+        int state = FIELD_START;
+        long offset = recordStart;
+        while (offset < limit) {
+            buffer.clear();
+            buffer.limit((int) Math.min(buffer.capacity(), limit - offset));
+            final int count = channel.read(buffer, offset);
+            if (count <= 0) {
+                return -1;
+            }
+            for (int index = 0; index < count; index++) {
+                final byte value = buffer.get(index);
+                if (state == QUOTED_FIELD) {
+                    if (value == QUOTE) {
+                        state = QUOTE_IN_QUOTED_FIELD;
+                    }
+                } else if (state == QUOTE_IN_QUOTED_FIELD && value == QUOTE) {
+                    state = QUOTED_FIELD;
+                } else if (value == NEWLINE) {
+                    if (offset + index >= position) {
+                        return offset + index + 1;
+                    }
+                    state = FIELD_START;
+                } else if (value == SEPARATOR) {
+                    state = FIELD_START;
+                } else if (state == FIELD_START && value == QUOTE) {
+                    state = QUOTED_FIELD;
+                } else {
+                    // text after a closing quote is kept by the parser as part of the field
+                    state = UNQUOTED_FIELD;
+                }
+            }
+            offset += count;
+        }
+        return -1;
+    }
+
+    private static List<String> parseHeader(FileChannel channel, long dataStart) throws IOException, ImportFormatException {
+        final MappedByteBuffer headerBytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, dataStart);
+        final String headerLine = StandardCharsets.UTF_8.decode(headerBytes).toString();
+        try (CsvReader<CsvRecord> headerReader = CsvReader.builder().ofCsvRecord(headerLine)) {
+            final Iterator<CsvRecord> records = headerReader.iterator();
+            if (!records.hasNext()) {
+                throw new ImportFormatException("CSV header line is empty");
+            }
+            return CsvImporter.headerColumnNames(records.next());
+        }
+    }
+
+    /**
+     * Parses the records in [start, end) of the file into a new buffer.
+     */
+    private static ColumnarFrameBuffer parseChunk(FileChannel channel, long start, long end, List<String> columnNames)
+            throws IOException, ImportFormatException {
+        final MappedByteBuffer chunkBytes = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        final ColumnarFrameBuffer buffer = new ColumnarFrameBuffer(columnNames.size());
+        final String locationPrefix = "chunk at byte " + start + ", ";
+        try (CsvReader<CsvRecord> csvReader = CsvReader.builder().ofCsvRecord(
+                new InputStreamReader(new ByteBufferInputStream(chunkBytes), StandardCharsets.UTF_8))) {
+            for (CsvRecord record : csvReader) {
+                CsvImporter.addRecord(record, columnNames, buffer, locationPrefix);
+            }
+        }
+        return buffer;
+    }
+
+    /**
+     * Merges the parsed chunks of one window into output in timestamp order, emitting a frame
+     * each time output reaches frameRows rows.  Rows with equal timestamps keep their file order.
+     */
+    static void mergeInTimestampOrder(
+            List<ColumnarFrameBuffer> parsedChunks,
+            ColumnarFrameBuffer output,
+            int frameRows,
+            String frameName,
+            List<String> columnNames,
+            FrameSink sink,
+            ImportProgress progress
+    ) throws InterruptedException {
+        final int[][] orders = new int[parsedChunks.size()][];
+        final int[] positions = new int[parsedChunks.size()];
+
+        // the next row of each chunk, ordered by timestamp and then by chunk
+        final PriorityQueue<Integer> heads = new PriorityQueue<>((first, second) -> {
+            final int comparison = parsedChunks.get(first).compareRows(
+                    orders[first][positions[first]], parsedChunks.get(second), orders[second][positions[second]]);
+            return comparison != 0 ? comparison : Integer.compare(first, second);
+        });
+        for (int chunkIndex = 0; chunkIndex < parsedChunks.size(); chunkIndex++) {
+            orders[chunkIndex] = parsedChunks.get(chunkIndex).timestampOrder();
+            if (orders[chunkIndex].length > 0) {
+                heads.add(chunkIndex);
+            }
+        }
+
+        while (!heads.isEmpty()) {
+            final int chunkIndex = heads.poll();
+            output.copyRow(parsedChunks.get(chunkIndex), orders[chunkIndex][positions[chunkIndex]]);
+            positions[chunkIndex]++;
+            if (positions[chunkIndex] < orders[chunkIndex].length) {
+                heads.add(chunkIndex);
+            }
+            if (output.size() >= frameRows) {
+                emit(output, frameName, columnNames, sink, progress);
+            }
+        }
+    }
+
+    private static void emit(
+            ColumnarFrameBuffer buffer,
+            String frameName,
+            List<String> columnNames,
+            FrameSink sink,
+            ImportProgress progress
+    ) throws InterruptedException {
+        if (buffer.size() == 0) {
+            return;
+        }
+        sink.accept(buffer.toFrame(frameName, columnNames, 0, buffer.size()));
+        buffer.clear();
+        progress.frameEmitted();
+        progress.report();
+    }
+
+    /**
+     * Reads a mapped chunk as a stream for FastCSV.
+     */
+    private static class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            final int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
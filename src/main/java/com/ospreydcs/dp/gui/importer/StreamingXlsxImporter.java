@@ -0,0 +1,269 @@
+package com.ospreydcs.dp.gui.importer;
+
+import com.ospreydcs.dp.grpc.v1.common.DataValue;
+import com.ospreydcs.dp.grpc.v1.common.Timestamp;
+import com.ospreydcs.dp.service.common.model.ResultStatus;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.openxml4j.opc.PackagePart;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.ss.util.NumberToTextConverter;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.apache.poi.xssf.usermodel.XSSFRelation;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Imports an xlsx workbook with POI's streaming event API instead of its user model.
+ *
+ * Each worksheet's XML is parsed with SAX and its rows are passed straight to a FrameAccumulator,
+ * so memory is bounded by one frame of maxRowsPerFrame rows plus the workbook's shared strings,
+ * rather than by the whole workbook.  Sheets are imported in workbook order and every sheet's
+ * frames are named after the sheet.  Progress is the uncompressed sheet XML read against the
+ * total of all sheets.
+ *
+ * Numeric cells are read as their stored values, ignoring display formats, so timestamps and
+ * data keep full precision.  With a sheet row limit, parsing of each sheet stops after that many
+ * data rows, which is how a preview reads a large workbook quickly.
+ */
+public class StreamingXlsxImporter implements DataFileImporter {
+
+    private static final Logger logger = LogManager.getLogger();
+
+    // constants
+    private static final int REPORT_INTERVAL_ROWS = 1000;
+
+    // instance variables
+    private final int maxRowsPerFrame;
+    private final int sheetRowLimit;
+
+    public StreamingXlsxImporter(int maxRowsPerFrame) {
+        this(maxRowsPerFrame, DataFileImporters.NO_ROW_LIMIT);
+    }
+
+    public StreamingXlsxImporter(int maxRowsPerFrame, int sheetRowLimit) {
+        this.maxRowsPerFrame = maxRowsPerFrame;
+        this.sheetRowLimit = sheetRowLimit;
+    }
+
+    @Override
+    public ResultStatus importFrames(Path file, FrameSink sink, ImportProgress progress) {
+        try (OPCPackage workbookPackage = OPCPackage.open(file.toFile(), PackageAccess.READ)) {
+
+            long totalSheetBytes = 0;
+            for (PackagePart sheetPart :
+                    workbookPackage.getPartsByContentType(XSSFRelation.WORKSHEET.getContentType())) {
+                totalSheetBytes += Math.max(0, sheetPart.getSize());
+            }
+            progress.setTotalBytes(totalSheetBytes);
+
+            final XSSFReader reader = new XSSFReader(workbookPackage);
+            final ReadOnlySharedStringsTable sharedStrings = new ReadOnlySharedStringsTable(workbookPackage);
+            final StylesTable styles = reader.getStylesTable();
+            final XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+
+            int sheetCount = 0;
+            while (sheets.hasNext()) {
+                try (InputStream sheetStream = new CountingInputStream(sheets.next(), progress)) {
+                    final String sheetName = sheets.getSheetName();
+                    final SheetHandler sheetHandler = new SheetHandler(sheetName, sink, progress);
+                    final XMLReader parser = XMLHelper.newXMLReader();
+                    parser.setContentHandler(new XSSFSheetXMLHandler(
+                            styles, null, sharedStrings, sheetHandler, new StoredValueFormatter(), false));
+                    try {
+                        parser.parse(new InputSource(sheetStream));
+                    } catch (SheetRowLimitReached e) {
+                        logger.debug("stopped reading sheet: {} at row limit: {}", sheetName, sheetRowLimit);
+                    }
+                    sheetHandler.finishSheet();
+                    sheetCount++;
+                    logger.debug("imported sheet: {} rows: {}", sheetName, sheetHandler.dataRowCount);
+                }
+            }
+
+            if (sheetCount == 0) {
+                return new ResultStatus(true, "workbook contains no sheets: " + file.getFileName());
+            }
+            return new ResultStatus(false, "");
+
+        } catch (ImportAbortedException e) {
+            if (e.getCause() instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+                return new ResultStatus(true, "import interrupted");
+            }
+            return new ResultStatus(true, e.getCause().getMessage());
+        } catch (IOException | OpenXML4JException | SAXException | ParserConfigurationException e) {
+            logger.error("error reading workbook: {}", file, e);
+            return new ResultStatus(true, "error reading workbook " + file.getFileName() + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Carries an ImportFormatException or InterruptedException out of the SAX callbacks, which
+     * cannot throw checked exceptions.
+     */
+    private static class ImportAbortedException extends RuntimeException {
+        ImportAbortedException(Exception cause) {
+            super(cause);
+        }
+    }
+
+    /**
+     * Stops parsing a sheet once its row limit is reached.
+     */
+    private static class SheetRowLimitReached extends RuntimeException {
+        SheetRowLimitReached() {
+            super(null, null, false, false);
+        }
+    }
+
+    /**
+     * Formats numeric cells as their stored value instead of applying the cell's display format.
+     */
+    private static class StoredValueFormatter extends DataFormatter {
+        @Override
+        public String formatRawCellContents(double value, int formatIndex, String formatString) {
+            return NumberToTextConverter.toText(value);
+        }
+    }
+
+    /**
+     * Receives the cells of one sheet row by row.  The first row is the header; each later row is
+     * converted to a timestamp and one value per PV column and added to the accumulator.
+     */
+    private class SheetHandler implements XSSFSheetXMLHandler.SheetContentsHandler {
+
+        private final String sheetName;
+        private final FrameSink sink;
+        private final ImportProgress progress;
+        private final List<String> rowCells = new ArrayList<>();
+        private FrameAccumulator accumulator = null;
+        private int dataRowCount = 0;
+
+        SheetHandler(String sheetName, FrameSink sink, ImportProgress progress) {
+            this.sheetName = sheetName;
+            this.sink = sink;
+            this.progress = progress;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            rowCells.clear();
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            // empty cells are not reported, so place each value by its column letter
+            final int columnIndex = new CellReference(cellReference).getCol();
+            while (rowCells.size() < columnIndex) {
+                rowCells.add(null);
+            }
+            rowCells.add(formattedValue);
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            try {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new InterruptedException();
+                }
+                if (accumulator == null) {
+                    startSheet(rowNum);
+                } else {
+                    addDataRow(rowNum);
+                    if (dataRowCount >= sheetRowLimit) {
+                        throw new SheetRowLimitReached();
+                    }
+                }
+            } catch (ImportFormatException | InterruptedException e) {
+                throw new ImportAbortedException(e);
+            }
+        }
+
+        @Override
+        public void headerFooter(String text, boolean isHeader, String tagName) {
+            // page headers and footers are not data
+        }
+
+        private void startSheet(int rowNum) throws ImportFormatException {
+            if (rowCells.size() < 3) {
+                throw new ImportFormatException("sheet " + sheetName + " row " + (rowNum + 1)
+                        + ": header must contain seconds and nanos columns followed by at least one PV column");
+            }
+            final List<String> pvNames = new ArrayList<>();
+            for (int columnIndex = 2; columnIndex < rowCells.size(); columnIndex++) {
+                final String pvName = rowCells.get(columnIndex);
+                if (pvName == null || pvName.isBlank()) {
+                    throw new ImportFormatException("sheet " + sheetName + ": blank PV name in header column "
+                            + CellReference.convertNumToColString(columnIndex));
+                }
+                pvNames.add(pvName.trim());
+            }
+            accumulator = new FrameAccumulator(sheetName, pvNames, maxRowsPerFrame, sink, progress);
+        }
+
+        private void addDataRow(int rowNum) throws ImportFormatException, InterruptedException {
+            final int rowNumber = rowNum + 1;
+            final long seconds = FrameAccumulator.parseTimestampField(
+                    cellAt(0), "seconds", rowNumber);
+            final long nanos = FrameAccumulator.parseTimestampField(
+                    cellAt(1), "nanos", rowNumber);
+            final Timestamp timestamp = Timestamp.newBuilder().setEpochSeconds(seconds).setNanoseconds(nanos).build();
+
+            final int columnCount = accumulator.getColumnCount();
+            final List<DataValue> values = new ArrayList<>(columnCount);
+            for (int columnIndex = 0; columnIndex < columnCount; columnIndex++) {
+                final String cell = cellAt(columnIndex + 2);
+                if (cell == null) {
+                    throw new ImportFormatException("sheet " + sheetName + " row " + rowNumber
+                            + ": missing value in column " + CellReference.convertNumToColString(columnIndex + 2));
+                }
+                values.add(FrameAccumulator.parseDataValue(cell));
+            }
+            accumulator.addRow(timestamp, values);
+
+            dataRowCount++;
+            if (dataRowCount % REPORT_INTERVAL_ROWS == 0) {
+                progress.addRows(REPORT_INTERVAL_ROWS);
+                progress.report();
+            }
+        }
+
+        private String cellAt(int columnIndex) {
+            return columnIndex < rowCells.size() ? rowCells.get(columnIndex) : null;
+        }
+
+        /**
+         * Emits the sheet's last partial frame.  A sheet with no rows at all is skipped.
+         */
+        void finishSheet() {
+            progress.addRows(dataRowCount % REPORT_INTERVAL_ROWS);
+            if (accumulator == null) {
+                logger.debug("skipping empty sheet: {}", sheetName);
+                return;
+            }
+            try {
+                accumulator.flush();
+            } catch (InterruptedException e) {
+                throw new ImportAbortedException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.ospreydcs.dp.gui.importer;
+
+import com.ospreydcs.dp.client.result.DataImportResult;
+import com.ospreydcs.dp.client.utility.DataImportUtility;
+import com.ospreydcs.dp.grpc.v1.common.DataColumn;
+import com.ospreydcs.dp.service.common.model.ResultStatus;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Imports a workbook in a format the streaming importer does not read (legacy .xls) through
+ * DataImportUtility.importXlsxData(), which loads the whole workbook.  Each sheet is one frame,
+ * cut to the first sheetRowLimit rows when a limit is set.
+ */
+public class UserModelWorkbookImporter implements DataFileImporter {
+
+    // instance variables
+    private final int sheetRowLimit;
+
+    public UserModelWorkbookImporter() {
+        this(DataFileImporters.NO_ROW_LIMIT);
+    }
+
+    public UserModelWorkbookImporter(int sheetRowLimit) {
+        this.sheetRowLimit = sheetRowLimit;
+    }
+
+    @Override
+    public ResultStatus importFrames(Path file, FrameSink sink, ImportProgress progress) {
+        final DataImportResult importResult = DataImportUtility.importXlsxData(file.toAbsolutePath().toString());
+        if (importResult.resultStatus.isError) {
+            return importResult.resultStatus;
+        }
+        try {
+            for (DataImportResult.DataFrameResult sheetFrame : importResult.dataFrames) {
+                final DataImportResult.DataFrameResult frame = limitRows(sheetFrame);
+                progress.addRows(frame.timestamps.size());
+                sink.accept(frame);
+                progress.frameEmitted();
+                progress.report();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new ResultStatus(true, "import interrupted");
+        }
+        return new ResultStatus(false, "");
+    }
+
+    private DataImportResult.DataFrameResult limitRows(DataImportResult.DataFrameResult frame) {
+        if (frame.timestamps.size() <= sheetRowLimit) {
+            return frame;
+        }
+        final List<DataColumn> columns = new ArrayList<>(frame.columns.size());
+        for (DataColumn column : frame.columns) {
+            columns.add(column.toBuilder()
+                    .clearDataValues()
+                    .addAllDataValues(column.getDataValuesList().subList(0, sheetRowLimit))
+                    .build());
+        }
+        return new DataImportResult.DataFrameResult(
+                frame.sheetName, new ArrayList<>(frame.timestamps.subList(0, sheetRowLimit)), columns);
+    }
+}
@@ -0,0 +1,251 @@
+package com.ospreydcs.dp.gui.ingest;
+
+import com.google.protobuf.CodedOutputStream;
+import com.ospreydcs.dp.client.IngestionClient;
+import com.ospreydcs.dp.grpc.v1.common.DataColumn;
+import com.ospreydcs.dp.grpc.v1.common.DataValue;
+import com.ospreydcs.dp.grpc.v1.common.Timestamp;
+import com.ospreydcs.dp.gui.model.DataFrameDetails;
+import com.ospreydcs.dp.service.common.config.ConfigurationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sizes ingestData() requests against the gRPC incoming message size limit.
+ *
+ * Generated data is sized up front from the PV data type and sample rate: a sampling clock
+ * request is dominated by its data values, so the encoded width of one value times the sample
+ * count is a close upper bound on the message size.  Imported frames carry arbitrary values and
+ * an explicit timestamp per row, so they are measured with the protobuf encoder instead and split
+ * into row ranges that fit.
+ *
+ * The sizing methods are pure and take their limits as arguments; the configured limits are read
+ * through the accessors at the bottom of this class.
+ */
+public final class BucketSizing {
+
+    // configuration
+    public static final String CFG_KEY_MESSAGE_SIZE_LIMIT_BYTES = "GrpcServer.incomingMessageSizeLimitBytes";
+    public static final int DEFAULT_MESSAGE_SIZE_LIMIT_BYTES = 4_096_000;
+    public static final String CFG_KEY_TARGET_REQUEST_SIZE_BYTES = "DesktopApp.Ingestion.targetRequestSizeBytes";
+    public static final int DEFAULT_TARGET_REQUEST_SIZE_BYTES = 2_048_000;
+
+    // constants
+
+    /**
+     * Bytes set aside in every request for everything other than data values and timestamps:
+     * provider id, request id, column names, column metadata and the sampling clock.
+     */
+    public static final int REQUEST_OVERHEAD_BYTES = 16 * 1024;
+
+    private BucketSizing() {
+    }
+
+    protected static ConfigurationManager configMgr() {
+        return ConfigurationManager.getInstance();
+    }
+
+    /**
+     * Returns the worst-case number of bytes one value of the specified type adds to a DataColumn:
+     * the repeated-field tag and length prefix, the DataValue oneof tag, and the payload.  Integer
+     * payloads are varints, so the maximum varint width is used rather than the fixed width.
+     */
+    public static int encodedValueBytes(IngestionClient.IngestionDataType dataType) {
+        return switch (dataType) {
+            case BOOLEAN -> 3 + 1;
+            case FLOAT -> 3 + 4;
+            case DOUBLE -> 3 + 8;
+            // negative int32 values are sign-extended to a 10-byte varint
+            case INT, UINT, LONG, ULONG -> 3 + 10;
+            default -> throw new IllegalArgumentException(
+                    "no fixed encoded width for data type: " + dataType.name());
+        };
+    }
+
+    /**
+     * Returns the largest number of samples of the specified type that fit in a request of
+     * requestBytes, after the fixed per-request overhead.  Always at least 1.
+     */
+    public static int maxSamplesPerRequest(IngestionClient.IngestionDataType dataType, int requestBytes) {
+        final long payloadBytes = (long) requestBytes - REQUEST_OVERHEAD_BYTES;
+        return (int) Math.max(1, payloadBytes / encodedValueBytes(dataType));
+    }
+
+    /**
+     * Returns the bucket duration in whole seconds that brings a PV sampled at valuesPerSecond as
+     * close to targetRequestBytes as possible without exceeding it.  Slow PVs get long buckets,
+     * fast ones get short ones.  Never less than 1 second; a PV too fast to fit one second of data
+     * in the target is split by samplesPerRequest() instead.
+     */
+    public static int autoBucketSeconds(
+            int valuesPerSecond,
+            IngestionClient.IngestionDataType dataType,
+            int targetRequestBytes
+    ) {
+        if (valuesPerSecond <= 0) {
+            throw new IllegalArgumentException("valuesPerSecond must be positive: " + valuesPerSecond);
+        }
+        return Math.max(1, maxSamplesPerRequest(dataType, targetRequestBytes) / valuesPerSecond);
+    }
+
+    /**
+     * Returns the number of samples to send per ingestData() request for a bucket of bucketSeconds,
+     * capped so that no request exceeds messageSizeLimitBytes.  A bucket over the cap is split into
+     * several consecutive requests.
+     */
+    public static int samplesPerRequest(
+            int valuesPerSecond,
+            int bucketSeconds,
+            IngestionClient.IngestionDataType dataType,
+            int messageSizeLimitBytes
+    ) {
+        final long samplesPerBucket = (long) valuesPerSecond * bucketSeconds;
+        return (int) Math.max(1, Math.min(samplesPerBucket, maxSamplesPerRequest(dataType, messageSizeLimitBytes)));
+    }
+
+    /**
+     * Returns the number of requests needed to send sampleCount samples at samplesPerRequest each.
+     */
+    public static int requestCount(long sampleCount, int samplesPerRequest) {
+        return (int) ((sampleCount + samplesPerRequest - 1) / samplesPerRequest);
+    }
+
+    /**
+     * Returns the encoded size of one row of a frame: the row's timestamp entry in the
+     * TimestampList plus one DataValue entry in each column.
+     */
+    static int encodedRowBytes(List<Timestamp> timestamps, List<DataColumn> columns, int rowIndex) {
+        return encodedRowBytes(timestamps, columns, rowIndex, true);
+    }
+
+    /**
+     * As above, counting the row's timestamp only when the frame is sent with explicit timestamps;
+     * a sampling clock frame carries no per-row timestamp.
+     */
+    static int encodedRowBytes(
+            List<Timestamp> timestamps, List<DataColumn> columns, int rowIndex, boolean explicitTimestamps
+    ) {
+        int rowBytes = explicitTimestamps
+                ? 1 + CodedOutputStream.computeMessageSizeNoTag(timestamps.get(rowIndex))
+                : 0;
+        for (DataColumn column : columns) {
+            if (rowIndex < column.getDataValuesCount()) {
+                final DataValue value = column.getDataValues(rowIndex);
+                rowBytes += 1 + CodedOutputStream.computeMessageSizeNoTag(value);
+            }
+        }
+        return rowBytes;
+    }
+
+    /**
+     * Returns the encoded size of a frame's timestamps and data values, excluding the fixed
+     * per-request overhead.
+     */
+    public static long encodedFrameBytes(List<Timestamp> timestamps, List<DataColumn> columns) {
+        long frameBytes = 0;
+        for (Timestamp timestamp : timestamps) {
+            frameBytes += 1 + CodedOutputStream.computeMessageSizeNoTag(timestamp);
+        }
+        for (DataColumn column : columns) {
+            frameBytes += column.getSerializedSize();
+        }
+        return frameBytes;
+    }
+
+    /**
+     * Splits an imported frame into consecutive row ranges whose encoded size stays within
+     * maxRequestBytes.  A frame that already fits is returned as a single piece sharing the
+     * original lists.  Each piece keeps the frame name and every column's name and other fields;
+     * only the data values are sliced.  A single row larger than the limit is still sent alone,
+     * so the service reports it rather than this method looping on it.
+     */
+    public static List<DataFrameDetails> splitFrame(
+            String name,
+            List<Timestamp> timestamps,
+            List<DataColumn> columns,
+            int maxRequestBytes
+    ) {
+        return splitFrame(name, timestamps, columns, maxRequestBytes, true);
+    }
+
+    /**
+     * As above, for a frame sent either with explicit timestamps or with a sampling clock.  The
+     * pieces of a regularly sampled frame are themselves regularly sampled, so each can be sent
+     * with its own sampling clock.
+     */
+    public static List<DataFrameDetails> splitFrame(
+            String name,
+            List<Timestamp> timestamps,
+            List<DataColumn> columns,
+            int maxRequestBytes,
+            boolean explicitTimestamps
+    ) {
+        final int rowBudget = Math.max(1, maxRequestBytes - REQUEST_OVERHEAD_BYTES);
+        final int rowCount = timestamps.size();
+
+        final List<int[]> ranges = new ArrayList<>();
+        int rangeStart = 0;
+        long rangeBytes = 0;
+        for (int rowIndex = 0; rowIndex < rowCount; rowIndex++) {
+            final int rowBytes = encodedRowBytes(timestamps, columns, rowIndex, explicitTimestamps);
+            if (rowIndex > rangeStart && rangeBytes + rowBytes > rowBudget) {
+                ranges.add(new int[]{rangeStart, rowIndex});
+                rangeStart = rowIndex;
+                rangeBytes = 0;
+            }
+            rangeBytes += rowBytes;
+        }
+        ranges.add(new int[]{rangeStart, rowCount});
+
+        if (ranges.size() == 1) {
+            return List.of(new DataFrameDetails(name, timestamps, columns));
+        }
+
+        final List<DataFrameDetails> pieces = new ArrayList<>(ranges.size());
+        for (int[] range : ranges) {
+            pieces.add(sliceFrame(name, timestamps, columns, range[0], range[1]));
+        }
+        return pieces;
+    }
+
+    /**
+     * Returns rows [fromRow, toRow) of a frame as a new frame.
+     */
+    public static DataFrameDetails sliceFrame(
+            String name,
+            List<Timestamp> timestamps,
+            List<DataColumn> columns,
+            int fromRow,
+            int toRow
+    ) {
+        final List<DataColumn> slicedColumns = new ArrayList<>(columns.size());
+        for (DataColumn column : columns) {
+            final int columnTo = Math.min(toRow, column.getDataValuesCount());
+            final int columnFrom = Math.min(fromRow, columnTo);
+            slicedColumns.add(column.toBuilder()
+                    .clearDataValues()
+                    .addAllDataValues(column.getDataValuesList().subList(columnFrom, columnTo))
+                    .build());
+        }
+        return new DataFrameDetails(name, new ArrayList<>(timestamps.subList(fromRow, toRow)), slicedColumns);
+    }
+
+    // ------------------- configured limits ---------------------------
+
+    /**
+     * The service's incoming message size limit.  Requests must never exceed it.
+     */
+    public static int messageSizeLimitBytes() {
+        return configMgr().getConfigInteger(CFG_KEY_MESSAGE_SIZE_LIMIT_BYTES, DEFAULT_MESSAGE_SIZE_LIMIT_BYTES);
+    }
+
+    /**
+     * The request size that automatic bucket sizing aims for, clamped to the message size limit.
+     */
+    public static int targetRequestSizeBytes() {
+        final int target =
+                configMgr().getConfigInteger(CFG_KEY_TARGET_REQUEST_SIZE_BYTES, DEFAULT_TARGET_REQUEST_SIZE_BYTES);
+        return Math.min(target, messageSizeLimitBytes());
+    }
+}
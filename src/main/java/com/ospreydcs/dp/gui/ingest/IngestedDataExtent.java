@@ -0,0 +1,53 @@
+package com.ospreydcs.dp.gui.ingest;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The PV names, time range and request count of an ingestion job, accumulated without locks so
+ * that frames encoded concurrently can each add their own extent.
+ */
+public class IngestedDataExtent {
+
+    // instance variables
+    private final Set<String> pvNames = ConcurrentHashMap.newKeySet();
+    private final AtomicReference<Instant> beginInstant = new AtomicReference<>();
+    private final AtomicReference<Instant> endInstant = new AtomicReference<>();
+    private final LongAdder requestCount = new LongAdder();
+
+    /**
+     * Adds a frame's PV names, first and last timestamps, and the number of requests it was sent in.
+     */
+    public void add(Collection<String> framePvNames, Instant frameBegin, Instant frameEnd, int frameRequests) {
+        pvNames.addAll(framePvNames);
+        beginInstant.accumulateAndGet(frameBegin,
+                (current, candidate) -> current == null || candidate.isBefore(current) ? candidate : current);
+        endInstant.accumulateAndGet(frameEnd,
+                (current, candidate) -> current == null || candidate.isAfter(current) ? candidate : current);
+        requestCount.add(frameRequests);
+    }
+
+    /**
+     * Returns the PV names added so far in alphabetical order.
+     */
+    public List<String> getSortedPvNames() {
+        return pvNames.stream().sorted().toList();
+    }
+
+    public Instant getBeginInstant() {
+        return beginInstant.get();
+    }
+
+    public Instant getEndInstant() {
+        return endInstant.get();
+    }
+
+    public int getRequestCount() {
+        return requestCount.intValue();
+    }
+}
@@ -0,0 +1,193 @@
+package com.ospreydcs.dp.gui.ingest;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live instrumentation for one ingestion job (a data generation run or an import ingest).
+ *
+ * Written by the thread(s) sending ingestData() requests and read by the UI while the job runs,
+ * so the counters are lock-free adders and only the latency samples take a lock.  Ack latency is
+ * measured client-side around each ingestData() call: the time from handing the request to the
+ * client until its response is returned.  Each attempt of a retried request is a separate sample.
+ * Percentiles are taken from a fixed-size uniform reservoir of the samples, so a long job's
+ * memory stays bounded; the maximum is tracked exactly.
+ *
+ * A snapshot of the current values is taken with summary(); the job is closed with finish(),
+ * after which the elapsed time and rates stop advancing.
+ */
+public class IngestionJobMetrics {
+
+    // constants
+    static final int LATENCY_RESERVOIR_SIZE = 8192;
+
+    // instance variables
+    private final String jobName;
+    private final long startNanos;
+    private volatile long finishNanos = 0;
+    private volatile boolean finished = false;
+    private volatile boolean failed = false;
+    private final AtomicInteger expectedRequests = new AtomicInteger(0);
+    private final LongAdder requestsSent = new LongAdder();
+    private final LongAdder samplesSent = new LongAdder();
+    private final LongAdder bytesSent = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder rejects = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private volatile Path queueDirectory = null;
+
+    // latency reservoir, guarded by this
+    private final long[] latencyNanos;
+    private long latencyCount = 0;
+    private long latencyMaxNanos = 0;
+
+    public IngestionJobMetrics(String jobName) {
+        this(jobName, LATENCY_RESERVOIR_SIZE);
+    }
+
+    IngestionJobMetrics(String jobName, int latencyReservoirSize) {
+        this.jobName = jobName;
+        this.startNanos = System.nanoTime();
+        this.latencyNanos = new long[Math.max(1, latencyReservoirSize)];
+    }
+
+    public String getJobName() {
+        return jobName;
+    }
+
+    /**
+     * Returns the directory of the job's durable request queue, or null if the job has none.  A
+     * failed job's unsent requests remain there for resume.
+     */
+    public Path getQueueDirectory() {
+        return queueDirectory;
+    }
+
+    public void setQueueDirectory(Path queueDirectory) {
+        this.queueDirectory = queueDirectory;
+    }
+
+    /**
+     * Sets the number of requests the job expects to send, for progress reporting.  May be raised
+     * while the job runs as the remaining work becomes known.
+     */
+    public void setExpectedRequests(int expectedRequests) {
+        this.expectedRequests.set(expectedRequests);
+    }
+
+    public void addExpectedRequests(int additionalRequests) {
+        this.expectedRequests.addAndGet(additionalRequests);
+    }
+
+    /**
+     * Records a request that was acknowledged by the service.
+     */
+    public void recordRequest(int sampleCount, long requestBytes, long ackLatencyNanos) {
+        requestsSent.increment();
+        samplesSent.add(sampleCount);
+        bytesSent.add(requestBytes);
+        recordLatency(ackLatencyNanos);
+    }
+
+    /**
+     * Records a failed attempt that will be retried.
+     */
+    public void recordRetry(long attemptLatencyNanos) {
+        retries.increment();
+        recordLatency(attemptLatencyNanos);
+    }
+
+    /**
+     * Records a request the service rejected.  Rejected requests are not retried.
+     */
+    public void recordReject(long attemptLatencyNanos) {
+        rejects.increment();
+        recordLatency(attemptLatencyNanos);
+    }
+
+    /**
+     * Records a request that failed after its last retry.
+     */
+    public void recordError() {
+        errors.increment();
+    }
+
+    /**
+     * Closes the job.  The first call wins; later calls are ignored.
+     */
+    public synchronized void finish(boolean failed) {
+        if (!finished) {
+            this.finishNanos = System.nanoTime();
+            this.failed = failed;
+            this.finished = true;
+        }
+    }
+
+    public boolean isFinished() {
+        return finished;
+    }
+
+    /**
+     * Adds a latency sample to the reservoir: the first samples fill it, and each later one
+     * replaces a random entry with probability size / samples seen, so the reservoir stays a
+     * uniform sample of every latency recorded.
+     */
+    private synchronized void recordLatency(long nanos) {
+        latencyMaxNanos = Math.max(latencyMaxNanos, nanos);
+        latencyCount++;
+        if (latencyCount <= latencyNanos.length) {
+            latencyNanos[(int) (latencyCount - 1)] = nanos;
+            return;
+        }
+        final long slot = ThreadLocalRandom.current().nextLong(latencyCount);
+        if (slot < latencyNanos.length) {
+            latencyNanos[(int) slot] = nanos;
+        }
+    }
+
+    /**
+     * Returns the nearest-rank percentile of a sorted array of samples, or 0 for no samples.
+     */
+    static long percentile(long[] sortedSamples, double percentile) {
+        if (sortedSamples.length == 0) {
+            return 0;
+        }
+        final int rank = (int) Math.ceil(percentile / 100.0 * sortedSamples.length);
+        return sortedSamples[Math.max(0, Math.min(sortedSamples.length, rank) - 1)];
+    }
+
+    /**
+     * Returns a consistent-enough snapshot of the job for display or export.  Counters are read
+     * individually, so a snapshot taken mid-request may count its samples but not yet its bytes.
+     */
+    public IngestionJobSummary summary() {
+        final long[] sortedLatencies;
+        final long maxLatency;
+        synchronized (this) {
+            sortedLatencies = Arrays.copyOf(latencyNanos, (int) Math.min(latencyCount, latencyNanos.length));
+            maxLatency = latencyMaxNanos;
+        }
+        Arrays.sort(sortedLatencies);
+
+        final long endNanos = finished ? finishNanos : System.nanoTime();
+        return new IngestionJobSummary(
+                jobName,
+                finished,
+                failed,
+                endNanos - startNanos,
+                expectedRequests.get(),
+                requestsSent.sum(),
+                samplesSent.sum(),
+                bytesSent.sum(),
+                retries.sum(),
+                rejects.sum(),
+                errors.sum(),
+                percentile(sortedLatencies, 50),
+                percentile(sortedLatencies, 95),
+                percentile(sortedLatencies, 99),
+                maxLatency);
+    }
+}
@@ -0,0 +1,162 @@
+package com.ospreydcs.dp.gui.ingest;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Immutable snapshot of an IngestionJobMetrics, used both for the live progress display and as
+ * the exported run summary.
+ *
+ * The summary is exported as a two-line CSV file (header and values) so that summaries from
+ * several runs can be concatenated into one sheet when comparing service configurations.
+ */
+public class IngestionJobSummary {
+
+    // constants
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    public static final List<String> CSV_COLUMNS = List.of(
+            "job", "status", "elapsedSeconds", "expectedRequests", "requestsSent", "samplesSent",
+            "bytesSent", "samplesPerSecond", "bytesPerSecond", "retries", "rejects", "errors",
+            "latencyP50Millis", "latencyP95Millis", "latencyP99Millis", "latencyMaxMillis");
+
+    // instance variables
+    public final String jobName;
+    public final boolean finished;
+    public final boolean failed;
+    public final long elapsedNanos;
+    public final int expectedRequests;
+    public final long requestsSent;
+    public final long samplesSent;
+    public final long bytesSent;
+    public final long retries;
+    public final long rejects;
+    public final long errors;
+    public final long latencyP50Nanos;
+    public final long latencyP95Nanos;
+    public final long latencyP99Nanos;
+    public final long latencyMaxNanos;
+
+    public IngestionJobSummary(
+            String jobName,
+            boolean finished,
+            boolean failed,
+            long elapsedNanos,
+            int expectedRequests,
+            long requestsSent,
+            long samplesSent,
+            long bytesSent,
+            long retries,
+            long rejects,
+            long errors,
+            long latencyP50Nanos,
+            long latencyP95Nanos,
+            long latencyP99Nanos,
+            long latencyMaxNanos
+    ) {
+        this.jobName = jobName;
+        this.finished = finished;
+        this.failed = failed;
+        this.elapsedNanos = elapsedNanos;
+        this.expectedRequests = expectedRequests;
+        this.requestsSent = requestsSent;
+        this.samplesSent = samplesSent;
+        this.bytesSent = bytesSent;
+        this.retries = retries;
+        this.rejects = rejects;
+        this.errors = errors;
+        this.latencyP50Nanos = latencyP50Nanos;
+        this.latencyP95Nanos = latencyP95Nanos;
+        this.latencyP99Nanos = latencyP99Nanos;
+        this.latencyMaxNanos = latencyMaxNanos;
+    }
+
+    public double elapsedSeconds() {
+        return elapsedNanos / NANOS_PER_SECOND;
+    }
+
+    public double samplesPerSecond() {
+        return elapsedNanos > 0 ? samplesSent / elapsedSeconds() : 0;
+    }
+
+    public double bytesPerSecond() {
+        return elapsedNanos > 0 ? bytesSent / elapsedSeconds() : 0;
+    }
+
+    /**
+     * Fraction of expected requests sent, or -1 (indeterminate) when the total is not yet known.
+     */
+    public double progress() {
+        if (expectedRequests <= 0) {
+            return -1;
+        }
+        return Math.min(1.0, (double) requestsSent / expectedRequests);
+    }
+
+    public String status() {
+        if (!finished) {
+            return "running";
+        }
+        return failed ? "failed" : "completed";
+    }
+
+    public static double nanosToMillis(long nanos) {
+        return nanos / NANOS_PER_MILLI;
+    }
+
+    /**
+     * Returns the CSV values in CSV_COLUMNS order.  Numbers are formatted with Locale.ROOT so the
+     * decimal separator never collides with the field separator.
+     */
+    public List<String> csvValues() {
+        return List.of(
+                jobName,
+                status(),
+                String.format(Locale.ROOT, "%.3f", elapsedSeconds()),
+                String.valueOf(expectedRequests),
+                String.valueOf(requestsSent),
+                String.valueOf(samplesSent),
+                String.valueOf(bytesSent),
+                String.format(Locale.ROOT, "%.1f", samplesPerSecond()),
+                String.format(Locale.ROOT, "%.1f", bytesPerSecond()),
+                String.valueOf(retries),
+                String.valueOf(rejects),
+                String.valueOf(errors),
+                String.format(Locale.ROOT, "%.3f", nanosToMillis(latencyP50Nanos)),
+                String.format(Locale.ROOT, "%.3f", nanosToMillis(latencyP95Nanos)),
+                String.format(Locale.ROOT, "%.3f", nanosToMillis(latencyP99Nanos)),
+                String.format(Locale.ROOT, "%.3f", nanosToMillis(latencyMaxNanos)));
+    }
+
+    /**
+     * Writes the summary to the specified file as a CSV header line followed by a values line.
+     */
+    public void writeCsv(Path path) throws IOException {
+        final String content = String.join(",", CSV_COLUMNS) + System.lineSeparator()
+                + String.join(",", csvValues().stream().map(IngestionJobSummary::csvField).toList())
+                + System.lineSeparator();
+        Files.writeString(path, content, StandardCharsets.UTF_8);
+    }
+
+    private static String csvField(String value) {
+        if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "%s %s: %d/%d requests, %d samples, %.1f samples/s, %.1f bytes/s, "
+                        + "ack latency p50 %.2f ms p95 %.2f ms p99 %.2f ms, %d retries, %d rejects",
+                jobName, status(), requestsSent, expectedRequests, samplesSent, samplesPerSecond(),
+                bytesPerSecond(), nanosToMillis(latencyP50Nanos), nanosToMillis(latencyP95Nanos),
+                nanosToMillis(latencyP99Nanos), retries, rejects);
+    }
+}
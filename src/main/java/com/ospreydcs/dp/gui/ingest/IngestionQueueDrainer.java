@@ -0,0 +1,182 @@
+package com.ospreydcs.dp.gui.ingest;
+
+import com.ospreydcs.dp.grpc.v1.ingestion.IngestDataRequest;
+import com.ospreydcs.dp.service.common.config.ConfigurationManager;
+import com.ospreydcs.dp.service.common.model.ResultStatus;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Drains an IngestionWriteAheadQueue with a pool of sender threads.
+ *
+ * A dispatcher thread reads pending requests from the queue and hands them to the pool, holding
+ * at most two requests per sender in flight.  Each request acknowledged by the service is
+ * checkpointed in the queue.  On the first failed request the dispatcher stops handing out new
+ * requests and lets those in flight finish; everything not checkpointed stays in the queue for a
+ * later resume.
+ */
+public class IngestionQueueDrainer {
+
+    private static final Logger logger = LogManager.getLogger();
+
+    // configuration
+    public static final String CFG_KEY_SENDER_THREADS = "DesktopApp.Ingestion.senderThreads";
+    public static final int DEFAULT_SENDER_THREADS = 4;
+    public static final String CFG_KEY_MAX_PENDING_REQUESTS = "DesktopApp.Ingestion.maxPendingRequests";
+    public static final int DEFAULT_MAX_PENDING_REQUESTS = 64;
+    public static final String CFG_KEY_FRAMES_IN_FLIGHT = "DesktopApp.Ingestion.framesInFlight";
+    public static final int DEFAULT_FRAMES_IN_FLIGHT = 8;
+
+    // constants
+    private static final long CAPACITY_POLL_MILLIS = 100;
+
+    // instance variables
+    private final IngestionWriteAheadQueue queue;
+    private final Function<IngestDataRequest, ResultStatus> sender;
+    private final ExecutorService senderPool;
+    private final Semaphore inFlight;
+    private final AtomicReference<ResultStatus> firstError = new AtomicReference<>();
+    private final CompletableFuture<ResultStatus> completion = new CompletableFuture<>();
+    private Thread dispatcherThread = null;
+
+    /**
+     * sender sends one request and returns its status; it is called concurrently from senderCount
+     * threads.
+     */
+    public IngestionQueueDrainer(
+            IngestionWriteAheadQueue queue,
+            int senderCount,
+            Function<IngestDataRequest, ResultStatus> sender
+    ) {
+        final int threads = Math.max(1, senderCount);
+        this.queue = queue;
+        this.sender = sender;
+        this.senderPool = Executors.newFixedThreadPool(threads, runnable -> {
+            final Thread thread = new Thread(runnable, "ingestion-sender");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.inFlight = new Semaphore(threads * 2);
+    }
+
+    protected static ConfigurationManager configMgr() {
+        return ConfigurationManager.getInstance();
+    }
+
+    /**
+     * The configured number of sender threads per ingestion job.
+     */
+    public static int senderThreads() {
+        return configMgr().getConfigInteger(CFG_KEY_SENDER_THREADS, DEFAULT_SENDER_THREADS);
+    }
+
+    /**
+     * The configured number of queued requests a producer may be ahead of the senders.
+     */
+    public static int maxPendingRequests() {
+        return configMgr().getConfigInteger(CFG_KEY_MAX_PENDING_REQUESTS, DEFAULT_MAX_PENDING_REQUESTS);
+    }
+
+    /**
+     * The configured number of imported frames encoded into queued requests at the same time.
+     */
+    public static int framesInFlight() {
+        return configMgr().getConfigInteger(CFG_KEY_FRAMES_IN_FLIGHT, DEFAULT_FRAMES_IN_FLIGHT);
+    }
+
+    public void start() {
+        dispatcherThread = new Thread(this::dispatch, "ingestion-queue-dispatcher");
+        dispatcherThread.setDaemon(true);
+        dispatcherThread.start();
+    }
+
+    /**
+     * Returns true once a request has failed; producers may use this to stop early.
+     */
+    public boolean hasFailed() {
+        return firstError.get() != null;
+    }
+
+    /**
+     * Blocks a producer while maxPending or more queued requests are unacknowledged, returning
+     * early once a request has failed so the producer can stop.
+     */
+    public void awaitCapacity(long maxPending) throws InterruptedException {
+        while (!hasFailed() && !queue.awaitPendingBelow(maxPending, CAPACITY_POLL_MILLIS)) {
+            logger.trace("waiting for ingestion senders: {}", queue.getJobDirectory());
+        }
+    }
+
+    /**
+     * Waits until the queue is sealed and drained, or a request fails, and returns the outcome.
+     */
+    public ResultStatus awaitCompletion() throws InterruptedException {
+        try {
+            return completion.get();
+        } catch (ExecutionException e) {
+            return new ResultStatus(true, "ingestion queue dispatcher failed: " + e.getCause().getMessage());
+        }
+    }
+
+    private void dispatch() {
+        try {
+            IngestDataRequest request;
+            while (firstError.get() == null && (request = queue.nextPending()) != null) {
+                inFlight.acquire();
+                final IngestDataRequest pendingRequest = request;
+                senderPool.execute(() -> {
+                    try {
+                        send(pendingRequest);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            firstError.compareAndSet(null, new ResultStatus(true, "ingestion interrupted"));
+        } catch (Exception e) {
+            logger.error("error reading ingestion queue: {}", queue.getJobDirectory(), e);
+            firstError.compareAndSet(null, new ResultStatus(true, "error reading ingestion queue: " + e.getMessage()));
+        }
+
+        // let in-flight requests finish so their checkpoints are written
+        senderPool.shutdown();
+        try {
+            while (!senderPool.awaitTermination(1, TimeUnit.SECONDS)) {
+                logger.debug("waiting for in-flight ingestion requests");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        final ResultStatus error = firstError.get();
+        completion.complete(error != null ? error : new ResultStatus(false, ""));
+    }
+
+    private void send(IngestDataRequest request) {
+        if (firstError.get() != null) {
+            return; // leave it in the queue for resume
+        }
+        try {
+            final ResultStatus status = sender.apply(request);
+            if (status.isError) {
+                firstError.compareAndSet(null, status);
+                return;
+            }
+            queue.markCompleted(request.getClientRequestId());
+        } catch (Exception e) {
+            logger.error("error sending queued request: {}", request.getClientRequestId(), e);
+            firstError.compareAndSet(null, new ResultStatus(true, "error sending queued request: " + e.getMessage()));
+        }
+    }
+}
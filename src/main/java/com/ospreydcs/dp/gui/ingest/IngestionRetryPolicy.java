@@ -0,0 +1,107 @@
+package com.ospreydcs.dp.gui.ingest;
+
+import com.ospreydcs.dp.service.common.config.ConfigurationManager;
+import io.grpc.Status;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Decides whether a failed ingestData() request is retried.
+ *
+ * A failure is retried only when its gRPC status code is transient.  The ingestion client reports
+ * a failed call by the message of its StatusRuntimeException, which starts with the status code
+ * ("UNAVAILABLE: io exception"), so the code is parsed back from that prefix and classified by
+ * value.  Any other failure is the service refusing the request itself, which is counted as a
+ * reject and never retried, since sending the same request again would only be refused again.
+ */
+public class IngestionRetryPolicy {
+
+    // configuration
+    public static final String CFG_KEY_MAX_RETRIES = "DesktopApp.Ingestion.maxRetries";
+    public static final int DEFAULT_MAX_RETRIES = 2;
+    public static final String CFG_KEY_RETRY_BACKOFF_MILLIS = "DesktopApp.Ingestion.retryBackoffMillis";
+    public static final int DEFAULT_RETRY_BACKOFF_MILLIS = 250;
+
+    // constants
+    private static final Set<Status.Code> TRANSIENT_STATUS_CODES = EnumSet.of(
+            Status.Code.UNAVAILABLE, Status.Code.DEADLINE_EXCEEDED, Status.Code.RESOURCE_EXHAUSTED, Status.Code.ABORTED);
+    private static final Pattern STATUS_CODE_PREFIX = Pattern.compile("([A-Z][A-Z_]*): ");
+
+    // instance variables
+    private final int maxRetries;
+    private final long backoffMillis;
+
+    public IngestionRetryPolicy(int maxRetries, long backoffMillis) {
+        this.maxRetries = Math.max(0, maxRetries);
+        this.backoffMillis = Math.max(0, backoffMillis);
+    }
+
+    protected static ConfigurationManager configMgr() {
+        return ConfigurationManager.getInstance();
+    }
+
+    /**
+     * Returns the policy configured in application.yml.
+     */
+    public static IngestionRetryPolicy fromConfig() {
+        return new IngestionRetryPolicy(
+                configMgr().getConfigInteger(CFG_KEY_MAX_RETRIES, DEFAULT_MAX_RETRIES),
+                configMgr().getConfigInteger(CFG_KEY_RETRY_BACKOFF_MILLIS, DEFAULT_RETRY_BACKOFF_MILLIS));
+    }
+
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    /**
+     * Returns the gRPC status code a failure message was reported with, or null if the message
+     * does not start with one.  A code mentioned anywhere after the start is part of the
+     * description, not the status of the call.
+     */
+    public static Status.Code statusCode(String errorMessage) {
+        if (errorMessage == null) {
+            return null;
+        }
+        final Matcher matcher = STATUS_CODE_PREFIX.matcher(errorMessage);
+        if (!matcher.lookingAt()) {
+            return null;
+        }
+        try {
+            return Status.Code.valueOf(matcher.group(1));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns true if a failure with the specified status code is transient and worth retrying.
+     */
+    public static boolean isTransient(Status.Code statusCode) {
+        return statusCode != null && TRANSIENT_STATUS_CODES.contains(statusCode);
+    }
+
+    /**
+     * Returns true if a failure with the specified message is transient and worth retrying.
+     */
+    public static boolean isTransient(String errorMessage) {
+        return isTransient(statusCode(errorMessage));
+    }
+
+    /**
+     * Returns true if a request that failed with errorMessage on attempt number attempt (1-based)
+     * should be sent again.
+     */
+    public boolean shouldRetry(int attempt, String errorMessage) {
+        return attempt <= maxRetries && isTransient(errorMessage);
+    }
+
+    /**
+     * Returns the delay before the retry that follows attempt number attempt: linear backoff.
+     */
+    public long backoffMillis(int attempt) {
+        return backoffMillis * attempt;
+    }
+}
@@ -0,0 +1,464 @@
+package com.ospreydcs.dp.gui.ingest;
+
+import com.google.protobuf.CodedOutputStream;
+import com.ospreydcs.dp.grpc.v1.common.ColumnMetadata;
+import com.ospreydcs.dp.grpc.v1.ingestion.IngestDataRequest;
+import com.ospreydcs.dp.service.common.config.ConfigurationManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Durable, append-only queue of IngestDataRequests for one ingestion job.
+ *
+ * Each job is a directory holding:
+ *   requests.log         length-delimited IngestDataRequest messages, appended by the producer
+ *   completed.log        one clientRequestId per line, appended as the service acknowledges each request
+ *   column-metadata.bin  the job's ColumnMetadata, if any, applied to every request when sent
+ *   sealed               marker written once the producer has appended every request of the job
+ *   owner.lock           empty file locked exclusively by the process that has the job open
+ *
+ * The producer (file parsing) appends at disk speed while a single reader thread tails the log at
+ * send speed, so parsing is never held back by service acks.  The reader only reads up to the
+ * last fully written record.  A job interrupted by a failure or a crash keeps its directory; it is
+ * resumed by reopening it, which skips every request already in the checkpoint.  A job is only
+ * ever open in one queue at a time: the queue holds an exclusive lock on the job's lock file until
+ * it is closed, so a job still being written or sent, by this application or another instance of
+ * it, is neither listed as interrupted nor reopened.
+ *
+ * Records are flushed to the OS on every append and checkpoint, which survives an application
+ * crash.  The log is forced to the device only when the job is sealed, since forcing on every
+ * record would tie parsing speed to disk sync latency.
+ */
+public class IngestionWriteAheadQueue implements Closeable {
+
+    private static final Logger logger = LogManager.getLogger();
+
+    // configuration
+    public static final String CFG_KEY_QUEUE_DIRECTORY = "DesktopApp.Ingestion.queueDirectory";
+    public static final String DEFAULT_QUEUE_DIRECTORY =
+            Path.of(System.getProperty("user.home"), ".dp-desktop-app", "ingestion-queue").toString();
+
+    // constants
+    public static final String REQUESTS_FILE = "requests.log";
+    public static final String COMPLETED_FILE = "completed.log";
+    public static final String COLUMN_METADATA_FILE = "column-metadata.bin";
+    public static final String SEALED_FILE = "sealed";
+    public static final String LOCK_FILE = "owner.lock";
+
+    // job directories locked by queues in this process
+    private static final Set<Path> lockedJobs = ConcurrentHashMap.newKeySet();
+
+    // instance variables
+    private final Path jobDirectory;
+    private final FileChannel lockChannel;
+    private final ColumnMetadata columnMetadata;
+    private final Set<String> completedRequestIds;
+    private final FileChannel requestsChannel;
+    private final OutputStream requestsOutput;
+    private final BufferedWriter completedWriter;
+    private final InputStream readInput;
+    private long committedBytes;
+    private long appendedCount;
+    private boolean sealed;
+    private boolean closed = false;
+
+    // reader state, touched only by the single reader thread
+    private long readPosition = 0;
+
+    private IngestionWriteAheadQueue(
+            Path jobDirectory,
+            FileChannel lockChannel,
+            ColumnMetadata columnMetadata,
+            Set<String> completedRequestIds,
+            long committedBytes,
+            long appendedCount,
+            boolean sealed
+    ) throws IOException {
+        this.jobDirectory = jobDirectory;
+        this.lockChannel = lockChannel;
+        this.columnMetadata = columnMetadata;
+        this.completedRequestIds = completedRequestIds;
+        this.committedBytes = committedBytes;
+        this.appendedCount = appendedCount;
+        this.sealed = sealed;
+
+        final Path requestsFile = jobDirectory.resolve(REQUESTS_FILE);
+        this.requestsChannel = FileChannel.open(
+                requestsFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        this.requestsOutput = new BufferedOutputStream(Channels.newOutputStream(requestsChannel));
+        this.completedWriter = Files.newBufferedWriter(
+                jobDirectory.resolve(COMPLETED_FILE), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        this.readInput = new BufferedInputStream(Files.newInputStream(requestsFile));
+    }
+
+    protected static ConfigurationManager configMgr() {
+        return ConfigurationManager.getInstance();
+    }
+
+    /**
+     * The configured directory holding one subdirectory per unfinished ingestion job.
+     */
+    public static Path rootDirectory() {
+        return Path.of(configMgr().getConfigString(CFG_KEY_QUEUE_DIRECTORY, DEFAULT_QUEUE_DIRECTORY));
+    }
+
+    /**
+     * Creates a new, empty job directory under rootDirectory.  columnMetadata may be null.
+     */
+    public static IngestionWriteAheadQueue create(Path rootDirectory, ColumnMetadata columnMetadata)
+            throws IOException {
+        final Path jobDirectory = rootDirectory.resolve(UUID.randomUUID().toString());
+        Files.createDirectories(jobDirectory);
+        final FileChannel lockChannel = lockJob(jobDirectory);
+        try {
+            if (columnMetadata != null) {
+                try (OutputStream output = Files.newOutputStream(jobDirectory.resolve(COLUMN_METADATA_FILE))) {
+                    columnMetadata.writeTo(output);
+                }
+            }
+            logger.debug("created ingestion queue: {}", jobDirectory);
+            return new IngestionWriteAheadQueue(
+                    jobDirectory, lockChannel, columnMetadata, new HashSet<>(), 0, 0, false);
+        } catch (IOException | RuntimeException e) {
+            unlockJob(jobDirectory, lockChannel);
+            throw e;
+        }
+    }
+
+    /**
+     * Reopens an existing job directory to resume it.  A record left partially written by a crash
+     * is truncated from the end of the log: it was never handed to a sender, so nothing is lost
+     * that the producer had not yet committed.
+     */
+    public static IngestionWriteAheadQueue open(Path jobDirectory) throws IOException {
+        final Path requestsFile = jobDirectory.resolve(REQUESTS_FILE);
+        if (!Files.isRegularFile(requestsFile)) {
+            throw new IOException("not an ingestion queue directory: " + jobDirectory);
+        }
+
+        final FileChannel lockChannel = lockJob(jobDirectory);
+        try {
+            ColumnMetadata columnMetadata = null;
+            final Path columnMetadataFile = jobDirectory.resolve(COLUMN_METADATA_FILE);
+            if (Files.isRegularFile(columnMetadataFile)) {
+                try (InputStream input = Files.newInputStream(columnMetadataFile)) {
+                    columnMetadata = ColumnMetadata.parseFrom(input);
+                }
+            }
+
+            final Set<String> completedRequestIds = new HashSet<>();
+            final Path completedFile = jobDirectory.resolve(COMPLETED_FILE);
+            if (Files.isRegularFile(completedFile)) {
+                for (String line : Files.readAllLines(completedFile, StandardCharsets.UTF_8)) {
+                    if (!line.isBlank()) {
+                        completedRequestIds.add(line.trim());
+                    }
+                }
+            }
+
+            // find the end of the last complete record
+            long validBytes = 0;
+            long recordCount = 0;
+            try (InputStream input = new BufferedInputStream(Files.newInputStream(requestsFile))) {
+                while (true) {
+                    final IngestDataRequest request;
+                    try {
+                        request = IngestDataRequest.parseDelimitedFrom(input);
+                    } catch (IOException e) {
+                        logger.warn("truncating partial record at offset: {} in: {}", validBytes, requestsFile);
+                        break;
+                    }
+                    if (request == null) {
+                        break;
+                    }
+                    validBytes += delimitedSize(request);
+                    recordCount++;
+                }
+            }
+            if (validBytes < Files.size(requestsFile)) {
+                try (FileChannel channel = FileChannel.open(requestsFile, StandardOpenOption.WRITE)) {
+                    channel.truncate(validBytes);
+                }
+            }
+
+            final boolean sealed = Files.exists(jobDirectory.resolve(SEALED_FILE));
+            logger.debug("opened ingestion queue: {} requests: {} completed: {} sealed: {}",
+                    jobDirectory, recordCount, completedRequestIds.size(), sealed);
+            return new IngestionWriteAheadQueue(
+                    jobDirectory, lockChannel, columnMetadata, completedRequestIds, validBytes, recordCount, sealed);
+        } catch (IOException | RuntimeException e) {
+            unlockJob(jobDirectory, lockChannel);
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the job directories under rootDirectory that are not open in a queue, oldest first.
+     * Every directory left there is an unfinished job, since a job's directory is deleted once all
+     * of its requests complete.
+     */
+    public static List<Path> listJobs(Path rootDirectory) throws IOException {
+        if (!Files.isDirectory(rootDirectory)) {
+            return List.of();
+        }
+        try (Stream<Path> entries = Files.list(rootDirectory)) {
+            return entries
+                    .filter(path -> Files.isRegularFile(path.resolve(REQUESTS_FILE)))
+                    .filter(path -> !isInUse(path))
+                    .sorted(Comparator.comparing(IngestionWriteAheadQueue::lastModified))
+                    .toList();
+        }
+    }
+
+    /**
+     * Returns true if the job is open in a queue, in this process or another.
+     */
+    public static boolean isInUse(Path jobDirectory) {
+        try {
+            unlockJob(jobDirectory, lockJob(jobDirectory));
+            return false;
+        } catch (IOException e) {
+            return true;
+        }
+    }
+
+    /**
+     * Opens the job's lock file and takes an exclusive lock on it, released by unlockJob().
+     * Throws an IOException if the job is already locked.
+     *
+     * Jobs locked by this process are also tracked in lockedJobs, and the lock file is only opened
+     * when the job is not among them: on POSIX systems closing any channel on a file releases every
+     * lock the process holds on it, so a second channel must never be opened and closed alongside
+     * the owner's.
+     */
+    private static FileChannel lockJob(Path jobDirectory) throws IOException {
+        final Path lockKey = jobDirectory.toAbsolutePath().normalize();
+        if (!lockedJobs.add(lockKey)) {
+            throw new IOException("ingestion queue is in use: " + jobDirectory);
+        }
+        FileChannel channel = null;
+        try {
+            channel = FileChannel.open(
+                    jobDirectory.resolve(LOCK_FILE), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            final FileLock lock = channel.tryLock();
+            if (lock == null) {
+                throw new IOException("ingestion queue is in use by another process: " + jobDirectory);
+            }
+            return channel;
+        } catch (IOException | RuntimeException e) {
+            try {
+                if (channel != null) {
+                    channel.close();
+                }
+            } finally {
+                lockedJobs.remove(lockKey);
+            }
+            throw e;
+        }
+    }
+
+    private static void unlockJob(Path jobDirectory, FileChannel lockChannel) throws IOException {
+        try {
+            // closing the channel releases the lock
+            lockChannel.close();
+        } finally {
+            lockedJobs.remove(jobDirectory.toAbsolutePath().normalize());
+        }
+    }
+
+    private static long lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    private static long delimitedSize(IngestDataRequest request) {
+        final int size = request.getSerializedSize();
+        return CodedOutputStream.computeUInt32SizeNoTag(size) + size;
+    }
+
+    public Path getJobDirectory() {
+        return jobDirectory;
+    }
+
+    /**
+     * The column metadata to apply to every request in the job, or null if none was entered.
+     */
+    public ColumnMetadata getColumnMetadata() {
+        return columnMetadata;
+    }
+
+    public synchronized long getAppendedCount() {
+        return appendedCount;
+    }
+
+    public synchronized int getCompletedCount() {
+        return completedRequestIds.size();
+    }
+
+    public synchronized boolean isSealed() {
+        return sealed;
+    }
+
+    // ------------------- producer ---------------------------
+
+    /**
+     * Appends a request to the log and wakes the reader.
+     */
+    public synchronized void append(IngestDataRequest request) throws IOException {
+        if (sealed) {
+            throw new IllegalStateException("ingestion queue is sealed: " + jobDirectory);
+        }
+        request.writeDelimitedTo(requestsOutput);
+        requestsOutput.flush();
+        committedBytes += delimitedSize(request);
+        appendedCount++;
+        notifyAll();
+    }
+
+    /**
+     * Marks the job as fully produced: once the reader has consumed every appended request,
+     * nextPending() returns null instead of waiting for more.
+     */
+    public synchronized void seal() throws IOException {
+        if (sealed) {
+            return;
+        }
+        requestsOutput.flush();
+        requestsChannel.force(true);
+        Files.createFile(jobDirectory.resolve(SEALED_FILE));
+        sealed = true;
+        notifyAll();
+    }
+
+    // ------------------- consumer ---------------------------
+
+    /**
+     * Returns the next request not yet checkpointed as completed, waiting for the producer if the
+     * log has been fully read but the job is not sealed.  Returns null once the job is sealed and
+     * every request has been read.  Must only be called from a single reader thread.
+     */
+    public IngestDataRequest nextPending() throws IOException, InterruptedException {
+        while (true) {
+            synchronized (this) {
+                while (readPosition >= committedBytes && !sealed && !closed) {
+                    wait();
+                }
+                if (readPosition >= committedBytes) {
+                    return null;
+                }
+            }
+
+            // the record at readPosition is fully written, so it can be parsed without the lock
+            final IngestDataRequest request = IngestDataRequest.parseDelimitedFrom(readInput);
+            if (request == null) {
+                throw new IOException("unexpected end of ingestion queue log: " + jobDirectory);
+            }
+            readPosition += delimitedSize(request);
+
+            synchronized (this) {
+                if (!completedRequestIds.contains(request.getClientRequestId())) {
+                    return request;
+                }
+            }
+        }
+    }
+
+    /**
+     * Checkpoints a request as acknowledged by the service, so it is skipped on resume.
+     */
+    public synchronized void markCompleted(String clientRequestId) throws IOException {
+        if (completedRequestIds.add(clientRequestId)) {
+            completedWriter.write(clientRequestId);
+            completedWriter.newLine();
+            completedWriter.flush();
+            notifyAll();
+        }
+    }
+
+    /**
+     * Waits up to timeoutMillis until fewer than maxPending appended requests are still to be
+     * checkpointed, and returns true if they are.  Producers use this to stay only a bounded
+     * number of requests ahead of the senders.
+     */
+    public synchronized boolean awaitPendingBelow(long maxPending, long timeoutMillis) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + timeoutMillis;
+        long remainingMillis = timeoutMillis;
+        while (appendedCount - completedRequestIds.size() >= maxPending && !closed && remainingMillis > 0) {
+            wait(remainingMillis);
+            remainingMillis = deadline - System.currentTimeMillis();
+        }
+        return appendedCount - completedRequestIds.size() < maxPending;
+    }
+
+    /**
+     * Returns true if every appended request has been checkpointed and the job is sealed.
+     */
+    public synchronized boolean isComplete() {
+        return sealed && completedRequestIds.size() >= appendedCount;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        notifyAll();
+        try {
+            requestsOutput.close();
+        } finally {
+            try {
+                completedWriter.close();
+            } finally {
+                try {
+                    readInput.close();
+                } finally {
+                    unlockJob(jobDirectory, lockChannel);
+                }
+            }
+        }
+    }
+
+    /**
+     * Closes the queue and deletes its job directory.  Called once the job is complete.
+     */
+    public void delete() throws IOException {
+        close();
+        final List<Path> files = new ArrayList<>();
+        try (Stream<Path> entries = Files.list(jobDirectory)) {
+            entries.forEach(files::add);
+        }
+        for (Path file : files) {
+            Files.deleteIfExists(file);
+        }
+        Files.deleteIfExists(jobDirectory);
+        logger.debug("deleted completed ingestion queue: {}", jobDirectory);
+    }
+}
@@ -0,0 +1,123 @@
+package com.ospreydcs.dp.gui.ingest;
+
+import com.ospreydcs.dp.gui.model.PvDetail;
+import com.ospreydcs.dp.service.common.model.ResultStatus;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Drives data generation from many providers at once, as a deployment of many IOCs would.
+ *
+ * The PV set is spread round-robin across the simulated providers, and each provider runs its
+ * own ingest loop on a virtual thread, sending its PVs one after another under its own provider
+ * id.  Providers therefore contend for the ingestion service concurrently while each provider's
+ * requests stay in order, which is the load pattern the ingestion handler sees in production.
+ * Virtual threads keep hundreds of mostly-blocked provider loops cheap.
+ *
+ * On the first failed PV every provider stops before its next PV; PVs already in progress finish.
+ */
+public final class ProviderSimulation {
+
+    private static final Logger logger = LogManager.getLogger();
+
+    // constants
+    public static final String PROVIDER_NAME_FORMAT = "%s-sim-%03d";
+    public static final String THREAD_NAME_PREFIX = "sim-provider-";
+
+    /**
+     * Generates and ingests one PV's data as the specified provider.  Called concurrently from
+     * one virtual thread per provider.
+     */
+    @FunctionalInterface
+    public interface PvIngester {
+        ResultStatus ingest(String providerId, PvDetail pvDetail);
+    }
+
+    private ProviderSimulation() {
+    }
+
+    /**
+     * Returns the registration name of simulated provider providerIndex (0-based).
+     */
+    public static String simulatedProviderName(String baseProviderName, int providerIndex) {
+        return String.format(PROVIDER_NAME_FORMAT, baseProviderName, providerIndex + 1);
+    }
+
+    /**
+     * Returns the number of providers actually simulated: no more than there are PVs, since a
+     * provider without PVs would register and then send nothing.  Always at least 1.
+     */
+    public static int effectiveProviderCount(int requestedProviderCount, int pvCount) {
+        return Math.max(1, Math.min(requestedProviderCount, pvCount));
+    }
+
+    /**
+     * Deals items round-robin into groupCount groups, preserving their order within each group.
+     * Groups differ in size by at most one.
+     */
+    public static <T> List<List<T>> assignRoundRobin(List<T> items, int groupCount) {
+        if (groupCount <= 0) {
+            throw new IllegalArgumentException("groupCount must be positive: " + groupCount);
+        }
+        final List<List<T>> groups = new ArrayList<>(groupCount);
+        for (int groupIndex = 0; groupIndex < groupCount; groupIndex++) {
+            groups.add(new ArrayList<>());
+        }
+        for (int itemIndex = 0; itemIndex < items.size(); itemIndex++) {
+            groups.get(itemIndex % groupCount).add(items.get(itemIndex));
+        }
+        return groups;
+    }
+
+    /**
+     * Runs one ingest loop per provider concurrently and waits for all of them.  providerPvs.get(i)
+     * is the PV list sent by providerIds.get(i).  Returns the first error, or success once every
+     * provider has sent all of its PVs.
+     */
+    public static ResultStatus run(
+            List<String> providerIds,
+            List<List<PvDetail>> providerPvs,
+            PvIngester ingester
+    ) {
+        if (providerIds.size() != providerPvs.size()) {
+            throw new IllegalArgumentException(
+                    "provider count: " + providerIds.size() + " does not match PV group count: " + providerPvs.size());
+        }
+
+        final AtomicReference<ResultStatus> firstError = new AtomicReference<>();
+        try (ExecutorService providerLoops =
+                     Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(THREAD_NAME_PREFIX, 1).factory())) {
+
+            for (int providerIndex = 0; providerIndex < providerIds.size(); providerIndex++) {
+                final String providerId = providerIds.get(providerIndex);
+                final List<PvDetail> pvDetails = providerPvs.get(providerIndex);
+                providerLoops.execute(() -> {
+                    for (PvDetail pvDetail : pvDetails) {
+                        if (firstError.get() != null) {
+                            return;
+                        }
+                        try {
+                            final ResultStatus status = ingester.ingest(providerId, pvDetail);
+                            if (status.isError) {
+                                firstError.compareAndSet(null, status);
+                            }
+                        } catch (Exception e) {
+                            logger.error("simulated provider: {} failed on pv: {}", providerId, pvDetail.getPvName(), e);
+                            firstError.compareAndSet(null, new ResultStatus(
+                                    true, "simulated provider failed on PV " + pvDetail.getPvName() + ": " + e.getMessage()));
+                        }
+                    }
+                });
+            }
+        } // close() waits for every provider loop to finish
+
+        final ResultStatus error = firstError.get();
+        return error != null ? error : new ResultStatus(false, "");
+    }
+}
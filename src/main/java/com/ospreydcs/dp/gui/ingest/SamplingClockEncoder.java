@@ -0,0 +1,146 @@
+package com.ospreydcs.dp.gui.ingest;
+
+import com.ospreydcs.dp.grpc.v1.common.DataColumn;
+import com.ospreydcs.dp.grpc.v1.common.Timestamp;
+import com.ospreydcs.dp.gui.model.DataFrameDetails;
+import com.ospreydcs.dp.service.common.config.ConfigurationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Re-encodes imported frames with regularly spaced timestamps as sampling clock frames.
+ *
+ * An explicit TimestampList costs a Timestamp message per row, which for a single-column frame of
+ * doubles is about as large as the data itself.  A SamplingClock (start time, period, count)
+ * replaces it with a few bytes whenever the rows are exactly evenly spaced.  Frames are scanned for
+ * runs of constant period: a frame that is one run becomes a single sampling clock segment, and a
+ * frame that is regular only in stretches is cut into sampling clock segments for runs of at least
+ * minRunLength rows with explicit-timestamp segments for the rows between them.
+ *
+ * The period must be exactly constant, since the service reconstructs every timestamp from the
+ * clock; rows with jitter keep their explicit timestamps.
+ */
+public final class SamplingClockEncoder {
+
+    // configuration
+    public static final String CFG_KEY_MIN_RUN_LENGTH = "DesktopApp.Ingestion.samplingClockMinRunLength";
+
+    // constants
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    /**
+     * Shortest run sent as its own sampling clock segment.  Shorter runs would save a few
+     * timestamps at the cost of an extra request.
+     */
+    public static final int DEFAULT_MIN_RUN_LENGTH = 64;
+
+    private SamplingClockEncoder() {
+    }
+
+    protected static ConfigurationManager configMgr() {
+        return ConfigurationManager.getInstance();
+    }
+
+    /**
+     * The configured shortest run re-encoded as its own sampling clock segment.
+     */
+    public static int minRunLength() {
+        return configMgr().getConfigInteger(CFG_KEY_MIN_RUN_LENGTH, DEFAULT_MIN_RUN_LENGTH);
+    }
+
+    /**
+     * A row range [fromRow, toRow) of a frame, either regularly sampled at periodNanos or, when
+     * periodNanos is 0, sent with explicit timestamps.
+     */
+    public static class Segment {
+
+        public final DataFrameDetails frame;
+        public final long periodNanos;
+
+        public Segment(DataFrameDetails frame, long periodNanos) {
+            this.frame = frame;
+            this.periodNanos = periodNanos;
+        }
+
+        public boolean isSamplingClock() {
+            return periodNanos > 0;
+        }
+    }
+
+    private static long toNanos(Timestamp timestamp) {
+        return timestamp.getEpochSeconds() * NANOS_PER_SECOND + timestamp.getNanoseconds();
+    }
+
+    /**
+     * Returns the row ranges of constant positive period as {fromRow, toRow, periodNanos}, covering
+     * every row in order.  Rows that are not part of a run of at least minRunLength rows are
+     * returned as irregular ranges with periodNanos 0, merged with their irregular neighbours.
+     */
+    static List<long[]> findRuns(List<Timestamp> timestamps, int minRunLength) {
+        final int rowCount = timestamps.size();
+        final List<long[]> ranges = new ArrayList<>();
+        if (rowCount == 0) {
+            return ranges;
+        }
+
+        int irregularStart = 0;
+        int runStart = 0;
+        while (runStart < rowCount - 1) {
+
+            // extend a run of constant period from runStart
+            final long periodNanos = toNanos(timestamps.get(runStart + 1)) - toNanos(timestamps.get(runStart));
+            int runEnd = runStart + 2;
+            while (runEnd < rowCount
+                    && toNanos(timestamps.get(runEnd)) - toNanos(timestamps.get(runEnd - 1)) == periodNanos) {
+                runEnd++;
+            }
+
+            if (periodNanos > 0 && runEnd - runStart >= minRunLength) {
+                if (irregularStart < runStart) {
+                    ranges.add(new long[]{irregularStart, runStart, 0});
+                }
+                ranges.add(new long[]{runStart, runEnd, periodNanos});
+                irregularStart = runEnd;
+                runStart = runEnd;
+            } else {
+                // the run's last row may start the next run
+                runStart = Math.max(runStart + 1, runEnd - 1);
+            }
+        }
+        if (irregularStart < rowCount) {
+            ranges.add(new long[]{irregularStart, rowCount, 0});
+        }
+        return ranges;
+    }
+
+    /**
+     * Cuts a frame into sampling clock and explicit-timestamp segments.  A frame that is regular
+     * throughout becomes one sampling clock segment however short it is, since that costs no extra
+     * request.  A frame with no qualifying run is returned as a single explicit segment.  Single
+     * segments share the original lists.
+     */
+    public static List<Segment> encode(
+            String name,
+            List<Timestamp> timestamps,
+            List<DataColumn> columns,
+            int minRunLength
+    ) {
+        List<long[]> ranges = findRuns(timestamps, 2);
+        if (ranges.size() != 1 || ranges.get(0)[2] == 0) {
+            ranges = findRuns(timestamps, Math.max(2, minRunLength));
+        }
+        final List<Segment> segments = new ArrayList<>(ranges.size());
+        if (ranges.size() == 1) {
+            final long[] range = ranges.get(0);
+            segments.add(new Segment(new DataFrameDetails(name, timestamps, columns), range[2]));
+            return segments;
+        }
+        for (long[] range : ranges) {
+            segments.add(new Segment(
+                    BucketSizing.sliceFrame(name, timestamps, columns, (int) range[0], (int) range[1]),
+                    range[2]));
+        }
+        return segments;
+    }
+}
@@ -1,18 +1,56 @@
 package com.ospreydcs.dp.gui.model;
 
 import com.ospreydcs.dp.client.IngestionStreamClient;
+import com.ospreydcs.dp.grpc.v1.ingestionstream.PvConditionTrigger;
+import com.ospreydcs.dp.gui.dataevent.DataEventMetrics;
+import com.ospreydcs.dp.gui.dataevent.DataEventRingBuffer;
+import com.ospreydcs.dp.gui.dataevent.DataEventStream;
+import com.ospreydcs.dp.gui.dataevent.DataEventTailer;
 
+/**
+ * A data event subscription for one trigger.  Subscriptions made together share a DataEventStream,
+ * and with it a single subscribeDataEvent() call; the stream routes each event to the subscription
+ * whose trigger it matches.
+ */
 public class DataEventSubscription {
 
     public final SubscribeDataEventDetail subscriptionDetail;
     public final IngestionStreamClient.SubscribeDataEventCall subscribeDataEventCall;
+    public final PvConditionTrigger trigger;
+    public final DataEventStream eventStream;
+    public final DataEventTailer eventTailer;
 
     public DataEventSubscription(
             SubscribeDataEventDetail subscriptionDetail,
-            IngestionStreamClient.SubscribeDataEventCall subscribeDataEventCall
+            PvConditionTrigger trigger,
+            DataEventStream eventStream
+    ) {
+        this(subscriptionDetail, trigger, eventStream,
+                DataEventRingBuffer.fromConfig(subscriptionDetail.getDisplayString()), DataEventMetrics.fromConfig());
+    }
+
+    public DataEventSubscription(
+            SubscribeDataEventDetail subscriptionDetail,
+            PvConditionTrigger trigger,
+            DataEventStream eventStream,
+            DataEventRingBuffer eventBuffer
+    ) {
+        this(subscriptionDetail, trigger, eventStream, eventBuffer,
+                new DataEventMetrics(DataEventMetrics.DEFAULT_WINDOW_SECONDS));
+    }
+
+    public DataEventSubscription(
+            SubscribeDataEventDetail subscriptionDetail,
+            PvConditionTrigger trigger,
+            DataEventStream eventStream,
+            DataEventRingBuffer eventBuffer,
+            DataEventMetrics eventMetrics
     ) {
         this.subscriptionDetail = subscriptionDetail;
-        this.subscribeDataEventCall = subscribeDataEventCall;
+        this.subscribeDataEventCall = eventStream.getCall();
+        this.trigger = trigger;
+        this.eventStream = eventStream;
+        this.eventTailer = new DataEventTailer(this, eventBuffer, eventMetrics);
     }
 
     /**
@@ -1,21 +1,37 @@
 package com.ospreydcs.dp.gui.model;
 
 import com.ospreydcs.dp.gui.DpApplication;
+import com.ospreydcs.dp.gui.dataevent.DataEventCapturePolicy;
 
 public class SubscribeDataEventDetail {
 
     public final String pvName;
     public final DpApplication.TriggerCondition triggerCondition;
     public final String triggerValue;
+    public final DataEventCapturePolicy capturePolicy;
 
     public SubscribeDataEventDetail(
             String pvName,
             DpApplication.TriggerCondition triggerCondition,
             String triggerValue
+    ) {
+        this(pvName, triggerCondition, triggerValue, null);
+    }
+
+    /**
+     * Creates a subscription detail whose events have the data around them captured in the
+     * background according to capturePolicy, or not captured if it is null.
+     */
+    public SubscribeDataEventDetail(
+            String pvName,
+            DpApplication.TriggerCondition triggerCondition,
+            String triggerValue,
+            DataEventCapturePolicy capturePolicy
     ) {
         this.pvName = pvName;
         this.triggerCondition = triggerCondition;
         this.triggerValue = triggerValue;
+        this.capturePolicy = capturePolicy;
     }
     
     /**
@@ -0,0 +1,178 @@
+package com.ospreydcs.dp.gui.query;
+
+import com.ospreydcs.dp.grpc.v1.common.DataValue;
+import com.ospreydcs.dp.grpc.v1.query.QueryTableResponse;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Column-oriented copy of a query's results, for computations over them on the client.
+ *
+ * Row times are held as epoch nanoseconds in a long array and each PV column as a double array,
+ * with NaN where a row has no value for the PV or the value is not numeric.  Rows are kept in the
+ * order they were appended, so row n of the store is row n of the Data Viewer table built from the
+ * same responses.  A store is not thread-safe: it is filled by one thread, and is handed to other
+ * threads only once filling has finished, through a safe publication such as a Task's completion.
+ */
+public class QueryResultStore {
+
+    // constants
+    public static final String TIMESTAMP_COLUMN = "timestamp";
+    public static final long NO_TIME = Long.MIN_VALUE;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    // instance variables
+    private final List<String> columnNames = new ArrayList<>();
+    private final Map<String, Integer> columnIndexes = new HashMap<>();
+    private final List<double[]> columnValues = new ArrayList<>();
+    private long[] timeNanos;
+    private int size = 0;
+
+    public QueryResultStore() {
+        this(INITIAL_CAPACITY);
+    }
+
+    public QueryResultStore(int initialCapacity) {
+        this.timeNanos = new long[Math.max(1, initialCapacity)];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public List<String> getColumnNames() {
+        return List.copyOf(columnNames);
+    }
+
+    /**
+     * Returns the index of the named PV column, or -1 if the store has no such column.
+     */
+    public int columnIndex(String columnName) {
+        final Integer index = columnIndexes.get(columnName);
+        return (index == null) ? -1 : index;
+    }
+
+    /**
+     * Returns the time of the specified row in epoch nanoseconds, or NO_TIME if the row had none.
+     */
+    public long getTimeNanos(int row) {
+        return timeNanos[row];
+    }
+
+    public Instant getTime(int row) {
+        return Instant.ofEpochSecond(
+                Math.floorDiv(timeNanos[row], 1_000_000_000L), Math.floorMod(timeNanos[row], 1_000_000_000L));
+    }
+
+    public double getValue(int row, int column) {
+        return columnValues.get(column)[row];
+    }
+
+    /**
+     * Returns the array backing the specified column.  Only its first size() elements are rows.
+     */
+    double[] columnArray(int column) {
+        return columnValues.get(column);
+    }
+
+    long[] timeArray() {
+        return timeNanos;
+    }
+
+    /**
+     * Returns the index of the named PV column, adding it, with no values, if it is new.
+     */
+    public int addColumn(String columnName) {
+        final Integer existing = columnIndexes.get(columnName);
+        if (existing != null) {
+            return existing;
+        }
+        final double[] values = new double[timeNanos.length];
+        Arrays.fill(values, Double.NaN);
+        columnNames.add(columnName);
+        columnValues.add(values);
+        columnIndexes.put(columnName, columnValues.size() - 1);
+        return columnValues.size() - 1;
+    }
+
+    /**
+     * Appends a row with the specified time and no values, returning its index.
+     */
+    public int addRow(long rowTimeNanos) {
+        if (size == timeNanos.length) {
+            grow();
+        }
+        timeNanos[size] = rowTimeNanos;
+        return size++;
+    }
+
+    public void setValue(int row, int column, double value) {
+        columnValues.get(column)[row] = value;
+    }
+
+    /**
+     * Appends every row of the response's row map table.  A row without a timestamp is kept, with
+     * time NO_TIME, so the store stays aligned with the table view of the same responses.
+     */
+    public void append(QueryTableResponse response) {
+        if (!response.hasTableResult() || !response.getTableResult().hasRowMapTable()) {
+            return;
+        }
+        final var rowMapTable = response.getTableResult().getRowMapTable();
+        final List<String> pvNames = new ArrayList<>();
+        final List<Integer> pvColumns = new ArrayList<>();
+        for (String columnName : rowMapTable.getColumnNamesList()) {
+            if (!columnName.equals(TIMESTAMP_COLUMN)) {
+                pvNames.add(columnName);
+                pvColumns.add(addColumn(columnName));
+            }
+        }
+
+        for (var dataRow : rowMapTable.getRowsList()) {
+            final Map<String, DataValue> values = dataRow.getColumnValuesMap();
+            final DataValue timestampValue = values.get(TIMESTAMP_COLUMN);
+            final long rowTimeNanos = (timestampValue != null && timestampValue.hasTimestampValue())
+                    ? timestampValue.getTimestampValue().getEpochSeconds() * 1_000_000_000L
+                            + timestampValue.getTimestampValue().getNanoseconds()
+                    : NO_TIME;
+            final int row = addRow(rowTimeNanos);
+            for (int pv = 0; pv < pvNames.size(); pv++) {
+                final DataValue value = values.get(pvNames.get(pv));
+                if (value != null) {
+                    setValue(row, pvColumns.get(pv), numericValue(value));
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns value as a double, or NaN if it is not numeric.
+     */
+    public static double numericValue(DataValue value) {
+        return switch (value.getValueCase()) {
+            case BOOLEANVALUE -> value.getBooleanValue() ? 1.0 : 0.0;
+            case UINTVALUE -> Integer.toUnsignedLong(value.getUintValue());
+            case ULONGVALUE -> Double.parseDouble(Long.toUnsignedString(value.getUlongValue()));
+            case INTVALUE -> value.getIntValue();
+            case LONGVALUE -> value.getLongValue();
+            case FLOATVALUE -> value.getFloatValue();
+            case DOUBLEVALUE -> value.getDoubleValue();
+            default -> Double.NaN;
+        };
+    }
+
+    private void grow() {
+        final int capacity = timeNanos.length * 2;
+        timeNanos = Arrays.copyOf(timeNanos, capacity);
+        for (int column = 0; column < columnValues.size(); column++) {
+            final double[] values = Arrays.copyOf(columnValues.get(column), capacity);
+            Arrays.fill(values, size, capacity, Double.NaN);
+            columnValues.set(column, values);
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.ospreydcs.dp.gui.query;
+
+import com.ospreydcs.dp.gui.DpApplication;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Evaluates a data event trigger condition against a PV column of a QueryResultStore, so a
+ * threshold can be tried on data already on the client before a subscription is created.
+ *
+ * A row is a hit when its value satisfies the condition against the trigger value, as the
+ * Ingestion Service tests each value it ingests; rows without a value never match.  The column is
+ * split into chunks that are scanned in parallel on the common fork-join pool.  Each chunk is
+ * counted in a branch-free loop over the primitive array, which the JIT can vectorize, and only
+ * chunks with hits are scanned again for their row indexes.  A chunk lists at most maxHitRows of
+ * its hits and at most maxHitRows are kept overall, while every hit is counted.
+ */
+public class TriggerEvaluator {
+
+    // constants
+    public static final int DEFAULT_CHUNK_ROWS = 64 * 1024;
+    public static final int DEFAULT_MAX_HIT_ROWS = 10_000;
+
+    /**
+     * Outcome of an evaluation: the number of hits and the indexes of the first of them, in row
+     * order.
+     */
+    public static class Result {
+
+        public final int rowsEvaluated;
+        public final int hitCount;
+        public final int[] hitRows;
+        public final long elapsedNanos;
+
+        public Result(int rowsEvaluated, int hitCount, int[] hitRows, long elapsedNanos) {
+            this.rowsEvaluated = rowsEvaluated;
+            this.hitCount = hitCount;
+            this.hitRows = hitRows;
+            this.elapsedNanos = elapsedNanos;
+        }
+    }
+
+    /**
+     * The number of hits in one chunk and the first of their row indexes.
+     */
+    private static class ChunkHits {
+
+        final int count;
+        final int[] rows;
+
+        ChunkHits(int count, int[] rows) {
+            this.count = count;
+            this.rows = rows;
+        }
+    }
+
+    // instance variables
+    private final int chunkRows;
+    private final int maxHitRows;
+
+    public TriggerEvaluator() {
+        this(DEFAULT_CHUNK_ROWS, DEFAULT_MAX_HIT_ROWS);
+    }
+
+    public TriggerEvaluator(int chunkRows, int maxHitRows) {
+        this.chunkRows = Math.max(1, chunkRows);
+        this.maxHitRows = Math.max(0, maxHitRows);
+    }
+
+    /**
+     * Evaluates condition against the specified column of store.
+     *
+     * @throws IllegalArgumentException if store has no column named pvName
+     */
+    public Result evaluate(
+            QueryResultStore store,
+            String pvName,
+            DpApplication.TriggerCondition condition,
+            double triggerValue
+    ) {
+        final int column = store.columnIndex(pvName);
+        if (column < 0) {
+            throw new IllegalArgumentException("PV not in query results: " + pvName);
+        }
+
+        final long startNanos = System.nanoTime();
+        final double[] values = store.columnArray(column);
+        final int rows = store.size();
+        final int chunkCount = (rows + chunkRows - 1) / chunkRows;
+
+        final List<ChunkHits> chunkHits = IntStream.range(0, chunkCount)
+                .parallel()
+                .mapToObj(chunk -> {
+                    final int from = chunk * chunkRows;
+                    final int to = Math.min(rows, from + chunkRows);
+                    final int count = count(values, from, to, condition, triggerValue);
+                    // no chunk can contribute more than maxHitRows listed rows
+                    final int listed = Math.min(count, maxHitRows);
+                    return new ChunkHits(
+                            count, (listed == 0) ? new int[0] : hitRows(values, from, to, condition, triggerValue, listed));
+                })
+                .toList();
+
+        int hitCount = 0;
+        final int[] hitRows = new int[Math.min(maxHitRows, rows)];
+        int kept = 0;
+        for (ChunkHits hits : chunkHits) {
+            hitCount += hits.count;
+            final int keep = Math.min(hits.rows.length, hitRows.length - kept);
+            System.arraycopy(hits.rows, 0, hitRows, kept, keep);
+            kept += keep;
+        }
+        return new Result(rows, hitCount, Arrays.copyOf(hitRows, kept), System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Counts the hits in rows from (inclusive) to to (exclusive).  One loop per condition keeps
+     * the comparison out of the loop body.
+     */
+    static int count(double[] values, int from, int to, DpApplication.TriggerCondition condition, double triggerValue) {
+        int count = 0;
+        switch (condition) {
+            case EQUAL_TO -> {
+                for (int row = from; row < to; row++) {
+                    count += (values[row] == triggerValue) ? 1 : 0;
+                }
+            }
+            case GREATER -> {
+                for (int row = from; row < to; row++) {
+                    count += (values[row] > triggerValue) ? 1 : 0;
+                }
+            }
+            case GREATER_OR_EQUAL -> {
+                for (int row = from; row < to; row++) {
+                    count += (values[row] >= triggerValue) ? 1 : 0;
+                }
+            }
+            case LESS -> {
+                for (int row = from; row < to; row++) {
+                    count += (values[row] < triggerValue) ? 1 : 0;
+                }
+            }
+            case LESS_OR_EQUAL -> {
+                for (int row = from; row < to; row++) {
+                    count += (values[row] <= triggerValue) ? 1 : 0;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the first limit hit rows in rows from (inclusive) to to (exclusive).
+     */
+    private static int[] hitRows(
+            double[] values, int from, int to, DpApplication.TriggerCondition condition, double triggerValue, int limit
+    ) {
+        final int[] rows = new int[limit];
+        int hit = 0;
+        for (int row = from; row < to && hit < limit; row++) {
+            if (matches(values[row], condition, triggerValue)) {
+                rows[hit++] = row;
+            }
+        }
+        return rows;
+    }
+
+    static boolean matches(double value, DpApplication.TriggerCondition condition, double triggerValue) {
+        return switch (condition) {
+            case EQUAL_TO -> value == triggerValue;
+            case GREATER -> value > triggerValue;
+            case GREATER_OR_EQUAL -> value >= triggerValue;
+            case LESS -> value < triggerValue;
+            case LESS_OR_EQUAL -> value <= triggerValue;
+        };
+    }
+}
@@ -4,6 +4,7 @@ import com.ospreydcs.dp.grpc.v1.annotation.Calculations;
 import com.ospreydcs.dp.grpc.v1.common.DataColumn;
 import com.ospreydcs.dp.grpc.v1.common.DataValue;
 import com.ospreydcs.dp.grpc.v1.common.Timestamp;
+import com.ospreydcs.dp.grpc.v1.ingestion.IngestDataRequest;
 import com.ospreydcs.dp.gui.model.DataFrameDetails;
 import org.junit.jupiter.api.Test;
 
@@ -14,15 +15,18 @@ import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * Tests for the static parameter-normalization helpers on DpApplication: the empty-to-null
  * conversions that keep blank UI fields out of client requests, the conditional criterion
  * setters used by the query wrappers, the Instant-to-Timestamp conversion used by the
- * configuration activation wrapper, and the calculations builder used by saveAnnotation().
+ * configuration activation wrapper, the calculations builder used by saveAnnotation(), and the
+ * queued ingestion request builder.
  * All are pure static methods, so no service ecosystem or mocked client is needed.
  */
 public class DpApplicationParamsTest {
@@ -170,4 +174,43 @@ public class DpApplicationParamsTest {
 
         assertEquals("frame-2", calculations.getCalculationDataFrames(1).getName());
     }
+
+    // ------------------- buildIngestDataRequest ---------------------------
+
+    @Test
+    public void ingestRequestWithPeriodUsesSamplingClock() {
+        final List<Timestamp> timestamps = List.of(
+                Timestamp.newBuilder().setEpochSeconds(1_700_000_000L).setNanoseconds(0).build(),
+                Timestamp.newBuilder().setEpochSeconds(1_700_000_000L).setNanoseconds(500_000_000L).build());
+        final List<DataColumn> columns = List.of(DataColumn.newBuilder().setName("pv1")
+                .addDataValues(DataValue.newBuilder().setDoubleValue(1.0))
+                .addDataValues(DataValue.newBuilder().setDoubleValue(2.0))
+                .build());
+
+        final IngestDataRequest request =
+                DpApplication.buildIngestDataRequest("provider", "request-1", timestamps, columns, 500_000_000L);
+
+        final IngestDataRequest.IngestionDataFrame frame = request.getIngestionDataFrame();
+        assertTrue(frame.getDataTimestamps().hasSamplingClock());
+        assertFalse(frame.getDataTimestamps().hasTimestampList());
+        assertEquals(timestamps.get(0), frame.getDataTimestamps().getSamplingClock().getStartTime());
+        assertEquals(500_000_000L, frame.getDataTimestamps().getSamplingClock().getPeriodNanos());
+        assertEquals(2, frame.getDataTimestamps().getSamplingClock().getCount());
+        assertEquals(columns, frame.getDataColumnsList());
+    }
+
+    @Test
+    public void ingestRequestWithoutPeriodUsesTimestampList() {
+        final List<Timestamp> timestamps = List.of(
+                Timestamp.newBuilder().setEpochSeconds(1_700_000_000L).build(),
+                Timestamp.newBuilder().setEpochSeconds(1_700_000_003L).build());
+
+        final IngestDataRequest request =
+                DpApplication.buildIngestDataRequest("provider", "request-1", timestamps, List.of(), 0);
+
+        assertEquals("provider", request.getProviderId());
+        assertEquals("request-1", request.getClientRequestId());
+        assertEquals(timestamps,
+                request.getIngestionDataFrame().getDataTimestamps().getTimestampList().getTimestampsList());
+    }
 }
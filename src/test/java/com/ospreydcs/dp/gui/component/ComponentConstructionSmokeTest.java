@@ -1,11 +1,15 @@
 package com.ospreydcs.dp.gui.component;
 
+import com.ospreydcs.dp.gui.ingest.IngestionJobMetrics;
 import com.ospreydcs.dp.gui.testutil.FxToolkitSupport;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * Construction smoke tests for the reusable components not covered by their own instance
@@ -62,4 +66,23 @@ public class ComponentConstructionSmokeTest {
             assertEquals(List.of(), component.getSubscriptions());
         });
     }
+
+    @Test
+    public void ingestionProgressComponentIsHiddenUntilMetricsAttached() throws Exception {
+        FxToolkitSupport.runOnFxThread(() -> {
+            final IngestionProgressComponent component = new IngestionProgressComponent();
+            assertFalse(component.isVisible());
+            assertNull(component.getSummary());
+
+            final IngestionJobMetrics metrics = new IngestionJobMetrics("job");
+            metrics.recordRequest(10, 100, 1_000_000);
+            metrics.finish(false);
+            component.metricsProperty().set(metrics);
+            assertTrue(component.isVisible());
+            assertEquals(1, component.getSummary().requestsSent);
+
+            component.metricsProperty().set(null);
+            assertFalse(component.isVisible());
+        });
+    }
 }
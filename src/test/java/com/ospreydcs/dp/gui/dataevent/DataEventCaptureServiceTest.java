@@ -0,0 +1,92 @@
+package com.ospreydcs.dp.gui.dataevent;
+
+import com.ospreydcs.dp.grpc.v1.common.Timestamp;
+import com.ospreydcs.dp.grpc.v1.ingestionstream.PvConditionTrigger;
+import com.ospreydcs.dp.grpc.v1.ingestionstream.SubscribeDataEventResponse;
+import com.ospreydcs.dp.grpc.v1.query.QueryTableResponse;
+import com.ospreydcs.dp.gui.DpApplication;
+import com.ospreydcs.dp.gui.model.DataEventSubscription;
+import com.ospreydcs.dp.gui.model.SubscribeDataEventDetail;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DataEventCaptureServiceTest {
+
+    private static final Instant EVENT_TIME = Instant.parse("2026-01-01T00:00:10.250Z");
+
+    private final List<Instant[]> queries = Collections.synchronizedList(new ArrayList<>());
+    private final DataEventCaptureService service = new DataEventCaptureService(
+            (pvNames, begin, end) -> {
+                queries.add(new Instant[] {begin, end});
+                return QueryTableResponse.newBuilder().build();
+            },
+            new QueryResultCache(10), 1, 0, 10);
+
+    @AfterEach
+    public void shutdown() {
+        service.shutdown();
+    }
+
+    private static DataEventBatch batch(DataEventCapturePolicy policy, Instant... eventTimes) {
+        final DataEventStream stream = new DataEventStream(null, new ArrayList<>());
+        final DataEventSubscription subscription = new DataEventSubscription(
+                new SubscribeDataEventDetail("S01:BPM:X", DpApplication.TriggerCondition.GREATER, "1.0", policy),
+                PvConditionTrigger.getDefaultInstance(), stream, new DataEventRingBuffer(10, 0, null));
+        final List<SubscribeDataEventResponse.Event> events = new ArrayList<>();
+        for (Instant eventTime : eventTimes) {
+            events.add(SubscribeDataEventResponse.Event.newBuilder()
+                    .setEventTime(Timestamp.newBuilder()
+                            .setEpochSeconds(eventTime.getEpochSecond())
+                            .setNanoseconds(eventTime.getNano())
+                            .build())
+                    .build());
+        }
+        return new DataEventBatch(subscription, 0, events);
+    }
+
+    @Test
+    public void captureWindowMatchesTheQueryEditorWindow() {
+        final DataEventCapturePolicy policy = new DataEventCapturePolicy(30, 30);
+
+        assertEquals(Instant.parse("2025-12-31T23:59:40Z"), policy.captureBegin(EVENT_TIME));
+        assertEquals(Instant.parse("2026-01-01T00:00:40.999999999Z"), policy.captureEnd(EVENT_TIME));
+    }
+
+    @Test
+    public void eventWindowIsCapturedOnceInQueryEditorIntervals() throws Exception {
+        final DataEventCapturePolicy policy = new DataEventCapturePolicy(30, 40);
+        // two events in the same second share a window
+        service.onDataEvents(batch(policy, EVENT_TIME, EVENT_TIME.plusMillis(500)));
+
+        final QueryResultCache.Key key = new QueryResultCache.Key(
+                List.of("S01:BPM:X"), policy.captureBegin(EVENT_TIME), policy.captureEnd(EVENT_TIME));
+        for (int i = 0; i < 100 && service.getCapturedCount() == 0; i++) {
+            Thread.sleep(20);
+        }
+
+        assertNotNull(service.getCache().get(key));
+        assertEquals(2, service.getCache().get(key).size());
+        assertEquals(1, service.getCapturedCount());
+        assertEquals(2, queries.size());
+        assertEquals(key.beginTime.plusSeconds(60), queries.get(0)[1]);
+        assertEquals(key.endTime, queries.get(1)[1]);
+    }
+
+    @Test
+    public void subscriptionsWithoutPolicyAreNotCaptured() throws Exception {
+        service.onDataEvents(batch(null, EVENT_TIME));
+        Thread.sleep(100);
+
+        assertTrue(queries.isEmpty());
+        assertEquals(0, service.getCache().size());
+    }
+}
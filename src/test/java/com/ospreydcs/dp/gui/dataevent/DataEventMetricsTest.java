@@ -0,0 +1,63 @@
+package com.ospreydcs.dp.gui.dataevent;
+
+import com.ospreydcs.dp.grpc.v1.common.DataValue;
+import com.ospreydcs.dp.grpc.v1.common.Timestamp;
+import com.ospreydcs.dp.grpc.v1.ingestionstream.SubscribeDataEventResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class DataEventMetricsTest {
+
+    private static final long NOW_MILLIS = 1_700_000_000_000L;
+
+    @Test
+    public void ratesAreAveragedOverTheWindowAndFallBackOnceEventsStop() {
+        final DataEventMetrics metrics = new DataEventMetrics(10);
+        for (int second = 0; second < 10; second++) {
+            metrics.record(second == 4 ? 30 : 10, 1000, 5, NOW_MILLIS + second * 1000L);
+        }
+
+        final DataEventMetrics.Summary full = metrics.summary(NOW_MILLIS + 9_500);
+        assertEquals(12.0, full.eventsPerSecond, 1e-9);
+        assertEquals(1000.0, full.bytesPerSecond, 1e-9);
+        assertEquals(30, full.peakEventsPerSecond);
+        assertEquals(120, full.totalEvents);
+
+        // five seconds later only the last five seconds of events remain in the window
+        assertEquals(5.0, metrics.summary(NOW_MILLIS + 14_500).eventsPerSecond, 1e-9);
+        assertEquals(0.0, metrics.summary(NOW_MILLIS + 60_000).eventsPerSecond, 1e-9);
+        assertEquals(120, metrics.summary(NOW_MILLIS + 60_000).totalEvents);
+    }
+
+    @Test
+    public void ratesOfANewSubscriptionCoverOnlyTheTimeSinceItsFirstEvent() {
+        final DataEventMetrics metrics = new DataEventMetrics(10);
+        metrics.record(4, 400, 5, NOW_MILLIS);
+        metrics.record(4, 400, 5, NOW_MILLIS + 1000);
+
+        assertEquals(4.0, metrics.summary(NOW_MILLIS + 1500).eventsPerSecond, 1e-9);
+        assertEquals(0.0, new DataEventMetrics(10).summary(NOW_MILLIS).eventsPerSecond, 1e-9);
+    }
+
+    @Test
+    public void eventsAreMeasuredBySizeAndLagFromTheirTrigger() {
+        final DataEventMetrics metrics = new DataEventMetrics(10);
+        final SubscribeDataEventResponse.Event event = SubscribeDataEventResponse.Event.newBuilder()
+                .setEventTime(Timestamp.newBuilder().setEpochSeconds(NOW_MILLIS / 1000 - 2).build())
+                .setDataValue(DataValue.newBuilder().setDoubleValue(1.5).build())
+                .build();
+
+        metrics.recordEvents(List.of(event, event), NOW_MILLIS);
+        metrics.recordQueueDepth(7);
+        metrics.recordQueueDepth(2);
+
+        final DataEventMetrics.Summary summary = metrics.summary(NOW_MILLIS);
+        assertEquals(2L * event.getSerializedSize(), summary.totalBytes);
+        assertEquals(2000, summary.lagMillis);
+        assertEquals(2, summary.queueDepth);
+        assertEquals(7, summary.maxQueueDepth);
+    }
+}
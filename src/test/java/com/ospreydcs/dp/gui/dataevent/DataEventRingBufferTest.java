@@ -0,0 +1,92 @@
+package com.ospreydcs.dp.gui.dataevent;
+
+import com.ospreydcs.dp.grpc.v1.common.Timestamp;
+import com.ospreydcs.dp.grpc.v1.ingestionstream.SubscribeDataEventResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class DataEventRingBufferTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static SubscribeDataEventResponse.Event event(long seconds) {
+        return SubscribeDataEventResponse.Event.newBuilder()
+                .setEventTime(Timestamp.newBuilder().setEpochSeconds(seconds).build())
+                .build();
+    }
+
+    private static List<Long> seconds(List<SubscribeDataEventResponse.Event> events) {
+        return events.stream().map(event -> event.getEventTime().getEpochSeconds()).toList();
+    }
+
+    @Test
+    public void oldestEventsAreEvictedWhenFull() {
+        final DataEventRingBuffer buffer = new DataEventRingBuffer(3, 0, null);
+
+        assertEquals(0, buffer.add(List.of(event(1), event(2)), 0));
+        assertEquals(2, buffer.add(List.of(event(3), event(4), event(5)), 0));
+
+        assertEquals(List.of(3L, 4L, 5L), seconds(buffer.events()));
+        assertEquals(2, buffer.getFirstSequence());
+        assertEquals(2, buffer.getDroppedByCount());
+        assertEquals(0, buffer.getDroppedByAge());
+    }
+
+    @Test
+    public void expiredEventsAreEvictedByAge() {
+        final DataEventRingBuffer buffer = new DataEventRingBuffer(10, 1000, null);
+        buffer.add(List.of(event(1), event(2)), 0);
+        buffer.add(List.of(event(3)), 800);
+
+        assertEquals(0, buffer.evictExpired(1000));
+        assertEquals(2, buffer.evictExpired(1500));
+
+        assertEquals(List.of(3L), seconds(buffer.events()));
+        assertEquals(2, buffer.getDroppedByAge());
+    }
+
+    @Test
+    public void evictedEventsAreSpilledToFile() throws Exception {
+        final Path spillFile = tempDir.resolve("spill").resolve("events.events");
+        final DataEventRingBuffer buffer = new DataEventRingBuffer(2, 0, spillFile);
+        buffer.add(List.of(event(1), event(2), event(3), event(4)), 0);
+        buffer.close();
+
+        assertEquals(2, buffer.getSpilledCount());
+        assertEquals(List.of(1L, 2L), seconds(DataEventRingBuffer.readSpillFile(spillFile)));
+        assertEquals(List.of(3L, 4L), seconds(buffer.events()));
+    }
+
+    @Test
+    public void eventsAreFoundByTimeIncludingOutOfOrderArrivals() {
+        final DataEventRingBuffer buffer = new DataEventRingBuffer(4, 0, null);
+        buffer.add(List.of(event(10), event(30), event(20), event(40)), 0);
+        // evicts 10, leaving 20, 30, 40 and 50
+        buffer.add(List.of(event(50)), 0);
+
+        assertEquals(List.of(20L, 30L, 40L), seconds(buffer.eventsBetween(Instant.ofEpochSecond(15), Instant.ofEpochSecond(40))));
+        assertEquals(30, buffer.nextEvent(Instant.ofEpochSecond(20)).getEventTime().getEpochSeconds());
+        assertEquals(40, buffer.previousEvent(Instant.ofEpochSecond(50)).getEventTime().getEpochSeconds());
+        assertNull(buffer.previousEvent(Instant.ofEpochSecond(20)));
+        assertNull(buffer.nextEvent(Instant.ofEpochSecond(50)));
+        assertEquals(30, buffer.nearestEvent(Instant.ofEpochSecond(33)).getEventTime().getEpochSeconds());
+        assertEquals(Instant.ofEpochSecond(20), buffer.firstEventTime());
+    }
+
+    @Test
+    public void eventsAreCountedPerInterval() {
+        final DataEventRingBuffer buffer = new DataEventRingBuffer(10, 0, null);
+        buffer.add(List.of(event(0), event(1), event(5), event(9), event(10)), 0);
+
+        assertArrayEquals(new int[] {2, 2}, buffer.eventCounts(Instant.ofEpochSecond(0), Instant.ofEpochSecond(10), 2));
+    }
+}
@@ -0,0 +1,128 @@
+package com.ospreydcs.dp.gui.dataevent;
+
+import com.ospreydcs.dp.grpc.v1.common.DataValue;
+import com.ospreydcs.dp.grpc.v1.common.Timestamp;
+import com.ospreydcs.dp.grpc.v1.ingestionstream.PvConditionTrigger;
+import com.ospreydcs.dp.grpc.v1.ingestionstream.SubscribeDataEventResponse;
+import com.ospreydcs.dp.gui.DpApplication;
+import com.ospreydcs.dp.gui.model.DataEventSubscription;
+import com.ospreydcs.dp.gui.model.SubscribeDataEventDetail;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DataEventStreamTest {
+
+    private final List<SubscribeDataEventResponse.Event> source = Collections.synchronizedList(new ArrayList<>());
+    private final DataEventStream stream = new DataEventStream(null, source);
+
+    private static PvConditionTrigger trigger(String pvName) {
+        return PvConditionTrigger.newBuilder()
+                .setPvName(pvName)
+                .setCondition(PvConditionTrigger.PvCondition.PV_CONDITION_GREATER)
+                .setValue(DataValue.newBuilder().setDoubleValue(1.0).build())
+                .build();
+    }
+
+    private static SubscribeDataEventResponse.Event event(PvConditionTrigger trigger, long seconds) {
+        return SubscribeDataEventResponse.Event.newBuilder()
+                .setTrigger(trigger)
+                .setEventTime(Timestamp.newBuilder().setEpochSeconds(seconds).build())
+                .build();
+    }
+
+    private DataEventSubscription subscribe(PvConditionTrigger trigger) {
+        final DataEventSubscription subscription = new DataEventSubscription(
+                new SubscribeDataEventDetail(trigger.getPvName(), DpApplication.TriggerCondition.GREATER, "1.0"),
+                trigger, stream, new DataEventRingBuffer(100, 0, null));
+        stream.addSubscription(subscription);
+        return subscription;
+    }
+
+    @Test
+    public void pollReturnsOnlyEventsAddedSinceThePreviousPoll() {
+        final PvConditionTrigger trigger = trigger("S01:BPM:X");
+        subscribe(trigger);
+        assertTrue(stream.poll().isEmpty());
+
+        source.add(event(trigger, 1));
+        source.add(event(trigger, 2));
+        final List<DataEventBatch> first = stream.poll();
+        assertEquals(1, first.size());
+        assertEquals(0, first.get(0).firstSequence);
+        assertEquals(2, first.get(0).events.size());
+        assertTrue(source.isEmpty());
+        assertTrue(stream.poll().isEmpty());
+
+        source.add(event(trigger, 3));
+        final DataEventBatch second = stream.poll().get(0);
+        assertEquals(2, second.firstSequence);
+        assertEquals(3, second.events.get(0).getEventTime().getEpochSeconds());
+    }
+
+    @Test
+    public void snapshotHoldsOnlyPolledEvents() {
+        final PvConditionTrigger trigger = trigger("S01:BPM:X");
+        final DataEventSubscription subscription = subscribe(trigger);
+        source.add(event(trigger, 1));
+        stream.poll();
+        source.add(event(trigger, 2));
+
+        final DataEventBatch snapshot = subscription.eventTailer.snapshot();
+        assertEquals(1, snapshot.events.size());
+        assertEquals(snapshot.nextSequence(), stream.poll().get(0).firstSequence);
+    }
+
+    @Test
+    public void eventsAreRoutedToTheSubscriptionWithTheirTrigger() {
+        final PvConditionTrigger xTrigger = trigger("S01:BPM:X");
+        final PvConditionTrigger yTrigger = trigger("S01:BPM:Y");
+        final DataEventSubscription x = subscribe(xTrigger);
+        final DataEventSubscription y = subscribe(yTrigger);
+
+        source.add(event(xTrigger, 1));
+        source.add(event(yTrigger, 2));
+        source.add(event(xTrigger, 3));
+        source.add(event(trigger("S01:BPM:Z"), 4));
+        final List<DataEventBatch> batches = stream.poll();
+
+        assertEquals(2, batches.size());
+        assertSame(x, batches.get(0).subscription);
+        assertEquals(2, batches.get(0).events.size());
+        assertSame(y, batches.get(1).subscription);
+        assertEquals(1, y.eventTailer.getBuffer().size());
+        assertEquals(1, stream.getUnmatchedEvents());
+
+        // the call stays open until its last subscription is removed
+        assertFalse(stream.removeSubscription(x));
+        source.add(event(xTrigger, 5));
+        assertTrue(stream.poll().isEmpty());
+        assertEquals(2, stream.getUnmatchedEvents());
+        assertTrue(stream.removeSubscription(y));
+    }
+
+    @Test
+    public void publisherBatchesItemsPublishedBeforeTheFxThreadRuns() {
+        final List<Runnable> fxQueue = new ArrayList<>();
+        final List<List<Integer>> delivered = new ArrayList<>();
+        final FxBatchPublisher<Integer> publisher = new FxBatchPublisher<>(fxQueue::add, delivered::add);
+
+        publisher.publish(1);
+        publisher.publish(2);
+        publisher.publish(3);
+        assertEquals(1, fxQueue.size());
+
+        fxQueue.remove(0).run();
+        publisher.publish(4);
+        fxQueue.remove(0).run();
+
+        assertEquals(List.of(List.of(1, 2, 3), List.of(4)), delivered);
+    }
+}
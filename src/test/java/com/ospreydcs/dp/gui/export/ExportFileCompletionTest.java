@@ -0,0 +1,56 @@
+package com.ospreydcs.dp.gui.export;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for detecting that an export file written by another thread is complete.
+ */
+public class ExportFileCompletionTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void existingFileIsCompleteAfterOneQuietPeriod() throws Exception {
+        final Path file = Files.writeString(tempDir.resolve("done.csv"), "seconds,nanos,pv\n");
+
+        final long startMillis = System.currentTimeMillis();
+        assertTrue(ExportFileCompletion.awaitWritten(file, 50, 5000));
+        assertTrue(System.currentTimeMillis() - startMillis < 2000);
+    }
+
+    @Test
+    public void fileStillBeingWrittenIsWaitedFor() throws Exception {
+        final Path file = tempDir.resolve("growing.csv");
+        final Thread writerThread = new Thread(() -> {
+            try (OutputStream output = Files.newOutputStream(file)) {
+                for (int i = 0; i < 10; i++) {
+                    output.write(new byte[1024]);
+                    output.flush();
+                    Thread.sleep(30);
+                }
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+        writerThread.start();
+
+        assertTrue(ExportFileCompletion.awaitWritten(file, 150, 10_000));
+        writerThread.join();
+        assertEquals(10 * 1024, Files.size(file));
+    }
+
+    @Test
+    public void missingFileTimesOut() throws Exception {
+        assertFalse(ExportFileCompletion.awaitWritten(tempDir.resolve("missing.csv"), 20, 200));
+    }
+}
@@ -0,0 +1,76 @@
+package com.ospreydcs.dp.gui.export;
+
+import com.ospreydcs.dp.service.common.model.ResultStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the background export queue: outcomes, cancellation of queued and running jobs, and
+ * removal of finished jobs.  The job runners are stubs.
+ */
+public class ExportJobQueueTest {
+
+    private static void awaitFinished(ExportJob job) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + 5000;
+        while (!job.isFinished() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertTrue(job.isFinished(), "job did not finish: " + job.getName());
+    }
+
+    @Test
+    public void jobsSucceedOrFailWithTheirRunnersStatus() throws Exception {
+        final List<ExportJob.Status> reported = new CopyOnWriteArrayList<>();
+        final ExportJobQueue queue = new ExportJobQueue(2, job -> reported.add(job.getStatus()));
+
+        final ExportJob good = queue.submit(new ExportJob("good"), job -> new ResultStatus(false, "done"));
+        final ExportJob bad = queue.submit(new ExportJob("bad"), job -> {
+            throw new IllegalStateException("no such dataset");
+        });
+        awaitFinished(good);
+        awaitFinished(bad);
+        queue.shutdown();
+
+        assertEquals(ExportJob.Status.SUCCEEDED, good.getStatus());
+        assertEquals("done", good.getMessage());
+        assertEquals(ExportJob.Status.FAILED, bad.getStatus());
+        assertTrue(bad.getMessage().contains("no such dataset"), bad.getMessage());
+        assertTrue(reported.contains(ExportJob.Status.RUNNING));
+    }
+
+    @Test
+    public void cancelledJobsStopOrNeverStart() throws Exception {
+        final CountDownLatch running = new CountDownLatch(1);
+        final ExportJobQueue queue = new ExportJobQueue(1, job -> { });
+
+        // the running job polls its progress for cancellation, as StreamingExporter does
+        final ExportJob first = queue.submit(new ExportJob("first"), job -> {
+            running.countDown();
+            while (!job.getProgress().isCancelled()) {
+                Thread.sleep(5);
+            }
+            return new ResultStatus(true, "export cancelled");
+        });
+        final ExportJob second = queue.submit(new ExportJob("second"), job -> new ResultStatus(false, ""));
+
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+        queue.cancel(second);
+        queue.cancel(first);
+        awaitFinished(first);
+        awaitFinished(second);
+
+        assertEquals(ExportJob.Status.CANCELLED, first.getStatus());
+        assertEquals(ExportJob.Status.CANCELLED, second.getStatus());
+        assertEquals(0, second.getStartMillis());
+        assertEquals(2, queue.removeFinished().size());
+        assertTrue(queue.getJobs().isEmpty());
+        queue.shutdown();
+    }
+}
@@ -0,0 +1,177 @@
+package com.ospreydcs.dp.gui.export;
+
+import com.ospreydcs.dp.client.result.DataImportResult;
+import com.ospreydcs.dp.grpc.v1.annotation.DataBlock;
+import com.ospreydcs.dp.grpc.v1.common.DataValue;
+import com.ospreydcs.dp.grpc.v1.common.Timestamp;
+import com.ospreydcs.dp.gui.importer.Hdf5Importer;
+import com.ospreydcs.dp.gui.importer.ImportProgress;
+import com.ospreydcs.dp.service.common.model.ResultStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for client-side streaming export to CSV and HDF5.  The interval query is a stub returning
+ * one row per whole second, both ends inclusive, with each PV's value the seconds since START.
+ */
+public class StreamingExporterTest {
+
+    private static final long START = 1_700_000_000L;
+
+    @TempDir
+    Path tempDir;
+
+    private final AtomicInteger queryCount = new AtomicInteger();
+
+    private ExportBlock query(List<String> pvNames, Instant begin, Instant end) {
+        queryCount.incrementAndGet();
+        final List<Timestamp> timestamps = new ArrayList<>();
+        for (long seconds = begin.getEpochSecond(); seconds <= end.getEpochSecond(); seconds++) {
+            timestamps.add(Timestamp.newBuilder().setEpochSeconds(seconds).build());
+        }
+        final DataValue[][] values = new DataValue[pvNames.size()][timestamps.size()];
+        for (int column = 0; column < pvNames.size(); column++) {
+            for (int row = 0; row < timestamps.size(); row++) {
+                values[column][row] = DataValue.newBuilder()
+                        .setDoubleValue(timestamps.get(row).getEpochSeconds() - START)
+                        .build();
+            }
+        }
+        return new ExportBlock(pvNames, timestamps, values);
+    }
+
+    private static DataBlock dataBlock(long beginOffset, long endOffset, String... pvNames) {
+        return DataBlock.newBuilder()
+                .addAllPvNames(List.of(pvNames))
+                .setBeginTime(Timestamp.newBuilder().setEpochSeconds(START + beginOffset).build())
+                .setEndTime(Timestamp.newBuilder().setEpochSeconds(START + endOffset).build())
+                .build();
+    }
+
+    @Test
+    public void csvIsWrittenIntervalByIntervalWithoutDuplicateBoundaryRows() throws Exception {
+        final List<DataBlock> dataBlocks = List.of(dataBlock(100, 102, "B", "C"), dataBlock(0, 25, "A", "B"));
+        final List<String> columns = StreamingExporter.columnNames(dataBlocks);
+        final Path file = tempDir.resolve("export.csv");
+        final ExportProgress progress = new ExportProgress();
+
+        final ResultStatus status;
+        try (CsvExportWriter writer = new CsvExportWriter(file, columns, 4096)) {
+            status = new StreamingExporter(this::query, Duration.ofSeconds(10)).export(dataBlocks, writer, progress);
+        }
+
+        assertFalse(status.isError, status.msg);
+        assertEquals(List.of("B", "C", "A"), columns);
+        assertEquals(4, queryCount.get());
+        assertEquals(29, progress.getRowsWritten());
+        assertEquals(1.0, progress.fraction());
+
+        final List<String> lines = Files.readAllLines(file);
+        assertEquals(30, lines.size());
+        assertEquals("seconds,nanos,B,C,A", lines.get(0));
+        assertEquals(START + ",0,0.0,,0.0", lines.get(1));
+        assertEquals(START + 10 + ",0,10.0,,10.0", lines.get(11));
+        assertEquals(START + 11 + ",0,11.0,,11.0", lines.get(12));
+        assertEquals(START + 100 + ",0,100.0,100.0,", lines.get(27));
+    }
+
+    @Test
+    public void hdf5ExportCanBeImportedAgain() throws Exception {
+        final List<DataBlock> dataBlocks = List.of(dataBlock(0, 9, "S01:BPM:X", "S01:BPM:Y"));
+        final Path file = tempDir.resolve("export.h5");
+
+        final ResultStatus status;
+        try (Hdf5ExportWriter writer = new Hdf5ExportWriter(
+                file, "dataset", StreamingExporter.columnNames(dataBlocks), 4)) {
+            status = new StreamingExporter(this::query, Duration.ofSeconds(3))
+                    .export(dataBlocks, writer, new ExportProgress());
+        }
+        assertFalse(status.isError, status.msg);
+
+        final List<DataImportResult.DataFrameResult> frames = new ArrayList<>();
+        final ResultStatus importStatus = new Hdf5Importer(100, 4_096_000)
+                .importFrames(file, frames::add, new ImportProgress());
+
+        assertFalse(importStatus.isError, importStatus.msg);
+        assertEquals(1, frames.size());
+        assertEquals(10, frames.get(0).timestamps.size());
+        assertEquals(START + 9, frames.get(0).timestamps.get(9).getEpochSeconds());
+        assertEquals("S01:BPM:Y", frames.get(0).columns.get(1).getName());
+        assertEquals(7.0, frames.get(0).columns.get(1).getDataValues(7).getDoubleValue());
+    }
+
+    @Test
+    public void gzipCsvDecompressesToTheSameRowsAsPlainCsv() throws Exception {
+        final List<DataBlock> dataBlocks = List.of(dataBlock(0, 999, "S01:BPM:X", "S01:BPM:Y"));
+        final List<String> columns = StreamingExporter.columnNames(dataBlocks);
+        final Path plainFile = tempDir.resolve("export.csv");
+        final Path gzipFile = tempDir.resolve("export.csv.gz");
+
+        // a small buffer makes many gzip members, compressed on several threads
+        try (CsvExportWriter writer = new CsvExportWriter(plainFile, columns, 256)) {
+            new StreamingExporter(this::query, Duration.ofSeconds(100)).export(dataBlocks, writer, new ExportProgress());
+        }
+        final ExportProgress progress = new ExportProgress();
+        final ResultStatus status;
+        try (CsvExportWriter writer = new CsvExportWriter(gzipFile, columns, 256, 4)) {
+            status = new StreamingExporter(this::query, Duration.ofSeconds(100)).export(dataBlocks, writer, progress);
+        }
+        assertFalse(status.isError, status.msg);
+
+        final List<String> lines;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(gzipFile)), StandardCharsets.UTF_8))) {
+            lines = reader.lines().toList();
+        }
+        assertEquals(Files.readAllLines(plainFile), lines);
+        assertEquals(1001, lines.size());
+        assertTrue(Files.size(gzipFile) < Files.size(plainFile));
+    }
+
+    @Test
+    public void deflatedHdf5ExportCanBeImportedAgain() throws Exception {
+        final List<DataBlock> dataBlocks = List.of(dataBlock(0, 99, "S01:BPM:X"));
+        final Path file = tempDir.resolve("export-deflate.h5");
+
+        try (Hdf5ExportWriter writer = new Hdf5ExportWriter(
+                file, "dataset", StreamingExporter.columnNames(dataBlocks), 16, true)) {
+            new StreamingExporter(this::query, Duration.ofSeconds(30)).export(dataBlocks, writer, new ExportProgress());
+        }
+
+        final List<DataImportResult.DataFrameResult> frames = new ArrayList<>();
+        final ResultStatus importStatus = new Hdf5Importer(1000, 4_096_000)
+                .importFrames(file, frames::add, new ImportProgress());
+
+        assertFalse(importStatus.isError, importStatus.msg);
+        assertEquals(100, frames.get(0).timestamps.size());
+        assertEquals(42.0, frames.get(0).columns.get(0).getDataValues(42).getDoubleValue());
+    }
+
+    @Test
+    public void csvFieldsAreQuotedWhenNeeded() {
+        final StringBuilder line = new StringBuilder();
+        CsvExportWriter.appendField(line, "plain");
+        line.append(',');
+        CsvExportWriter.appendField(line, "a,\"b\"");
+
+        assertEquals("plain,\"a,\"\"b\"\"\"", line.toString());
+        assertEquals("18446744073709551615",
+                CsvExportWriter.formatValue(DataValue.newBuilder().setUlongValue(-1L).build()));
+    }
+}
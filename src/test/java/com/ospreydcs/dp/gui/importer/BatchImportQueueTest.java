@@ -0,0 +1,102 @@
+package com.ospreydcs.dp.gui.importer;
+
+import com.ospreydcs.dp.service.common.model.ResultStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the batch import queue: scanning, bounded concurrency, retries and the summary.  The
+ * job runners are stubs, so the files are never parsed.
+ */
+public class BatchImportQueueTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void scanQueuesOnlyImportableFilesOnce() throws Exception {
+        Files.writeString(tempDir.resolve("b.csv"), "x");
+        Files.writeString(tempDir.resolve("a.xlsx"), "x");
+        Files.writeString(tempDir.resolve("notes.txt"), "x");
+        Files.writeString(tempDir.resolve("~$a.xlsx"), "x");
+        Files.createDirectory(tempDir.resolve("sub.csv"));
+
+        final BatchImportQueue queue = new BatchImportQueue(1, 1, 0, 0,
+                job -> new ResultStatus(false, ""), job -> { });
+        final List<BatchImportJob> jobs = queue.scan(tempDir);
+        queue.awaitIdle();
+        queue.stop();
+
+        assertEquals(List.of("a.xlsx", "b.csv"),
+                jobs.stream().map(job -> job.getFile().getFileName().toString()).toList());
+        assertNull(queue.submit(tempDir.resolve("a.xlsx")));
+        assertEquals(2, queue.getJobs().size());
+    }
+
+    @Test
+    public void concurrentJobsAreBounded() throws Exception {
+        for (int i = 0; i < 8; i++) {
+            Files.writeString(tempDir.resolve("file" + i + ".csv"), "x");
+        }
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+
+        final BatchImportQueue queue = new BatchImportQueue(3, 1, 0, 0, job -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(20);
+            running.decrementAndGet();
+            return new ResultStatus(false, "");
+        }, job -> { });
+        queue.scan(tempDir);
+        queue.awaitIdle();
+        queue.stop();
+
+        assertTrue(maxRunning.get() <= 3, "max running: " + maxRunning.get());
+        assertTrue(queue.getJobs().stream().allMatch(job -> job.getStatus() == BatchImportJob.Status.SUCCEEDED));
+    }
+
+    @Test
+    public void failedJobsAreRetriedUntilTheySucceed() throws Exception {
+        final Path file = Files.writeString(tempDir.resolve("flaky.csv"), "0123456789");
+
+        final BatchImportQueue queue = new BatchImportQueue(1, 3, 1, 0, job -> {
+            job.setRowsRead(4);
+            return new ResultStatus(job.getAttempts() < 3, "attempt " + job.getAttempts());
+        }, job -> { });
+        final BatchImportJob job = queue.submit(file);
+        queue.awaitIdle();
+        queue.stop();
+
+        assertEquals(BatchImportJob.Status.SUCCEEDED, job.getStatus());
+        assertEquals(3, job.getAttempts());
+        assertTrue(queue.summaryText().startsWith("1 of 1 files imported, 0 failed"), queue.summaryText());
+        assertTrue(queue.summaryText().contains("4 rows"), queue.summaryText());
+    }
+
+    @Test
+    public void jobsMarkedNotRetryableFailImmediately() throws Exception {
+        final Path file = Files.writeString(tempDir.resolve("bad.csv"), "x");
+
+        final BatchImportQueue queue = new BatchImportQueue(1, 3, 1, 0, job -> {
+            job.setRetryable(false);
+            return new ResultStatus(true, "malformed");
+        }, job -> { });
+        final BatchImportJob job = queue.submit(file);
+        queue.awaitIdle();
+        queue.stop();
+
+        assertEquals(BatchImportJob.Status.FAILED, job.getStatus());
+        assertEquals(1, job.getAttempts());
+        assertEquals("malformed", job.getMessage());
+        assertTrue(queue.summaryText().startsWith("0 of 1 files imported, 1 failed"), queue.summaryText());
+    }
+}
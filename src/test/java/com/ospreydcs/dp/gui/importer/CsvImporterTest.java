@@ -0,0 +1,116 @@
+package com.ospreydcs.dp.gui.importer;
+
+import com.ospreydcs.dp.client.result.DataImportResult;
+import com.ospreydcs.dp.grpc.v1.common.DataValue;
+import com.ospreydcs.dp.grpc.v1.common.Timestamp;
+import com.ospreydcs.dp.gui.export.CsvExportWriter;
+import com.ospreydcs.dp.gui.export.ExportBlock;
+import com.ospreydcs.dp.gui.ingest.BucketSizing;
+import com.ospreydcs.dp.service.common.model.ResultStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for streaming CSV import into size-bounded frames.
+ */
+public class CsvImporterTest {
+
+    private static final int LARGE_TARGET_BYTES = 4_096_000;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void recordsAreEmittedInBoundedFrames() throws Exception {
+        final Path file = tempDir.resolve("dump.csv");
+        Files.writeString(file, """
+                seconds,nanos,pv1,pv2
+                1700000000,0,1.5,ok
+                1700000000,500000000,2.5,3
+                1700000001,0,-1e3,"quoted, text"
+                """);
+
+        final List<DataImportResult.DataFrameResult> frames = new ArrayList<>();
+        final ImportProgress progress = new ImportProgress();
+        final ResultStatus status = new CsvImporter(2, LARGE_TARGET_BYTES).importFrames(file, frames::add, progress);
+
+        assertFalse(status.isError, status.msg);
+        assertEquals(2, frames.size());
+        assertEquals("dump", frames.get(0).sheetName);
+        assertEquals(List.of(2, 1), frames.stream().map(frame -> frame.timestamps.size()).toList());
+        assertEquals(3, progress.getRowsRead());
+        assertEquals(1.0, progress.fraction());
+
+        final DataImportResult.DataFrameResult first = frames.get(0);
+        assertEquals(500_000_000L, first.timestamps.get(1).getNanoseconds());
+        assertEquals(List.of("pv1", "pv2"), first.columns.stream().map(column -> column.getName()).toList());
+        assertEquals(2.5, first.columns.get(0).getDataValues(1).getDoubleValue());
+        assertEquals("ok", first.columns.get(1).getDataValues(0).getStringValue());
+        assertEquals(3.0, first.columns.get(1).getDataValues(1).getDoubleValue());
+
+        final DataImportResult.DataFrameResult second = frames.get(1);
+        assertEquals(-1000.0, second.columns.get(0).getDataValues(0).getDoubleValue());
+        assertEquals("quoted, text", second.columns.get(1).getDataValues(0).getStringValue());
+    }
+
+    @Test
+    public void sparseExportIsImportedWithMissingValuesAsNaN() throws Exception {
+        final Path file = tempDir.resolve("sparse.csv");
+        final List<Timestamp> timestamps = List.of(
+                Timestamp.newBuilder().setEpochSeconds(1_700_000_000L).build(),
+                Timestamp.newBuilder().setEpochSeconds(1_700_000_000L).setNanoseconds(500_000_000).build(),
+                Timestamp.newBuilder().setEpochSeconds(1_700_000_001L).build());
+        final DataValue[][] values = {
+                {DataValue.newBuilder().setDoubleValue(1.5).build(), null, DataValue.newBuilder().setDoubleValue(3.5).build()},
+                {null, DataValue.newBuilder().setStringValue("ok").build(), null}};
+        try (CsvExportWriter writer = new CsvExportWriter(file, List.of("pv1", "pv2"), 4096)) {
+            writer.writeRows(new ExportBlock(List.of("pv1", "pv2"), timestamps, values), new int[] {0, 1}, 0);
+        }
+
+        final List<DataImportResult.DataFrameResult> frames = new ArrayList<>();
+        final ResultStatus status = new CsvImporter(10, LARGE_TARGET_BYTES)
+                .importFrames(file, frames::add, new ImportProgress());
+
+        assertFalse(status.isError, status.msg);
+        assertEquals(1, frames.size());
+        final DataImportResult.DataFrameResult frame = frames.get(0);
+        assertEquals(timestamps, frame.timestamps);
+        assertEquals(1.5, frame.columns.get(0).getDataValues(0).getDoubleValue());
+        assertTrue(Double.isNaN(frame.columns.get(0).getDataValues(1).getDoubleValue()));
+        assertEquals(3.5, frame.columns.get(0).getDataValues(2).getDoubleValue());
+        assertTrue(Double.isNaN(frame.columns.get(1).getDataValues(0).getDoubleValue()));
+        assertEquals("ok", frame.columns.get(1).getDataValues(1).getStringValue());
+        assertTrue(Double.isNaN(frame.columns.get(1).getDataValues(2).getDoubleValue()));
+    }
+
+    @Test
+    public void shortRecordIsAnError() throws Exception {
+        final Path file = tempDir.resolve("short.csv");
+        Files.writeString(file, "seconds,nanos,pv1,pv2\n1700000000,0,1.5\n");
+
+        final ResultStatus status = new CsvImporter(10, LARGE_TARGET_BYTES)
+                .importFrames(file, frame -> { }, new ImportProgress());
+
+        assertTrue(status.isError);
+        assertTrue(status.msg.contains("expected 4 fields"), status.msg);
+    }
+
+    @Test
+    public void framesAreSizedToTheTargetRequest() {
+        final int rowBytes = CsvImporter.ENCODED_TIMESTAMP_BYTES + 10 * 11;
+        final int target = BucketSizing.REQUEST_OVERHEAD_BYTES + 1000 * rowBytes;
+
+        assertEquals(1000, CsvImporter.rowsPerFrame(10, 50_000, target));
+        assertEquals(500, CsvImporter.rowsPerFrame(10, 500, target));
+        assertEquals(1, CsvImporter.rowsPerFrame(10, 50_000, 0));
+    }
+}
@@ -0,0 +1,132 @@
+package com.ospreydcs.dp.gui.importer;
+
+import ch.systemsx.cisd.hdf5.HDF5Factory;
+import ch.systemsx.cisd.hdf5.IHDF5Writer;
+import com.ospreydcs.dp.client.result.DataImportResult;
+import com.ospreydcs.dp.grpc.v1.common.DataColumn;
+import com.ospreydcs.dp.grpc.v1.common.DataTimestamps;
+import com.ospreydcs.dp.grpc.v1.common.DataValue;
+import com.ospreydcs.dp.grpc.v1.common.SamplingClock;
+import com.ospreydcs.dp.grpc.v1.common.Timestamp;
+import com.ospreydcs.dp.service.common.model.ResultStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for HDF5 import of column groups in hyperslab blocks and of serialized export buckets.
+ */
+public class Hdf5ImporterTest {
+
+    private static final int LARGE_TARGET_BYTES = 4_096_000;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void columnGroupsAreReadInBlocks() {
+        final Path file = tempDir.resolve("run.h5");
+        try (IHDF5Writer writer = HDF5Factory.open(file.toFile())) {
+            writer.float64().writeArray("/clocked/pv1", new double[] {1.0, 2.0, 3.0, 4.0, 5.0});
+            writer.int64().writeArray("/clocked/pv2", new long[] {10, 20, 30, 40, 50});
+            writer.int64().setAttr("/clocked", Hdf5Importer.ATTR_START_SECONDS, 1_700_000_000L);
+            writer.int64().setAttr("/clocked", Hdf5Importer.ATTR_START_NANOS, 750_000_000L);
+            writer.int64().setAttr("/clocked", Hdf5Importer.ATTR_PERIOD_NANOS, 250_000_000L);
+
+            writer.int64().writeMatrix("/explicit/timestamps", new long[][] {{1_700_000_100L, 0}, {1_700_000_105L, 7}});
+            writer.float64().writeArray("/explicit/beam_current", new double[] {0.5, 0.25});
+            writer.string().setAttr("/explicit/beam_current", Hdf5Importer.ATTR_PV_NAME, "S01:BEAM:CURRENT");
+        }
+
+        final List<DataImportResult.DataFrameResult> frames = new ArrayList<>();
+        final ImportProgress progress = new ImportProgress();
+        final ResultStatus status = new Hdf5Importer(2, LARGE_TARGET_BYTES).importFrames(file, frames::add, progress);
+
+        assertFalse(status.isError, status.msg);
+        assertEquals(List.of("clocked", "clocked", "clocked", "explicit"),
+                frames.stream().map(frame -> frame.sheetName).toList());
+        assertEquals(List.of(2, 2, 1, 2), frames.stream().map(frame -> frame.timestamps.size()).toList());
+        assertEquals(7, progress.getRowsRead());
+        assertEquals(1.0, progress.fraction());
+
+        // rows 2 and 3 of the clock cross a second boundary
+        final DataImportResult.DataFrameResult second = frames.get(1);
+        assertEquals(1_700_000_001L, second.timestamps.get(0).getEpochSeconds());
+        assertEquals(250_000_000L, second.timestamps.get(0).getNanoseconds());
+        assertEquals(3.0, second.columns.get(0).getDataValues(0).getDoubleValue());
+        assertEquals(40L, second.columns.get(1).getDataValues(1).getLongValue());
+
+        final DataImportResult.DataFrameResult explicit = frames.get(3);
+        assertEquals("S01:BEAM:CURRENT", explicit.columns.get(0).getName());
+        assertEquals(7, explicit.timestamps.get(1).getNanoseconds());
+        assertEquals(0.25, explicit.columns.get(0).getDataValues(1).getDoubleValue());
+    }
+
+    @Test
+    public void exportedBucketsAreImportedWhole() {
+        final DataColumn column = DataColumn.newBuilder()
+                .setName("S01:MAG:CURRENT")
+                .addDataValues(DataValue.newBuilder().setDoubleValue(1.25).build())
+                .addDataValues(DataValue.newBuilder().setDoubleValue(1.5).build())
+                .addDataValues(DataValue.newBuilder().setDoubleValue(1.75).build())
+                .build();
+        final DataTimestamps dataTimestamps = DataTimestamps.newBuilder()
+                .setSamplingClock(SamplingClock.newBuilder()
+                        .setStartTime(Timestamp.newBuilder().setEpochSeconds(1_700_000_000L).build())
+                        .setPeriodNanos(100_000_000L)
+                        .setCount(3)
+                        .build())
+                .build();
+
+        final Path file = tempDir.resolve("export.h5");
+        try (IHDF5Writer writer = HDF5Factory.open(file.toFile())) {
+            writer.int8().writeArray("/pvs/S01_MAG_CURRENT/" + Hdf5Importer.DATA_COLUMN_BYTES_DATASET,
+                    column.toByteArray());
+            writer.int8().writeArray("/pvs/S01_MAG_CURRENT/" + Hdf5Importer.DATA_TIMESTAMPS_BYTES_DATASET,
+                    dataTimestamps.toByteArray());
+        }
+
+        final List<DataImportResult.DataFrameResult> frames = new ArrayList<>();
+        final ResultStatus status = new Hdf5Importer(2, LARGE_TARGET_BYTES)
+                .importFrames(file, frames::add, new ImportProgress());
+
+        assertFalse(status.isError, status.msg);
+        assertEquals(1, frames.size());
+        assertEquals(List.of(column), frames.get(0).columns);
+        assertEquals(3, frames.get(0).timestamps.size());
+        assertEquals(200_000_000L, frames.get(0).timestamps.get(2).getNanoseconds());
+    }
+
+    @Test
+    public void mismatchedColumnLengthsAreAnError() {
+        final Path file = tempDir.resolve("ragged.h5");
+        try (IHDF5Writer writer = HDF5Factory.open(file.toFile())) {
+            writer.int64().writeMatrix("/timestamps", new long[][] {{1_700_000_000L, 0}, {1_700_000_001L, 0}});
+            writer.float64().writeArray("/pv1", new double[] {1.0, 2.0});
+            writer.float64().writeArray("/pv2", new double[] {1.0});
+        }
+
+        final ResultStatus status = new Hdf5Importer(10, LARGE_TARGET_BYTES)
+                .importFrames(file, frame -> { }, new ImportProgress());
+
+        assertTrue(status.isError);
+        assertTrue(status.msg.contains("pv2"), status.msg);
+    }
+
+    @Test
+    public void clockTimestampsCarryIntoSeconds() {
+        final List<Timestamp> timestamps = Hdf5Importer.clockTimestamps(10, 900_000_000L, 300_000_000L, 1, 2);
+
+        assertEquals(11, timestamps.get(0).getEpochSeconds());
+        assertEquals(200_000_000L, timestamps.get(0).getNanoseconds());
+        assertEquals(11, timestamps.get(1).getEpochSeconds());
+        assertEquals(500_000_000L, timestamps.get(1).getNanoseconds());
+    }
+}
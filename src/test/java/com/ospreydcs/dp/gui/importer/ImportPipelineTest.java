@@ -0,0 +1,90 @@
+package com.ospreydcs.dp.gui.importer;
+
+import com.ospreydcs.dp.client.result.DataImportResult;
+import com.ospreydcs.dp.service.common.model.ResultStatus;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the parse/handle pipeline: ordering through a bounded queue and error propagation
+ * from either stage.  The importers are stubs, so no file is read.
+ */
+public class ImportPipelineTest {
+
+    private static final Path FILE = Path.of("stub.csv");
+
+    @Test
+    public void framesAreHandledInOrderThroughABoundedQueue() throws Exception {
+        final DataFileImporter importer = (file, sink, progress) -> {
+            for (int i = 0; i < 20; i++) {
+                sink.accept(frame("frame" + i));
+            }
+            return new ResultStatus(false, "");
+        };
+        final List<String> handled = new ArrayList<>();
+
+        final ResultStatus status = new ImportPipeline(importer, 1).run(FILE, new ImportProgress(), frame -> {
+            handled.add(frame.sheetName);
+            return new ResultStatus(false, "");
+        });
+
+        assertFalse(status.isError, status.msg);
+        assertEquals(20, handled.size());
+        assertEquals("frame0", handled.get(0));
+        assertEquals("frame19", handled.get(19));
+    }
+
+    @Test
+    public void handlerErrorStopsTheParser() throws Exception {
+        final AtomicBoolean parserStopped = new AtomicBoolean(false);
+        final DataFileImporter endlessImporter = (file, sink, progress) -> {
+            try {
+                while (true) {
+                    sink.accept(frame("frame"));
+                }
+            } catch (InterruptedException e) {
+                parserStopped.set(true);
+                Thread.currentThread().interrupt();
+                return new ResultStatus(true, "import interrupted");
+            }
+        };
+
+        final ResultStatus status = new ImportPipeline(endlessImporter, 2)
+                .run(FILE, new ImportProgress(), frame -> new ResultStatus(true, "ingestion failed"));
+
+        assertTrue(status.isError);
+        assertEquals("ingestion failed", status.msg);
+        assertTrue(parserStopped.get());
+    }
+
+    @Test
+    public void parseErrorIsReturnedAfterEarlierFramesAreHandled() throws Exception {
+        final DataFileImporter failingImporter = (file, sink, progress) -> {
+            sink.accept(frame("frame0"));
+            sink.accept(frame("frame1"));
+            return new ResultStatus(true, "line 3: invalid timestamp seconds: x");
+        };
+        final List<String> handled = new ArrayList<>();
+
+        final ResultStatus status = new ImportPipeline(failingImporter, 4).run(FILE, new ImportProgress(), frame -> {
+            handled.add(frame.sheetName);
+            return new ResultStatus(false, "");
+        });
+
+        assertTrue(status.isError);
+        assertTrue(status.msg.contains("invalid timestamp"), status.msg);
+        assertEquals(List.of("frame0", "frame1"), handled);
+    }
+
+    private static DataImportResult.DataFrameResult frame(String name) {
+        return new DataImportResult.DataFrameResult(name, List.of(), List.of());
+    }
+}
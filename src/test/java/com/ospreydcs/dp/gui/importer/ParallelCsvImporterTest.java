@@ -0,0 +1,143 @@
+package com.ospreydcs.dp.gui.importer;
+
+import com.ospreydcs.dp.client.result.DataImportResult;
+import com.ospreydcs.dp.grpc.v1.common.Timestamp;
+import com.ospreydcs.dp.service.common.model.ResultStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for parallel chunked CSV import: record-aligned chunking and timestamp-ordered
+ * reassembly of the parsed chunks.
+ */
+public class ParallelCsvImporterTest {
+
+    private static final int LARGE_TARGET_BYTES = 4_096_000;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void chunksEndOnLineBoundaries() throws Exception {
+        final Path file = tempDir.resolve("lines.csv");
+        final String content = "h\n1111\n22\n333333\n4\n";
+        Files.writeString(file, content);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final List<long[]> chunks = ParallelCsvImporter.chunkBoundaries(channel, 2, content.length(), 4);
+
+            long expectedStart = 2;
+            for (long[] chunk : chunks) {
+                assertEquals(expectedStart, chunk[0]);
+                assertEquals('\n', content.charAt((int) chunk[1] - 1));
+                expectedStart = chunk[1];
+            }
+            assertEquals(content.length(), expectedStart);
+        }
+    }
+
+    @Test
+    public void chunksDoNotEndInsideQuotedFields() throws Exception {
+        final Path file = tempDir.resolve("quoted.csv");
+        final String content = "h\n1,\"a\nb\nc\"\n2,\"x\"\"\ny\"\n3,z\n";
+        Files.writeString(file, content);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final List<long[]> chunks = ParallelCsvImporter.chunkBoundaries(channel, 2, content.length(), 2);
+
+            final List<Long> ends = new ArrayList<>();
+            chunks.forEach(chunk -> ends.add(chunk[1]));
+            assertEquals(List.of((long) content.indexOf("2,"), (long) content.indexOf("3,"), (long) content.length()),
+                    ends);
+        }
+    }
+
+    @Test
+    public void quotedMultiLineFieldsSurviveChunking() throws Exception {
+        final Path file = tempDir.resolve("notes.csv");
+        final StringBuilder content = new StringBuilder("seconds,nanos,note\n");
+        final int rowCount = 100;
+        for (int i = 0; i < rowCount; i++) {
+            content.append(1_700_000_000L + i).append(",0,\"note ").append(i).append("\nline 2, \"\"quoted\"\"\"\n");
+        }
+        Files.writeString(file, content);
+
+        final List<DataImportResult.DataFrameResult> frames = new ArrayList<>();
+        final ImportProgress progress = new ImportProgress();
+        // chunks far smaller than a record, so most candidate boundaries fall inside a quoted field
+        final ResultStatus status = new ParallelCsvImporter(64, LARGE_TARGET_BYTES, 4, 10)
+                .importFrames(file, frames::add, progress);
+
+        assertFalse(status.isError, status.msg);
+        assertEquals(rowCount, progress.getRowsRead());
+
+        final List<String> notes = new ArrayList<>();
+        for (DataImportResult.DataFrameResult frame : frames) {
+            frame.columns.get(0).getDataValuesList().forEach(value -> notes.add(value.getStringValue()));
+        }
+        assertEquals(rowCount, notes.size());
+        for (int i = 0; i < rowCount; i++) {
+            assertEquals("note " + i + "\nline 2, \"quoted\"", notes.get(i));
+        }
+    }
+
+    @Test
+    public void chunksAreReassembledInTimestampOrder() throws Exception {
+        final Path file = tempDir.resolve("dump.csv");
+        final StringBuilder content = new StringBuilder("seconds,nanos,pv1\n");
+        final int rowCount = 200;
+        for (int i = 0; i < rowCount; i++) {
+            // swap each pair of rows so every chunk needs sorting
+            final int second = (i % 2 == 0) ? i + 1 : i - 1;
+            content.append(1_700_000_000L + second).append(",0,").append(second).append('\n');
+        }
+        Files.writeString(file, content);
+
+        final List<DataImportResult.DataFrameResult> frames = new ArrayList<>();
+        final ImportProgress progress = new ImportProgress();
+        // enough threads for a single window, so the merge spans every chunk
+        final ResultStatus status = new ParallelCsvImporter(64, LARGE_TARGET_BYTES, 64, 100)
+                .importFrames(file, frames::add, progress);
+
+        assertFalse(status.isError, status.msg);
+        assertEquals(rowCount, progress.getRowsRead());
+        assertEquals(1.0, progress.fraction());
+
+        final List<Timestamp> timestamps = new ArrayList<>();
+        final List<Double> values = new ArrayList<>();
+        for (DataImportResult.DataFrameResult frame : frames) {
+            assertEquals("dump", frame.sheetName);
+            assertTrue(frame.timestamps.size() <= 64);
+            timestamps.addAll(frame.timestamps);
+            frame.columns.get(0).getDataValuesList().forEach(value -> values.add(value.getDoubleValue()));
+        }
+        assertEquals(rowCount, timestamps.size());
+        for (int i = 0; i < rowCount; i++) {
+            assertEquals(1_700_000_000L + i, timestamps.get(i).getEpochSeconds());
+            assertEquals((double) i, values.get(i));
+        }
+    }
+
+    @Test
+    public void malformedRecordReportsItsChunk() throws Exception {
+        final Path file = tempDir.resolve("bad.csv");
+        Files.writeString(file, "seconds,nanos,pv1\n1700000000,0,1\n1700000001,0\n");
+
+        final ResultStatus status = new ParallelCsvImporter(64, LARGE_TARGET_BYTES, 2, 1024)
+                .importFrames(file, frame -> { }, new ImportProgress());
+
+        assertTrue(status.isError);
+        assertTrue(status.msg.contains("chunk at byte 18"), status.msg);
+    }
+}
@@ -0,0 +1,116 @@
+package com.ospreydcs.dp.gui.importer;
+
+import com.ospreydcs.dp.client.result.DataImportResult;
+import com.ospreydcs.dp.service.common.model.ResultStatus;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the streaming xlsx importer against workbooks written with POI's user model.
+ */
+public class StreamingXlsxImporterTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void sheetsAreEmittedInBoundedFrames() throws Exception {
+        final Path file = tempDir.resolve("data.xlsx");
+        try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+            writeSheet(workbook.createSheet("first"), 7);
+            writeSheet(workbook.createSheet("second"), 2);
+            try (OutputStream out = Files.newOutputStream(file)) {
+                workbook.write(out);
+            }
+        }
+
+        final List<DataImportResult.DataFrameResult> frames = new ArrayList<>();
+        final ImportProgress progress = new ImportProgress();
+        final ResultStatus status = new StreamingXlsxImporter(3).importFrames(file, frames::add, progress);
+
+        assertFalse(status.isError, status.msg);
+        assertEquals(4, frames.size());
+        assertEquals(List.of("first", "first", "first", "second"),
+                frames.stream().map(frame -> frame.sheetName).toList());
+        assertEquals(List.of(3, 3, 1, 2), frames.stream().map(frame -> frame.timestamps.size()).toList());
+        assertEquals(9, progress.getRowsRead());
+        assertEquals(4, progress.getFramesEmitted());
+
+        // full-precision timestamps and values, columns named from the header
+        final DataImportResult.DataFrameResult last = frames.get(2);
+        assertEquals(1_700_000_006L, last.timestamps.get(0).getEpochSeconds());
+        assertEquals(600_000_000L, last.timestamps.get(0).getNanoseconds());
+        assertEquals(List.of("pv1", "pv2"), last.columns.stream().map(column -> column.getName()).toList());
+        assertEquals(6.25, last.columns.get(0).getDataValues(0).getDoubleValue());
+        assertEquals("s6", last.columns.get(1).getDataValues(0).getStringValue());
+    }
+
+    @Test
+    public void previewReadsOnlyTheFirstRowsOfEachSheet() throws Exception {
+        final Path file = tempDir.resolve("preview.xlsx");
+        try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+            writeSheet(workbook.createSheet("first"), 7);
+            writeSheet(workbook.createSheet("second"), 2);
+            try (OutputStream out = Files.newOutputStream(file)) {
+                workbook.write(out);
+            }
+        }
+
+        final List<DataImportResult.DataFrameResult> frames = new ArrayList<>();
+        final ResultStatus status = DataFileImporters.forPreview(file, 3)
+                .importFrames(file, frames::add, new ImportProgress());
+
+        assertFalse(status.isError, status.msg);
+        assertEquals(List.of("first", "second"), frames.stream().map(frame -> frame.sheetName).toList());
+        assertEquals(List.of(3, 2), frames.stream().map(frame -> frame.timestamps.size()).toList());
+        assertEquals(List.of("pv1", "pv2"), frames.get(0).columns.stream().map(column -> column.getName()).toList());
+    }
+
+    @Test
+    public void missingPvColumnsIsAnError() throws Exception {
+        final Path file = tempDir.resolve("bad.xlsx");
+        try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+            final Row header = workbook.createSheet("bad").createRow(0);
+            header.createCell(0).setCellValue("seconds");
+            header.createCell(1).setCellValue("nanos");
+            try (OutputStream out = Files.newOutputStream(file)) {
+                workbook.write(out);
+            }
+        }
+
+        final List<DataImportResult.DataFrameResult> frames = new ArrayList<>();
+        final ResultStatus status = new StreamingXlsxImporter(10).importFrames(file, frames::add, new ImportProgress());
+
+        assertTrue(status.isError);
+        assertTrue(status.msg.contains("header"), status.msg);
+        assertTrue(frames.isEmpty());
+    }
+
+    private static void writeSheet(Sheet sheet, int rowCount) {
+        final Row header = sheet.createRow(0);
+        header.createCell(0).setCellValue("seconds");
+        header.createCell(1).setCellValue("nanos");
+        header.createCell(2).setCellValue("pv1");
+        header.createCell(3).setCellValue("pv2");
+        for (int i = 0; i < rowCount; i++) {
+            final Row row = sheet.createRow(i + 1);
+            row.createCell(0).setCellValue(1_700_000_000L + i);
+            row.createCell(1).setCellValue(i * 100_000_000L);
+            row.createCell(2).setCellValue(i + 0.25);
+            row.createCell(3).setCellValue("s" + i);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.ospreydcs.dp.gui.ingest;
+
+import com.ospreydcs.dp.client.IngestionClient;
+import com.ospreydcs.dp.grpc.v1.common.DataColumn;
+import com.ospreydcs.dp.grpc.v1.common.DataValue;
+import com.ospreydcs.dp.grpc.v1.common.Timestamp;
+import com.ospreydcs.dp.gui.model.DataFrameDetails;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the request sizing helpers in BucketSizing: automatic bucket durations, the per-request
+ * sample cap, and splitting of imported frames by encoded size.  The helpers are pure, so the tests
+ * pass explicit limits rather than reading the configuration.
+ */
+public class BucketSizingTest {
+
+    private static final int LIMIT = 4_096_000;
+
+    // ------------------- bucket durations ---------------------------
+
+    @Test
+    public void autoBucketSecondsGivesSlowPvsLongerBuckets() {
+        final int slow = BucketSizing.autoBucketSeconds(1, IngestionClient.IngestionDataType.DOUBLE, LIMIT);
+        final int fast = BucketSizing.autoBucketSeconds(1000, IngestionClient.IngestionDataType.DOUBLE, LIMIT);
+        assertTrue(slow > fast);
+        assertTrue(fast >= 1);
+    }
+
+    @Test
+    public void autoBucketSecondsIsNeverLessThanOneSecond() {
+        assertEquals(1, BucketSizing.autoBucketSeconds(10_000_000, IngestionClient.IngestionDataType.LONG, LIMIT));
+    }
+
+    @Test
+    public void autoBucketSecondsRejectsNonPositiveRate() {
+        assertThrows(IllegalArgumentException.class,
+                () -> BucketSizing.autoBucketSeconds(0, IngestionClient.IngestionDataType.DOUBLE, LIMIT));
+    }
+
+    @Test
+    public void samplesPerRequestIsCappedByMessageSizeLimit() {
+        final IngestionClient.IngestionDataType type = IngestionClient.IngestionDataType.DOUBLE;
+        final int cap = BucketSizing.maxSamplesPerRequest(type, LIMIT);
+        assertEquals(100, BucketSizing.samplesPerRequest(100, 1, type, LIMIT));
+        assertEquals(cap, BucketSizing.samplesPerRequest(1_000_000, 60, type, LIMIT));
+        assertTrue((long) cap * BucketSizing.encodedValueBytes(type) + BucketSizing.REQUEST_OVERHEAD_BYTES <= LIMIT);
+    }
+
+    @Test
+    public void requestCountRoundsUp() {
+        assertEquals(0, BucketSizing.requestCount(0, 10));
+        assertEquals(1, BucketSizing.requestCount(10, 10));
+        assertEquals(2, BucketSizing.requestCount(11, 10));
+    }
+
+    // ------------------- frame splitting ---------------------------
+
+    @Test
+    public void splitFrameReturnsFrameThatFitsUnchanged() {
+        final List<Timestamp> timestamps = timestamps(10);
+        final List<DataColumn> columns = List.of(doubleColumn("pv1", 10));
+
+        final List<DataFrameDetails> pieces = BucketSizing.splitFrame("sheet", timestamps, columns, LIMIT);
+
+        assertEquals(1, pieces.size());
+        assertSame(timestamps, pieces.get(0).getTimestamps());
+        assertSame(columns, pieces.get(0).getDataColumns());
+    }
+
+    @Test
+    public void splitFrameKeepsEveryRowInOrderWithinTheLimit() {
+        final int rowCount = 5000;
+        final List<Timestamp> timestamps = timestamps(rowCount);
+        final List<DataColumn> columns = List.of(doubleColumn("pv1", rowCount), doubleColumn("pv2", rowCount));
+        final int maxRequestBytes = BucketSizing.REQUEST_OVERHEAD_BYTES + 20_000;
+
+        final List<DataFrameDetails> pieces = BucketSizing.splitFrame("sheet", timestamps, columns, maxRequestBytes);
+
+        assertTrue(pieces.size() > 1);
+        int nextRow = 0;
+        for (DataFrameDetails piece : pieces) {
+            assertEquals("sheet", piece.getName());
+            assertEquals(2, piece.getDataColumns().size());
+            assertEquals("pv2", piece.getDataColumns().get(1).getName());
+            int pieceBytes = 0;
+            for (int row = 0; row < piece.getTimestamps().size(); row++) {
+                assertEquals(timestamps.get(nextRow), piece.getTimestamps().get(row));
+                assertEquals(columns.get(0).getDataValues(nextRow), piece.getDataColumns().get(0).getDataValues(row));
+                pieceBytes += BucketSizing.encodedRowBytes(piece.getTimestamps(), piece.getDataColumns(), row);
+                nextRow++;
+            }
+            assertTrue(pieceBytes <= maxRequestBytes - BucketSizing.REQUEST_OVERHEAD_BYTES);
+        }
+        assertEquals(rowCount, nextRow);
+    }
+
+    private static List<Timestamp> timestamps(int count) {
+        final List<Timestamp> timestamps = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            timestamps.add(Timestamp.newBuilder().setEpochSeconds(1_700_000_000L + i / 10).setNanoseconds((i % 10) * 100_000_000L).build());
+        }
+        return timestamps;
+    }
+
+    private static DataColumn doubleColumn(String name, int count) {
+        final DataColumn.Builder builder = DataColumn.newBuilder().setName(name);
+        for (int i = 0; i < count; i++) {
+            builder.addDataValues(DataValue.newBuilder().setDoubleValue(i * 0.5).build());
+        }
+        return builder.build();
+    }
+}
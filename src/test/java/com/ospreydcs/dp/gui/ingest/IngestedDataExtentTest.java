@@ -0,0 +1,47 @@
+package com.ospreydcs.dp.gui.ingest;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests for accumulating the extent of an ingestion job from concurrently encoded frames.
+ */
+public class IngestedDataExtentTest {
+
+    @Test
+    public void concurrentFramesAccumulateTheOverallExtent() throws Exception {
+        final IngestedDataExtent extent = new IngestedDataExtent();
+        final Instant base = Instant.ofEpochSecond(1_700_000_000L);
+        final ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int frame = 0; frame < 400; frame++) {
+                final int frameIndex = frame;
+                futures.add(pool.submit(() -> extent.add(
+                        List.of("pv" + (frameIndex % 10), "common"),
+                        base.plusSeconds(frameIndex),
+                        base.plusSeconds(frameIndex + 5),
+                        2)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(11, extent.getSortedPvNames().size());
+        assertEquals("common", extent.getSortedPvNames().get(0));
+        assertEquals(base, extent.getBeginInstant());
+        assertEquals(base.plusSeconds(404), extent.getEndInstant());
+        assertEquals(800, extent.getRequestCount());
+    }
+}
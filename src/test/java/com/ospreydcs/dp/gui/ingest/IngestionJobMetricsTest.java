@@ -0,0 +1,138 @@
+package com.ospreydcs.dp.gui.ingest;
+
+import io.grpc.Status;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for ingestion job instrumentation: counter aggregation and latency percentiles in
+ * IngestionJobMetrics, the derived figures and CSV export of IngestionJobSummary, and the
+ * transient-versus-reject classification in IngestionRetryPolicy.
+ */
+public class IngestionJobMetricsTest {
+
+    // ------------------- IngestionJobMetrics ---------------------------
+
+    @Test
+    public void percentileUsesNearestRank() {
+        final long[] samples = new long[100];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = i + 1;
+        }
+        assertEquals(50, IngestionJobMetrics.percentile(samples, 50));
+        assertEquals(95, IngestionJobMetrics.percentile(samples, 95));
+        assertEquals(99, IngestionJobMetrics.percentile(samples, 99));
+        assertEquals(7, IngestionJobMetrics.percentile(new long[]{7}, 99));
+        assertEquals(0, IngestionJobMetrics.percentile(new long[0], 50));
+    }
+
+    @Test
+    public void latencyReservoirIsBoundedAndKeepsTheExactMaximum() {
+        final IngestionJobMetrics metrics = new IngestionJobMetrics("job", 1000);
+        for (int i = 1; i <= 100_000; i++) {
+            metrics.recordRequest(1, 1, i);
+        }
+
+        final IngestionJobSummary summary = metrics.summary();
+        assertEquals(100_000, summary.requestsSent);
+        assertEquals(100_000, summary.latencyMaxNanos);
+        // a uniform sample of 1000 puts the median well within 10% of the true one
+        assertTrue(Math.abs(summary.latencyP50Nanos - 50_000) < 10_000, "p50: " + summary.latencyP50Nanos);
+        assertTrue(summary.latencyP99Nanos > 90_000, "p99: " + summary.latencyP99Nanos);
+    }
+
+    @Test
+    public void summaryAggregatesRequestsRetriesAndRejects() {
+        final IngestionJobMetrics metrics = new IngestionJobMetrics("job");
+        metrics.setExpectedRequests(4);
+        for (int i = 1; i <= 2000; i++) {
+            metrics.recordRequest(10, 100, i * 1_000L);
+        }
+        metrics.recordRetry(5_000);
+        metrics.recordReject(6_000);
+        metrics.finish(false);
+
+        final IngestionJobSummary summary = metrics.summary();
+        assertTrue(summary.finished);
+        assertEquals("completed", summary.status());
+        assertEquals(2000, summary.requestsSent);
+        assertEquals(20_000, summary.samplesSent);
+        assertEquals(200_000, summary.bytesSent);
+        assertEquals(1, summary.retries);
+        assertEquals(1, summary.rejects);
+        assertEquals(2_000_000, summary.latencyMaxNanos);
+        assertTrue(summary.latencyP50Nanos <= summary.latencyP95Nanos);
+        assertTrue(summary.latencyP95Nanos <= summary.latencyP99Nanos);
+        assertEquals(1.0, summary.progress());
+    }
+
+    @Test
+    public void finishIsStickyAndFreezesElapsedTime() throws Exception {
+        final IngestionJobMetrics metrics = new IngestionJobMetrics("job");
+        assertFalse(metrics.isFinished());
+        assertEquals(-1, metrics.summary().progress());
+        metrics.finish(true);
+        metrics.finish(false);
+
+        final IngestionJobSummary first = metrics.summary();
+        Thread.sleep(5);
+        final IngestionJobSummary second = metrics.summary();
+        assertEquals("failed", first.status());
+        assertEquals(first.elapsedNanos, second.elapsedNanos);
+    }
+
+    // ------------------- IngestionJobSummary export ---------------------------
+
+    @Test
+    public void writeCsvWritesHeaderAndValueLines(@TempDir Path tempDir) throws Exception {
+        final IngestionJobMetrics metrics = new IngestionJobMetrics("job, with comma");
+        metrics.recordRequest(5, 50, 1_000_000);
+        metrics.finish(false);
+
+        final Path file = tempDir.resolve("summary.csv");
+        metrics.summary().writeCsv(file);
+
+        final List<String> lines = Files.readAllLines(file);
+        assertEquals(2, lines.size());
+        assertEquals(String.join(",", IngestionJobSummary.CSV_COLUMNS), lines.get(0));
+        assertTrue(lines.get(1).startsWith("\"job, with comma\",completed,"));
+        assertTrue(lines.get(1).endsWith(",1.000,1.000,1.000,1.000"));
+    }
+
+    // ------------------- IngestionRetryPolicy ---------------------------
+
+    @Test
+    public void retryPolicyRetriesOnlyTransientFailuresUpToLimit() {
+        final IngestionRetryPolicy policy = new IngestionRetryPolicy(2, 100);
+        assertTrue(policy.shouldRetry(1, "UNAVAILABLE: io exception"));
+        assertTrue(policy.shouldRetry(2, "DEADLINE_EXCEEDED: deadline exceeded after 5s"));
+        assertFalse(policy.shouldRetry(3, "UNAVAILABLE: io exception"));
+        assertFalse(policy.shouldRetry(1, "invalid request: columns must not be empty"));
+        assertFalse(policy.shouldRetry(1, null));
+        assertEquals(200, policy.backoffMillis(2));
+    }
+
+    @Test
+    public void retryPolicyClassifiesByStatusCodeNotByWords() {
+        assertEquals(Status.Code.UNAVAILABLE, IngestionRetryPolicy.statusCode("UNAVAILABLE: io exception"));
+        assertNull(IngestionRetryPolicy.statusCode("ingestData() failed: UNAVAILABLE: io exception"));
+        assertNull(IngestionRetryPolicy.statusCode("FOO: upstream UNAVAILABLE: connection refused"));
+        assertEquals(Status.Code.INVALID_ARGUMENT, IngestionRetryPolicy.statusCode("INVALID_ARGUMENT: bad frame"));
+        assertNull(IngestionRetryPolicy.statusCode("rejected: PV was UNAVAILABLE in the archive"));
+
+        assertTrue(IngestionRetryPolicy.isTransient(Status.Code.RESOURCE_EXHAUSTED));
+        assertFalse(IngestionRetryPolicy.isTransient(Status.Code.INVALID_ARGUMENT));
+        assertFalse(IngestionRetryPolicy.isTransient("rejected: PV was UNAVAILABLE in the archive"));
+        assertFalse(IngestionRetryPolicy.isTransient("NOTE: UNAVAILABLE"));
+        assertFalse(IngestionRetryPolicy.isTransient("FOO: upstream UNAVAILABLE: connection refused"));
+    }
+}
@@ -0,0 +1,191 @@
+package com.ospreydcs.dp.gui.ingest;
+
+import com.ospreydcs.dp.grpc.v1.common.DataColumn;
+import com.ospreydcs.dp.grpc.v1.common.DataValue;
+import com.ospreydcs.dp.grpc.v1.ingestion.IngestDataRequest;
+import com.ospreydcs.dp.service.common.model.ResultStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the durable ingestion queue: append and tail, checkpointing and resume, recovery from
+ * a partially written record, and draining with a sender pool that stops at the first failure.
+ * Requests are built directly and "sent" to a stub, so no service is needed.
+ */
+public class IngestionWriteAheadQueueTest {
+
+    @Test
+    public void readerReturnsAppendedRequestsInOrderUntilSealed(@TempDir Path root) throws Exception {
+        try (IngestionWriteAheadQueue queue = IngestionWriteAheadQueue.create(root, null)) {
+            queue.append(request("r1"));
+            queue.append(request("r2"));
+            queue.seal();
+
+            assertEquals("r1", queue.nextPending().getClientRequestId());
+            assertEquals("r2", queue.nextPending().getClientRequestId());
+            assertNull(queue.nextPending());
+        }
+    }
+
+    @Test
+    public void reopenedQueueSkipsCheckpointedRequests(@TempDir Path root) throws Exception {
+        final Path jobDirectory;
+        try (IngestionWriteAheadQueue queue = IngestionWriteAheadQueue.create(root, null)) {
+            jobDirectory = queue.getJobDirectory();
+            for (int i = 1; i <= 4; i++) {
+                queue.append(request("r" + i));
+            }
+            queue.seal();
+            queue.markCompleted("r1");
+            queue.markCompleted("r3");
+        }
+
+        assertEquals(List.of(jobDirectory), IngestionWriteAheadQueue.listJobs(root));
+        try (IngestionWriteAheadQueue queue = IngestionWriteAheadQueue.open(jobDirectory)) {
+            assertTrue(queue.isSealed());
+            assertEquals(4, queue.getAppendedCount());
+            assertEquals(2, queue.getCompletedCount());
+            assertEquals("r2", queue.nextPending().getClientRequestId());
+            assertEquals("r4", queue.nextPending().getClientRequestId());
+            assertNull(queue.nextPending());
+        }
+    }
+
+    @Test
+    public void openTruncatesPartiallyWrittenTailRecord(@TempDir Path root) throws Exception {
+        final Path jobDirectory;
+        try (IngestionWriteAheadQueue queue = IngestionWriteAheadQueue.create(root, null)) {
+            jobDirectory = queue.getJobDirectory();
+            queue.append(request("r1"));
+        }
+
+        // simulate a crash partway through writing the second record
+        final byte[] secondRecord = request("r2").toByteArray();
+        try (OutputStream output = Files.newOutputStream(
+                jobDirectory.resolve(IngestionWriteAheadQueue.REQUESTS_FILE), StandardOpenOption.APPEND)) {
+            output.write(secondRecord.length);
+            output.write(secondRecord, 0, secondRecord.length / 2);
+        }
+
+        try (IngestionWriteAheadQueue queue = IngestionWriteAheadQueue.open(jobDirectory)) {
+            assertFalse(queue.isSealed());
+            assertEquals(1, queue.getAppendedCount());
+            queue.seal();
+            assertEquals("r1", queue.nextPending().getClientRequestId());
+            assertNull(queue.nextPending());
+        }
+    }
+
+    @Test
+    public void drainerCheckpointsSentRequestsAndKeepsFailedOnes(@TempDir Path root) throws Exception {
+        final List<String> sent = Collections.synchronizedList(new ArrayList<>());
+        final Path jobDirectory;
+        try (IngestionWriteAheadQueue queue = IngestionWriteAheadQueue.create(root, null)) {
+            jobDirectory = queue.getJobDirectory();
+            final IngestionQueueDrainer drainer = new IngestionQueueDrainer(queue, 1, request -> {
+                if (request.getClientRequestId().equals("r3")) {
+                    return new ResultStatus(true, "rejected");
+                }
+                sent.add(request.getClientRequestId());
+                return new ResultStatus(false, "");
+            });
+            drainer.start();
+            for (int i = 1; i <= 5; i++) {
+                queue.append(request("r" + i));
+            }
+            queue.seal();
+
+            final ResultStatus status = drainer.awaitCompletion();
+            assertTrue(status.isError);
+            assertEquals("rejected", status.msg);
+            assertFalse(queue.isComplete());
+        }
+
+        // everything not acknowledged, including the failed request, is pending on resume
+        try (IngestionWriteAheadQueue queue = IngestionWriteAheadQueue.open(jobDirectory)) {
+            final List<String> pending = new ArrayList<>();
+            for (IngestDataRequest request; (request = queue.nextPending()) != null; ) {
+                pending.add(request.getClientRequestId());
+            }
+            assertTrue(pending.contains("r3"));
+            assertEquals(5, pending.size() + sent.size());
+            for (String id : sent) {
+                assertFalse(pending.contains(id));
+            }
+        }
+    }
+
+    @Test
+    public void drainerCompletesAndQueueCanBeDeleted(@TempDir Path root) throws Exception {
+        final IngestionWriteAheadQueue queue = IngestionWriteAheadQueue.create(root, null);
+        final IngestionQueueDrainer drainer =
+                new IngestionQueueDrainer(queue, 3, request -> new ResultStatus(false, ""));
+        drainer.start();
+        for (int i = 1; i <= 20; i++) {
+            queue.append(request("r" + i));
+        }
+        queue.seal();
+
+        assertFalse(drainer.awaitCompletion().isError);
+        assertTrue(queue.isComplete());
+        queue.delete();
+        assertEquals(List.of(), IngestionWriteAheadQueue.listJobs(root));
+    }
+
+    @Test
+    public void openJobIsNeitherListedNorReopened(@TempDir Path root) throws Exception {
+        final Path jobDirectory;
+        try (IngestionWriteAheadQueue queue = IngestionWriteAheadQueue.create(root, null)) {
+            jobDirectory = queue.getJobDirectory();
+            queue.append(request("r1"));
+
+            assertTrue(IngestionWriteAheadQueue.isInUse(jobDirectory));
+            assertEquals(List.of(), IngestionWriteAheadQueue.listJobs(root));
+            assertThrows(IOException.class, () -> IngestionWriteAheadQueue.open(jobDirectory));
+
+            // the failed attempts must not have released the owner's lock
+            assertTrue(IngestionWriteAheadQueue.isInUse(jobDirectory));
+        }
+
+        assertFalse(IngestionWriteAheadQueue.isInUse(jobDirectory));
+        assertEquals(List.of(jobDirectory), IngestionWriteAheadQueue.listJobs(root));
+    }
+
+    @Test
+    public void pendingBoundIsReleasedByCheckpoints(@TempDir Path root) throws Exception {
+        try (IngestionWriteAheadQueue queue = IngestionWriteAheadQueue.create(root, null)) {
+            queue.append(request("r1"));
+            queue.append(request("r2"));
+
+            assertFalse(queue.awaitPendingBelow(2, 10));
+            queue.markCompleted("r1");
+            assertTrue(queue.awaitPendingBelow(2, 10));
+        }
+    }
+
+    private static IngestDataRequest request(String clientRequestId) {
+        return IngestDataRequest.newBuilder()
+                .setProviderId("provider-1")
+                .setClientRequestId(clientRequestId)
+                .setIngestionDataFrame(IngestDataRequest.IngestionDataFrame.newBuilder()
+                        .addDataColumns(DataColumn.newBuilder()
+                                .setName("pv1")
+                                .addDataValues(DataValue.newBuilder().setDoubleValue(1.5))))
+                .build();
+    }
+}
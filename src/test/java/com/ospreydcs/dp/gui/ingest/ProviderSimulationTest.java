@@ -0,0 +1,107 @@
+package com.ospreydcs.dp.gui.ingest;
+
+import com.ospreydcs.dp.gui.model.PvDetail;
+import com.ospreydcs.dp.service.common.model.ResultStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for spreading PVs across simulated providers and running one concurrent ingest loop per
+ * provider.  The ingester is a stub, so no service ecosystem is needed.
+ */
+public class ProviderSimulationTest {
+
+    @Test
+    public void simulatedProviderNamesAreNumberedFromOne() {
+        assertEquals("ioc-sim-001", ProviderSimulation.simulatedProviderName("ioc", 0));
+        assertEquals("ioc-sim-250", ProviderSimulation.simulatedProviderName("ioc", 249));
+    }
+
+    @Test
+    public void providerCountIsCappedAtPvCount() {
+        assertEquals(3, ProviderSimulation.effectiveProviderCount(100, 3));
+        assertEquals(10, ProviderSimulation.effectiveProviderCount(10, 50));
+        assertEquals(1, ProviderSimulation.effectiveProviderCount(0, 5));
+    }
+
+    @Test
+    public void roundRobinAssignmentBalancesGroupsAndKeepsOrder() {
+        final List<List<Integer>> groups = ProviderSimulation.assignRoundRobin(List.of(0, 1, 2, 3, 4, 5, 6), 3);
+
+        assertEquals(List.of(List.of(0, 3, 6), List.of(1, 4), List.of(2, 5)), groups);
+        assertThrows(IllegalArgumentException.class, () -> ProviderSimulation.assignRoundRobin(List.of(1), 0));
+    }
+
+    @Test
+    public void everyPvIsSentByItsProviderConcurrently() {
+        final List<PvDetail> pvDetails = pvDetails(6);
+        final List<String> providerIds = List.of("p1", "p2", "p3");
+        final Map<String, String> sentBy = new ConcurrentHashMap<>();
+
+        // every provider must be inside ingest() at the same time for the latch to open
+        final CountDownLatch allProvidersSending = new CountDownLatch(providerIds.size());
+        final ResultStatus result = ProviderSimulation.run(
+                providerIds,
+                ProviderSimulation.assignRoundRobin(pvDetails, providerIds.size()),
+                (providerId, pvDetail) -> {
+                    allProvidersSending.countDown();
+                    try {
+                        assertTrue(allProvidersSending.await(10, TimeUnit.SECONDS));
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    assertTrue(Thread.currentThread().isVirtual());
+                    sentBy.put(pvDetail.getPvName(), providerId);
+                    return new ResultStatus(false, "");
+                });
+
+        assertFalse(result.isError);
+        assertEquals(6, sentBy.size());
+        assertEquals("p1", sentBy.get("pv0"));
+        assertEquals("p2", sentBy.get("pv1"));
+        assertEquals("p3", sentBy.get("pv2"));
+        assertEquals("p1", sentBy.get("pv3"));
+    }
+
+    @Test
+    public void firstErrorStopsProvidersBeforeTheirNextPv() {
+        final List<PvDetail> pvDetails = pvDetails(5);
+        final List<String> attempted = new CopyOnWriteArrayList<>();
+        final AtomicInteger calls = new AtomicInteger();
+
+        final ResultStatus result = ProviderSimulation.run(
+                List.of("p1"),
+                List.of(pvDetails),
+                (providerId, pvDetail) -> {
+                    attempted.add(pvDetail.getPvName());
+                    return calls.incrementAndGet() == 2
+                            ? new ResultStatus(true, "rejected " + pvDetail.getPvName())
+                            : new ResultStatus(false, "");
+                });
+
+        assertTrue(result.isError);
+        assertEquals("rejected pv1", result.msg);
+        assertEquals(List.of("pv0", "pv1"), attempted);
+    }
+
+    private static List<PvDetail> pvDetails(int count) {
+        final List<PvDetail> pvDetails = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            pvDetails.add(new PvDetail("pv" + i, "double", 10, "0", "1"));
+        }
+        return pvDetails;
+    }
+}
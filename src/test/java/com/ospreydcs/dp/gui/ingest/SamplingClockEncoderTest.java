@@ -0,0 +1,119 @@
+package com.ospreydcs.dp.gui.ingest;
+
+import com.ospreydcs.dp.grpc.v1.common.DataColumn;
+import com.ospreydcs.dp.grpc.v1.common.DataValue;
+import com.ospreydcs.dp.grpc.v1.common.Timestamp;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for detecting constant-period runs in imported timestamps and cutting frames into
+ * sampling clock and explicit-timestamp segments.
+ */
+public class SamplingClockEncoderTest {
+
+    private static final long BASE_NANOS = 1_700_000_000L * 1_000_000_000L;
+    private static final long PERIOD_NANOS = 100_000_000L;
+
+    @Test
+    public void regularFrameBecomesSingleSamplingClockSegment() {
+        final List<Timestamp> timestamps = new ArrayList<>();
+        addRun(timestamps, BASE_NANOS, 10);
+        final List<DataColumn> columns = List.of(column(10));
+
+        final List<SamplingClockEncoder.Segment> segments =
+                SamplingClockEncoder.encode("sheet", timestamps, columns, 64);
+
+        assertEquals(1, segments.size());
+        assertTrue(segments.get(0).isSamplingClock());
+        assertEquals(PERIOD_NANOS, segments.get(0).periodNanos);
+        assertSame(timestamps, segments.get(0).frame.getTimestamps());
+    }
+
+    @Test
+    public void jitteredFrameKeepsExplicitTimestamps() {
+        final List<Timestamp> timestamps = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            timestamps.add(timestamp(BASE_NANOS + i * PERIOD_NANOS + (i % 3) * 1_000));
+        }
+
+        final List<SamplingClockEncoder.Segment> segments =
+                SamplingClockEncoder.encode("sheet", timestamps, List.of(column(100)), 8);
+
+        assertEquals(1, segments.size());
+        assertFalse(segments.get(0).isSamplingClock());
+    }
+
+    @Test
+    public void regularRunsAreSplitOutAroundIrregularRows() {
+        final List<Timestamp> timestamps = new ArrayList<>();
+        addRun(timestamps, BASE_NANOS, 20);
+        timestamps.add(timestamp(BASE_NANOS + 25 * PERIOD_NANOS));
+        timestamps.add(timestamp(BASE_NANOS + 27 * PERIOD_NANOS + 1));
+        addRun(timestamps, BASE_NANOS + 40 * PERIOD_NANOS, 30);
+        final int rowCount = timestamps.size();
+
+        final List<SamplingClockEncoder.Segment> segments =
+                SamplingClockEncoder.encode("sheet", timestamps, List.of(column(rowCount)), 10);
+
+        assertEquals(3, segments.size());
+        assertTrue(segments.get(0).isSamplingClock());
+        assertEquals(20, segments.get(0).frame.getTimestamps().size());
+        assertFalse(segments.get(1).isSamplingClock());
+        assertEquals(2, segments.get(1).frame.getTimestamps().size());
+        assertTrue(segments.get(2).isSamplingClock());
+        assertEquals(30, segments.get(2).frame.getTimestamps().size());
+
+        // every row is kept, in order, with its value
+        int row = 0;
+        for (SamplingClockEncoder.Segment segment : segments) {
+            for (int i = 0; i < segment.frame.getTimestamps().size(); i++, row++) {
+                assertEquals(timestamps.get(row), segment.frame.getTimestamps().get(i));
+                assertEquals(row, segment.frame.getDataColumns().get(0).getDataValues(i).getIntValue());
+            }
+        }
+        assertEquals(rowCount, row);
+    }
+
+    @Test
+    public void findRunsIgnoresRunsShorterThanMinimum() {
+        final List<Timestamp> timestamps = new ArrayList<>();
+        addRun(timestamps, BASE_NANOS, 5);
+        timestamps.add(timestamp(BASE_NANOS + 50 * PERIOD_NANOS));
+
+        final List<long[]> runs = SamplingClockEncoder.findRuns(timestamps, 10);
+
+        assertEquals(1, runs.size());
+        assertEquals(0, runs.get(0)[0]);
+        assertEquals(6, runs.get(0)[1]);
+        assertEquals(0, runs.get(0)[2]);
+    }
+
+    private static void addRun(List<Timestamp> timestamps, long startNanos, int count) {
+        for (int i = 0; i < count; i++) {
+            timestamps.add(timestamp(startNanos + i * PERIOD_NANOS));
+        }
+    }
+
+    private static Timestamp timestamp(long nanos) {
+        return Timestamp.newBuilder()
+                .setEpochSeconds(nanos / 1_000_000_000L)
+                .setNanoseconds(nanos % 1_000_000_000L)
+                .build();
+    }
+
+    private static DataColumn column(int count) {
+        final DataColumn.Builder builder = DataColumn.newBuilder().setName("pv1");
+        for (int i = 0; i < count; i++) {
+            builder.addDataValues(DataValue.newBuilder().setIntValue(i));
+        }
+        return builder.build();
+    }
+}
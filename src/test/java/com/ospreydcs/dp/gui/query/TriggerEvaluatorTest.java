@@ -0,0 +1,82 @@
+package com.ospreydcs.dp.gui.query;
+
+import com.ospreydcs.dp.gui.DpApplication;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for client-side trigger evaluation.  The store holds one row per second with PV "X" equal
+ * to the row index modulo 10, and PV "Y" set only on every hundredth row.
+ */
+public class TriggerEvaluatorTest {
+
+    private static final long START_NANOS = 1_700_000_000L * 1_000_000_000L;
+
+    private static QueryResultStore store(int rows) {
+        // a small initial capacity makes the store grow while it is filled
+        final QueryResultStore store = new QueryResultStore(16);
+        final int x = store.addColumn("X");
+        final int y = store.addColumn("Y");
+        for (int i = 0; i < rows; i++) {
+            final int row = store.addRow(START_NANOS + i * 1_000_000_000L);
+            store.setValue(row, x, i % 10);
+            if (i % 100 == 0) {
+                store.setValue(row, y, i);
+            }
+        }
+        return store;
+    }
+
+    @Test
+    public void hitsAreCountedAcrossChunksInRowOrder() {
+        final QueryResultStore store = store(100_000);
+
+        // chunks of 1000 rows are scanned in parallel
+        final TriggerEvaluator.Result result = new TriggerEvaluator(1000, 5)
+                .evaluate(store, "X", DpApplication.TriggerCondition.GREATER_OR_EQUAL, 8.0);
+
+        assertEquals(100_000, result.rowsEvaluated);
+        assertEquals(20_000, result.hitCount);
+        assertArrayEquals(new int[] {8, 9, 18, 19, 28}, result.hitRows);
+        assertEquals(START_NANOS + 8_000_000_000L, store.getTimeNanos(result.hitRows[0]));
+    }
+
+    @Test
+    public void everyConditionMatchesLikeTheIngestionService() {
+        final QueryResultStore store = store(1000);
+        final TriggerEvaluator evaluator = new TriggerEvaluator(64, 1000);
+
+        assertEquals(100, evaluator.evaluate(store, "X", DpApplication.TriggerCondition.EQUAL_TO, 3.0).hitCount);
+        assertEquals(600, evaluator.evaluate(store, "X", DpApplication.TriggerCondition.GREATER, 3.0).hitCount);
+        assertEquals(700, evaluator.evaluate(store, "X", DpApplication.TriggerCondition.GREATER_OR_EQUAL, 3.0).hitCount);
+        assertEquals(300, evaluator.evaluate(store, "X", DpApplication.TriggerCondition.LESS, 3.0).hitCount);
+        assertEquals(400, evaluator.evaluate(store, "X", DpApplication.TriggerCondition.LESS_OR_EQUAL, 3.0).hitCount);
+    }
+
+    @Test
+    public void rowsWithoutValuesNeverMatch() {
+        final QueryResultStore store = store(1000);
+
+        final TriggerEvaluator.Result result = new TriggerEvaluator(64, 1000)
+                .evaluate(store, "Y", DpApplication.TriggerCondition.LESS, 1_000_000.0);
+
+        assertEquals(10, result.hitCount);
+        assertEquals(900, result.hitRows[9]);
+        assertTrue(Double.isNaN(store.getValue(1, store.columnIndex("Y"))));
+    }
+
+    @Test
+    public void unknownPvIsRejectedAndEmptyResultsHaveNoHits() {
+        assertThrows(IllegalArgumentException.class, () -> new TriggerEvaluator()
+                .evaluate(store(10), "Z", DpApplication.TriggerCondition.EQUAL_TO, 0.0));
+
+        final TriggerEvaluator.Result result = new TriggerEvaluator()
+                .evaluate(store(0), "X", DpApplication.TriggerCondition.EQUAL_TO, 0.0);
+        assertEquals(0, result.hitCount);
+        assertEquals(0, result.hitRows.length);
+    }
+}